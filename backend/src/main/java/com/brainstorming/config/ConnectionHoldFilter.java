@@ -0,0 +1,49 @@
+package com.brainstorming.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long each request held database connections through Hibernate as
+ * http.server.requests.db.connection.hold per endpoint, readable at /actuator/metrics. With open-in-view off
+ * this is the time spent in the request's transactions; JSON serialization of the response no longer counts.
+ * The pool-wide equivalent is Hikari's hikaricp.connections.usage.
+ */
+@Component
+public class ConnectionHoldFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public ConnectionHoldFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ConnectionHoldListener.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long heldNanos = ConnectionHoldListener.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = pattern != null ? pattern.toString() : "UNKNOWN";
+
+            Timer.builder("http.server.requests.db.connection.hold")
+                    .tag("method", request.getMethod())
+                    .tag("uri", endpoint)
+                    .register(meterRegistry)
+                    .record(heldNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
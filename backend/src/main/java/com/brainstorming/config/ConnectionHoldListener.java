@@ -0,0 +1,40 @@
+package com.brainstorming.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Measures how long Hibernate sessions on the current thread hold a JDBC connection, from acquisition to
+ * release, while measuring is started. Hibernate creates one instance per session
+ * (hibernate.session.events.auto), so the total lives in a thread local that ConnectionHoldFilter starts
+ * and reads per request.
+ */
+public class ConnectionHoldListener implements SessionEventListener {
+
+    private static final ThreadLocal<long[]> HELD_NANOS = new ThreadLocal<>();
+
+    private long acquiredAt;
+
+    static void start() {
+        HELD_NANOS.set(new long[1]);
+    }
+
+    static long stop() {
+        long[] held = HELD_NANOS.get();
+        HELD_NANOS.remove();
+        return held != null ? held[0] : 0;
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        acquiredAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionReleaseEnd() {
+        long[] held = HELD_NANOS.get();
+        if (held != null && acquiredAt != 0) {
+            held[0] += System.nanoTime() - acquiredAt;
+        }
+        acquiredAt = 0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.brainstorming.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded thread pools for background work that must not run on Tomcat request threads.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Renders per-session report parts for event-wide exports.
+     * When the queue is full the submitting thread renders the part itself, which throttles the export.
+     */
+    @Bean(name = "reportExportExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor reportExportExecutor(
+            @Value("${reports.export.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("report-export-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs Gemini HTTP client callbacks and the follow-up work of AI jobs (persisting artifacts, pushing results).
+     */
+    @Bean(name = "aiExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor aiExecutor(
+            @Value("${gemini.executor-threads:8}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("ai-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs the periodic archival of completed events, which reads and rewrites whole events, off the scheduler
+     * threads. One run at a time; a check that comes due while one is still running is dropped.
+     */
+    @Bean(name = "archiveExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor archiveExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("event-archive-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Writes analytics exports (FR-303), which read whole events, off the request threads.
+     * When the queue is full further exports are refused (503) rather than run by the caller.
+     */
+    @Bean(name = "analyticsExportExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor analyticsExportExecutor(
+            @Value("${reports.analytics.threads:1}") int threads,
+            @Value("${reports.analytics.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analytics-export-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,67 @@
+package com.brainstorming.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Checks the number of SQL statements each request runs against query-budget.max-statements.
+ * Requests over the budget are logged with their endpoint pattern (an N+1 regression shows up as a
+ * warning on the first request), and every count is recorded as http.server.requests.sql.statements
+ * per endpoint, readable at /actuator/metrics.
+ */
+@Component
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxStatements;
+
+    public QueryBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${query-budget.enabled:true}") boolean enabled,
+            @Value("${query-budget.max-statements:20}") int maxStatements) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCountInspector.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = QueryCountInspector.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = pattern != null ? pattern.toString() : "UNKNOWN";
+
+            DistributionSummary.builder("http.server.requests.sql.statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", endpoint)
+                    .register(meterRegistry)
+                    .record(statements);
+            if (statements > maxStatements) {
+                log.warn("{} {} ran {} SQL statements (budget {})",
+                        request.getMethod(), endpoint, statements, maxStatements);
+            }
+        }
+    }
+}
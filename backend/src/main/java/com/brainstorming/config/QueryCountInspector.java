@@ -0,0 +1,61 @@
+package com.brainstorming.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while counting is started.
+ * Hibernate creates the instance itself (hibernate.session_factory.statement_inspector), so the count
+ * lives in a thread local that QueryBudgetFilter starts and reads per request. {@link #capture(Runnable)} keeps
+ * the statements themselves, so tests can EXPLAIN the SQL the repository methods actually run.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    /**
+     * Runs the action and returns the statements Hibernate prepared on this thread meanwhile, in order.
+     */
+    public static List<String> capture(Runnable action) {
+        List<String> outer = CAPTURED.get();
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            action.run();
+        } finally {
+            if (outer != null) {
+                outer.addAll(statements);
+                CAPTURED.set(outer);
+            } else {
+                CAPTURED.remove();
+            }
+        }
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,62 @@
+package com.brainstorming.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps reads on the primary for a short window after a write, so a user (or the thread that wrote, e.g.
+ * a WebSocket handler broadcasting the new session state) never reads a replica that has not caught up yet.
+ * Registered with the transaction manager as a TransactionExecutionListener; any committed read-write
+ * transaction counts as a write.
+ */
+public class ReadYourWritesGuard implements TransactionExecutionListener {
+
+    private final long windowMillis;
+    private final ThreadLocal<Long> lastWriteOnThread = new ThreadLocal<>();
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReadYourWritesGuard(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly() || !transaction.isNewTransaction()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        lastWriteOnThread.set(now);
+        String user = currentUser();
+        if (user != null) {
+            lastWriteByUser.put(user, now);
+        }
+    }
+
+    boolean mustReadPrimary() {
+        long now = System.currentTimeMillis();
+        Long threadWrite = lastWriteOnThread.get();
+        if (threadWrite != null && now - threadWrite < windowMillis) {
+            return true;
+        }
+        String user = currentUser();
+        Long userWrite = user != null ? lastWriteByUser.get(user) : null;
+        return userWrite != null && now - userWrite < windowMillis;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - windowMillis;
+        lastWriteByUser.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() ? auth.getName() : null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.brainstorming.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks the replication lag of every replica and takes replicas out of the read rotation while they lag
+ * more than datasource.replicas.max-lag-seconds, have stopped replicating or cannot be reached.
+ * The lag is read with datasource.replicas.lag-query (SHOW REPLICA STATUS; Seconds_Behind_Source or, on
+ * MySQL before 8.0.22, Seconds_Behind_Master). A server that returns no replication status (e.g. a local
+ * stand-in for a replica) is only used when datasource.replicas.require-replication is false.
+ * The lag of each replica is published as datasource.replica.lag.seconds (-1 = unknown, -2 = no replication status).
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // -1: replication stopped or replica unreachable, -2: server has no replication status
+    private static final long UNKNOWN = -1;
+    private static final long NO_REPLICATION = -2;
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final boolean requireReplication;
+    private final AtomicLong[] lagSeconds;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, MeterRegistry meterRegistry,
+                             String lagQuery, long maxLagSeconds, boolean requireReplication) {
+        this.routingDataSource = routingDataSource;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.requireReplication = requireReplication;
+
+        List<DataSource> replicas = routingDataSource.getReplicas();
+        this.lagSeconds = new AtomicLong[replicas.size()];
+        for (int i = 0; i < replicas.size(); i++) {
+            lagSeconds[i] = new AtomicLong(-1);
+            Gauge.builder("datasource.replica.lag.seconds", lagSeconds[i], AtomicLong::get)
+                    .tag("replica", ReplicaRoutingDataSource.replicaKey(i))
+                    .register(meterRegistry);
+        }
+        checkLag();
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.lag-check-ms:2000}")
+    public void checkLag() {
+        List<DataSource> replicas = routingDataSource.getReplicas();
+        for (int i = 0; i < replicas.size(); i++) {
+            long lag = readLag(replicas.get(i));
+            lagSeconds[i].set(lag);
+            boolean healthy = lag >= 0 ? lag <= maxLagSeconds : lag == NO_REPLICATION && !requireReplication;
+
+            if (healthy != routingDataSource.isHealthy(i)) {
+                if (healthy) {
+                    log.info("Replica {} back in the read rotation (lag {} s)",
+                            ReplicaRoutingDataSource.replicaKey(i), Math.max(lag, 0));
+                } else {
+                    log.warn("Replica {} taken out of the read rotation (lag {})",
+                            ReplicaRoutingDataSource.replicaKey(i), lag >= 0 ? lag + " s" : "unknown");
+                }
+            }
+            routingDataSource.setHealthy(i, healthy);
+        }
+    }
+
+    private long readLag(DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery(lagQuery)) {
+            if (!status.next()) {
+                return NO_REPLICATION;
+            }
+            long lag = status.getLong(lagColumn(status));
+            return status.wasNull() ? UNKNOWN : lag;
+        } catch (SQLException e) {
+            log.debug("Replica lag check failed: {}", e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    private static String lagColumn(ResultSet status) throws SQLException {
+        try {
+            status.findColumn("Seconds_Behind_Source");
+            return "Seconds_Behind_Source";
+        } catch (SQLException e) {
+            return "Seconds_Behind_Master";
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.brainstorming.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas (datasource.replicas.enabled=true): read-only transactions - @Transactional(readOnly = true)
+ * services and plain Spring Data reads - use a replica, everything else the primary from spring.datasource.
+ * Without this switch Boot's single auto-configured data source is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Picked up by Boot's transaction manager customizer like every TransactionExecutionListener bean.
+     */
+    @Bean
+    public ReadYourWritesGuard readYourWritesGuard(
+            @Value("${datasource.replicas.read-your-writes-ms:5000}") long windowMillis) {
+        return new ReadYourWritesGuard(windowMillis);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            ReadYourWritesGuard readYourWritesGuard,
+            @Value("${datasource.replicas.urls:}") String[] urls,
+            @Value("${datasource.replicas.username:${spring.datasource.username}}") String username,
+            @Value("${datasource.replicas.password:${spring.datasource.password}}") String password,
+            @Value("${datasource.replicas.pool-size:10}") int poolSize) {
+        if (urls.length == 0) {
+            throw new IllegalStateException("datasource.replicas.enabled is set but datasource.replicas.urls is empty");
+        }
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls[i].trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName(ReplicaRoutingDataSource.replicaKey(i));
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesGuard);
+    }
+
+    /**
+     * The data source used by JPA and JdbcTemplate. The lazy proxy defers taking a connection until the
+     * first statement, when the transaction's read-only flag is already set.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReplicaRoutingDataSource replicaRoutingDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replicas.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${datasource.replicas.max-lag-seconds:5}") long maxLagSeconds,
+            @Value("${datasource.replicas.require-replication:true}") boolean requireReplication) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, meterRegistry, lagQuery, maxLagSeconds,
+                requireReplication);
+    }
+}
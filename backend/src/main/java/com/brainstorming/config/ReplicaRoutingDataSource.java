@@ -0,0 +1,92 @@
+package com.brainstorming.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections of read-only transactions to a healthy replica (round robin) and everything else to
+ * the primary. A replica is skipped while ReplicaLagMonitor reports it unhealthy, and the primary is used
+ * while ReadYourWritesGuard says the current thread or user has just written.
+ * Must be wrapped in a LazyConnectionDataSourceProxy, so the connection is only taken once the
+ * transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<DataSource> replicas;
+    private final AtomicBoolean[] healthy;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    ReadYourWritesGuard readYourWritesGuard) {
+        this.replicas = replicas;
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.healthy = new AtomicBoolean[replicas.size()];
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(replicaKey(i), replicas.get(i));
+            // Unhealthy until the first lag check passes
+            healthy[i] = new AtomicBoolean(false);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || readYourWritesGuard.mustReadPrimary()) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            if (healthy[index].get()) {
+                return replicaKey(index);
+            }
+        }
+        return PRIMARY;
+    }
+
+    // Replica pools belong to this data source; the primary is a bean of its own
+    public void close() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close replica pool", e);
+                }
+            }
+        }
+    }
+
+    List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    void setHealthy(int replica, boolean isHealthy) {
+        healthy[replica].set(isHealthy);
+    }
+
+    boolean isHealthy(int replica) {
+        return healthy[replica].get();
+    }
+
+    static String replicaKey(int replica) {
+        return "replica-" + replica;
+    }
+}
@@ -0,0 +1,53 @@
+package com.brainstorming.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the Hibernate second-level cache statistics: hibernate.cache.hits / misses / puts and
+ * hibernate.cache.hit.ratio per region (entity regions and the query results region), and
+ * hibernate.cache.query.hit.ratio for cacheable queries. Ratios are 0 until a region has been read.
+ * Requires hibernate.generate_statistics.
+ */
+@Component
+public class SecondLevelCacheMetrics {
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            FunctionCounter.builder("hibernate.cache.hits", regionStatistics, CacheRegionStatistics::getHitCount)
+                    .tag("region", region)
+                    .register(meterRegistry);
+            FunctionCounter.builder("hibernate.cache.misses", regionStatistics, CacheRegionStatistics::getMissCount)
+                    .tag("region", region)
+                    .register(meterRegistry);
+            FunctionCounter.builder("hibernate.cache.puts", regionStatistics, CacheRegionStatistics::getPutCount)
+                    .tag("region", region)
+                    .register(meterRegistry);
+            Gauge.builder("hibernate.cache.hit.ratio", regionStatistics,
+                            stats -> ratio(stats.getHitCount(), stats.getMissCount()))
+                    .tag("region", region)
+                    .register(meterRegistry);
+        }
+
+        Gauge.builder("hibernate.cache.query.hit.ratio", statistics,
+                        stats -> ratio(stats.getQueryCacheHitCount(), stats.getQueryCacheMissCount()))
+                .register(meterRegistry);
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
 
+import com.brainstorming.websocket.EventControlRoomWebSocketHandler;
 import com.brainstorming.websocket.SessionWebSocketHandler;
 
 @Configuration
@@ -12,14 +13,19 @@ import com.brainstorming.websocket.SessionWebSocketHandler;
 public class WebSocketConfig implements WebSocketConfigurer {
 
     private final SessionWebSocketHandler sessionWebSocketHandler;
+    private final EventControlRoomWebSocketHandler eventControlRoomWebSocketHandler;
 
-    public WebSocketConfig(SessionWebSocketHandler sessionWebSocketHandler) {
+    public WebSocketConfig(SessionWebSocketHandler sessionWebSocketHandler,
+                           EventControlRoomWebSocketHandler eventControlRoomWebSocketHandler) {
         this.sessionWebSocketHandler = sessionWebSocketHandler;
+        this.eventControlRoomWebSocketHandler = eventControlRoomWebSocketHandler;
     }
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         registry.addHandler(sessionWebSocketHandler, "/ws/sessions/{sessionId}")
                 .setAllowedOriginPatterns("*");
+        registry.addHandler(eventControlRoomWebSocketHandler, "/ws/events/{eventId}")
+                .setAllowedOriginPatterns("*");
     }
 }
@@ -1,31 +1,64 @@
 package com.brainstorming.controller;
 
 import com.brainstorming.dto.AISuggestionRequest;
-import com.brainstorming.dto.AISuggestionResponse;
 import com.brainstorming.dto.AISummaryRequest;
 import com.brainstorming.dto.AISummaryResponse;
+import com.brainstorming.dto.AiJobDto;
+import com.brainstorming.dto.ThemeClustersDto;
+import com.brainstorming.entity.User;
+import com.brainstorming.repository.UserRepository;
 import com.brainstorming.service.AIService;
+import com.brainstorming.service.EventSuggestionService;
+import com.brainstorming.service.ThemeClusteringService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
 
 @RestController
-@RequestMapping("/api/ai/sessions")
+@RequestMapping("/api/ai")
 @RequiredArgsConstructor
 public class AIController {
 
     private final AIService aiService;
+    private final EventSuggestionService eventSuggestionService;
+    private final ThemeClusteringService themeClusteringService;
+    private final UserRepository userRepository;
+
+    private User getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    // Cache hits finish immediately (200); otherwise the job is still running (202)
+    private ResponseEntity<AiJobDto> toJobResponse(AiJobDto job) {
+        if (job.getStatus() == AiJobDto.Status.SUCCEEDED) {
+            return ResponseEntity.ok(job);
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/ai/jobs/" + job.getJobId()))
+                .body(job);
+    }
 
     /**
      * 8.1 POST /ai/sessions/{sessionId}/suggestions
      * Request AI ideas given current topic + ideas
      * Roles: TEAM_LEADER, EVENT_MANAGER
+     * Response: 202 with the AI job; the result is pushed as "ai_job_completed" on the session socket
+     * and can be polled at GET /ai/jobs/{jobId}. 200 with a finished job when served from the AI cache
      */
-    @PostMapping("/{sessionId}/suggestions")
+    @PostMapping("/sessions/{sessionId}/suggestions")
     @PreAuthorize("hasAnyRole('TEAM_LEADER', 'EVENT_MANAGER')")
-    public ResponseEntity<AISuggestionResponse> generateSuggestions(
+    public ResponseEntity<AiJobDto> generateSuggestions(
             @PathVariable Long sessionId,
             @RequestBody(required = false) AISuggestionRequest request) {
         
@@ -33,18 +66,23 @@ public class AIController {
             request = AISuggestionRequest.builder().build();
         }
         
-        AISuggestionResponse response = aiService.generateSuggestions(sessionId, request);
-        return ResponseEntity.ok(response);
+        AiJobDto job = aiService.requestSuggestions(sessionId, request, getCurrentUser().getId());
+        return toJobResponse(job);
     }
 
     /**
      * 8.2 POST /ai/sessions/{sessionId}/summary
      * Summarize all ideas of a completed session
      * Roles: EVENT_MANAGER, TEAM_LEADER
+     * Body: style, length, language, stream (true = partial text is pushed as "ai_job_progress"
+     * socket messages to the requester while the summary is generated), split (round | team | size:
+     * how sessions too large for one prompt are split before their partial summaries are merged),
+     * mode (local = keyThemes / notableIdeas from local clustering, answered immediately without Gemini)
+     * Response: 202 with the AI job (see 8.1); 200 with a finished job for mode=local
      */
-    @PostMapping("/{sessionId}/summary")
+    @PostMapping("/sessions/{sessionId}/summary")
     @PreAuthorize("hasAnyRole('EVENT_MANAGER', 'TEAM_LEADER')")
-    public ResponseEntity<AISummaryResponse> generateSummary(
+    public ResponseEntity<AiJobDto> generateSummary(
             @PathVariable Long sessionId,
             @RequestBody(required = false) @Valid AISummaryRequest request) {
         
@@ -52,8 +90,52 @@ public class AIController {
             request = AISummaryRequest.builder().build();
         }
         
-        AISummaryResponse response = aiService.generateSummary(sessionId, request);
-        return ResponseEntity.ok(response);
+        AiJobDto job = aiService.requestSummary(sessionId, request, getCurrentUser().getId());
+        return toJobResponse(job);
+    }
+
+    /**
+     * POST /ai/events/{eventId}/summary
+     * Summarize all ideas of an event; ideas are summarized per team (or per round / size-bounded chunk)
+     * and the partial summaries merged
+     * Roles: EVENT_MANAGER
+     * Body: style, length, language, split (team | round | size), mode (local, see 8.2)
+     * Response: 202 with the AI job; poll GET /ai/jobs/{jobId} for the result
+     */
+    @PostMapping("/events/{eventId}/summary")
+    @PreAuthorize("hasRole('EVENT_MANAGER')")
+    public ResponseEntity<AiJobDto> generateEventSummary(
+            @PathVariable Long eventId,
+            @RequestBody(required = false) @Valid AISummaryRequest request) {
+
+        if (request == null) {
+            request = AISummaryRequest.builder().build();
+        }
+
+        AiJobDto job = aiService.requestEventSummary(eventId, request, getCurrentUser().getId());
+        return toJobResponse(job);
+    }
+
+    /**
+     * POST /ai/events/{eventId}/suggestions
+     * Request AI ideas for every running session of an event at once
+     * Roles: EVENT_MANAGER
+     * Body: promptOverride (optional, applies to all teams)
+     * Response: text/event-stream - "started" {event_id, sessions}, one "team_result" per session as soon as
+     * it is ready (session_id, team_id, team_name, job_id, status, cached, suggestions, error), then
+     * "done" {event_id, succeeded, failed}. Each team also receives its result as "ai_job_completed".
+     */
+    @PostMapping(value = "/events/{eventId}/suggestions", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('EVENT_MANAGER')")
+    public SseEmitter generateEventSuggestions(
+            @PathVariable Long eventId,
+            @RequestBody(required = false) AISuggestionRequest request) {
+
+        if (request == null) {
+            request = AISuggestionRequest.builder().build();
+        }
+
+        return eventSuggestionService.generateForEvent(eventId, request, getCurrentUser().getId());
     }
 
     /**
@@ -61,7 +143,7 @@ public class AIController {
      * Get the latest generated summary for a session
      * Roles: EVENT_MANAGER, TEAM_LEADER, TEAM_MEMBER
      */
-    @GetMapping("/{sessionId}/summary")
+    @GetMapping("/sessions/{sessionId}/summary")
     @PreAuthorize("hasAnyRole('EVENT_MANAGER', 'TEAM_LEADER', 'TEAM_MEMBER')")
     public ResponseEntity<AISummaryResponse> getSummary(@PathVariable Long sessionId) {
         AISummaryResponse response = aiService.getLatestSummary(sessionId);
@@ -70,5 +152,34 @@ public class AIController {
         }
         return ResponseEntity.ok(response);
     }
-}
 
+    /**
+     * GET /ai/sessions/{sessionId}/themes
+     * Group the session's ideas into themes locally (no Gemini call); cheap enough to poll during a session
+     * Roles: EVENT_MANAGER, TEAM_LEADER, TEAM_MEMBER
+     * Query: maxThemes (optional, default ai.themes.max-themes)
+     * Response: themes with keywords, idea ids and representative ideas, largest first
+     */
+    @GetMapping("/sessions/{sessionId}/themes")
+    @PreAuthorize("hasAnyRole('EVENT_MANAGER', 'TEAM_LEADER', 'TEAM_MEMBER')")
+    public ResponseEntity<ThemeClustersDto> getSessionThemes(
+            @PathVariable Long sessionId,
+            @RequestParam(required = false) Integer maxThemes) {
+        return ResponseEntity.ok(themeClusteringService.sessionThemes(sessionId, maxThemes));
+    }
+
+    /**
+     * GET /ai/events/{eventId}/themes
+     * Group all ideas of an event into themes locally (no Gemini call)
+     * Roles: EVENT_MANAGER
+     * Query: maxThemes (optional)
+     * Response: see GET /ai/sessions/{sessionId}/themes
+     */
+    @GetMapping("/events/{eventId}/themes")
+    @PreAuthorize("hasRole('EVENT_MANAGER')")
+    public ResponseEntity<ThemeClustersDto> getEventThemes(
+            @PathVariable Long eventId,
+            @RequestParam(required = false) Integer maxThemes) {
+        return ResponseEntity.ok(themeClusteringService.eventThemes(eventId, maxThemes));
+    }
+}
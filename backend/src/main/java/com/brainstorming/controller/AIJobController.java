@@ -0,0 +1,39 @@
+package com.brainstorming.controller;
+
+import com.brainstorming.dto.AiJobDto;
+import com.brainstorming.entity.User;
+import com.brainstorming.repository.UserRepository;
+import com.brainstorming.service.AiJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/ai/jobs")
+@RequiredArgsConstructor
+public class AIJobController {
+
+    private final AiJobService aiJobService;
+    private final UserRepository userRepository;
+
+    private User getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String email = auth.getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * 8.4 GET /ai/jobs/{jobId}
+     * Status of an AI job started by 8.1 / 8.2, with its result once SUCCEEDED
+     * Roles: requester, EVENT_MANAGER
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<AiJobDto> getJob(@PathVariable String jobId) {
+        User user = getCurrentUser();
+        boolean isManager = user.getRole() == User.Role.EVENT_MANAGER;
+        return ResponseEntity.ok(aiJobService.getJob(jobId, user.getId(), isManager));
+    }
+}
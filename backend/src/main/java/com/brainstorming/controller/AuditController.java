@@ -1,22 +1,35 @@
 package com.brainstorming.controller;
 
+import com.brainstorming.dto.CursorPage;
 import com.brainstorming.dto.SessionLogDto;
 import com.brainstorming.entity.SessionLog;
+import com.brainstorming.exception.BadRequestException;
 import com.brainstorming.exception.ResourceNotFoundException;
 import com.brainstorming.mapper.SessionLogMapper;
 import com.brainstorming.repository.SessionLogRepository;
 import com.brainstorming.repository.SessionRepository;
+import com.brainstorming.service.EventArchiveService;
+import com.brainstorming.service.KeysetPaging;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Audit Controller - Session audit logs
  * Implements FR-602, NFR-400.
  * 
+ * Entries are written asynchronously by SessionAuditTrail, so the newest actions can take a moment to appear.
+ * Entries of archived events are read from the event archive (EventArchiveService).
+ *
  * Role-based access control:
  * - GET /audit/sessions/{sessionId}/logs: EVENT_MANAGER only
  */
@@ -28,24 +41,75 @@ public class AuditController {
     private final SessionLogRepository sessionLogRepository;
     private final SessionRepository sessionRepository;
     private final SessionLogMapper sessionLogMapper;
+    private final KeysetPaging keysetPaging;
+    private final EventArchiveService eventArchiveService;
+
+    private static final String SESSION_LOG_LIST = "session-logs";
+    // Bounds used when the time range is open (session_logs.created_at is a TIMESTAMP)
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(2100, 1, 1, 0, 0);
     
     /**
      * GET /audit/sessions/{sessionId}/logs
      * Roles: EVENT_MANAGER
      * Use: View SessionLogs (FR-602, NFR-400)
-     * Response: List of events { timestamp, actorId, actionType, payloadSnippet }
+     * Query: from, to (ISO date-time, optional; from inclusive, to exclusive), cursor (from the previous page),
+     * size (default pagination.default-size, max pagination.max-size)
+     * Response: 200 { items, next_cursor, has_more } of { timestamp, actorId, actionType, payloadSnippet }, newest first
      */
     @GetMapping("/sessions/{sessionId}/logs")
     @PreAuthorize("hasRole('EVENT_MANAGER')")
-    public ResponseEntity<List<SessionLogDto>> getSessionAuditLogs(@PathVariable Long sessionId) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<CursorPage<SessionLogDto>> getSessionAuditLogs(
+            @PathVariable Long sessionId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         // Verify session exists
         if (!sessionRepository.existsById(sessionId)) {
             throw new ResourceNotFoundException("Session not found with id: " + sessionId);
         }
-        
-        List<SessionLog> logs = sessionLogRepository.findBySessionIdOrderByCreatedAtDesc(sessionId);
+        LocalDateTime fromTime = from != null ? from : MIN_TIME;
+        LocalDateTime toTime = to != null ? to : MAX_TIME;
+        if (!fromTime.isBefore(toTime)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+
+        // Continue before the cursor, unless the range now ends earlier
+        KeysetPaging.TimeKey after = keysetPaging.afterTimeKey(SESSION_LOG_LIST, cursor);
+        LocalDateTime before = toTime;
+        long beforeId = 0L;
+        if (after != null && after.getTime().isBefore(toTime)) {
+            before = after.getTime();
+            beforeId = after.getId();
+        }
+
+        int pageSize = keysetPaging.pageSize(size);
+        List<SessionLog> logs = sessionLogRepository.findPageBySessionId(
+                sessionId, fromTime, before, beforeId, keysetPaging.limit(pageSize));
         List<SessionLogDto> logDtos = sessionLogMapper.toDtoList(logs);
-        
-        return ResponseEntity.ok(logDtos);
+
+        // Archived entries in the same window, merged with any logged after the event was archived
+        List<SessionLogDto> archived = eventArchiveService.archivedLogs(sessionId);
+        if (!archived.isEmpty()) {
+            LocalDateTime beforeTime = before;
+            long beforeIdValue = beforeId;
+            logDtos = new ArrayList<>(logDtos);
+            logDtos.addAll(archived.stream()
+                    .filter(entry -> !entry.getCreatedAt().isBefore(fromTime))
+                    .filter(entry -> entry.getCreatedAt().isBefore(beforeTime)
+                            || (entry.getCreatedAt().isEqual(beforeTime) && entry.getId() < beforeIdValue))
+                    .collect(Collectors.toList()));
+            logDtos = logDtos.stream()
+                    .sorted(Comparator.comparing(SessionLogDto::getCreatedAt)
+                            .thenComparing(SessionLogDto::getId)
+                            .reversed())
+                    .limit(pageSize + 1L)
+                    .collect(Collectors.toList());
+        }
+
+        return ResponseEntity.ok(keysetPaging.page(SESSION_LOG_LIST, logDtos, pageSize,
+                SessionLogDto::getCreatedAt, SessionLogDto::getId));
     }
 }
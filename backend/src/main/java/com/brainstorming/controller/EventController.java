@@ -2,15 +2,19 @@ package com.brainstorming.controller;
 
 import com.brainstorming.dto.*;
 import com.brainstorming.entity.User;
+import com.brainstorming.service.EventArchiveService;
 import com.brainstorming.service.EventService;
+import com.brainstorming.service.KeysetPaging;
 import com.brainstorming.service.TeamService;
 import com.brainstorming.service.TopicService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,18 +26,48 @@ public class EventController {
     private final EventService eventService;
     private final TeamService teamService;
     private final TopicService topicService;
+    private final KeysetPaging keysetPaging;
+    private final EventArchiveService eventArchiveService;
     private final com.brainstorming.repository.UserRepository userRepository;
 
+    /**
+     * GET /events
+     * Roles: EVENT_MANAGER (all events), TEAM_LEADER (events of own teams)
+     * Query: cursor (from the previous page), size (default pagination.default-size, max pagination.max-size)
+     * Response: 200 { items, next_cursor, has_more } ordered by id
+     */
     @GetMapping
     @PreAuthorize("hasAnyRole('EVENT_MANAGER', 'TEAM_LEADER')")
-    public ResponseEntity<List<EventDto>> getAllEvents(java.security.Principal principal) {
+    public ResponseEntity<CursorPage<EventDto>> getEvents(java.security.Principal principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(eventService.getEvents(currentUser(principal), cursor, size));
+    }
+
+    /**
+     * GET /events/stream
+     * Roles: EVENT_MANAGER (all events), TEAM_LEADER (events of own teams)
+     * Use: Bulk export of the visible events
+     * Response: 200 application/x-ndjson, one event per line ordered by id, read page by page
+     */
+    @GetMapping("/stream")
+    @PreAuthorize("hasAnyRole('EVENT_MANAGER', 'TEAM_LEADER')")
+    public ResponseEntity<StreamingResponseBody> streamEvents(java.security.Principal principal) {
+        User user = currentUser(principal);
+        StreamingResponseBody body = out -> keysetPaging.writeNdjson(out,
+                cursor -> eventService.getEvents(user, cursor, keysetPaging.getMaxSize()));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private User currentUser(java.security.Principal principal) {
         if (principal == null) {
             // Should be handled by security filter, but safe guard
-            return ResponseEntity.ok(eventService.getAllEvents());
+            return null;
         }
-        User user = userRepository.findByEmail(principal.getName())
+        return userRepository.findByEmail(principal.getName())
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return ResponseEntity.ok(eventService.getAllEvents(user));
     }
 
     @GetMapping("/{id}")
@@ -75,11 +109,56 @@ public class EventController {
         return ResponseEntity.ok(eventService.updateEvent(id, request));
     }
 
+    /**
+     * DELETE /events/{id}
+     * Roles: EVENT_MANAGER
+     * Use: Hides the event at once; its teams, topics, sessions, ideas, logs and AI artifacts are deleted
+     *      in the background
+     * Response: 202 DeletionJobDto, progress at GET /events/{id}/deletion
+     */
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('EVENT_MANAGER')")
-    public ResponseEntity<Void> deleteEvent(@PathVariable Long id) {
-        eventService.deleteEvent(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<DeletionJobDto> deleteEvent(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(eventService.deleteEvent(id));
+    }
+
+    /**
+     * GET /events/{id}/deletion
+     * Roles: EVENT_MANAGER
+     * Use: Progress of a event deletion: status, current table, sessions and rows deleted so far
+     * Response: 200 DeletionJobDto; 404 if no deletion of the event is known
+     */
+    @GetMapping("/{id}/deletion")
+    @PreAuthorize("hasRole('EVENT_MANAGER')")
+    public ResponseEntity<DeletionJobDto> getEventDeletion(@PathVariable Long id) {
+        return ResponseEntity.ok(eventService.getEventDeletion(id));
+    }
+
+    /**
+     * POST /events/{id}/archive
+     * Roles: EVENT_MANAGER
+     * Use: Move the ideas, session logs and AI artifacts of a completed event to its compressed archive.
+     *      Reports, idea lists, summaries and audit logs of the event keep working from the archive.
+     * Response: 200 EventDto with archived_at set
+     */
+    @PostMapping("/{id}/archive")
+    @PreAuthorize("hasRole('EVENT_MANAGER')")
+    public ResponseEntity<EventDto> archiveEvent(@PathVariable Long id) {
+        eventArchiveService.archiveEvent(id);
+        return ResponseEntity.ok(eventService.getEventById(id));
+    }
+
+    /**
+     * POST /events/{id}/restore
+     * Roles: EVENT_MANAGER
+     * Use: Put an archived event's rows back into the database and delete its archive.
+     * Response: 200 EventDto with archived_at cleared
+     */
+    @PostMapping("/{id}/restore")
+    @PreAuthorize("hasRole('EVENT_MANAGER')")
+    public ResponseEntity<EventDto> restoreEvent(@PathVariable Long id) {
+        eventArchiveService.restoreEvent(id);
+        return ResponseEntity.ok(eventService.getEventById(id));
     }
 
     @PostMapping("/{eventId}/teams")
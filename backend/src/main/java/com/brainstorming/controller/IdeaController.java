@@ -1,39 +1,41 @@
 package com.brainstorming.controller;
 
 import com.brainstorming.dto.*;
-import com.brainstorming.entity.Idea;
 import com.brainstorming.entity.User;
-import com.brainstorming.mapper.IdeaMapper;
-import com.brainstorming.repository.IdeaRepository;
 import com.brainstorming.repository.UserRepository;
 import com.brainstorming.service.IdeaService;
+import com.brainstorming.service.KeysetPaging;
+import com.brainstorming.service.WriteBehindIdeaIngestor;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api")
 public class IdeaController {
 
     private final IdeaService ideaService;
-    private final IdeaRepository ideaRepository;
     private final UserRepository userRepository;
-    private final IdeaMapper ideaMapper;
+    private final KeysetPaging keysetPaging;
+    // Round listings wait for the session's accepted write-behind submissions here, before the service's
+    // transaction takes a pooled connection
+    private final WriteBehindIdeaIngestor writeBehindIngestor;
 
     public IdeaController(IdeaService ideaService,
-                         IdeaRepository ideaRepository,
                          UserRepository userRepository,
-                         IdeaMapper ideaMapper) {
+                         KeysetPaging keysetPaging,
+                         WriteBehindIdeaIngestor writeBehindIngestor) {
         this.ideaService = ideaService;
-        this.ideaRepository = ideaRepository;
         this.userRepository = userRepository;
-        this.ideaMapper = ideaMapper;
+        this.keysetPaging = keysetPaging;
+        this.writeBehindIngestor = writeBehindIngestor;
     }
 
     private User getCurrentUser() {
@@ -43,26 +45,44 @@ public class IdeaController {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    /**
+     * GET /ideas
+     * Query: cursor (from the previous page), size (default pagination.default-size, max pagination.max-size)
+     * Response: 200 { items, next_cursor, has_more } ordered by id
+     */
     @GetMapping("/ideas")
-    public ResponseEntity<List<IdeaDto>> getAllIdeas() {
-        List<Idea> ideas = ideaRepository.findAll();
-        List<IdeaDto> ideaDtos = ideas.stream()
-                .map(ideaMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(ideaDtos);
+    public ResponseEntity<CursorPage<IdeaDto>> getIdeas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ideaService.getIdeas(cursor, size));
+    }
+
+    /**
+     * GET /ideas/stream
+     * Use: Bulk export of every idea
+     * Response: 200 application/x-ndjson, one idea per line ordered by id, read page by page
+     */
+    @GetMapping("/ideas/stream")
+    public ResponseEntity<StreamingResponseBody> streamIdeas() {
+        StreamingResponseBody body = out -> keysetPaging.writeNdjson(out,
+                cursor -> ideaService.getIdeas(cursor, keysetPaging.getMaxSize()));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
     
     @GetMapping("/ideas/{id}")
     public ResponseEntity<IdeaDto> getIdeaById(@PathVariable Long id) {
-        Idea idea = ideaRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Idea not found"));
-        return ResponseEntity.ok(ideaMapper.toDto(idea));
+        return ResponseEntity.ok(ideaService.getIdea(id));
     }
 
     /**
      * 7.2 POST /sessions/{sessionId}/rounds/{roundNumber}/ideas
      * Submit 3 ideas for current round (FR-201, FR-202, FR-306)
      * Roles: TEAM_MEMBER (and Team Leader if also a member)
+     * Response: the saved ideas, plus near_duplicates (submitted ideas resembling an existing idea of the
+     * session at or above similarity_threshold). With ideas.near-duplicate.mode=reject such a submission
+     * fails with 400 instead.
      */
     @PostMapping("/sessions/{sessionId}/rounds/{roundNumber}/ideas")
     public ResponseEntity<SubmitIdeasResponse> submitIdeas(
@@ -86,6 +106,7 @@ public class IdeaController {
             @PathVariable Long sessionId,
             @PathVariable Integer roundNumber) {
         User currentUser = getCurrentUser();
+        writeBehindIngestor.awaitFlushed(sessionId);
         RoundIdeasResponseDto response = ideaService.getRoundIdeasForUser(
                 sessionId, roundNumber, currentUser.getId());
         return ResponseEntity.ok(response);
@@ -100,6 +121,7 @@ public class IdeaController {
             @PathVariable Long sessionId,
             @PathVariable Integer roundNumber) {
         User currentUser = getCurrentUser();
+        writeBehindIngestor.awaitFlushed(sessionId);
         List<IdeaDto> ideas = ideaService.getPreviousRoundIdeas(
                 sessionId, roundNumber, currentUser.getId());
         return ResponseEntity.ok(ideas);
@@ -1,6 +1,7 @@
 package com.brainstorming.controller;
 
 import com.brainstorming.dto.CreateParticipantRequest;
+import com.brainstorming.dto.CursorPage;
 import com.brainstorming.dto.EventParticipantDto;
 import com.brainstorming.dto.ParticipantResponse;
 import com.brainstorming.dto.UpdateParticipantRequest;
@@ -13,12 +14,18 @@ import com.brainstorming.mapper.EventParticipantMapper;
 import com.brainstorming.repository.EventParticipantRepository;
 import com.brainstorming.repository.EventRepository;
 import com.brainstorming.repository.UserRepository;
+import com.brainstorming.service.KeysetPaging;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,6 +36,7 @@ import java.util.List;
  * Role-based access control:
  * - POST /participants: EVENT_MANAGER only (FR-101)
  * - GET /participants: EVENT_MANAGER (full), TEAM_LEADER (own team only) (FR-106–107)
+ * - GET /participants/stream: EVENT_MANAGER only
  * - GET /participants/{id}: EVENT_MANAGER (full), TEAM_LEADER (own team), SELF (own record)
  * - PATCH /participants/{id}: EVENT_MANAGER only (FR-110)
  * - DELETE /participants/{id}: EVENT_MANAGER only (FR-114)
@@ -42,6 +50,15 @@ public class ParticipantController {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final EventParticipantMapper participantMapper;
+    private final KeysetPaging keysetPaging;
+    
+    private static final String PARTICIPANT_LIST = "participants";
+
+    private User getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return userRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
     
     /**
      * POST /participants
@@ -103,34 +120,60 @@ public class ParticipantController {
     /**
      * GET /participants
      * Roles: EVENT_MANAGER (full list), TEAM_LEADER (own team members only) (FR-106–107)
-     * Query params: eventId, teamId, role, pagination
-     * Response: 200 list of participants (fields filtered based on role)
+     * Query params: eventId, teamId (its leader and members), role (EVENT_MANAGER, TEAM_LEADER, TEAM_MEMBER; the
+     * role override in the event, else the user's role), cursor (from the previous page), size (default
+     * pagination.default-size, max pagination.max-size)
+     * A TEAM_LEADER only gets the leaders and members of the teams they lead.
+     * Response: 200 { items, next_cursor, has_more } ordered by id
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('EVENT_MANAGER', 'TEAM_LEADER')")
-    public ResponseEntity<List<EventParticipantDto>> getParticipants(
+    public ResponseEntity<CursorPage<EventParticipantDto>> getParticipants(
             @RequestParam(required = false) Long eventId,
             @RequestParam(required = false) Long teamId,
             @RequestParam(required = false) String role,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-        
-        // TODO: Implement role-based filtering
-        // - EVENT_MANAGER: sees all participants
-        // - TEAM_LEADER: only sees own team members
-        
-        List<EventParticipant> participants;
-        if (eventId != null) {
-            participants = participantRepository.findByEventId(eventId);
-        } else {
-            participants = participantRepository.findAll();
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        User.Role roleFilter = null;
+        if (role != null && !role.isEmpty()) {
+            try {
+                roleFilter = User.Role.valueOf(role);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown role: " + role);
+            }
         }
-        
-        // TODO: Apply teamId and role filters
-        // TODO: Apply pagination
-        // TODO: Filter fields based on caller's role
-        
-        return ResponseEntity.ok(participantMapper.toDtoList(participants));
+
+        User caller = getCurrentUser();
+        Long leaderId = caller.getRole() == User.Role.EVENT_MANAGER ? null : caller.getId();
+
+        return ResponseEntity.ok(findParticipants(eventId, teamId, roleFilter, leaderId, cursor, size));
+    }
+    
+    /**
+     * GET /participants/stream
+     * Roles: EVENT_MANAGER
+     * Query params: eventId
+     * Use: Bulk export of the participants (of one event)
+     * Response: 200 application/x-ndjson, one participant per line ordered by id, read page by page
+     */
+    @GetMapping("/stream")
+    @PreAuthorize("hasRole('EVENT_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> streamParticipants(
+            @RequestParam(required = false) Long eventId) {
+        StreamingResponseBody body = out -> keysetPaging.writeNdjson(out,
+                cursor -> findParticipants(eventId, null, null, null, cursor, keysetPaging.getMaxSize()));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    private CursorPage<EventParticipantDto> findParticipants(Long eventId, Long teamId, User.Role role, Long leaderId,
+                                                             String cursor, Integer size) {
+        int pageSize = keysetPaging.pageSize(size);
+        List<EventParticipant> participants = participantRepository.findPageAfter(eventId, teamId, role, leaderId,
+                keysetPaging.afterId(PARTICIPANT_LIST, cursor), keysetPaging.limit(pageSize));
+        return keysetPaging.page(PARTICIPANT_LIST, participantMapper.toDtoList(participants), pageSize,
+                EventParticipantDto::getId);
     }
     
     /**
@@ -141,6 +184,7 @@ public class ParticipantController {
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('EVENT_MANAGER', 'TEAM_LEADER', 'TEAM_MEMBER')")
+    @Transactional(readOnly = true)
     public ResponseEntity<EventParticipantDto> getParticipant(@PathVariable Long id) {
         EventParticipant participant = participantRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Participant not found with id: " + id));
@@ -164,6 +208,7 @@ public class ParticipantController {
      */
     @PatchMapping("/{id}")
     @PreAuthorize("hasRole('EVENT_MANAGER')")
+    @Transactional
     public ResponseEntity<EventParticipantDto> updateParticipant(
             @PathVariable Long id,
             @RequestBody UpdateParticipantRequest request) {
@@ -3,24 +3,31 @@ package com.brainstorming.controller;
 import com.brainstorming.dto.*;
 import com.brainstorming.entity.*;
 import com.brainstorming.exception.ResourceNotFoundException;
-import com.brainstorming.mapper.IdeaMapper;
 import com.brainstorming.mapper.ReportCacheMapper;
-import com.brainstorming.mapper.TopicMapper;
 import com.brainstorming.repository.*;
+import com.brainstorming.service.AnalyticsExportService;
+import com.brainstorming.service.IdeaThroughputService;
+import com.brainstorming.service.ReportExportService;
+import com.brainstorming.service.ReportService;
+import com.brainstorming.service.WriteBehindIdeaIngestor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * Report Controller - Reporting, Export & Audit
@@ -30,6 +37,10 @@ import java.util.stream.Collectors;
  * - GET /reports/events/{eventId}: EVENT_MANAGER only
  * - GET /reports/sessions/{sessionId}: EVENT_MANAGER, TEAM_LEADER (for own team)
  * - GET /reports/sessions/{sessionId}/export: EVENT_MANAGER only (FR-303, FR-601)
+ * - GET /reports/events/{eventId}/export: EVENT_MANAGER only (FR-303, FR-601)
+ * - POST /reports/analytics, POST /reports/analytics/events/{eventId}: EVENT_MANAGER only (FR-303)
+ * - GET /reports/analytics/{exportId}, GET /reports/analytics/{exportId}/{fileName}: EVENT_MANAGER only (FR-303)
+ * - GET /reports/events/{eventId}/throughput: EVENT_MANAGER only
  */
 @RestController
 @RequestMapping("/api/reports")
@@ -37,18 +48,15 @@ import java.util.stream.Collectors;
 public class ReportController {
     
     private final SessionRepository sessionRepository;
-    private final RoundRepository roundRepository;
-    private final IdeaRepository ideaRepository;
     private final EventRepository eventRepository;
-    private final TeamRepository teamRepository;
-    private final TopicRepository topicRepository;
-    private final EventParticipantRepository participantRepository;
     private final ReportCacheRepository reportCacheRepository;
-    private final TeamMemberRepository teamMemberRepository;
     
-    private final IdeaMapper ideaMapper;
-    private final TopicMapper topicMapper;
+    private final ReportService reportService;
+    private final ReportExportService reportExportService;
+    private final AnalyticsExportService analyticsExportService;
+    private final IdeaThroughputService ideaThroughputService;
     private final ReportCacheMapper reportCacheMapper;
+    private final WriteBehindIdeaIngestor writeBehindIngestor;
     
     /**
      * GET /reports/sessions/{sessionId}
@@ -59,45 +67,9 @@ public class ReportController {
     @GetMapping("/sessions/{sessionId}")
     @PreAuthorize("hasAnyRole('EVENT_MANAGER', 'TEAM_LEADER')")
     public ResponseEntity<SessionReportDto> getSessionReport(@PathVariable Long sessionId) {
-        Session session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Session not found with id: " + sessionId));
-        
-        List<Round> rounds = roundRepository.findBySessionId(sessionId);
-        List<Idea> allIdeas = ideaRepository.findBySessionId(sessionId);
-        
-        // Build round reports
-        List<RoundReportDto> roundReports = new ArrayList<>();
-        for (Round round : rounds) {
-            List<Idea> roundIdeas = allIdeas.stream()
-                    .filter(idea -> idea.getRound() != null && idea.getRound().getId().equals(round.getId()))
-                    .collect(Collectors.toList());
-            
-            RoundReportDto roundReport = RoundReportDto.builder()
-                    .roundNumber(round.getRoundNumber())
-                    .startTime(round.getStartTime())
-                    .endTime(round.getEndTime())
-                    .timerState(round.getTimerState() != null ? round.getTimerState().name() : null)
-                    .ideaCount(roundIdeas.size())
-                    .ideas(ideaMapper.toDtoList(roundIdeas))
-                    .build();
-            
-            roundReports.add(roundReport);
-        }
-        
-        SessionReportDto report = SessionReportDto.builder()
-                .sessionId(session.getId())
-                .topicTitle(session.getTopic() != null ? session.getTopic().getTitle() : null)
-                .topicDescription(session.getTopic() != null ? session.getTopic().getDescription() : null)
-                .teamName(session.getTeam() != null ? session.getTeam().getName() : null)
-                .status(session.getStatus() != null ? session.getStatus().name() : null)
-                .currentRound(session.getCurrentRound())
-                .roundCount(rounds.size())
-                .totalIdeas(allIdeas.size())
-                .rounds(roundReports)
-                .createdAt(session.getCreatedAt())
-                .build();
-        
-        return ResponseEntity.ok(report);
+        // Before the report's transaction, so the wait holds no pooled connection
+        writeBehindIngestor.awaitFlushed(sessionId);
+        return ResponseEntity.ok(reportService.getSessionReport(sessionId));
     }
     
     /**
@@ -148,10 +120,125 @@ public class ReportController {
             }
         }
         
-        // TODO: Generate report on-the-fly if no cached version exists
-        // For now, return the session report as JSON with appropriate message
+        // No usable cache entry: CSV can be generated on the fly
+        if (reportFormat == ReportCache.Format.csv) {
+            byte[] csv = reportExportService.renderSessionCsv(sessionId, session.getStatus());
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/csv"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"session_" + sessionId + "_report.csv\"")
+                    .body(new ByteArrayResource(csv));
+        }
+        
         throw new ResourceNotFoundException("No cached report found for session " + sessionId + 
-                ". Report generation is not yet implemented.");
+                ". PDF report generation is not yet implemented.");
+    }
+    
+    /**
+     * GET /reports/events/{eventId}/export
+     * Roles: EVENT_MANAGER (FR-303, FR-601)
+     * Use: Export every session of an event in one download (ideas CSV + AI summary per session)
+     * Response: 200 application/zip, streamed while sessions are rendered in parallel
+     */
+    @GetMapping("/events/{eventId}/export")
+    @PreAuthorize("hasRole('EVENT_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportEventReport(@PathVariable Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        
+        StreamingResponseBody body = out -> reportExportService.writeEventArchive(eventId, out);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"event_" + eventId + "_export.zip\"")
+                .body(body);
+    }
+    
+    /**
+     * GET /reports/events/{eventId}/throughput
+     * Roles: EVENT_MANAGER
+     * Query: since (optional ISO date-time) - only buckets starting at or after it
+     * Use: Ideas submitted per minute and team, for the live dashboard chart (polled every few seconds)
+     * Response: eventId, bucketSeconds, source, totalIdeas, points[{bucketStart, total, byTeam}]
+     */
+    @GetMapping("/events/{eventId}/throughput")
+    @PreAuthorize("hasRole('EVENT_MANAGER')")
+    public ResponseEntity<ThroughputSeriesDto> getEventThroughput(
+            @PathVariable Long eventId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        return ResponseEntity.ok(ideaThroughputService.getSeries(eventId, since));
+    }
+    
+    /**
+     * POST /reports/analytics/events/{eventId}
+     * Roles: EVENT_MANAGER (FR-303)
+     * Use: Columnar (Arrow IPC, ZSTD) export of an event's ideas, rounds, sessions and teams for offline analysis
+     * Response: 202 with exportId and Location of the export's status, polled until SUCCEEDED
+     */
+    @PostMapping("/analytics/events/{eventId}")
+    @PreAuthorize("hasRole('EVENT_MANAGER')")
+    public ResponseEntity<AnalyticsExportDto> exportEventAnalytics(@PathVariable Long eventId) {
+        return accepted(analyticsExportService.exportEvent(eventId));
+    }
+    
+    /**
+     * POST /reports/analytics?from=&to=
+     * Roles: EVENT_MANAGER (FR-303)
+     * Use: Same as above for every event whose dates overlap [from, to] (ISO dates)
+     * Response: 202 with exportId and Location of the export's status, polled until SUCCEEDED
+     */
+    @PostMapping("/analytics")
+    @PreAuthorize("hasRole('EVENT_MANAGER')")
+    public ResponseEntity<AnalyticsExportDto> exportDateRangeAnalytics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return accepted(analyticsExportService.exportDateRange(from, to));
+    }
+    
+    /**
+     * GET /reports/analytics/{exportId}
+     * Roles: EVENT_MANAGER (FR-303)
+     * Use: Poll an analytics export started above
+     * Response: 200 with status (PENDING, RUNNING, SUCCEEDED, FAILED); download URLs of the files once SUCCEEDED
+     */
+    @GetMapping("/analytics/{exportId}")
+    @PreAuthorize("hasRole('EVENT_MANAGER')")
+    public ResponseEntity<AnalyticsExportDto> getAnalyticsExport(@PathVariable String exportId) {
+        return ResponseEntity.ok(analyticsExportService.getExport(exportId));
+    }
+    
+    /**
+     * GET /reports/analytics/{exportId}/{fileName}
+     * Roles: EVENT_MANAGER (FR-303)
+     * Use: Download one file of a finished analytics export
+     * Response: 200 application/vnd.apache.arrow.file
+     */
+    @GetMapping("/analytics/{exportId}/{fileName}")
+    @PreAuthorize("hasRole('EVENT_MANAGER')")
+    public ResponseEntity<Resource> downloadAnalyticsFile(
+            @PathVariable String exportId,
+            @PathVariable String fileName) {
+        Path file = analyticsExportService.resolveExportFile(exportId, fileName);
+        if (file == null) {
+            throw new ResourceNotFoundException("Analytics export file not found: " + exportId + "/" + fileName);
+        }
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/vnd.apache.arrow.file"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + exportId + "_" + fileName + "\"")
+                .body(new FileSystemResource(file));
+    }
+    
+    private static ResponseEntity<AnalyticsExportDto> accepted(AnalyticsExportDto export) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/analytics/" + export.getExportId()))
+                .body(export);
     }
     
     /**
@@ -163,54 +250,6 @@ public class ReportController {
     @GetMapping("/events/{eventId}")
     @PreAuthorize("hasRole('EVENT_MANAGER')")
     public ResponseEntity<EventReportDto> getEventReport(@PathVariable Long eventId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
-        
-        List<Team> teams = teamRepository.findByEventId(eventId);
-        List<Topic> topics = topicRepository.findByEventId(eventId);
-        List<EventParticipant> participants = participantRepository.findByEventId(eventId);
-        
-        // Count total sessions and ideas
-        int totalSessions = 0;
-        int totalIdeas = 0;
-        
-        List<TeamSummaryDto> teamSummaries = new ArrayList<>();
-        for (Team team : teams) {
-            List<Session> teamSessions = sessionRepository.findByTeamId(team.getId());
-            List<Idea> teamIdeas = ideaRepository.findByTeamId(team.getId());
-            List<TeamMember> teamMembers = teamMemberRepository.findByTeamId(team.getId());
-            
-            totalSessions += teamSessions.size();
-            totalIdeas += teamIdeas.size();
-            
-            TeamSummaryDto teamSummary = TeamSummaryDto.builder()
-                    .id(team.getId())
-                    .name(team.getName())
-                    .leaderName(team.getLeader() != null ? team.getLeader().getFullName() : null)
-                    .memberCount(teamMembers.size())
-                    .sessionCount(teamSessions.size())
-                    .totalIdeas(teamIdeas.size())
-                    .build();
-            
-            teamSummaries.add(teamSummary);
-        }
-        
-        EventReportDto report = EventReportDto.builder()
-                .eventId(event.getId())
-                .eventName(event.getName())
-                .eventDescription(event.getDescription())
-                .startDate(event.getStartDate())
-                .endDate(event.getEndDate())
-                .ownerName(event.getOwner() != null ? event.getOwner().getFullName() : null)
-                .totalTeams(teams.size())
-                .totalTopics(topics.size())
-                .totalSessions(totalSessions)
-                .totalIdeas(totalIdeas)
-                .totalParticipants(participants.size())
-                .teams(teamSummaries)
-                .topics(topicMapper.toDtoList(topics))
-                .build();
-        
-        return ResponseEntity.ok(report);
+        return ResponseEntity.ok(reportService.getEventReport(eventId));
     }
 }
@@ -1,38 +1,40 @@
 package com.brainstorming.controller;
 
 import com.brainstorming.dto.*;
-import com.brainstorming.entity.Session;
 import com.brainstorming.entity.User;
-import com.brainstorming.mapper.SessionMapper;
-import com.brainstorming.repository.SessionRepository;
 import com.brainstorming.repository.UserRepository;
+import com.brainstorming.service.KeysetPaging;
 import com.brainstorming.service.SessionService;
+import com.brainstorming.service.WriteBehindIdeaIngestor;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/sessions")
 public class SessionController {
 
     private final SessionService sessionService;
-    private final SessionRepository sessionRepository;
     private final UserRepository userRepository;
-    private final SessionMapper sessionMapper;
+    private final KeysetPaging keysetPaging;
+    // Endpoints returning ideas or submission status wait for the session's accepted write-behind submissions
+    // here, before the service's transaction takes a pooled connection
+    private final WriteBehindIdeaIngestor writeBehindIngestor;
 
     public SessionController(SessionService sessionService,
-                           SessionRepository sessionRepository,
                            UserRepository userRepository,
-                           SessionMapper sessionMapper) {
+                           KeysetPaging keysetPaging,
+                           WriteBehindIdeaIngestor writeBehindIngestor) {
         this.sessionService = sessionService;
-        this.sessionRepository = sessionRepository;
         this.userRepository = userRepository;
-        this.sessionMapper = sessionMapper;
+        this.keysetPaging = keysetPaging;
+        this.writeBehindIngestor = writeBehindIngestor;
     }
 
     private User getCurrentUser() {
@@ -42,13 +44,30 @@ public class SessionController {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    /**
+     * GET /sessions
+     * Query: cursor (from the previous page), size (default pagination.default-size, max pagination.max-size)
+     * Response: 200 { items, next_cursor, has_more } ordered by id
+     */
     @GetMapping
-    public ResponseEntity<List<SessionDto>> getAllSessions() {
-        List<Session> sessions = sessionRepository.findAll();
-        List<SessionDto> sessionDtos = sessions.stream()
-                .map(sessionMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(sessionDtos);
+    public ResponseEntity<CursorPage<SessionDto>> getSessions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(sessionService.getSessions(cursor, size));
+    }
+
+    /**
+     * GET /sessions/stream
+     * Use: Bulk export of every session
+     * Response: 200 application/x-ndjson, one session per line ordered by id, read page by page
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamSessions() {
+        StreamingResponseBody body = out -> keysetPaging.writeNdjson(out,
+                cursor -> sessionService.getSessions(cursor, keysetPaging.getMaxSize()));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
     
     /**
@@ -57,9 +76,7 @@ public class SessionController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<SessionDto> getSessionById(@PathVariable Long id) {
-        Session session = sessionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Session not found"));
-        return ResponseEntity.ok(sessionMapper.toDto(session));
+        return ResponseEntity.ok(sessionService.getSession(id));
     }
 
     /**
@@ -69,6 +86,7 @@ public class SessionController {
     @GetMapping("/{id}/state")
     public ResponseEntity<SessionStateDto> getSessionState(@PathVariable Long id) {
         User currentUser = getCurrentUser();
+        writeBehindIngestor.awaitFlushed(id);
         SessionStateDto state = sessionService.getSessionState(id, currentUser.getId());
         return ResponseEntity.ok(state);
     }
@@ -89,6 +107,7 @@ public class SessionController {
             @PathVariable Long id,
             @Valid @RequestBody SessionControlRequest request) {
         User currentUser = getCurrentUser();
+        writeBehindIngestor.awaitFlushed(id);
         SessionStateDto state = sessionService.controlSession(id, currentUser.getId(), request.getAction());
         return ResponseEntity.ok(state);
     }
@@ -106,6 +125,7 @@ public class SessionController {
     @PostMapping("/{id}/start")
     public ResponseEntity<SessionStateDto> startSession(@PathVariable Long id) {
         User currentUser = getCurrentUser();
+        writeBehindIngestor.awaitFlushed(id);
         SessionStateDto state = sessionService.startSession(id, currentUser.getId());
         return ResponseEntity.ok(state);
     }
@@ -113,6 +133,7 @@ public class SessionController {
     @PostMapping("/{id}/pause")
     public ResponseEntity<SessionStateDto> pauseSession(@PathVariable Long id) {
         User currentUser = getCurrentUser();
+        writeBehindIngestor.awaitFlushed(id);
         SessionStateDto state = sessionService.pauseSession(id, currentUser.getId());
         return ResponseEntity.ok(state);
     }
@@ -120,6 +141,7 @@ public class SessionController {
     @PostMapping("/{id}/resume")
     public ResponseEntity<SessionStateDto> resumeSession(@PathVariable Long id) {
         User currentUser = getCurrentUser();
+        writeBehindIngestor.awaitFlushed(id);
         SessionStateDto state = sessionService.resumeSession(id, currentUser.getId());
         return ResponseEntity.ok(state);
     }
@@ -127,6 +149,7 @@ public class SessionController {
     @PostMapping("/{id}/complete")
     public ResponseEntity<SessionStateDto> completeSession(@PathVariable Long id) {
         User currentUser = getCurrentUser();
+        writeBehindIngestor.awaitFlushed(id);
         SessionStateDto state = sessionService.completeSession(id, currentUser.getId());
         return ResponseEntity.ok(state);
     }
@@ -141,6 +164,7 @@ public class SessionController {
             @PathVariable Long id,
             @PathVariable Integer roundNumber) {
         User currentUser = getCurrentUser();
+        writeBehindIngestor.awaitFlushed(id);
         AdvanceRoundResponseDto response = sessionService.advanceRoundWithPassing(id, currentUser.getId());
         return ResponseEntity.ok(response);
     }
@@ -164,6 +188,7 @@ public class SessionController {
             @PathVariable Long id,
             @PathVariable Integer roundNumber) {
         User currentUser = getCurrentUser();
+        writeBehindIngestor.awaitFlushed(id);
         RoundDetailDto roundDetail = sessionService.getRoundDetail(id, roundNumber, currentUser.getId());
         return ResponseEntity.ok(roundDetail);
     }
@@ -176,6 +201,7 @@ public class SessionController {
     @GetMapping("/{id}/ideas")
     public ResponseEntity<SessionIdeasResponseDto> getSessionIdeas(@PathVariable Long id) {
         User currentUser = getCurrentUser();
+        writeBehindIngestor.awaitFlushed(id);
         SessionIdeasResponseDto response = sessionService.getSessionIdeasGrouped(id, currentUser.getId());
         return ResponseEntity.ok(response);
     }
@@ -6,13 +6,16 @@ import com.brainstorming.repository.UserRepository;
 import com.brainstorming.service.SessionService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import com.brainstorming.service.KeysetPaging;
 import com.brainstorming.service.TeamService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -24,6 +27,7 @@ public class TeamController {
     private final UserRepository userRepository;
     private final SessionService sessionService;
     private final TeamService teamService;
+    private final KeysetPaging keysetPaging;
 
     private User getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -32,10 +36,34 @@ public class TeamController {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    /**
+     * GET /teams
+     * Roles: EVENT_MANAGER
+     * Query: cursor (from the previous page), size (default pagination.default-size, max pagination.max-size)
+     * Response: 200 { items, next_cursor, has_more } ordered by id
+     */
     @GetMapping
     @PreAuthorize("hasRole('EVENT_MANAGER')") // Assuming admin only for listing all
-    public ResponseEntity<List<TeamDto>> getAllTeams() {
-        return ResponseEntity.ok(teamService.getAllTeams());
+    public ResponseEntity<CursorPage<TeamDto>> getTeams(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(teamService.getTeams(cursor, size));
+    }
+
+    /**
+     * GET /teams/stream
+     * Roles: EVENT_MANAGER
+     * Use: Bulk export of every team
+     * Response: 200 application/x-ndjson, one team per line ordered by id, read page by page
+     */
+    @GetMapping("/stream")
+    @PreAuthorize("hasRole('EVENT_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> streamTeams() {
+        StreamingResponseBody body = out -> keysetPaging.writeNdjson(out,
+                cursor -> teamService.getTeams(cursor, keysetPaging.getMaxSize()));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -50,11 +78,29 @@ public class TeamController {
         return ResponseEntity.ok(teamService.updateTeam(id, request));
     }
 
+    /**
+     * DELETE /teams/{id}
+     * Roles: EVENT_MANAGER, TEAM_LEADER
+     * Use: Hides the team at once; its sessions, ideas, logs, AI artifacts and members are deleted
+     *      in the background
+     * Response: 202 DeletionJobDto, progress at GET /teams/{id}/deletion
+     */
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('EVENT_MANAGER', 'TEAM_LEADER')")
-    public ResponseEntity<Void> deleteTeam(@PathVariable Long id) {
-        teamService.deleteTeam(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<DeletionJobDto> deleteTeam(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(teamService.deleteTeam(id));
+    }
+
+    /**
+     * GET /teams/{id}/deletion
+     * Roles: EVENT_MANAGER, TEAM_LEADER
+     * Use: Progress of a team deletion: status, current table, sessions and rows deleted so far
+     * Response: 200 DeletionJobDto; 404 if no deletion of the team is known
+     */
+    @GetMapping("/{id}/deletion")
+    @PreAuthorize("hasAnyRole('EVENT_MANAGER', 'TEAM_LEADER')")
+    public ResponseEntity<DeletionJobDto> getTeamDeletion(@PathVariable Long id) {
+        return ResponseEntity.ok(teamService.getTeamDeletion(id));
     }
 
     @GetMapping("/{id}/members")
@@ -1,13 +1,17 @@
 package com.brainstorming.controller;
 
+import com.brainstorming.dto.CursorPage;
 import com.brainstorming.dto.TopicDto;
 import com.brainstorming.dto.UpdateTopicRequest;
+import com.brainstorming.service.KeysetPaging;
 import com.brainstorming.service.TopicService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/topics")
@@ -15,11 +19,34 @@ import org.springframework.web.bind.annotation.*;
 public class TopicController {
 
     private final TopicService topicService;
+    private final KeysetPaging keysetPaging;
 
+    /**
+     * GET /topics
+     * Query: cursor (from the previous page), size (default pagination.default-size, max pagination.max-size)
+     * Response: 200 { items, next_cursor, has_more } ordered by id
+     */
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<java.util.List<TopicDto>> getAllTopics() {
-        return ResponseEntity.ok(topicService.getAllTopics());
+    public ResponseEntity<CursorPage<TopicDto>> getTopics(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(topicService.getTopics(cursor, size));
+    }
+
+    /**
+     * GET /topics/stream
+     * Use: Bulk export of every topic
+     * Response: 200 application/x-ndjson, one topic per line ordered by id, read page by page
+     */
+    @GetMapping("/stream")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> streamTopics() {
+        StreamingResponseBody body = out -> keysetPaging.writeNdjson(out,
+                cursor -> topicService.getTopics(cursor, keysetPaging.getMaxSize()));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -13,5 +13,14 @@ public class AISummaryRequest {
     private String length;
     
     private String language;
+    
+    // Relay partial output as "ai_job_progress" socket messages while the summary is generated
+    private Boolean stream;
+    
+    // How large inputs are split before summarizing: round, team or size (default: round for sessions, team for events)
+    private String split;
+    
+    // gemini (default) or local: themes from local clustering, no network call and not stored
+    private String mode;
 }
 
@@ -0,0 +1,31 @@
+package com.brainstorming.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiJobDto {
+    private String jobId;
+    private Type type;
+    private Long sessionId;
+    private Status status;
+    // AISuggestionResponse or AISummaryResponse once SUCCEEDED
+    private Object result;
+    private String error;
+    // True when Gemini was unavailable and the last stored result was returned instead
+    private Boolean stale;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    public enum Type {
+        SUGGESTION, SUMMARY
+    }
+
+    public enum Status {
+        PENDING, RUNNING, SUCCEEDED, FAILED
+    }
+}
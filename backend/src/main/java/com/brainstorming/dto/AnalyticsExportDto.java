@@ -0,0 +1,39 @@
+package com.brainstorming.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsExportDto {
+    private String exportId;
+    private List<Long> eventIds;
+    private LocalDate from;
+    private LocalDate to;
+    private Status status;
+    // Set once SUCCEEDED
+    private List<FileInfo> files;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    public enum Status {
+        PENDING, RUNNING, SUCCEEDED, FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FileInfo {
+        private String name;
+        private Long rows;
+        private Long sizeBytes;
+        private String downloadUrl;
+    }
+}
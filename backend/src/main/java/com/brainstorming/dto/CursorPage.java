@@ -0,0 +1,19 @@
+package com.brainstorming.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. Pass nextCursor back as ?cursor= to get the following page;
+ * it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
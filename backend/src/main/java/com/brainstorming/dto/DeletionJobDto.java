@@ -0,0 +1,28 @@
+package com.brainstorming.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Progress of the background deletion of an event or team (CascadeDeletionService).
+ * rowsDeleted counts the deleted rows per table so far.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeletionJobDto {
+    private String targetType;
+    private Long targetId;
+    private String status;
+    private String currentStep;
+    private Integer sessionsTotal;
+    private Integer sessionsDeleted;
+    private Map<String, Long> rowsDeleted;
+    private String error;
+    private LocalDateTime requestedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,39 @@
+package com.brainstorming.dto;
+
+import com.brainstorming.entity.AiArtifact;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Contents of an event archive file (gzip-compressed JSON, one file per event): the rows moved out of
+ * ideas, session_logs and ai_artifacts, with their original ids so they can be restored as they were.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventArchive {
+    private Long eventId;
+    private LocalDateTime archivedAt;
+    // Ordered by session, round number and id
+    private List<IdeaDto> ideas;
+    private List<SessionLogDto> sessionLogs;
+    private List<ArchivedAiArtifact> aiArtifacts;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ArchivedAiArtifact {
+        private Long id;
+        private Long sessionId;
+        private Long roundId;
+        private AiArtifact.Type type;
+        private String content;
+        private String inputHash;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+    }
+}
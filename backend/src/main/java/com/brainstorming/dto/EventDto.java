@@ -19,4 +19,5 @@ public class EventDto {
     private String ownerName;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private LocalDateTime archivedAt;
 }
@@ -0,0 +1,23 @@
+package com.brainstorming.dto;
+
+import lombok.*;
+
+/**
+ * One team's outcome of an event-wide suggestion request, streamed as a "team_result" event.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventSuggestionResultDto {
+    private Long sessionId;
+    private Long teamId;
+    private String teamName;
+    // AI job of the session; RUNNING when an identical request was already in progress (poll GET /ai/jobs/{jobId})
+    private String jobId;
+    private AiJobDto.Status status;
+    private Boolean cached;
+    // Streamed as soon as Gemini answers, before the artifact is stored, so the suggestion ids are null
+    private AISuggestionResponse suggestions;
+    private String error;
+}
@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// Field order is the argument order of the constructor expression in IdeaRepository.IDEA_DTO_SELECT
 public class IdeaDto {
     private Long id;
     private Long sessionId;
@@ -0,0 +1,18 @@
+package com.brainstorming.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NearDuplicateDto {
+    // The submitted idea
+    private Long ideaId;
+    private String text;
+    // The existing idea of the session it resembles
+    private Long matchedIdeaId;
+    private String matchedText;
+    // Jaccard similarity of the character 3-grams, 0..1
+    private Double similarity;
+}
@@ -0,0 +1,27 @@
+package com.brainstorming.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compact per-session state pushed on the event control room stream.
+ * Equality is used to diff consecutive digests.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionDigestDto {
+    private Long sessionId;
+    private Long teamId;
+    private String teamName;
+    private String status;
+    private Integer currentRound;
+    private Integer roundCount;
+    private String timerState;
+    // When the running round times out; null unless the round timer is running
+    private LocalDateTime roundDeadline;
+    private Integer submittedCount;
+    private Integer memberCount;
+}
@@ -11,4 +11,7 @@ import java.util.List;
 public class SubmitIdeasResponse {
     private String message;
     private List<IdeaDto> ideas;
+    // Near-duplicate check: similarity from which an idea counts as a near-duplicate, and the ideas flagged
+    private Double similarityThreshold;
+    private List<NearDuplicateDto> nearDuplicates;
 }
@@ -0,0 +1,19 @@
+package com.brainstorming.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThemeClustersDto {
+    private Long sessionId;
+    private Long eventId;
+    private Integer ideaCount;
+    // Largest theme first
+    private List<ThemeDto> themes;
+    private LocalDateTime computedAt;
+}
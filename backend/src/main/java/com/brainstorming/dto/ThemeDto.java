@@ -0,0 +1,19 @@
+package com.brainstorming.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThemeDto {
+    private String label;
+    // Highest weighted terms of the cluster centroid
+    private List<String> keywords;
+    private Integer ideaCount;
+    private List<Long> ideaIds;
+    // Ideas closest to the centroid, most typical first
+    private List<String> representativeIdeas;
+}
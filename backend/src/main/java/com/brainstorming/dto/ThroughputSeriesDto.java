@@ -0,0 +1,32 @@
+package com.brainstorming.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThroughputSeriesDto {
+    private Long eventId;
+    private Integer bucketSeconds;
+    // "live" while the series is held in memory, "compacted" once read from idea_throughput_buckets
+    private String source;
+    private Integer totalIdeas;
+    // Only minutes with at least one submission are listed
+    private List<Point> points;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Point {
+        private LocalDateTime bucketStart;
+        private Integer total;
+        // teamId -> ideas submitted in this minute
+        private Map<Long, Integer> byTeam;
+    }
+}
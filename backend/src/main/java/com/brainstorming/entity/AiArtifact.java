@@ -10,7 +10,11 @@ import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ai_artifacts")
+@Table(name = "ai_artifacts", indexes = {
+        @Index(name = "idx_ai_artifacts_input_hash", columnList = "input_hash"),
+        // Latest artifact of a session and type (findFirstBySessionIdAndTypeOrderByIdDesc)
+        @Index(name = "idx_ai_artifacts_session_type_id", columnList = "session_id, type, id DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,6 +41,10 @@ public class AiArtifact {
     @Column(nullable = false, columnDefinition = "json")
     private String content;
 
+    // SHA-256 of the prompt inputs that produced this artifact (see AiResultCache)
+    @Column(name = "input_hash", length = 64)
+    private String inputHash;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -2,7 +2,10 @@ package com.brainstorming.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -12,6 +15,10 @@ import java.util.List;
 
 @Entity
 @Table(name = "events")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// Rows being deleted by CascadeDeletionService are hidden
+@SQLRestriction("deleted_at IS NULL")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -58,4 +65,12 @@ public class Event {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Set while the event's ideas, logs and AI artifacts live in its archive file (EventArchiveService)
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    // Set when the event was deleted; its rows are removed in the background (CascadeDeletionService)
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 }
@@ -8,7 +8,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ideas")
+@Table(name = "ideas", indexes = {
+        @Index(name = "idx_ideas_session_round_author", columnList = "session_id, round_id, author_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,38 @@
+package com.brainstorming.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-minute idea count of one team, kept for events whose sessions are all completed
+ * so the throughput chart no longer needs the in-memory series.
+ */
+@Entity
+@Table(name = "idea_throughput_buckets", indexes = {
+        @Index(name = "idx_throughput_event_bucket", columnList = "event_id, bucket_start")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdeaThroughputBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "idea_count", nullable = false)
+    private Integer ideaCount;
+}
@@ -9,7 +9,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "rounds")
+@Table(name = "rounds", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rounds_session_round_number", columnNames = {"session_id", "round_number"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -9,7 +9,9 @@ import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "session_logs")
+@Table(name = "session_logs", indexes = {
+        @Index(name = "idx_session_logs_session_created", columnList = "session_id, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -2,7 +2,11 @@ package com.brainstorming.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -11,6 +15,10 @@ import java.util.List;
 
 @Entity
 @Table(name = "teams")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// Rows being deleted by CascadeDeletionService are hidden
+@SQLRestriction("deleted_at IS NULL")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -40,7 +48,9 @@ public class Team {
     @Column(nullable = false, columnDefinition = "TINYINT")
     private Integer capacity = 6;
 
+    // Loaded for many teams at once when a page of teams is mapped (memberCount)
     @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
     private List<TeamMember> members = new ArrayList<>();
 
@@ -55,4 +65,8 @@ public class Team {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Set when the team was deleted; its rows are removed in the background (CascadeDeletionService)
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 }
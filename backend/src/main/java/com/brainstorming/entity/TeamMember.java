@@ -7,7 +7,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "team_members")
+@Table(name = "team_members", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_team_members_team_user", columnNames = {"team_id", "user_id"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
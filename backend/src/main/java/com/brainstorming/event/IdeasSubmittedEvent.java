@@ -0,0 +1,24 @@
+package com.brainstorming.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published by IdeaService when a participant submits the ideas of a round.
+ * Listeners that need committed data should use @TransactionalEventListener.
+ */
+@Getter
+@AllArgsConstructor
+public class IdeasSubmittedEvent {
+    private final Long eventId;
+    private final Long teamId;
+    private final Long sessionId;
+    private final List<Long> ideaIds;
+    private final LocalDateTime submittedAt;
+    // idea id -> text, so listeners can index the new ideas without reading them back
+    private final Map<Long, String> ideaTexts;
+}
@@ -0,0 +1,18 @@
+package com.brainstorming.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever a session reaches COMPLETED: manual end, last round timing out, or
+ * auto-advance after every member submitted.
+ * Listeners that need committed data should use @TransactionalEventListener.
+ */
+@Getter
+@AllArgsConstructor
+public class SessionCompletedEvent {
+    private final Long sessionId;
+    private final LocalDateTime completedAt;
+}
@@ -0,0 +1,16 @@
+package com.brainstorming.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by IdeaService when ideas of a session are created, edited or deleted outside of a round
+ * submission (which publishes IdeasSubmittedEvent).
+ */
+@Getter
+@AllArgsConstructor
+public class SessionContentChangedEvent {
+    private final Long sessionId;
+    // Whether the session was already COMPLETED, i.e. the ideas were moderated after the fact
+    private final boolean sessionCompleted;
+}
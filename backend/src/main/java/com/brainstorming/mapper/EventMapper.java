@@ -23,5 +23,7 @@ public interface EventMapper {
     @Mapping(target = "participants", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "archivedAt", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
     Event toEntity(EventDto dto);
 }
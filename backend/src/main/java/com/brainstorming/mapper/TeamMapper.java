@@ -25,5 +25,6 @@ public interface TeamMapper {
     @Mapping(target = "sessions", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
     Team toEntity(TeamDto dto);
 }
@@ -2,9 +2,15 @@ package com.brainstorming.repository;
 
 import com.brainstorming.entity.AiArtifact;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AiArtifactRepository extends JpaRepository<AiArtifact, Long> {
@@ -14,4 +20,16 @@ public interface AiArtifactRepository extends JpaRepository<AiArtifact, Long> {
     List<AiArtifact> findByRoundId(Long roundId);
     
     List<AiArtifact> findBySessionIdAndType(Long sessionId, AiArtifact.Type type);
+
+    // Served by idx_ai_artifacts_session_type_id
+    Optional<AiArtifact> findFirstBySessionIdAndTypeOrderByIdDesc(Long sessionId, AiArtifact.Type type);
+
+    Optional<AiArtifact> findFirstByInputHashAndTypeAndCreatedAtAfterOrderByIdDesc(
+            String inputHash, AiArtifact.Type type, LocalDateTime createdAfter);
+
+    List<AiArtifact> findBySessionIdInOrderByIdAsc(Collection<Long> sessionIds);
+
+    @Modifying
+    @Query("DELETE FROM AiArtifact a WHERE a.session.id IN :sessionIds AND a.id <= :maxId")
+    int deleteBySessionIds(@Param("sessionIds") Collection<Long> sessionIds, @Param("maxId") Long maxId);
 }
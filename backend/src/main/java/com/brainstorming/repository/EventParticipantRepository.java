@@ -1,7 +1,11 @@
 package com.brainstorming.repository;
 
 import com.brainstorming.entity.EventParticipant;
+import com.brainstorming.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +21,22 @@ public interface EventParticipantRepository extends JpaRepository<EventParticipa
     Optional<EventParticipant> findByEventIdAndUserId(Long eventId, Long userId);
     
     boolean existsByEventIdAndUserId(Long eventId, Long userId);
+
+    /**
+     * Next page of participants with id greater than afterId, event and user loaded (keyset paging).
+     * Each non-null filter narrows the page: eventId to one event, role to the participant's role in the
+     * event (its override, else the user's role), teamId to the leader and members of that team, leaderId
+     * to the leaders and members of the teams that user leads.
+     */
+    @Query("SELECT p FROM EventParticipant p JOIN FETCH p.event JOIN FETCH p.user u " +
+            "WHERE (:eventId IS NULL OR p.event.id = :eventId) " +
+            "AND (:role IS NULL OR COALESCE(p.roleOverride, u.role) = :role) " +
+            "AND ((:teamId IS NULL AND :leaderId IS NULL) OR EXISTS (" +
+            "  SELECT t.id FROM Team t WHERE t.event = p.event AND t.deletedAt IS NULL " +
+            "  AND (:teamId IS NULL OR t.id = :teamId) AND (:leaderId IS NULL OR t.leader.id = :leaderId) " +
+            "  AND (t.leader = u OR EXISTS (SELECT m.id FROM TeamMember m WHERE m.team = t AND m.user = u)))) " +
+            "AND p.id > :afterId ORDER BY p.id")
+    List<EventParticipant> findPageAfter(@Param("eventId") Long eventId, @Param("teamId") Long teamId,
+                                         @Param("role") User.Role role, @Param("leaderId") Long leaderId,
+                                         @Param("afterId") Long afterId, Pageable pageable);
 }
@@ -1,13 +1,69 @@
 package com.brainstorming.repository;
 
 import com.brainstorming.entity.Event;
+import com.brainstorming.entity.Session;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     
     List<Event> findByOwnerId(Long ownerId);
+
+    /**
+     * Events to archive: not archived yet, with sessions, all of them completed and none updated since the cutoff.
+     */
+    @Query("SELECT e.id FROM Event e WHERE e.archivedAt IS NULL " +
+            "AND EXISTS (SELECT s.id FROM Session s WHERE s.team.event = e) " +
+            "AND NOT EXISTS (SELECT s.id FROM Session s WHERE s.team.event = e " +
+            "AND (s.status <> :completed OR s.updatedAt >= :cutoff)) ORDER BY e.id")
+    List<Long> findArchiveCandidates(@Param("completed") Session.Status completed,
+                                     @Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT e.id FROM Event e WHERE e.id IN :eventIds AND e.archivedAt IS NOT NULL ORDER BY e.id")
+    List<Long> findArchivedIds(@Param("eventIds") Collection<Long> eventIds);
+
+    // Conditional, so concurrent archive / restore runs of the same event cannot both proceed
+    @Modifying
+    @Query("UPDATE Event e SET e.archivedAt = :archivedAt WHERE e.id = :eventId AND e.archivedAt IS NULL")
+    int markArchived(@Param("eventId") Long eventId, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.archivedAt = NULL WHERE e.id = :eventId AND e.archivedAt IS NOT NULL")
+    int clearArchived(@Param("eventId") Long eventId);
+
+    // Hides the event; a bulk update, so the cached Event is evicted as well
+    @Modifying
+    @Query("UPDATE Event e SET e.deletedAt = :deletedAt WHERE e.id = :eventId AND e.deletedAt IS NULL")
+    int markDeleted(@Param("eventId") Long eventId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Next page of events with id greater than afterId, owner loaded (keyset paging).
+     */
+    @Query("SELECT e FROM Event e JOIN FETCH e.owner WHERE e.id > :afterId ORDER BY e.id")
+    List<Event> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Next page of the events in which the user is a member of a team (keyset paging).
+     */
+    @Query("SELECT e FROM Event e JOIN FETCH e.owner WHERE e.id > :afterId AND EXISTS " +
+            "(SELECT tm.id FROM TeamMember tm WHERE tm.team.event = e AND tm.user.id = :userId) ORDER BY e.id")
+    List<Event> findPageByMemberAfter(@Param("userId") Long userId, @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    /**
+     * Ids of events whose date range overlaps [from, to]. Open-ended dates count as overlapping.
+     */
+    @Query("SELECT e.id FROM Event e WHERE (e.startDate IS NULL OR e.startDate <= :to) " +
+            "AND (e.endDate IS NULL OR e.endDate >= :from) ORDER BY e.id")
+    List<Long> findIdsOverlapping(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
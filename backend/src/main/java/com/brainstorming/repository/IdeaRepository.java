@@ -1,13 +1,31 @@
 package com.brainstorming.repository;
 
+import com.brainstorming.dto.IdeaDto;
 import com.brainstorming.entity.Idea;
+import com.brainstorming.repository.projection.IdeaActivityRow;
+import com.brainstorming.repository.projection.IdeaAnalyticsRow;
+import com.brainstorming.repository.projection.IdeaTextRef;
+import com.brainstorming.repository.projection.IdeaTextRow;
+import com.brainstorming.repository.projection.NamedRef;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface IdeaRepository extends JpaRepository<Idea, Long> {
+
+    // Flat IdeaDto rows in one query instead of lazy-loading session, round, team and users per idea.
+    // The arguments follow the field order of IdeaDto's all-args constructor.
+    String IDEA_DTO_SELECT = "SELECT new com.brainstorming.dto.IdeaDto(i.id, s.id, r.id, r.roundNumber, t.id, " +
+            "a.id, a.fullName, i.text, p.id, p.fullName, i.createdAt, i.updatedAt) " +
+            "FROM Idea i JOIN i.session s JOIN i.round r JOIN i.team t JOIN i.author a LEFT JOIN i.passedFromUser p ";
     
     List<Idea> findBySessionId(Long sessionId);
     
@@ -22,4 +40,80 @@ public interface IdeaRepository extends JpaRepository<Idea, Long> {
     List<Idea> findByRoundIdAndAuthorId(Long roundId, Long authorId);
     
     boolean existsByRoundIdAndAuthorId(Long roundId, Long authorId);
+
+    /**
+     * Load all ideas of a session with their round, author and passed-from user in one query.
+     * Ordered by round number and author so callers can group them in a single pass.
+     */
+    @Query("SELECT i FROM Idea i JOIN FETCH i.round r JOIN FETCH i.author a LEFT JOIN FETCH i.passedFromUser " +
+            "WHERE i.session.id = :sessionId ORDER BY r.roundNumber, a.id, i.id")
+    List<Idea> findBySessionIdWithRoundAndAuthor(@Param("sessionId") Long sessionId);
+
+    /**
+     * Next chunk of ideas of the given events with id greater than afterId (keyset paging for exports).
+     */
+    @Query("SELECT i.id AS id, t.event.id AS eventId, i.session.id AS sessionId, r.roundNumber AS roundNumber, " +
+            "t.id AS teamId, i.author.id AS authorId, p.id AS passedFromUserId, i.text AS text, i.createdAt AS createdAt " +
+            "FROM Idea i JOIN i.round r JOIN i.team t LEFT JOIN i.passedFromUser p " +
+            "WHERE t.event.id IN :eventIds AND i.id > :afterId ORDER BY i.id")
+    List<IdeaAnalyticsRow> findAnalyticsChunk(@Param("eventIds") Collection<Long> eventIds,
+            @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT u.id AS id, u.fullName AS name FROM Idea i JOIN i.author u JOIN i.team t " +
+            "WHERE t.event.id IN :eventIds")
+    List<NamedRef> findAuthorsByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    @Query("SELECT DISTINCT u.id AS id, u.fullName AS name FROM Idea i JOIN i.passedFromUser u JOIN i.team t " +
+            "WHERE t.event.id IN :eventIds")
+    List<NamedRef> findPassedFromUsersByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    @Query("SELECT i.id AS id, t.id AS teamId, i.createdAt AS createdAt FROM Idea i JOIN i.team t " +
+            "WHERE t.event.id = :eventId")
+    List<IdeaActivityRow> findActivityByEventId(@Param("eventId") Long eventId);
+
+    @Query("SELECT i.session.id AS sessionId, t.id AS teamId, t.name AS teamName, r.roundNumber AS roundNumber, " +
+            "i.text AS text FROM Idea i JOIN i.team t JOIN i.round r WHERE t.event.id = :eventId " +
+            "ORDER BY t.id, r.roundNumber, i.id")
+    List<IdeaTextRow> findTextsByEventId(@Param("eventId") Long eventId);
+
+    @Query("SELECT i.session.id AS sessionId, t.id AS teamId, t.name AS teamName, r.roundNumber AS roundNumber, " +
+            "i.text AS text FROM Idea i JOIN i.team t JOIN i.round r WHERE i.session.id IN :sessionIds " +
+            "ORDER BY i.session.id, r.roundNumber, i.id")
+    List<IdeaTextRow> findTextsBySessionIds(@Param("sessionIds") Collection<Long> sessionIds);
+
+    @Query("SELECT i.id AS id, i.text AS text FROM Idea i WHERE i.session.id = :sessionId")
+    List<IdeaTextRef> findTextRefsBySessionId(@Param("sessionId") Long sessionId);
+
+    @Query("SELECT i.id AS id, i.text AS text FROM Idea i JOIN i.team t WHERE t.event.id = :eventId")
+    List<IdeaTextRef> findTextRefsByEventId(@Param("eventId") Long eventId);
+
+    /**
+     * Next page of ideas with id greater than afterId (keyset paging).
+     */
+    @Query(IDEA_DTO_SELECT + "WHERE i.id > :afterId ORDER BY i.id")
+    List<IdeaDto> findDtosAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(IDEA_DTO_SELECT + "WHERE i.id = :id")
+    Optional<IdeaDto> findDtoById(@Param("id") Long id);
+
+    @Query(IDEA_DTO_SELECT + "WHERE s.id = :sessionId ORDER BY r.roundNumber, i.id")
+    List<IdeaDto> findDtosBySessionId(@Param("sessionId") Long sessionId);
+
+    // Event archival: ordered the way SessionIdeasAssembler groups them
+    @Query(IDEA_DTO_SELECT + "WHERE s.id IN :sessionIds ORDER BY s.id, r.roundNumber, a.id, i.id")
+    List<IdeaDto> findDtosBySessionIds(@Param("sessionIds") Collection<Long> sessionIds);
+
+    @Modifying
+    @Query("DELETE FROM Idea i WHERE i.session.id IN :sessionIds AND i.id <= :maxId")
+    int deleteBySessionIds(@Param("sessionIds") Collection<Long> sessionIds, @Param("maxId") Long maxId);
+
+    @Query(IDEA_DTO_SELECT + "WHERE s.id = :sessionId AND r.id = :roundId ORDER BY i.id")
+    List<IdeaDto> findDtosBySessionIdAndRoundId(@Param("sessionId") Long sessionId, @Param("roundId") Long roundId);
+
+    @Query(IDEA_DTO_SELECT + "WHERE s.id = :sessionId AND r.roundNumber = :roundNumber ORDER BY i.id")
+    List<IdeaDto> findDtosBySessionIdAndRoundNumber(@Param("sessionId") Long sessionId,
+                                                    @Param("roundNumber") Integer roundNumber);
+
+    @Query("SELECT COUNT(DISTINCT i.author.id) FROM Idea i WHERE i.session.id = :sessionId AND i.round.id = :roundId")
+    long countAuthorsBySessionIdAndRoundId(@Param("sessionId") Long sessionId, @Param("roundId") Long roundId);
 }
@@ -0,0 +1,24 @@
+package com.brainstorming.repository;
+
+import com.brainstorming.entity.IdeaThroughputBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface IdeaThroughputBucketRepository extends JpaRepository<IdeaThroughputBucket, Long> {
+
+    boolean existsByEventId(Long eventId);
+
+    List<IdeaThroughputBucket> findByEventIdAndBucketStartGreaterThanEqualOrderByBucketStartAsc(
+            Long eventId, LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM IdeaThroughputBucket b WHERE b.eventId = :eventId")
+    void deleteByEventId(@Param("eventId") Long eventId);
+}
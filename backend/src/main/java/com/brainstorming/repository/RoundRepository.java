@@ -1,9 +1,14 @@
 package com.brainstorming.repository;
 
 import com.brainstorming.entity.Round;
+import com.brainstorming.repository.projection.RoundAnalyticsRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +16,18 @@ import java.util.Optional;
 public interface RoundRepository extends JpaRepository<Round, Long> {
     
     List<Round> findBySessionId(Long sessionId);
+
+    List<Round> findBySessionIdOrderByRoundNumberAsc(Long sessionId);
     
     Optional<Round> findBySessionIdAndRoundNumber(Long sessionId, Integer roundNumber);
+
+    /**
+     * Next chunk of rounds of the given events with id greater than afterId (keyset paging for exports).
+     */
+    @Query("SELECT r.id AS id, s.id AS sessionId, r.roundNumber AS roundNumber, r.startTime AS startTime, " +
+            "r.endTime AS endTime, r.timerState AS timerState " +
+            "FROM Round r JOIN r.session s JOIN s.team t " +
+            "WHERE t.event.id IN :eventIds AND r.id > :afterId ORDER BY r.id")
+    List<RoundAnalyticsRow> findAnalyticsChunk(@Param("eventIds") Collection<Long> eventIds,
+            @Param("afterId") Long afterId, Pageable pageable);
 }
@@ -1,9 +1,15 @@
 package com.brainstorming.repository;
 
 import com.brainstorming.entity.SessionLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,4 +20,22 @@ public interface SessionLogRepository extends JpaRepository<SessionLog, Long> {
     List<SessionLog> findByUserId(Long userId);
     
     List<SessionLog> findBySessionIdOrderByCreatedAtDesc(Long sessionId);
+
+    // Keyset page, newest first: entries in [from, before) plus those at "before" with a smaller id
+    @Query("SELECT sl FROM SessionLog sl LEFT JOIN FETCH sl.user " +
+            "WHERE sl.session.id = :sessionId AND sl.createdAt >= :from " +
+            "AND (sl.createdAt < :before OR (sl.createdAt = :before AND sl.id < :beforeId)) " +
+            "ORDER BY sl.createdAt DESC, sl.id DESC")
+    List<SessionLog> findPageBySessionId(@Param("sessionId") Long sessionId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("before") LocalDateTime before,
+                                         @Param("beforeId") Long beforeId,
+                                         Pageable pageable);
+
+    @Query("SELECT sl FROM SessionLog sl LEFT JOIN FETCH sl.user WHERE sl.session.id IN :sessionIds ORDER BY sl.id")
+    List<SessionLog> findBySessionIdsWithUser(@Param("sessionIds") Collection<Long> sessionIds);
+
+    @Modifying
+    @Query("DELETE FROM SessionLog sl WHERE sl.session.id IN :sessionIds AND sl.id <= :maxId")
+    int deleteBySessionIds(@Param("sessionIds") Collection<Long> sessionIds, @Param("maxId") Long maxId);
 }
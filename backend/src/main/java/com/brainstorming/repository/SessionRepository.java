@@ -1,10 +1,17 @@
 package com.brainstorming.repository;
 
 import com.brainstorming.entity.Session;
+import com.brainstorming.repository.projection.SessionAnalyticsRow;
+import com.brainstorming.repository.projection.SessionDigestRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SessionRepository extends JpaRepository<Session, Long> {
@@ -14,4 +21,52 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
     List<Session> findByTopicId(Long topicId);
     
     List<Session> findByStatus(Session.Status status);
+
+    /**
+     * Next page of sessions with id greater than afterId, team and topic loaded (keyset paging).
+     */
+    @Query("SELECT s FROM Session s JOIN FETCH s.team LEFT JOIN FETCH s.topic WHERE s.id > :afterId ORDER BY s.id")
+    List<Session> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    long countByTeam_Event_IdAndStatusNot(Long eventId, Session.Status status);
+
+    /**
+     * All sessions of an event with their team and topic loaded, ordered by team.
+     */
+    @Query("SELECT s FROM Session s JOIN FETCH s.team t LEFT JOIN FETCH s.topic " +
+            "WHERE t.event.id = :eventId ORDER BY t.name, s.id")
+    List<Session> findByEventIdWithTeamAndTopic(@Param("eventId") Long eventId);
+
+    @Query("SELECT t.event.id FROM Session s JOIN s.team t WHERE s.id = :sessionId")
+    Optional<Long> findEventIdById(@Param("sessionId") Long sessionId);
+
+    /**
+     * Event of the session if it is archived (its ideas, logs and AI artifacts are in the archive file).
+     */
+    @Query("SELECT t.event.id FROM Session s JOIN s.team t WHERE s.id = :sessionId AND t.event.archivedAt IS NOT NULL")
+    Optional<Long> findArchivedEventId(@Param("sessionId") Long sessionId);
+
+    /**
+     * Next chunk of sessions of the given events with id greater than afterId (keyset paging for exports).
+     */
+    @Query("SELECT s.id AS id, t.event.id AS eventId, t.id AS teamId, tp.id AS topicId, tp.title AS topicTitle, " +
+            "s.status AS status, s.currentRound AS currentRound, s.roundCount AS roundCount, s.createdAt AS createdAt " +
+            "FROM Session s JOIN s.team t LEFT JOIN s.topic tp " +
+            "WHERE t.event.id IN :eventIds AND s.id > :afterId ORDER BY s.id")
+    List<SessionAnalyticsRow> findAnalyticsChunk(@Param("eventIds") Collection<Long> eventIds,
+            @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Every session of an event with its current round, how many authors submitted in it and the team size,
+     * in a single query.
+     */
+    @Query("SELECT s.id AS sessionId, t.id AS teamId, t.name AS teamName, s.status AS status, " +
+            "s.currentRound AS currentRound, s.roundCount AS roundCount, " +
+            "r.timerState AS timerState, r.startTime AS roundStartTime, " +
+            "(SELECT COUNT(DISTINCT i.author.id) FROM Idea i WHERE i.round = r) AS submittedCount, " +
+            "(SELECT COUNT(tm) FROM TeamMember tm WHERE tm.team = t) AS memberCount " +
+            "FROM Session s JOIN s.team t " +
+            "LEFT JOIN Round r ON r.session = s AND r.roundNumber = s.currentRound " +
+            "WHERE t.event.id = :eventId ORDER BY t.name, s.id")
+    List<SessionDigestRow> findDigestRowsByEventId(@Param("eventId") Long eventId);
 }
@@ -1,17 +1,47 @@
 package com.brainstorming.repository;
 
 import com.brainstorming.entity.Team;
+import com.brainstorming.repository.projection.TeamAnalyticsRow;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Team> findByEventId(Long eventId);
 
     List<Team> findByLeaderId(Long leaderId);
 
+    /**
+     * Next page of teams with id greater than afterId, event and leader loaded (keyset paging).
+     */
+    @Query("SELECT t FROM Team t JOIN FETCH t.event JOIN FETCH t.leader WHERE t.id > :afterId ORDER BY t.id")
+    List<Team> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     List<Team> findAllByMembers_UserId(Long userId);
+
+    @Query("SELECT t.id AS id, t.event.id AS eventId, t.name AS name, t.focus AS focus, l.id AS leaderId, " +
+            "l.fullName AS leaderName, t.capacity AS capacity " +
+            "FROM Team t JOIN t.leader l WHERE t.event.id IN :eventIds ORDER BY t.id")
+    List<TeamAnalyticsRow> findAnalyticsRows(@Param("eventIds") Collection<Long> eventIds);
+
+    // Hide teams being deleted; bulk updates, so cached Teams and cached team queries are evicted as well
+    @Modifying
+    @Query("UPDATE Team t SET t.deletedAt = :deletedAt WHERE t.id = :teamId AND t.deletedAt IS NULL")
+    int markDeleted(@Param("teamId") Long teamId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("UPDATE Team t SET t.deletedAt = :deletedAt WHERE t.event.id = :eventId AND t.deletedAt IS NULL")
+    int markDeletedByEventId(@Param("eventId") Long eventId, @Param("deletedAt") LocalDateTime deletedAt);
 }
@@ -1,7 +1,12 @@
 package com.brainstorming.repository;
 
 import com.brainstorming.entity.Topic;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,7 +14,14 @@ import java.util.List;
 @Repository
 public interface TopicRepository extends JpaRepository<Topic, Long> {
     
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Topic> findByEventId(Long eventId);
     
     List<Topic> findByEventIdAndStatus(Long eventId, Topic.Status status);
+
+    /**
+     * Next page of topics with id greater than afterId, event and its owner loaded (keyset paging).
+     */
+    @Query("SELECT tp FROM Topic tp JOIN FETCH tp.event e JOIN FETCH e.owner WHERE tp.id > :afterId ORDER BY tp.id")
+    List<Topic> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -11,6 +11,10 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    /**
+     * Resolved on every authenticated request, through the unique email index. Not cached: a cached User
+     * would keep its password hash in memory beyond the request.
+     */
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
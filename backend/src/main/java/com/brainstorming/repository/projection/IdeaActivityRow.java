@@ -0,0 +1,12 @@
+package com.brainstorming.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idea id, team and timestamp, used to rebuild throughput series.
+ */
+public interface IdeaActivityRow {
+    Long getId();
+    Long getTeamId();
+    LocalDateTime getCreatedAt();
+}
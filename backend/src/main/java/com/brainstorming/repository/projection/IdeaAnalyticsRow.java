@@ -0,0 +1,18 @@
+package com.brainstorming.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat idea row for analytics exports.
+ */
+public interface IdeaAnalyticsRow {
+    Long getId();
+    Long getEventId();
+    Long getSessionId();
+    Integer getRoundNumber();
+    Long getTeamId();
+    Long getAuthorId();
+    Long getPassedFromUserId();
+    String getText();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,9 @@
+package com.brainstorming.repository.projection;
+
+/**
+ * Id and text of an idea, used to build the near-duplicate index and the local themes of a session or event.
+ */
+public interface IdeaTextRef {
+    Long getId();
+    String getText();
+}
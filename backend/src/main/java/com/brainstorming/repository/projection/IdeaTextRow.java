@@ -0,0 +1,12 @@
+package com.brainstorming.repository.projection;
+
+/**
+ * Idea text with its session, team and round, used to group ideas for event-wide AI requests.
+ */
+public interface IdeaTextRow {
+    Long getSessionId();
+    Long getTeamId();
+    String getTeamName();
+    Integer getRoundNumber();
+    String getText();
+}
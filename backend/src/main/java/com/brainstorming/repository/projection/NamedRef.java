@@ -0,0 +1,9 @@
+package com.brainstorming.repository.projection;
+
+/**
+ * Id and display name pair, e.g. a user id and full name.
+ */
+public interface NamedRef {
+    Long getId();
+    String getName();
+}
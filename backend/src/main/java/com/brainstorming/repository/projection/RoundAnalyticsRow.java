@@ -0,0 +1,17 @@
+package com.brainstorming.repository.projection;
+
+import com.brainstorming.entity.Round;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat round row for analytics exports.
+ */
+public interface RoundAnalyticsRow {
+    Long getId();
+    Long getSessionId();
+    Integer getRoundNumber();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+    Round.TimerState getTimerState();
+}
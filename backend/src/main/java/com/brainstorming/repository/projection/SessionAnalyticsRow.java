@@ -0,0 +1,20 @@
+package com.brainstorming.repository.projection;
+
+import com.brainstorming.entity.Session;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat session row for analytics exports.
+ */
+public interface SessionAnalyticsRow {
+    Long getId();
+    Long getEventId();
+    Long getTeamId();
+    Long getTopicId();
+    String getTopicTitle();
+    Session.Status getStatus();
+    Integer getCurrentRound();
+    Integer getRoundCount();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,22 @@
+package com.brainstorming.repository.projection;
+
+import com.brainstorming.entity.Round;
+import com.brainstorming.entity.Session;
+
+import java.time.LocalDateTime;
+
+/**
+ * One session of an event with its current round and submission counts, for the control room digest.
+ */
+public interface SessionDigestRow {
+    Long getSessionId();
+    Long getTeamId();
+    String getTeamName();
+    Session.Status getStatus();
+    Integer getCurrentRound();
+    Integer getRoundCount();
+    Round.TimerState getTimerState();
+    LocalDateTime getRoundStartTime();
+    Long getSubmittedCount();
+    Long getMemberCount();
+}
@@ -0,0 +1,14 @@
+package com.brainstorming.repository.projection;
+
+/**
+ * Flat team row for analytics exports.
+ */
+public interface TeamAnalyticsRow {
+    Long getId();
+    Long getEventId();
+    String getName();
+    String getFocus();
+    Long getLeaderId();
+    String getLeaderName();
+    Integer getCapacity();
+}
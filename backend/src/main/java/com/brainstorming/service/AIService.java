@@ -4,46 +4,91 @@ import com.brainstorming.dto.AISuggestionRequest;
 import com.brainstorming.dto.AISuggestionResponse;
 import com.brainstorming.dto.AISummaryRequest;
 import com.brainstorming.dto.AISummaryResponse;
+import com.brainstorming.dto.AiJobDto;
+import com.brainstorming.dto.IdeaDto;
 import com.brainstorming.entity.AiArtifact;
+import com.brainstorming.entity.Event;
 import com.brainstorming.entity.Idea;
 import com.brainstorming.entity.Round;
 import com.brainstorming.entity.Session;
+import com.brainstorming.entity.Team;
 import com.brainstorming.exception.BadRequestException;
 import com.brainstorming.exception.ResourceNotFoundException;
+import com.brainstorming.exception.ServiceUnavailableException;
 import com.brainstorming.repository.AiArtifactRepository;
+import com.brainstorming.repository.EventRepository;
 import com.brainstorming.repository.IdeaRepository;
 import com.brainstorming.repository.RoundRepository;
 import com.brainstorming.repository.SessionRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.brainstorming.repository.projection.IdeaTextRow;
+import com.brainstorming.service.HierarchicalSummarizer.IdeaGroup;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.server.ResponseStatusException;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+/**
+ * AI suggestions and summaries (FR-400).
+ * Requests only read the session inside a short read-only transaction and start an AI job;
+ * the Gemini call runs without holding a request thread or DB connection, and the result
+ * is saved by AiArtifactService when it arrives.
+ * Summaries go through HierarchicalSummarizer, which splits large sessions and events by round, team or size.
+ * Ideas of archived events are read from EventArchiveService.
+ * With mode=local a summary is built from ThemeClusteringService instead, without calling Gemini.
+ * Requests that need Gemini are rate limited per event; while the Gemini circuit breaker is open they are
+ * answered with the last stored result (marked stale) instead of waiting for a failing call.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AIService {
 
+    private static final String SPLIT_ROUND = "round";
+    private static final String SPLIT_TEAM = "team";
+    private static final String SPLIT_SIZE = "size";
+    private static final String MODE_LOCAL = "local";
+
     private final SessionRepository sessionRepository;
+    private final EventRepository eventRepository;
     private final IdeaRepository ideaRepository;
     private final RoundRepository roundRepository;
     private final AiArtifactRepository aiArtifactRepository;
     private final GeminiService geminiService;
-    private final ObjectMapper objectMapper;
+    private final AiArtifactService aiArtifactService;
+    private final AiJobService aiJobService;
+    private final AiResultCache aiResultCache;
+    private final HierarchicalSummarizer hierarchicalSummarizer;
+    private final GeminiResilience geminiResilience;
+    private final AiRateLimiter aiRateLimiter;
+    private final ThemeClusteringService themeClusteringService;
+    private final SessionAuditTrail auditTrail;
+    private final EventArchiveService eventArchiveService;
 
-    @Transactional
-    public AISuggestionResponse generateSuggestions(Long sessionId, AISuggestionRequest request) {
+    @Transactional(readOnly = true)
+    public AiJobDto requestSuggestions(Long sessionId, AISuggestionRequest request, Long userId) {
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Session not found with id: " + sessionId));
+        if (session.getTopic() == null) {
+            throw new BadRequestException("Session has no topic");
+        }
+        auditTrail.record(sessionId, userId, SessionAuditTrail.AI_SUGGESTIONS_REQUESTED,
+                request.getRoundNumber() != null ? Map.of("round_number", request.getRoundNumber()) : Map.of());
 
         // Fetch ideas up to specified round (or all if roundNumber is null)
         List<Idea> ideas;
@@ -59,52 +104,43 @@ public class AIService {
             ideas = ideaRepository.findBySessionId(sessionId);
         }
 
-        // Extract idea texts
+        // Only plain values are captured by the job - the persistence context is gone when it completes
         List<String> ideaTexts = ideas.stream()
                 .map(Idea::getText)
                 .collect(Collectors.toList());
+        String topicTitle = session.getTopic().getTitle();
+        String topicDescription = session.getTopic().getDescription();
+        String promptOverride = request.getPromptOverride();
+        Long roundId = round != null ? round.getId() : null;
+
+        // Unchanged inputs are answered from the cache without calling Gemini
+        String cacheKey = aiResultCache.suggestionKey(sessionId, roundId, geminiService.getModel(),
+                topicTitle, topicDescription, ideaTexts, promptOverride);
+        Optional<Object> cached = aiResultCache.get(cacheKey, AiArtifact.Type.SUGGESTION);
+        if (cached.isPresent()) {
+            return aiJobService.completed(AiJobDto.Type.SUGGESTION, sessionId, userId, cached.get());
+        }
+        if (!geminiResilience.isCallPermitted()) {
+            return lastKnownResult(AiJobDto.Type.SUGGESTION, sessionId, userId);
+        }
+        Long eventId = eventIdOf(session);
+
+        // Joining an identical running job takes no rate limit token
+        return aiJobService.submit(AiJobDto.Type.SUGGESTION, sessionId, userId, cacheKey,
+                () -> aiRateLimiter.acquire(eventId),
+                jobId -> geminiService.generateSuggestionsAsync(topicTitle, topicDescription, ideaTexts, promptOverride)
+                        .<Object>thenApply(suggestions -> {
+                            AISuggestionResponse response =
+                                    aiArtifactService.saveSuggestions(sessionId, roundId, suggestions, cacheKey);
+                            aiResultCache.put(cacheKey, response);
+                            return response;
+                        })
+                        .exceptionallyCompose(error ->
+                                lastKnownOnRejection(jobId, AiJobDto.Type.SUGGESTION, sessionId, error)));
+    }
 
-        try {
-            // Call Gemini service
-            List<String> suggestions = geminiService.generateSuggestions(
-                    session.getTopic().getTitle(),
-                    session.getTopic().getDescription(),
-                    ideaTexts,
-                    request.getPromptOverride());
-
-            // Save AI artifact
-            AiArtifact artifact = AiArtifact.builder()
-                    .session(session)
-                    .round(round)
-                    .type(AiArtifact.Type.SUGGESTION)
-                    .content(buildSuggestionContent(suggestions))
-                    .build();
-
-            AiArtifact savedArtifact = aiArtifactRepository.save(artifact);
-
-            // Build response
-            List<AISuggestionResponse.Suggestion> suggestionList = suggestions.stream()
-                    .map(text -> AISuggestionResponse.Suggestion.builder()
-                            .id(savedArtifact.getId())
-                            .text(text)
-                            .build())
-                    .collect(Collectors.toList());
-
-            return AISuggestionResponse.builder()
-                    .suggestions(suggestionList)
-                    .build();
-
-        } catch (RuntimeException e) {
-            log.error("Error generating AI suggestions for session {}", sessionId, e);
-            throw new ResponseStatusException(
-                    HttpStatus.SERVICE_UNAVAILABLE,
-                    "AI service unavailable: " + e.getMessage(),
-                    e);
-        }
-    }
-
-    @Transactional
-    public AISummaryResponse generateSummary(Long sessionId, AISummaryRequest request) {
+    @Transactional(readOnly = true)
+    public AiJobDto requestSummary(Long sessionId, AISummaryRequest request, Long userId) {
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Session not found with id: " + sessionId));
 
@@ -113,128 +149,263 @@ public class AIService {
             throw new BadRequestException(
                     "Session must be COMPLETED to generate summary. Current status: " + session.getStatus());
         }
+        if (session.getTopic() == null) {
+            throw new BadRequestException("Session has no topic");
+        }
 
-        // Fetch all ideas from the session
-        List<Idea> ideas = ideaRepository.findBySessionId(sessionId);
-        List<String> ideaTexts = ideas.stream()
-                .map(Idea::getText)
+        // Fetch all ideas from the session, grouped the way large sessions are split
+        String split = splitOrDefault(request.getSplit(), SPLIT_ROUND);
+        auditTrail.record(sessionId, userId, SessionAuditTrail.AI_SUMMARY_REQUESTED, Map.of("split", split));
+        List<IdeaGroup> groups = groupSessionIdeas(sessionIdeaRows(sessionId), split);
+        List<String> ideaTexts = groups.stream()
+                .flatMap(group -> group.getIdeas().stream())
                 .collect(Collectors.toList());
 
         if (ideaTexts.isEmpty()) {
             throw new BadRequestException("Cannot generate summary: No ideas found in this session. Please add ideas before generating a summary.");
         }
+        if (MODE_LOCAL.equalsIgnoreCase(request.getMode())) {
+            return aiJobService.completed(AiJobDto.Type.SUMMARY, sessionId, userId,
+                    themeClusteringService.toSummary(themeClusteringService.sessionThemes(sessionId, null)));
+        }
 
-        try {
-            // Call Gemini service
-            String rawSummaryJson = geminiService.generateSummary(
-                    session.getTopic().getTitle(),
-                    session.getTopic().getDescription(),
-                    ideaTexts,
-                    request.getStyle(),
-                    request.getLength(),
-                    request.getLanguage());
+        String topicTitle = session.getTopic().getTitle();
+        String topicDescription = session.getTopic().getDescription();
 
-            // Clean JSON string
-            String summaryJson = cleanJsonString(rawSummaryJson);
+        String cacheKey = aiResultCache.summaryKey(sessionId, geminiService.getModel(), topicTitle, topicDescription,
+                ideaTexts, request.getStyle(), request.getLength(), request.getLanguage(), split);
+        Optional<Object> cached = aiResultCache.get(cacheKey, AiArtifact.Type.SUMMARY);
+        if (cached.isPresent()) {
+            return aiJobService.completed(AiJobDto.Type.SUMMARY, sessionId, userId, cached.get());
+        }
+        if (!geminiResilience.isCallPermitted()) {
+            return lastKnownResult(AiJobDto.Type.SUMMARY, sessionId, userId);
+        }
+        Long eventId = eventIdOf(session);
 
-            // Parse JSON response
-            Map<String, Object> summaryData = parseSummaryResponse(summaryJson);
+        boolean stream = Boolean.TRUE.equals(request.getStream());
+        return aiJobService.submit(AiJobDto.Type.SUMMARY, sessionId, userId, cacheKey,
+                () -> aiRateLimiter.acquire(eventId),
+                jobId -> summaryCall(jobId, stream, topicTitle, topicDescription, groups, request)
+                        .<Object>thenApply(rawSummaryJson -> {
+                            // A cancelled pre-warm job must not store a summary of outdated ideas
+                            if (aiJobService.isCancelled(jobId)) {
+                                throw new CancellationException("AI job " + jobId + " was cancelled");
+                            }
+                            AISummaryResponse response =
+                                    aiArtifactService.saveSummary(sessionId, rawSummaryJson, cacheKey);
+                            aiResultCache.put(cacheKey, response);
+                            return response;
+                        })
+                        .exceptionallyCompose(error ->
+                                lastKnownOnRejection(jobId, AiJobDto.Type.SUMMARY, sessionId, error)));
+    }
 
-            // Save AI artifact
-            AiArtifact artifact = AiArtifact.builder()
-                    .session(session)
-                    .round(null) // Summary is for entire session
-                    .type(AiArtifact.Type.SUMMARY)
-                    .content(summaryJson)
-                    .build();
+    /**
+     * Background summary with the default options, started after a session completes so the summary
+     * (and the AI cache entry for a default request) is ready when the manager asks for it.
+     */
+    @Transactional(readOnly = true)
+    public AiJobDto prewarmSummary(Long sessionId) {
+        return requestSummary(sessionId, AISummaryRequest.builder().build(), null);
+    }
 
-            AiArtifact savedArtifact = aiArtifactRepository.save(artifact);
+    /**
+     * Summary of all ideas of an event, split by team (default), round or size.
+     * Event summaries are not stored as artifacts; they are kept in the AI result cache only.
+     */
+    @Transactional(readOnly = true)
+    public AiJobDto requestEventSummary(Long eventId, AISummaryRequest request, Long userId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
 
-            // Build response
-            @SuppressWarnings("unchecked")
-            List<String> keyThemes = (List<String>) summaryData.getOrDefault("keyThemes", List.of());
-            @SuppressWarnings("unchecked")
-            List<String> notableIdeas = (List<String>) summaryData.getOrDefault("notableIdeas", List.of());
+        String split = splitOrDefault(request.getSplit(), SPLIT_TEAM);
+        List<IdeaGroup> groups = groupEventIdeas(eventIdeaRows(event), split);
+        List<String> ideaTexts = groups.stream()
+                .flatMap(group -> group.getIdeas().stream())
+                .collect(Collectors.toList());
 
-            return AISummaryResponse.builder()
-                    .summaryId(savedArtifact.getId())
-                    .summaryText((String) summaryData.getOrDefault("summaryText", ""))
-                    .keyThemes(keyThemes)
-                    .notableIdeas(notableIdeas)
-                    .build();
+        if (ideaTexts.isEmpty()) {
+            throw new BadRequestException("Cannot generate summary: No ideas found in this event.");
+        }
+        if (MODE_LOCAL.equalsIgnoreCase(request.getMode())) {
+            return aiJobService.completed(AiJobDto.Type.SUMMARY, null, userId,
+                    themeClusteringService.toSummary(themeClusteringService.eventThemes(eventId, null)));
+        }
 
-        } catch (RuntimeException e) {
-            log.error("Error generating AI summary for session {}", sessionId, e);
-            throw new ResponseStatusException(
-                    HttpStatus.SERVICE_UNAVAILABLE,
-                    "AI service unavailable: " + e.getMessage(),
-                    e);
+        String topicTitle = event.getName();
+        String topicDescription = event.getDescription();
+
+        String cacheKey = aiResultCache.eventSummaryKey(eventId, geminiService.getModel(), topicTitle,
+                topicDescription, ideaTexts, request.getStyle(), request.getLength(), request.getLanguage(), split);
+        Optional<Object> cached = aiResultCache.get(cacheKey, AiArtifact.Type.SUMMARY);
+        if (cached.isPresent()) {
+            return aiJobService.completed(AiJobDto.Type.SUMMARY, null, userId, cached.get());
+        }
+        if (!geminiResilience.isCallPermitted()) {
+            throw new ServiceUnavailableException("AI service is temporarily unavailable. Please try again later.");
         }
+        // Event jobs have no session socket, so the result is not streamed
+        return aiJobService.submit(AiJobDto.Type.SUMMARY, null, userId, cacheKey,
+                () -> aiRateLimiter.acquire(eventId),
+                jobId -> hierarchicalSummarizer.summarize(topicTitle, topicDescription, groups,
+                                request.getStyle(), request.getLength(), request.getLanguage(), null)
+                        .thenApply(rawSummaryJson -> {
+                            AISummaryResponse response = aiArtifactService.parseSummary(rawSummaryJson);
+                            aiResultCache.put(cacheKey, response);
+                            return response;
+                        }));
     }
 
-    public AISummaryResponse getLatestSummary(Long sessionId) {
-        List<AiArtifact> artifacts = aiArtifactRepository.findBySessionIdAndType(sessionId, AiArtifact.Type.SUMMARY);
-        
-        if (artifacts.isEmpty()) {
-            return null;
-        }
-        
-        // Get the most recent one (assuming ID is increasing)
-        AiArtifact latestArtifact = artifacts.get(artifacts.size() - 1);
-        
-        Map<String, Object> summaryData = parseSummaryResponse(latestArtifact.getContent());
-        
-        @SuppressWarnings("unchecked")
-        List<String> keyThemes = (List<String>) summaryData.getOrDefault("keyThemes", List.of());
-        @SuppressWarnings("unchecked")
-        List<String> notableIdeas = (List<String>) summaryData.getOrDefault("notableIdeas", List.of());
-
-        return AISummaryResponse.builder()
-                .summaryId(latestArtifact.getId())
-                .summaryText((String) summaryData.getOrDefault("summaryText", ""))
-                .keyThemes(keyThemes)
-                .notableIdeas(notableIdeas)
-                .build();
-    }
-
-    private String buildSuggestionContent(List<String> suggestions) {
-        try {
-            Map<String, Object> content = new HashMap<>();
-            content.put("suggestions", suggestions);
-            return objectMapper.writeValueAsString(content);
-        } catch (Exception e) {
-            log.error("Error building suggestion content", e);
-            return "{\"suggestions\": " + suggestions + "}";
-        }
-    }
-
-    private String cleanJsonString(String jsonResponse) {
-        if (jsonResponse == null) return "{}";
-        String cleanJson = jsonResponse.trim();
-        if (cleanJson.startsWith("```json")) {
-            cleanJson = cleanJson.substring(7);
-        } else if (cleanJson.startsWith("```")) {
-            cleanJson = cleanJson.substring(3);
-        }
-        if (cleanJson.endsWith("```")) {
-            cleanJson = cleanJson.substring(0, cleanJson.length() - 3);
-        }
-        return cleanJson.trim();
-    }
-
-    private Map<String, Object> parseSummaryResponse(String jsonResponse) {
-        try {
-            // Try to parse as JSON first
-            return objectMapper.readValue(jsonResponse, new TypeReference<Map<String, Object>>() {
-            });
-        } catch (Exception e) {
-            log.warn("Failed to parse summary as JSON, treating as plain text", e);
-            // If parsing fails, create a simple structure
-            Map<String, Object> result = new HashMap<>();
-            result.put("summaryText", jsonResponse);
-            result.put("keyThemes", List.of());
-            result.put("notableIdeas", List.of());
-            return result;
+    private CompletableFuture<String> summaryCall(String jobId, boolean stream, String topicTitle,
+                                                 String topicDescription, List<IdeaGroup> groups,
+                                                 AISummaryRequest request) {
+        Consumer<String> onChunk = null;
+        if (stream) {
+            // Fragments arrive in order, but successive ones may be delivered on different HTTP client threads
+            AtomicInteger sequence = new AtomicInteger();
+            onChunk = chunk -> aiJobService.publishProgress(jobId, sequence.getAndIncrement(), chunk);
+        }
+        return hierarchicalSummarizer.summarize(topicTitle, topicDescription, groups,
+                request.getStyle(), request.getLength(), request.getLanguage(), onChunk);
+    }
+
+    private List<IdeaTextRow> sessionIdeaRows(Long sessionId) {
+        List<Idea> ideas = ideaRepository.findBySessionIdWithRoundAndAuthor(sessionId);
+        if (ideas.isEmpty()) {
+            return archivedRows(eventArchiveService.archivedIdeas(sessionId), Map.of());
+        }
+        return ideas.stream()
+                .<IdeaTextRow>map(idea -> new IdeaText(sessionId, null, null, idea.getRound().getRoundNumber(),
+                        idea.getText()))
+                .toList();
+    }
+
+    private List<IdeaTextRow> eventIdeaRows(Event event) {
+        List<IdeaTextRow> rows = ideaRepository.findTextsByEventId(event.getId());
+        if (!rows.isEmpty()) {
+            return rows;
+        }
+        List<IdeaDto> archived = new ArrayList<>(eventArchiveService.archivedEventIdeas(event.getId()));
+        // Same order as findTextsByEventId: team, round number, id
+        archived.sort(Comparator.comparing(IdeaDto::getTeamId)
+                .thenComparing(IdeaDto::getRoundNumber)
+                .thenComparing(IdeaDto::getId));
+        Map<Long, String> teamNames = event.getTeams().stream()
+                .collect(Collectors.toMap(Team::getId, Team::getName));
+        return archivedRows(archived, teamNames);
+    }
+
+    private List<IdeaTextRow> archivedRows(List<IdeaDto> ideas, Map<Long, String> teamNames) {
+        return ideas.stream()
+                .<IdeaTextRow>map(idea -> new IdeaText(idea.getSessionId(), idea.getTeamId(),
+                        teamNames.get(idea.getTeamId()), idea.getRoundNumber(), idea.getText()))
+                .toList();
+    }
+
+    private List<IdeaGroup> groupSessionIdeas(List<IdeaTextRow> rows, String split) {
+        if (!SPLIT_ROUND.equals(split)) {
+            // A session belongs to one team, so "team" and "size" both leave the splitting to the chunk size
+            return List.of(new IdeaGroup("Session ideas", rows.stream().map(IdeaTextRow::getText).toList()));
+        }
+        Map<Integer, List<String>> byRound = new TreeMap<>();
+        for (IdeaTextRow row : rows) {
+            byRound.computeIfAbsent(row.getRoundNumber(), k -> new ArrayList<>()).add(row.getText());
+        }
+        return byRound.entrySet().stream()
+                .map(entry -> new IdeaGroup("Round " + entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private List<IdeaGroup> groupEventIdeas(List<IdeaTextRow> rows, String split) {
+        if (SPLIT_SIZE.equals(split)) {
+            return List.of(new IdeaGroup("Event ideas", rows.stream().map(IdeaTextRow::getText).toList()));
+        }
+        if (SPLIT_ROUND.equals(split)) {
+            Map<Integer, List<String>> byRound = new TreeMap<>();
+            for (IdeaTextRow row : rows) {
+                byRound.computeIfAbsent(row.getRoundNumber(), k -> new ArrayList<>()).add(row.getText());
+            }
+            return byRound.entrySet().stream()
+                    .map(entry -> new IdeaGroup("Round " + entry.getKey() + " of all teams", entry.getValue()))
+                    .toList();
+        }
+        // Rows are ordered by team, so insertion order keeps teams together
+        Map<Long, IdeaGroup> byTeam = new LinkedHashMap<>();
+        for (IdeaTextRow row : rows) {
+            byTeam.computeIfAbsent(row.getTeamId(), k -> new IdeaGroup("Team " + row.getTeamName(), new ArrayList<>()))
+                    .getIdeas().add(row.getText());
+        }
+        return new ArrayList<>(byTeam.values());
+    }
+
+    /**
+     * Latest stored result of the session, served while the Gemini circuit breaker is open.
+     */
+    private AiJobDto lastKnownResult(AiJobDto.Type type, Long sessionId, Long userId) {
+        Object result = latestStoredResult(type, sessionId)
+                .orElseThrow(() -> new ServiceUnavailableException(
+                        "AI service is temporarily unavailable. Please try again later."));
+        return aiJobService.completed(type, sessionId, userId, result, true);
+    }
+
+    /**
+     * The circuit can turn away a call that passed isCallPermitted() (e.g. half-open with its trial calls
+     * taken meanwhile); such a job is answered with the last stored result too, instead of failing.
+     */
+    private CompletableFuture<Object> lastKnownOnRejection(String jobId, AiJobDto.Type type, Long sessionId,
+                                                           Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!(cause instanceof GeminiResilience.CallRejectedException)) {
+            return CompletableFuture.failedFuture(cause);
         }
+        Optional<Object> latest = latestStoredResult(type, sessionId);
+        if (latest.isEmpty()) {
+            return CompletableFuture.failedFuture(cause);
+        }
+        aiJobService.markStale(jobId);
+        return CompletableFuture.completedFuture(latest.get());
+    }
+
+    private Optional<Object> latestStoredResult(AiJobDto.Type type, Long sessionId) {
+        AiArtifact.Type artifactType = type == AiJobDto.Type.SUMMARY ? AiArtifact.Type.SUMMARY : AiArtifact.Type.SUGGESTION;
+        return aiArtifactRepository.findFirstBySessionIdAndTypeOrderByIdDesc(sessionId, artifactType)
+                .map(latest -> {
+                    log.info("Gemini unavailable, serving last known {} (artifact {}) for session {}",
+                            type, latest.getId(), sessionId);
+                    return type == AiJobDto.Type.SUMMARY
+                            ? aiArtifactService.toSummaryResponse(latest)
+                            : aiArtifactService.toSuggestionResponse(latest);
+                });
+    }
+
+    private static Long eventIdOf(Session session) {
+        return session.getTeam() != null && session.getTeam().getEvent() != null
+                ? session.getTeam().getEvent().getId() : null;
+    }
+
+    private static String splitOrDefault(String split, String defaultSplit) {
+        if (split == null || split.isBlank()) {
+            return defaultSplit;
+        }
+        String normalized = split.trim().toLowerCase();
+        if (!SPLIT_ROUND.equals(normalized) && !SPLIT_TEAM.equals(normalized) && !SPLIT_SIZE.equals(normalized)) {
+            throw new BadRequestException("Invalid split: " + split + ". Use round, team or size");
+        }
+        return normalized;
+    }
+
+    public AISummaryResponse getLatestSummary(Long sessionId) {
+        return aiArtifactService.getLatestSummary(sessionId);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class IdeaText implements IdeaTextRow {
+        private final Long sessionId;
+        private final Long teamId;
+        private final String teamName;
+        private final Integer roundNumber;
+        private final String text;
     }
 }
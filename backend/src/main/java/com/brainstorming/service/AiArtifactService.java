@@ -0,0 +1,283 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.AISuggestionResponse;
+import com.brainstorming.dto.AISummaryResponse;
+import com.brainstorming.entity.AiArtifact;
+import com.brainstorming.repository.AiArtifactRepository;
+import com.brainstorming.repository.RoundRepository;
+import com.brainstorming.repository.SessionRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Persists Gemini results as AiArtifact rows and maps them back to API responses.
+ * Called from AI job callbacks, so each save is its own short transaction.
+ * The parsed latest summary of each session is kept in an LRU (ai.summary.latest-cache-size), so polling
+ * GET /api/ai/sessions/{id}/summary neither queries nor parses JSON; saving a summary replaces the entry
+ * once its transaction commits.
+ */
+@Service
+@Slf4j
+public class AiArtifactService {
+
+    // Cached marker for sessions that have no summary yet
+    private static final AISummaryResponse NO_SUMMARY = new AISummaryResponse();
+
+    private final AiArtifactRepository aiArtifactRepository;
+    private final SessionRepository sessionRepository;
+    private final RoundRepository roundRepository;
+    private final ObjectMapper objectMapper;
+    private final EventArchiveService eventArchiveService;
+    private final Map<Long, AISummaryResponse> latestSummaries;
+
+    public AiArtifactService(
+            AiArtifactRepository aiArtifactRepository,
+            SessionRepository sessionRepository,
+            RoundRepository roundRepository,
+            ObjectMapper objectMapper,
+            EventArchiveService eventArchiveService,
+            @Value("${ai.summary.latest-cache-size:1000}") int latestCacheSize) {
+        this.aiArtifactRepository = aiArtifactRepository;
+        this.sessionRepository = sessionRepository;
+        this.roundRepository = roundRepository;
+        this.objectMapper = objectMapper;
+        this.eventArchiveService = eventArchiveService;
+        // Access-ordered, so the eldest entry is the least recently used one
+        this.latestSummaries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, AISummaryResponse> eldest) {
+                return size() > latestCacheSize;
+            }
+        };
+    }
+
+    @Transactional
+    public AISuggestionResponse saveSuggestions(Long sessionId, Long roundId, List<String> suggestions,
+                                                String inputHash) {
+        AiArtifact artifact = AiArtifact.builder()
+                .session(sessionRepository.getReferenceById(sessionId))
+                .round(roundId != null ? roundRepository.getReferenceById(roundId) : null)
+                .type(AiArtifact.Type.SUGGESTION)
+                .content(buildSuggestionContent(suggestions))
+                .inputHash(inputHash)
+                .build();
+
+        return toSuggestionResponse(aiArtifactRepository.save(artifact), suggestions);
+    }
+
+    /**
+     * Save the suggestions of many sessions in one transaction (event-wide fan-out).
+     * Responses are returned in the order of the items.
+     */
+    @Transactional
+    public List<AISuggestionResponse> saveSuggestionsBatch(List<NewSuggestions> items) {
+        List<AiArtifact> artifacts = items.stream()
+                .map(item -> AiArtifact.builder()
+                        .session(sessionRepository.getReferenceById(item.getSessionId()))
+                        .round(item.getRoundId() != null ? roundRepository.getReferenceById(item.getRoundId()) : null)
+                        .type(AiArtifact.Type.SUGGESTION)
+                        .content(buildSuggestionContent(item.getSuggestions()))
+                        .inputHash(item.getInputHash())
+                        .build())
+                .collect(Collectors.toList());
+
+        List<AiArtifact> saved = aiArtifactRepository.saveAll(artifacts);
+        List<AISuggestionResponse> responses = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            responses.add(toSuggestionResponse(saved.get(i), items.get(i).getSuggestions()));
+        }
+        return responses;
+    }
+
+    /**
+     * Save a raw Gemini summary (JSON, possibly wrapped in a Markdown code block) for a whole session.
+     */
+    @Transactional
+    public AISummaryResponse saveSummary(Long sessionId, String rawSummaryJson, String inputHash) {
+        String summaryJson = cleanJsonString(rawSummaryJson);
+
+        AiArtifact artifact = AiArtifact.builder()
+                .session(sessionRepository.getReferenceById(sessionId))
+                .round(null) // Summary is for entire session
+                .type(AiArtifact.Type.SUMMARY)
+                .content(summaryJson)
+                .inputHash(inputHash)
+                .build();
+
+        AISummaryResponse response = toSummaryResponse(aiArtifactRepository.save(artifact));
+        // Readers must not see the new summary before it is committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cacheLatestSummary(sessionId, response);
+                }
+            });
+        } else {
+            cacheLatestSummary(sessionId, response);
+        }
+        return response;
+    }
+
+    /**
+     * Newest summary of the session, or null if none was generated yet. The returned object is shared
+     * between callers and must not be modified.
+     */
+    @Transactional(readOnly = true)
+    public AISummaryResponse getLatestSummary(Long sessionId) {
+        AISummaryResponse cached;
+        synchronized (latestSummaries) {
+            cached = latestSummaries.get(sessionId);
+        }
+        if (cached != null) {
+            return cached == NO_SUMMARY ? null : cached;
+        }
+
+        AISummaryResponse response = aiArtifactRepository
+                .findFirstBySessionIdAndTypeOrderByIdDesc(sessionId, AiArtifact.Type.SUMMARY)
+                .map(this::toSummaryResponse)
+                .or(() -> eventArchiveService.latestArchivedArtifact(sessionId, AiArtifact.Type.SUMMARY)
+                        .map(artifact -> toSummaryResponse(AiArtifact.builder()
+                                .id(artifact.getId())
+                                .content(artifact.getContent())
+                                .build())))
+                .orElse(null);
+        synchronized (latestSummaries) {
+            // A summary saved (and cached) while this read ran is newer - keep it
+            latestSummaries.putIfAbsent(sessionId, response != null ? response : NO_SUMMARY);
+        }
+        return response;
+    }
+
+    private void cacheLatestSummary(Long sessionId, AISummaryResponse response) {
+        synchronized (latestSummaries) {
+            latestSummaries.put(sessionId, response);
+        }
+    }
+
+    public AISuggestionResponse toSuggestionResponse(AiArtifact artifact) {
+        List<String> suggestions = List.of();
+        try {
+            Map<String, List<String>> content = objectMapper.readValue(artifact.getContent(),
+                    new TypeReference<Map<String, List<String>>>() {
+                    });
+            suggestions = content.getOrDefault("suggestions", List.of());
+        } catch (Exception e) {
+            log.warn("Failed to parse suggestion artifact {}", artifact.getId(), e);
+        }
+        return toSuggestionResponse(artifact, suggestions);
+    }
+
+    public AISummaryResponse toSummaryResponse(AiArtifact artifact) {
+        AISummaryResponse response = parseSummary(artifact.getContent());
+        response.setSummaryId(artifact.getId());
+        return response;
+    }
+
+    /**
+     * Map summary JSON that is not stored as an artifact (e.g. an event-wide summary) to a response.
+     */
+    public AISummaryResponse parseSummary(String rawSummaryJson) {
+        Map<String, Object> summaryData = parseSummaryResponse(cleanJsonString(rawSummaryJson));
+
+        @SuppressWarnings("unchecked")
+        List<String> keyThemes = (List<String>) summaryData.getOrDefault("keyThemes", List.of());
+        @SuppressWarnings("unchecked")
+        List<String> notableIdeas = (List<String>) summaryData.getOrDefault("notableIdeas", List.of());
+
+        return AISummaryResponse.builder()
+                .summaryText((String) summaryData.getOrDefault("summaryText", ""))
+                .keyThemes(keyThemes)
+                .notableIdeas(notableIdeas)
+                .build();
+    }
+
+    private AISuggestionResponse toSuggestionResponse(AiArtifact artifact, List<String> suggestions) {
+        List<AISuggestionResponse.Suggestion> suggestionList = suggestions.stream()
+                .map(text -> AISuggestionResponse.Suggestion.builder()
+                        .id(artifact.getId())
+                        .text(text)
+                        .build())
+                .collect(Collectors.toList());
+
+        return AISuggestionResponse.builder()
+                .suggestions(suggestionList)
+                .build();
+    }
+
+    private String buildSuggestionContent(List<String> suggestions) {
+        try {
+            Map<String, Object> content = new HashMap<>();
+            content.put("suggestions", suggestions);
+            return objectMapper.writeValueAsString(content);
+        } catch (Exception e) {
+            log.error("Error building suggestion content", e);
+            return "{\"suggestions\": " + suggestions + "}";
+        }
+    }
+
+    /**
+     * Strip the Markdown code block Gemini sometimes wraps JSON output in.
+     */
+    public static String cleanJsonString(String jsonResponse) {
+        if (jsonResponse == null) return "{}";
+        String cleanJson = jsonResponse.trim();
+        if (cleanJson.startsWith("```json")) {
+            cleanJson = cleanJson.substring(7);
+        } else if (cleanJson.startsWith("```")) {
+            cleanJson = cleanJson.substring(3);
+        }
+        if (cleanJson.endsWith("```")) {
+            cleanJson = cleanJson.substring(0, cleanJson.length() - 3);
+        }
+        return cleanJson.trim();
+    }
+
+    private Map<String, Object> parseSummaryResponse(String jsonResponse) {
+        try {
+            // Try to parse as JSON first
+            return objectMapper.readValue(jsonResponse, new TypeReference<Map<String, Object>>() {
+            });
+        } catch (Exception e) {
+            log.warn("Failed to parse summary as JSON, treating as plain text", e);
+            // If parsing fails, create a simple structure
+            Map<String, Object> result = new HashMap<>();
+            result.put("summaryText", jsonResponse);
+            result.put("keyThemes", List.of());
+            result.put("notableIdeas", List.of());
+            return result;
+        }
+    }
+
+    /**
+     * Suggestions of one session waiting to be stored by saveSuggestionsBatch.
+     */
+    @Getter
+    public static class NewSuggestions {
+        private final Long sessionId;
+        private final Long roundId;
+        private final List<String> suggestions;
+        private final String inputHash;
+
+        public NewSuggestions(Long sessionId, Long roundId, List<String> suggestions, String inputHash) {
+            this.sessionId = sessionId;
+            this.roundId = roundId;
+            this.suggestions = suggestions;
+            this.inputHash = inputHash;
+        }
+    }
+}
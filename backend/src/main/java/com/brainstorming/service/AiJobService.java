@@ -0,0 +1,304 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.AiJobDto;
+import com.brainstorming.exception.ResourceNotFoundException;
+import com.brainstorming.websocket.SessionWebSocketHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory registry of asynchronous AI jobs (FR-400).
+ * A job wraps the future of one Gemini call. When it finishes, the job is pushed as an "ai_job_completed"
+ * message to the session's WebSocket subscribers; clients without a socket poll GET /api/ai/jobs/{jobId}.
+ * Finished jobs are kept for ai.jobs.retention-minutes.
+ * Background jobs (no requester, e.g. summary pre-warming) can be cancelled until a user joins them.
+ */
+@Service
+@Slf4j
+public class AiJobService {
+
+    private final SessionWebSocketHandler webSocketHandler;
+    private final long retentionMillis;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // dedup key (AI cache key) -> job still running for it
+    private final Map<String, Job> runningByKey = new ConcurrentHashMap<>();
+
+    public AiJobService(
+            SessionWebSocketHandler webSocketHandler,
+            @Value("${ai.jobs.retention-minutes:30}") long retentionMinutes) {
+        this.webSocketHandler = webSocketHandler;
+        this.retentionMillis = retentionMinutes * 60_000;
+    }
+
+    /**
+     * Register a job and start its work. The work must not block; it returns the future of the result.
+     */
+    public AiJobDto submit(AiJobDto.Type type, Long sessionId, Long requestedBy,
+                           Supplier<? extends CompletableFuture<?>> work) {
+        return submit(type, sessionId, requestedBy, null, jobId -> work.get());
+    }
+
+    /**
+     * Same as above, but while a job with the same dedup key is running it is returned instead of starting another.
+     * The work receives the job id so it can report progress.
+     */
+    public AiJobDto submit(AiJobDto.Type type, Long sessionId, Long requestedBy, String dedupKey,
+                           Function<String, ? extends CompletableFuture<?>> work) {
+        return submit(type, sessionId, requestedBy, dedupKey, null, work);
+    }
+
+    /**
+     * Same as above. admission (nullable) runs only when a new job is about to start - not when the request
+     * joins a running one - e.g. to take a rate limit token; if it throws, no job is registered.
+     */
+    public AiJobDto submit(AiJobDto.Type type, Long sessionId, Long requestedBy, String dedupKey,
+                           Runnable admission, Function<String, ? extends CompletableFuture<?>> work) {
+        Job job = new Job(UUID.randomUUID().toString(), type, sessionId, requestedBy, dedupKey);
+        if (dedupKey != null) {
+            Job running = runningByKey.putIfAbsent(dedupKey, job);
+            if (running != null) {
+                if (running.join(requestedBy)) {
+                    log.debug("Reusing running AI job {} for identical request", running.id);
+                    return running.toDto();
+                }
+                // Cancelled in the meantime - start a fresh job
+                runningByKey.put(dedupKey, job);
+            }
+        }
+        if (admission != null) {
+            try {
+                admission.run();
+            } catch (RuntimeException e) {
+                if (dedupKey != null) {
+                    runningByKey.remove(dedupKey, job);
+                }
+                throw e;
+            }
+        }
+        jobs.put(job.id, job);
+
+        CompletableFuture<?> future;
+        try {
+            future = work.apply(job.id);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        job.future = future;
+        job.markRunning();
+        future.whenComplete((result, error) -> complete(job, result, error));
+
+        return job.toDto();
+    }
+
+    /**
+     * A job visible to the given user: the requester, or any event manager.
+     */
+    public AiJobDto getJob(String jobId, Long userId, boolean isManager) {
+        Job job = jobs.get(jobId);
+        if (job == null || (!isManager && !job.requesters.contains(userId))) {
+            throw new ResourceNotFoundException("AI job not found: " + jobId);
+        }
+        return job.toDto();
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictFinishedJobs() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        jobs.values().removeIf(job -> job.finishedAtMillis > 0 && job.finishedAtMillis < cutoff);
+    }
+
+    /**
+     * Cancel a background job nobody is waiting for. Returns false if the job already finished or a user joined it.
+     */
+    public boolean cancelUnclaimed(String jobId, String reason) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.cancel("Cancelled: " + reason)) {
+            return false;
+        }
+        if (job.dedupKey != null) {
+            runningByKey.remove(job.dedupKey, job);
+        }
+        CompletableFuture<?> future = job.future;
+        if (future != null) {
+            future.cancel(true);
+        }
+        log.debug("AI job {} cancelled: {}", jobId, reason);
+        return true;
+    }
+
+    public boolean isFinished(String jobId) {
+        Job job = jobs.get(jobId);
+        return job == null || job.status == AiJobDto.Status.SUCCEEDED || job.status == AiJobDto.Status.FAILED;
+    }
+
+    /**
+     * Checked by job work before persisting its result.
+     */
+    public boolean isCancelled(String jobId) {
+        Job job = jobs.get(jobId);
+        return job != null && job.cancelled;
+    }
+
+    /**
+     * Push partial output of a running job ("ai_job_progress") to the sockets of the users who requested it.
+     */
+    public void publishProgress(String jobId, int sequence, String text) {
+        Job job = jobs.get(jobId);
+        if (job == null || job.sessionId == null) {
+            return;
+        }
+        webSocketHandler.sendToUsers(job.sessionId, job.requesters,
+                new SessionWebSocketHandler.WebSocketMessage("ai_job_progress", Map.of(
+                        "job_id", jobId,
+                        "session_id", job.sessionId,
+                        "seq", sequence,
+                        "text", text)));
+    }
+
+    /**
+     * Mark a running job's result as a last-known one, served because its Gemini call was rejected.
+     */
+    public void markStale(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job != null) {
+            job.stale = true;
+        }
+    }
+
+    /**
+     * Record an already available result (e.g. from the AI cache) as a finished job.
+     */
+    public AiJobDto completed(AiJobDto.Type type, Long sessionId, Long requestedBy, Object result) {
+        return completed(type, sessionId, requestedBy, result, false);
+    }
+
+    /**
+     * Same as above; stale marks a last-known result served while Gemini is unavailable.
+     */
+    public AiJobDto completed(AiJobDto.Type type, Long sessionId, Long requestedBy, Object result, boolean stale) {
+        Job job = new Job(UUID.randomUUID().toString(), type, sessionId, requestedBy, null);
+        job.stale = stale;
+        job.succeed(result);
+        jobs.put(job.id, job);
+        return job.toDto();
+    }
+
+    private void complete(Job job, Object result, Throwable error) {
+        if (job.cancelled) {
+            return;
+        }
+        if (job.dedupKey != null) {
+            runningByKey.remove(job.dedupKey, job);
+        }
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            log.error("AI job {} ({}) for session {} failed", job.id, job.type, job.sessionId, cause);
+            job.fail("AI service unavailable: " + cause.getMessage());
+        } else {
+            job.succeed(result);
+        }
+
+        if (job.sessionId != null) {
+            webSocketHandler.broadcastToSession(job.sessionId,
+                    new SessionWebSocketHandler.WebSocketMessage("ai_job_completed", job.toDto()), null);
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final AiJobDto.Type type;
+        private final Long sessionId;
+        // Users who asked for this job (identical requests share one job)
+        private final Set<Long> requesters = ConcurrentHashMap.newKeySet();
+        private final String dedupKey;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+
+        private volatile AiJobDto.Status status = AiJobDto.Status.PENDING;
+        private volatile Object result;
+        private volatile String error;
+        private volatile boolean stale;
+        private volatile boolean cancelled;
+        private volatile CompletableFuture<?> future;
+        private volatile LocalDateTime completedAt;
+        private volatile long finishedAtMillis;
+
+        private Job(String id, AiJobDto.Type type, Long sessionId, Long requestedBy, String dedupKey) {
+            this.id = id;
+            this.type = type;
+            this.sessionId = sessionId;
+            if (requestedBy != null) {
+                this.requesters.add(requestedBy);
+            }
+            this.dedupKey = dedupKey;
+        }
+
+        private synchronized boolean join(Long requestedBy) {
+            if (cancelled) {
+                return false;
+            }
+            if (requestedBy != null) {
+                requesters.add(requestedBy);
+            }
+            return true;
+        }
+
+        private synchronized boolean cancel(String reason) {
+            if (cancelled || !requesters.isEmpty()
+                    || status == AiJobDto.Status.SUCCEEDED || status == AiJobDto.Status.FAILED) {
+                return false;
+            }
+            cancelled = true;
+            fail(reason);
+            return true;
+        }
+
+        private synchronized void markRunning() {
+            if (status == AiJobDto.Status.PENDING) {
+                status = AiJobDto.Status.RUNNING;
+            }
+        }
+
+        private synchronized void succeed(Object result) {
+            this.result = result;
+            finish(AiJobDto.Status.SUCCEEDED);
+        }
+
+        private synchronized void fail(String error) {
+            this.error = error;
+            finish(AiJobDto.Status.FAILED);
+        }
+
+        private void finish(AiJobDto.Status finalStatus) {
+            status = finalStatus;
+            completedAt = LocalDateTime.now();
+            finishedAtMillis = System.currentTimeMillis();
+        }
+
+        private synchronized AiJobDto toDto() {
+            return AiJobDto.builder()
+                    .jobId(id)
+                    .type(type)
+                    .sessionId(sessionId)
+                    .status(status)
+                    .result(result)
+                    .error(error)
+                    .stale(stale)
+                    .createdAt(createdAt)
+                    .completedAt(completedAt)
+                    .build();
+        }
+    }
+}
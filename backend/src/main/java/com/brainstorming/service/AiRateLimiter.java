@@ -0,0 +1,103 @@
+package com.brainstorming.service;
+
+import com.brainstorming.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets for AI requests that reach Gemini (cache hits are free): one global bucket and one per event,
+ * so a single busy event cannot use up the whole Gemini quota. Buckets refill continuously at the configured
+ * rate per minute and hold at most one minute of tokens.
+ */
+@Component
+@Slf4j
+public class AiRateLimiter {
+
+    private final MeterRegistry meterRegistry;
+    private final int eventPerMinute;
+    private final TokenBucket globalBucket;
+    private final Map<Long, TokenBucket> eventBuckets = new ConcurrentHashMap<>();
+
+    public AiRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${ai.rate-limit.global-per-minute:120}") int globalPerMinute,
+            @Value("${ai.rate-limit.event-per-minute:30}") int eventPerMinute) {
+        this.meterRegistry = meterRegistry;
+        this.eventPerMinute = eventPerMinute;
+        this.globalBucket = new TokenBucket(globalPerMinute);
+    }
+
+    /**
+     * Take one token for the event (if any) and one global token, or fail with 429.
+     */
+    public void acquire(Long eventId) {
+        TokenBucket eventBucket = eventId != null
+                ? eventBuckets.computeIfAbsent(eventId, id -> new TokenBucket(eventPerMinute))
+                : null;
+        if (eventBucket != null && !eventBucket.tryConsume()) {
+            reject("event", "AI request limit reached for this event. Please try again in a minute.");
+        }
+        if (!globalBucket.tryConsume()) {
+            if (eventBucket != null) {
+                eventBucket.refund();
+            }
+            reject("global", "AI service is busy. Please try again in a minute.");
+        }
+    }
+
+    // Full buckets hold no state worth keeping
+    @Scheduled(fixedDelay = 300000)
+    public void evictIdleBuckets() {
+        eventBuckets.values().removeIf(TokenBucket::isFull);
+    }
+
+    private void reject(String scope, String message) {
+        meterRegistry.counter("ai.rate_limit.rejections", "scope", scope).increment();
+        log.debug("AI request rejected by {} rate limit", scope);
+        throw new TooManyRequestsException(message);
+    }
+
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long refilledAtNanos;
+
+        private TokenBucket(int perMinute) {
+            this.capacity = Math.max(1, perMinute);
+            this.tokensPerNano = capacity / 60_000_000_000d;
+            this.tokens = capacity;
+            this.refilledAtNanos = System.nanoTime();
+        }
+
+        private synchronized boolean tryConsume() {
+            refill();
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        private synchronized void refund() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        private synchronized boolean isFull() {
+            refill();
+            return tokens >= capacity;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAtNanos) * tokensPerNano);
+            refilledAtNanos = now;
+        }
+    }
+}
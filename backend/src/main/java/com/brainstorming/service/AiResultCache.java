@@ -0,0 +1,158 @@
+package com.brainstorming.service;
+
+import com.brainstorming.entity.AiArtifact;
+import com.brainstorming.repository.AiArtifactRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Two-tier cache of AI results keyed by a hash of the prompt inputs.
+ * Tier 1 is an in-memory LRU (ai.cache.max-entries); tier 2 is the ai_artifacts table, looked up by input_hash.
+ * Entries older than ai.cache.ttl-minutes are ignored in both tiers.
+ * Keys include the session (and round), so a cached result always belongs to the session it is served for.
+ * Event summaries have no ai_artifacts row and are only held in tier 1.
+ */
+@Component
+@Slf4j
+public class AiResultCache {
+
+    private final AiArtifactRepository aiArtifactRepository;
+    private final AiArtifactService aiArtifactService;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    public AiResultCache(
+            AiArtifactRepository aiArtifactRepository,
+            AiArtifactService aiArtifactService,
+            @Value("${ai.cache.max-entries:1000}") int maxEntries,
+            @Value("${ai.cache.ttl-minutes:1440}") long ttlMinutes) {
+        this.aiArtifactRepository = aiArtifactRepository;
+        this.aiArtifactService = aiArtifactService;
+        this.ttlMillis = ttlMinutes * 60_000;
+        // Access-ordered, so the eldest entry is the least recently used one
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public String suggestionKey(Long sessionId, Long roundId, String model, String topicTitle,
+                                String topicDescription, List<String> ideas, String promptOverride) {
+        return hash(AiArtifact.Type.SUGGESTION.name(), sessionId, roundId, model, topicTitle, topicDescription,
+                normalizeIdeas(ideas), promptOverride);
+    }
+
+    public String summaryKey(Long sessionId, String model, String topicTitle, String topicDescription,
+                             List<String> ideas, String style, String length, String language, String split) {
+        return hash(AiArtifact.Type.SUMMARY.name(), sessionId, model, topicTitle, topicDescription,
+                normalizeIdeas(ideas), style, length, language, split);
+    }
+
+    public String eventSummaryKey(Long eventId, String model, String topicTitle, String topicDescription,
+                                  List<String> ideas, String style, String length, String language, String split) {
+        return hash("EVENT_SUMMARY", eventId, model, topicTitle, topicDescription,
+                normalizeIdeas(ideas), style, length, language, split);
+    }
+
+    /**
+     * Key of one partial (map step) summary. It depends only on the chunk's content, not on the session or
+     * style, so an unchanged round or team is reused across summary requests.
+     */
+    public static String partialSummaryKey(String model, String topicTitle, String topicDescription,
+                                           String chunkLabel, List<String> ideas, String language) {
+        return hash("PARTIAL_SUMMARY", model, topicTitle, topicDescription, chunkLabel,
+                normalizeIdeas(ideas), language);
+    }
+
+    /**
+     * Cached response (AISuggestionResponse or AISummaryResponse) for the key, from memory or ai_artifacts.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Object> get(String key, AiArtifact.Type type) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAtMillis > now) {
+                    return Optional.of(entry.value);
+                }
+                entries.remove(key);
+            }
+        }
+
+        LocalDateTime createdAfter = LocalDateTime.now().minus(Duration.ofMillis(ttlMillis));
+        Optional<AiArtifact> artifact = aiArtifactRepository
+                .findFirstByInputHashAndTypeAndCreatedAtAfterOrderByIdDesc(key, type, createdAfter);
+        if (artifact.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Object value = type == AiArtifact.Type.SUMMARY
+                ? aiArtifactService.toSummaryResponse(artifact.get())
+                : aiArtifactService.toSuggestionResponse(artifact.get());
+        // Remaining lifetime follows the artifact's age
+        long ageMillis = Duration.between(artifact.get().getCreatedAt(), LocalDateTime.now()).toMillis();
+        synchronized (entries) {
+            entries.put(key, new Entry(value, now + Math.max(0, ttlMillis - ageMillis)));
+        }
+        log.debug("AI cache hit in ai_artifacts for {}", key);
+        return Optional.of(value);
+    }
+
+    public void put(String key, Object value) {
+        synchronized (entries) {
+            entries.put(key, new Entry(value, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    private static String normalizeIdeas(List<String> ideas) {
+        if (ideas == null) {
+            return "";
+        }
+        return String.join("\n", ideas.stream()
+                .map(idea -> idea == null ? "" : idea.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT))
+                .sorted()
+                .toList());
+    }
+
+    private static String hash(String kind, Object... parts) {
+        StringBuilder canonical = new StringBuilder(kind);
+        for (Object part : parts) {
+            String value = part == null ? "" : part.toString();
+            // Length prefix keeps ("ab", "c") and ("a", "bc") apart
+            canonical.append('|').append(value.length()).append(':').append(value);
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAtMillis;
+
+        private Entry(Object value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,665 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.AnalyticsExportDto;
+import com.brainstorming.dto.IdeaDto;
+import com.brainstorming.exception.BadRequestException;
+import com.brainstorming.exception.ResourceNotFoundException;
+import com.brainstorming.exception.ServiceUnavailableException;
+import com.brainstorming.repository.EventRepository;
+import com.brainstorming.repository.IdeaRepository;
+import com.brainstorming.repository.RoundRepository;
+import com.brainstorming.repository.SessionRepository;
+import com.brainstorming.repository.TeamRepository;
+import com.brainstorming.repository.projection.IdeaAnalyticsRow;
+import com.brainstorming.repository.projection.NamedRef;
+import com.brainstorming.repository.projection.RoundAnalyticsRow;
+import com.brainstorming.repository.projection.SessionAnalyticsRow;
+import com.brainstorming.repository.projection.TeamAnalyticsRow;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Columnar analytics export (FR-303).
+ * Writes ideas, rounds, sessions and teams of one or more events as ZSTD-compressed Arrow IPC files
+ * under {reports.cache-dir}/analytics/{exportId}. Rows are read with keyset paging and written one
+ * record batch per chunk, so memory use is bounded by the chunk size. Author and team names are
+ * dictionary-encoded. Ideas of archived events are streamed from their archive files, one event at a time,
+ * and written after the live ideas as chunks of their own.
+ * Exports run in the background on analyticsExportExecutor; clients poll GET /api/reports/analytics/{exportId}
+ * until the export has SUCCEEDED. Exports older than reports.analytics.retention-hours are deleted, files and status.
+ */
+@Service
+@Slf4j
+public class AnalyticsExportService {
+
+    public static final List<String> FILE_NAMES = List.of("ideas.arrow", "rounds.arrow", "sessions.arrow", "teams.arrow");
+
+    private static final Pattern EXPORT_ID = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+    private static final long USER_DICTIONARY_ID = 1L;
+    private static final long TEAM_DICTIONARY_ID = 2L;
+    private static final ArrowType.Int INT32 = new ArrowType.Int(32, true);
+    private static final ArrowType.Int INT64 = new ArrowType.Int(64, true);
+    private static final ArrowType.Timestamp TIMESTAMP = new ArrowType.Timestamp(TimeUnit.MILLISECOND, null);
+
+    private final EventRepository eventRepository;
+    private final TeamRepository teamRepository;
+    private final SessionRepository sessionRepository;
+    private final RoundRepository roundRepository;
+    private final IdeaRepository ideaRepository;
+    private final EventArchiveService eventArchiveService;
+    private final Executor analyticsExportExecutor;
+    private final Path analyticsDir;
+    private final int chunkSize;
+    private final long retentionHours;
+
+    // exportId -> status of the exports started since the last restart
+    private final Map<String, AnalyticsExportDto> exports = new ConcurrentHashMap<>();
+
+    public AnalyticsExportService(
+            EventRepository eventRepository,
+            TeamRepository teamRepository,
+            SessionRepository sessionRepository,
+            RoundRepository roundRepository,
+            IdeaRepository ideaRepository,
+            EventArchiveService eventArchiveService,
+            @Qualifier("analyticsExportExecutor") Executor analyticsExportExecutor,
+            @Value("${reports.cache-dir:./reports-cache}") String cacheDir,
+            @Value("${reports.analytics.chunk-size:5000}") int chunkSize,
+            @Value("${reports.analytics.retention-hours:24}") long retentionHours) {
+        this.eventRepository = eventRepository;
+        this.teamRepository = teamRepository;
+        this.sessionRepository = sessionRepository;
+        this.roundRepository = roundRepository;
+        this.ideaRepository = ideaRepository;
+        this.eventArchiveService = eventArchiveService;
+        this.analyticsExportExecutor = analyticsExportExecutor;
+        this.analyticsDir = Paths.get(cacheDir).resolve("analytics");
+        this.chunkSize = chunkSize;
+        this.retentionHours = retentionHours;
+    }
+
+    public AnalyticsExportDto exportEvent(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        return start(List.of(eventId), null, null);
+    }
+
+    public AnalyticsExportDto exportDateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        List<Long> eventIds = eventRepository.findIdsOverlapping(from, to);
+        if (eventIds.isEmpty()) {
+            throw new ResourceNotFoundException("No events found between " + from + " and " + to);
+        }
+        return start(eventIds, from, to);
+    }
+
+    /**
+     * Status of an export, with its files once it has SUCCEEDED.
+     */
+    public AnalyticsExportDto getExport(String exportId) {
+        AnalyticsExportDto export = exports.get(exportId);
+        if (export == null) {
+            throw new ResourceNotFoundException("Analytics export not found: " + exportId);
+        }
+        return export;
+    }
+
+    /**
+     * Path of a file of a finished export, or null if the export or file does not exist.
+     */
+    public Path resolveExportFile(String exportId, String fileName) {
+        if (!EXPORT_ID.matcher(exportId).matches() || !FILE_NAMES.contains(fileName)) {
+            throw new BadRequestException("Invalid export file: " + exportId + "/" + fileName);
+        }
+        Path file = analyticsDir.resolve(exportId).resolve(fileName);
+        return Files.isReadable(file) ? file : null;
+    }
+
+    /**
+     * Delete the exports finished more than retention-hours ago, and export directories of that age left
+     * from before a restart.
+     */
+    @Scheduled(fixedDelayString = "${reports.analytics.sweep-interval-ms:3600000}")
+    public void deleteExpiredExports() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        exports.values().removeIf(export -> export.getCompletedAt() != null && export.getCompletedAt().isBefore(cutoff));
+        if (!Files.isDirectory(analyticsDir)) {
+            return;
+        }
+
+        long cutoffMillis = System.currentTimeMillis() - retentionHours * 3_600_000;
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(analyticsDir)) {
+            for (Path dir : dirs) {
+                AnalyticsExportDto export = exports.get(dir.getFileName().toString());
+                // Still being written, or kept
+                if (export != null) {
+                    continue;
+                }
+                if (Files.getLastModifiedTime(dir).toMillis() < cutoffMillis) {
+                    deleteDirectory(dir);
+                    log.info("Deleted expired analytics export {}", dir.getFileName());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Sweeping analytics exports in {} failed: {}", analyticsDir, e.getMessage());
+        }
+    }
+
+    private AnalyticsExportDto start(List<Long> eventIds, LocalDate from, LocalDate to) {
+        AnalyticsExportDto pending = AnalyticsExportDto.builder()
+                .exportId(UUID.randomUUID().toString())
+                .eventIds(eventIds)
+                .from(from)
+                .to(to)
+                .status(AnalyticsExportDto.Status.PENDING)
+                .createdAt(LocalDateTime.now())
+                .build();
+        exports.put(pending.getExportId(), pending);
+        try {
+            analyticsExportExecutor.execute(() -> run(pending));
+        } catch (RejectedExecutionException e) {
+            exports.remove(pending.getExportId());
+            throw new ServiceUnavailableException("Too many analytics exports in progress. Please try again later.");
+        }
+        return pending;
+    }
+
+    private void run(AnalyticsExportDto pending) {
+        String exportId = pending.getExportId();
+        exports.put(exportId, withStatus(pending, AnalyticsExportDto.Status.RUNNING, null, null));
+        try {
+            List<AnalyticsExportDto.FileInfo> files = export(exportId, pending.getEventIds());
+            exports.put(exportId, withStatus(pending, AnalyticsExportDto.Status.SUCCEEDED, files, null));
+            log.info("Analytics export {} written for {} event(s)", exportId, pending.getEventIds().size());
+        } catch (RuntimeException e) {
+            log.error("Analytics export {} failed for events {}", exportId, pending.getEventIds(), e);
+            try {
+                deleteDirectory(analyticsDir.resolve(exportId));
+            } catch (IOException cleanup) {
+                log.warn("Removing the files of failed analytics export {} failed: {}", exportId, cleanup.getMessage());
+            }
+            exports.put(exportId, withStatus(pending, AnalyticsExportDto.Status.FAILED, null, e.getMessage()));
+        }
+    }
+
+    private static AnalyticsExportDto withStatus(AnalyticsExportDto export, AnalyticsExportDto.Status status,
+                                                 List<AnalyticsExportDto.FileInfo> files, String error) {
+        boolean finished = status == AnalyticsExportDto.Status.SUCCEEDED || status == AnalyticsExportDto.Status.FAILED;
+        return AnalyticsExportDto.builder()
+                .exportId(export.getExportId())
+                .eventIds(export.getEventIds())
+                .from(export.getFrom())
+                .to(export.getTo())
+                .status(status)
+                .files(files)
+                .error(error)
+                .createdAt(export.getCreatedAt())
+                .completedAt(finished ? LocalDateTime.now() : null)
+                .build();
+    }
+
+    private static void deleteDirectory(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            // Deepest first: files before their directory
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private List<AnalyticsExportDto.FileInfo> export(String exportId, List<Long> eventIds) {
+        Path exportDir = analyticsDir.resolve(exportId);
+        Pageable chunk = PageRequest.of(0, chunkSize);
+
+        List<AnalyticsExportDto.FileInfo> files = new ArrayList<>();
+        Map<Long, Integer> userIndex = new HashMap<>();
+        Map<Long, Integer> teamIndex = new HashMap<>();
+
+        try (BufferAllocator allocator = new RootAllocator()) {
+            Files.createDirectories(exportDir);
+
+            List<TeamAnalyticsRow> teams = teamRepository.findAnalyticsRows(eventIds);
+            List<NamedRef> users = new ArrayList<>(ideaRepository.findAuthorsByEventIds(eventIds));
+            users.addAll(ideaRepository.findPassedFromUsersByEventIds(eventIds));
+            List<Long> archivedEventIds = eventRepository.findArchivedIds(eventIds);
+            users.addAll(archivedUsers(archivedEventIds));
+
+            Dictionary userDictionary = buildDictionary(allocator, USER_DICTIONARY_ID, "user_names",
+                    users, NamedRef::getId, NamedRef::getName, userIndex);
+            Dictionary teamDictionary = buildDictionary(allocator, TEAM_DICTIONARY_ID, "team_names",
+                    teams, TeamAnalyticsRow::getId, TeamAnalyticsRow::getName, teamIndex);
+
+            DictionaryProvider.MapDictionaryProvider dictionaries = new DictionaryProvider.MapDictionaryProvider();
+            dictionaries.put(userDictionary);
+            dictionaries.put(teamDictionary);
+
+            try (ArchivedIdeaChunks archivedIdeas = new ArchivedIdeaChunks(archivedEventIds)) {
+                files.add(writeTable(allocator, dictionaries, exportDir.resolve("ideas.arrow"),
+                        List.of(
+                                field("id", INT64),
+                                field("event_id", INT64),
+                                field("session_id", INT64),
+                                field("round_number", INT32),
+                                field("team_id", INT64),
+                                encodedField("team", teamDictionary),
+                                field("author_id", INT64),
+                                encodedField("author", userDictionary),
+                                field("passed_from_user_id", INT64),
+                                encodedField("passed_from", userDictionary),
+                                field("text", ArrowType.Utf8.INSTANCE),
+                                field("created_at", TIMESTAMP)),
+                        concat(keysetChunks(afterId -> ideaRepository.findAnalyticsChunk(eventIds, afterId, chunk),
+                                IdeaAnalyticsRow::getId), archivedIdeas),
+                        (root, i, row) -> {
+                            setLong(root, "id", i, row.getId());
+                            setLong(root, "event_id", i, row.getEventId());
+                            setLong(root, "session_id", i, row.getSessionId());
+                            setInt(root, "round_number", i, row.getRoundNumber());
+                            setLong(root, "team_id", i, row.getTeamId());
+                            setIndex(root, "team", i, teamIndex.get(row.getTeamId()));
+                            setLong(root, "author_id", i, row.getAuthorId());
+                            setIndex(root, "author", i, userIndex.get(row.getAuthorId()));
+                            setLong(root, "passed_from_user_id", i, row.getPassedFromUserId());
+                            setIndex(root, "passed_from", i, userIndex.get(row.getPassedFromUserId()));
+                            setString(root, "text", i, row.getText());
+                            setTimestamp(root, "created_at", i, row.getCreatedAt());
+                        }));
+
+                files.add(writeTable(allocator, dictionaries, exportDir.resolve("rounds.arrow"),
+                        List.of(
+                                field("id", INT64),
+                                field("session_id", INT64),
+                                field("round_number", INT32),
+                                field("start_time", TIMESTAMP),
+                                field("end_time", TIMESTAMP),
+                                field("timer_state", ArrowType.Utf8.INSTANCE)),
+                        keysetChunks(afterId -> roundRepository.findAnalyticsChunk(eventIds, afterId, chunk),
+                        RoundAnalyticsRow::getId),
+                        (root, i, row) -> {
+                            setLong(root, "id", i, row.getId());
+                            setLong(root, "session_id", i, row.getSessionId());
+                            setInt(root, "round_number", i, row.getRoundNumber());
+                            setTimestamp(root, "start_time", i, row.getStartTime());
+                            setTimestamp(root, "end_time", i, row.getEndTime());
+                            setString(root, "timer_state", i, row.getTimerState() != null ? row.getTimerState().name() : null);
+                        }));
+
+                files.add(writeTable(allocator, dictionaries, exportDir.resolve("sessions.arrow"),
+                        List.of(
+                                field("id", INT64),
+                                field("event_id", INT64),
+                                field("team_id", INT64),
+                                encodedField("team", teamDictionary),
+                                field("topic_id", INT64),
+                                field("topic_title", ArrowType.Utf8.INSTANCE),
+                                field("status", ArrowType.Utf8.INSTANCE),
+                                field("current_round", INT32),
+                                field("round_count", INT32),
+                                field("created_at", TIMESTAMP)),
+                        keysetChunks(afterId -> sessionRepository.findAnalyticsChunk(eventIds, afterId, chunk),
+                        SessionAnalyticsRow::getId),
+                        (root, i, row) -> {
+                            setLong(root, "id", i, row.getId());
+                            setLong(root, "event_id", i, row.getEventId());
+                            setLong(root, "team_id", i, row.getTeamId());
+                            setIndex(root, "team", i, teamIndex.get(row.getTeamId()));
+                            setLong(root, "topic_id", i, row.getTopicId());
+                            setString(root, "topic_title", i, row.getTopicTitle());
+                            setString(root, "status", i, row.getStatus() != null ? row.getStatus().name() : null);
+                            setInt(root, "current_round", i, row.getCurrentRound());
+                            setInt(root, "round_count", i, row.getRoundCount());
+                            setTimestamp(root, "created_at", i, row.getCreatedAt());
+                        }));
+
+                // Teams are already in memory for the dictionary, so they are written in one batch
+                files.add(writeTable(allocator, dictionaries, exportDir.resolve("teams.arrow"),
+                        List.of(
+                                field("id", INT64),
+                                field("event_id", INT64),
+                                field("name", ArrowType.Utf8.INSTANCE),
+                                field("focus", ArrowType.Utf8.INSTANCE),
+                                field("leader_id", INT64),
+                                field("leader_name", ArrowType.Utf8.INSTANCE),
+                                field("capacity", INT32)),
+                        keysetChunks(afterId -> afterId == 0L ? teams : List.of(),
+                        TeamAnalyticsRow::getId),
+                        (root, i, row) -> {
+                            setLong(root, "id", i, row.getId());
+                            setLong(root, "event_id", i, row.getEventId());
+                            setString(root, "name", i, row.getName());
+                            setString(root, "focus", i, row.getFocus());
+                            setLong(root, "leader_id", i, row.getLeaderId());
+                            setString(root, "leader_name", i, row.getLeaderName());
+                            setInt(root, "capacity", i, row.getCapacity());
+                        }));
+            } finally {
+                userDictionary.getVector().close();
+                teamDictionary.getVector().close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Analytics export failed: " + e.getMessage(), e);
+        }
+
+        for (AnalyticsExportDto.FileInfo file : files) {
+            file.setDownloadUrl("/api/reports/analytics/" + exportId + "/" + file.getName());
+        }
+        return files;
+    }
+
+    /**
+     * Authors and passed-from users of the ideas of the archived events, one entry per user.
+     */
+    private List<NamedRef> archivedUsers(List<Long> archivedEventIds) {
+        Map<Long, String> names = new LinkedHashMap<>();
+        for (Long eventId : archivedEventIds) {
+            try (EventArchiveService.ArchivedIdeaCursor ideas = eventArchiveService.openArchivedIdeas(eventId)) {
+                while (ideas.hasNext()) {
+                    IdeaDto idea = ideas.next();
+                    names.putIfAbsent(idea.getAuthorId(), idea.getAuthorName());
+                    if (idea.getPassedFromUserId() != null) {
+                        names.putIfAbsent(idea.getPassedFromUserId(), idea.getPassedFromUserName());
+                    }
+                }
+            }
+        }
+        return names.entrySet().stream()
+                .<NamedRef>map(entry -> new ArchivedUser(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Chunks read with keyset paging on id, starting after id 0, until a chunk comes back empty.
+     */
+    private <T> Iterator<List<T>> keysetChunks(Function<Long, List<T>> fetchChunk, Function<T, Long> idOf) {
+        return new Iterator<>() {
+            private Long afterId = 0L;
+            private List<T> next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    next = fetchChunk.apply(afterId);
+                    if (!next.isEmpty()) {
+                        afterId = idOf.apply(next.get(next.size() - 1));
+                    }
+                }
+                return !next.isEmpty();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> chunk = next;
+                next = null;
+                return chunk;
+            }
+        };
+    }
+
+    private static <T> Iterator<T> concat(Iterator<T> first, Iterator<T> second) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return first.hasNext() || second.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return first.hasNext() ? first.next() : second.next();
+            }
+        };
+    }
+
+    /**
+     * Write one Arrow file, fetching rows chunk by chunk and emitting one record batch per chunk.
+     * The file is written to a temp path and moved into place once complete.
+     */
+    private <T> AnalyticsExportDto.FileInfo writeTable(
+            BufferAllocator allocator,
+            DictionaryProvider dictionaries,
+            Path target,
+            List<Field> fields,
+            Iterator<List<T>> chunks,
+            RowWriter<T> rowWriter) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        long rows = 0;
+
+        try (VectorSchemaRoot root = VectorSchemaRoot.create(new Schema(fields), allocator);
+             FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             ArrowFileWriter writer = new ArrowFileWriter(root, dictionaries, channel, Map.of(),
+                     IpcOption.DEFAULT, CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.ZSTD)) {
+            writer.start();
+
+            while (chunks.hasNext()) {
+                List<T> chunk = chunks.next();
+                root.allocateNew();
+                for (int i = 0; i < chunk.size(); i++) {
+                    rowWriter.write(root, i, chunk.get(i));
+                }
+                root.setRowCount(chunk.size());
+                writer.writeBatch();
+
+                rows += chunk.size();
+            }
+
+            writer.end();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return AnalyticsExportDto.FileInfo.builder()
+                .name(target.getFileName().toString())
+                .rows(rows)
+                .sizeBytes(Files.size(target))
+                .build();
+    }
+
+    private <T> Dictionary buildDictionary(BufferAllocator allocator, long id, String name, List<T> entries,
+                                           Function<T, Long> idOf, Function<T, String> nameOf,
+                                           Map<Long, Integer> indexById) {
+        VarCharVector values = new VarCharVector(name, allocator);
+        values.allocateNew();
+        int next = 0;
+        for (T entry : entries) {
+            if (indexById.putIfAbsent(idOf.apply(entry), next) == null) {
+                String value = nameOf.apply(entry);
+                values.setSafe(next, (value != null ? value : "").getBytes(StandardCharsets.UTF_8));
+                next++;
+            }
+        }
+        values.setValueCount(next);
+        return new Dictionary(values, new DictionaryEncoding(id, false, INT32));
+    }
+
+    private Field field(String name, ArrowType type) {
+        return new Field(name, FieldType.nullable(type), null);
+    }
+
+    private Field encodedField(String name, Dictionary dictionary) {
+        return new Field(name, new FieldType(true, INT32, dictionary.getEncoding()), null);
+    }
+
+    private void setLong(VectorSchemaRoot root, String name, int index, Long value) {
+        BigIntVector vector = (BigIntVector) root.getVector(name);
+        if (value == null) {
+            vector.setNull(index);
+        } else {
+            vector.setSafe(index, value);
+        }
+    }
+
+    private void setInt(VectorSchemaRoot root, String name, int index, Integer value) {
+        IntVector vector = (IntVector) root.getVector(name);
+        if (value == null) {
+            vector.setNull(index);
+        } else {
+            vector.setSafe(index, value);
+        }
+    }
+
+    private void setIndex(VectorSchemaRoot root, String name, int index, Integer dictionaryIndex) {
+        setInt(root, name, index, dictionaryIndex);
+    }
+
+    private void setString(VectorSchemaRoot root, String name, int index, String value) {
+        VarCharVector vector = (VarCharVector) root.getVector(name);
+        if (value == null) {
+            vector.setNull(index);
+        } else {
+            vector.setSafe(index, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void setTimestamp(VectorSchemaRoot root, String name, int index, LocalDateTime value) {
+        TimeStampMilliVector vector = (TimeStampMilliVector) root.getVector(name);
+        if (value == null) {
+            vector.setNull(index);
+        } else {
+            // Timestamps are stored in UTC (see datasource serverTimezone)
+            vector.setSafe(index, value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+
+    /**
+     * Ideas of the archived events as chunks of up to chunkSize rows, read from one archive file at a time;
+     * a chunk never spans two events.
+     */
+    private final class ArchivedIdeaChunks implements Iterator<List<IdeaAnalyticsRow>>, Closeable {
+        private final Iterator<Long> eventIds;
+        private Long eventId;
+        private EventArchiveService.ArchivedIdeaCursor cursor;
+
+        private ArchivedIdeaChunks(List<Long> eventIds) {
+            this.eventIds = eventIds.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (cursor == null || !cursor.hasNext()) {
+                close();
+                if (!eventIds.hasNext()) {
+                    return false;
+                }
+                eventId = eventIds.next();
+                cursor = eventArchiveService.openArchivedIdeas(eventId);
+            }
+            return true;
+        }
+
+        @Override
+        public List<IdeaAnalyticsRow> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<IdeaAnalyticsRow> chunk = new ArrayList<>();
+            while (chunk.size() < chunkSize && cursor.hasNext()) {
+                IdeaDto idea = cursor.next();
+                chunk.add(new ArchivedIdeaRow(idea.getId(), eventId, idea.getSessionId(), idea.getRoundNumber(),
+                        idea.getTeamId(), idea.getAuthorId(), idea.getPassedFromUserId(), idea.getText(),
+                        idea.getCreatedAt()));
+            }
+            return chunk;
+        }
+
+        @Override
+        public void close() {
+            if (cursor != null) {
+                cursor.close();
+                cursor = null;
+            }
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ArchivedIdeaRow implements IdeaAnalyticsRow {
+        private final Long id;
+        private final Long eventId;
+        private final Long sessionId;
+        private final Integer roundNumber;
+        private final Long teamId;
+        private final Long authorId;
+        private final Long passedFromUserId;
+        private final String text;
+        private final LocalDateTime createdAt;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ArchivedUser implements NamedRef {
+        private final Long id;
+        private final String name;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(VectorSchemaRoot root, int index, T row);
+    }
+}
@@ -0,0 +1,55 @@
+package com.brainstorming.service;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of running asynchronous calls. Callers never block: calls over the cap are queued
+ * and started when a running one completes.
+ */
+class AsyncCallLimiter {
+
+    private final Semaphore slots;
+    private final Queue<Runnable> waitingCalls = new ConcurrentLinkedQueue<>();
+
+    AsyncCallLimiter(int maxConcurrent) {
+        this.slots = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        waitingCalls.add(() -> {
+            CompletableFuture<T> started;
+            try {
+                started = call.get();
+            } catch (RuntimeException e) {
+                started = CompletableFuture.failedFuture(e);
+            }
+            started.whenComplete((value, error) -> {
+                slots.release();
+                drain();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        drain();
+        return result;
+    }
+
+    private void drain() {
+        while (!waitingCalls.isEmpty() && slots.tryAcquire()) {
+            Runnable next = waitingCalls.poll();
+            if (next == null) {
+                slots.release();
+                return;
+            }
+            next.run();
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.DeletionJobDto;
+import com.brainstorming.entity.Event;
+import com.brainstorming.entity.Team;
+import com.brainstorming.entity.Topic;
+import com.brainstorming.exception.ResourceNotFoundException;
+import com.brainstorming.repository.EventRepository;
+import com.brainstorming.repository.TeamRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Deletes events and teams with everything below them. A delete request only sets deleted_at, which hides
+ * the event (and its teams) or the team at once; a background thread then removes the rows with plain
+ * DELETE statements of at most deletion.chunk-size rows each, children before parents, so no statement holds
+ * locks for long and nothing is loaded into memory. Every statement commits on its own: a deletion stopped
+ * by a failure or a restart is picked up again from deleted_at on the next poll.
+ * Progress is kept in memory per target (see {@link DeletionJobDto}); metric deletion.rows.deleted (tag table).
+ */
+@Service
+@Slf4j
+public class CascadeDeletionService {
+
+    public static final String EVENT = "EVENT";
+    public static final String TEAM = "TEAM";
+
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    // Children before parents: ideas and AI artifacts also reference rounds
+    private static final List<String> SESSION_CHILD_TABLES =
+            List.of("ideas", "ai_artifacts", "session_logs", "reports_cache", "rounds");
+
+    private final EventRepository eventRepository;
+    private final TeamRepository teamRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final WriteBehindIdeaIngestor writeBehindIngestor;
+    private final EventArchiveService eventArchiveService;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final long chunkPauseNanos;
+    private final long pollIntervalNanos;
+    private final Map<String, Job> jobs;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public CascadeDeletionService(
+            EventRepository eventRepository,
+            TeamRepository teamRepository,
+            JdbcTemplate jdbcTemplate,
+            EntityManagerFactory entityManagerFactory,
+            WriteBehindIdeaIngestor writeBehindIngestor,
+            EventArchiveService eventArchiveService,
+            MeterRegistry meterRegistry,
+            @Value("${deletion.chunk-size:1000}") int chunkSize,
+            @Value("${deletion.chunk-pause-ms:20}") long chunkPauseMillis,
+            @Value("${deletion.poll-interval-ms:30000}") long pollIntervalMillis,
+            @Value("${deletion.retained-jobs:256}") int retainedJobs) {
+        this.eventRepository = eventRepository;
+        this.teamRepository = teamRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.writeBehindIngestor = writeBehindIngestor;
+        this.eventArchiveService = eventArchiveService;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkPauseNanos = TimeUnit.MILLISECONDS.toNanos(chunkPauseMillis);
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis);
+        this.jobs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Job> eldest) {
+                return size() > retainedJobs;
+            }
+        };
+
+        this.worker = new Thread(this::workLoop, "cascade-deletion");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Hide the event and its teams and queue the deletion of their rows; the worker starts once the
+     * transaction commits.
+     */
+    @Transactional
+    public DeletionJobDto requestEventDeletion(Long eventId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (eventRepository.markDeleted(eventId, now) == 0) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        teamRepository.markDeletedByEventId(eventId, now);
+        return enqueue(new Job(EVENT, eventId, now));
+    }
+
+    /**
+     * Hide the team and queue the deletion of its rows; the worker starts once the transaction commits.
+     */
+    @Transactional
+    public DeletionJobDto requestTeamDeletion(Long teamId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (teamRepository.markDeleted(teamId, now) == 0) {
+            throw new ResourceNotFoundException("Team not found with id: " + teamId);
+        }
+        return enqueue(new Job(TEAM, teamId, now));
+    }
+
+    public DeletionJobDto getEventDeletion(Long eventId) {
+        return status(EVENT, eventId, "SELECT deleted_at FROM events WHERE id = ?");
+    }
+
+    public DeletionJobDto getTeamDeletion(Long teamId) {
+        return status(TEAM, teamId, "SELECT deleted_at FROM teams WHERE id = ?");
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // A deletion in progress stops after its current chunk and resumes on the next start
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(5000);
+    }
+
+    private DeletionJobDto enqueue(Job job) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    register(job);
+                    LockSupport.unpark(worker);
+                }
+            });
+        } else {
+            register(job);
+            LockSupport.unpark(worker);
+        }
+        return job.toDto();
+    }
+
+    private DeletionJobDto status(String targetType, Long targetId, String deletedAtSql) {
+        Job job;
+        synchronized (jobs) {
+            job = jobs.get(key(targetType, targetId));
+        }
+        if (job != null) {
+            return job.toDto();
+        }
+        // Requested before a restart or on another instance: the row is still there, marked deleted
+        List<Timestamp> deletedAt = jdbcTemplate.queryForList(deletedAtSql, Timestamp.class, targetId);
+        if (deletedAt.isEmpty() || deletedAt.get(0) == null) {
+            throw new ResourceNotFoundException(
+                    "No deletion found for " + targetType.toLowerCase(Locale.ROOT) + " with id: " + targetId);
+        }
+        return new Job(targetType, targetId, deletedAt.get(0).toLocalDateTime()).toDto();
+    }
+
+    private void workLoop() {
+        while (running) {
+            // Woken by new requests; the poll picks up deletions left by a failure or a restart
+            LockSupport.parkNanos(this, pollIntervalNanos);
+            if (!running) {
+                return;
+            }
+            try {
+                processPending();
+            } catch (RuntimeException e) {
+                log.warn("Looking for pending deletions failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void processPending() {
+        // Teams of an event being deleted are deleted with the event
+        List<Job> teamJobs = jdbcTemplate.query(
+                "SELECT t.id, t.deleted_at FROM teams t JOIN events e ON e.id = t.event_id " +
+                        "WHERE t.deleted_at IS NOT NULL AND e.deleted_at IS NULL ORDER BY t.id",
+                (rs, rowNum) -> jobFor(TEAM, rs.getLong("id"), rs.getTimestamp("deleted_at")));
+        teamJobs.forEach(this::run);
+
+        List<Job> eventJobs = jdbcTemplate.query(
+                "SELECT id, deleted_at FROM events WHERE deleted_at IS NOT NULL ORDER BY id",
+                (rs, rowNum) -> jobFor(EVENT, rs.getLong("id"), rs.getTimestamp("deleted_at")));
+        eventJobs.forEach(this::run);
+    }
+
+    private void run(Job job) {
+        if (!running) {
+            return;
+        }
+        try {
+            if (EVENT.equals(job.targetType)) {
+                deleteEvent(job);
+            } else {
+                deleteTeam(job);
+            }
+            job.finish();
+            log.info("Deleted {} {}: {}", job.targetType.toLowerCase(Locale.ROOT), job.targetId,
+                    job.toDto().getRowsDeleted());
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+            log.warn("Deleting {} {} failed, retrying with the next poll: {}",
+                    job.targetType.toLowerCase(Locale.ROOT), job.targetId, e.getMessage());
+        }
+    }
+
+    private void deleteEvent(Job job) {
+        Long eventId = job.targetId;
+        List<Long> sessionIds = jdbcTemplate.queryForList(
+                "SELECT id FROM sessions WHERE team_id IN (SELECT id FROM teams WHERE event_id = ?) " +
+                        "OR topic_id IN (SELECT id FROM topics WHERE event_id = ?) ORDER BY id",
+                Long.class, eventId, eventId);
+        List<Long> teamIds = jdbcTemplate.queryForList("SELECT id FROM teams WHERE event_id = ?", Long.class, eventId);
+        List<Long> topicIds =
+                jdbcTemplate.queryForList("SELECT id FROM topics WHERE event_id = ?", Long.class, eventId);
+        job.start(sessionIds.size());
+
+        deleteSessions(job, sessionIds);
+        for (Long teamId : teamIds) {
+            deleteInChunks(job, "team_members", "DELETE FROM team_members WHERE team_id = ?", teamId);
+        }
+        deleteInChunks(job, "idea_throughput_buckets",
+                "DELETE FROM idea_throughput_buckets WHERE event_id = ?", eventId);
+        deleteInChunks(job, "teams", "DELETE FROM teams WHERE event_id = ?", eventId);
+        deleteInChunks(job, "topics", "DELETE FROM topics WHERE event_id = ?", eventId);
+        deleteInChunks(job, "event_participants", "DELETE FROM event_participants WHERE event_id = ?", eventId);
+        job.step("events");
+        job.deleted("events", jdbcTemplate.update("DELETE FROM events WHERE id = ?", eventId));
+
+        eventArchiveService.deleteArchive(eventId);
+        evict(Team.class, teamIds);
+        evict(Topic.class, topicIds);
+        evict(Event.class, List.of(eventId));
+    }
+
+    private void deleteTeam(Job job) {
+        Long teamId = job.targetId;
+        List<Long> eventIds = jdbcTemplate.queryForList("SELECT event_id FROM teams WHERE id = ?", Long.class, teamId);
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        List<Long> sessionIds = jdbcTemplate.queryForList(
+                "SELECT id FROM sessions WHERE team_id = ? ORDER BY id", Long.class, teamId);
+        job.start(sessionIds.size());
+
+        deleteSessions(job, sessionIds);
+        deleteInChunks(job, "team_members", "DELETE FROM team_members WHERE team_id = ?", teamId);
+        deleteInChunks(job, "idea_throughput_buckets",
+                "DELETE FROM idea_throughput_buckets WHERE event_id = ? AND team_id = ?", eventIds.get(0), teamId);
+        job.step("teams");
+        job.deleted("teams", jdbcTemplate.update("DELETE FROM teams WHERE id = ?", teamId));
+
+        evict(Team.class, List.of(teamId));
+    }
+
+    private void deleteSessions(Job job, List<Long> sessionIds) {
+        for (Long sessionId : sessionIds) {
+            // Accepted write-behind submissions land before the session's ideas are deleted
+            writeBehindIngestor.awaitFlushed(sessionId);
+            for (String table : SESSION_CHILD_TABLES) {
+                deleteInChunks(job, table, "DELETE FROM " + table + " WHERE session_id = ?", sessionId);
+            }
+            job.step("sessions");
+            job.deleted("sessions", jdbcTemplate.update("DELETE FROM sessions WHERE id = ?", sessionId));
+            job.sessionDeleted();
+        }
+    }
+
+    private void deleteInChunks(Job job, String table, String sql, Object... args) {
+        job.step(table);
+        String chunked = sql + " LIMIT " + chunkSize;
+        int deleted;
+        do {
+            if (!running) {
+                throw new IllegalStateException("Stopped by shutdown");
+            }
+            deleted = jdbcTemplate.update(chunked, args);
+            job.deleted(table, deleted);
+            meterRegistry.counter("deletion.rows.deleted", "table", table).increment(deleted);
+            if (deleted == chunkSize && chunkPauseNanos > 0) {
+                // Gives other transactions on the table a turn between chunks
+                LockSupport.parkNanos(this, chunkPauseNanos);
+            }
+        } while (deleted == chunkSize);
+    }
+
+    // The rows were deleted past Hibernate: drop them and cached queries that may list them
+    private void evict(Class<?> entityClass, List<Long> ids) {
+        Cache cache = entityManagerFactory.getCache();
+        ids.forEach(id -> cache.evict(entityClass, id));
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+    }
+
+    private Job jobFor(String targetType, Long targetId, Timestamp requestedAt) {
+        synchronized (jobs) {
+            return jobs.computeIfAbsent(key(targetType, targetId),
+                    key -> new Job(targetType, targetId, requestedAt.toLocalDateTime()));
+        }
+    }
+
+    private void register(Job job) {
+        synchronized (jobs) {
+            jobs.put(key(job.targetType, job.targetId), job);
+        }
+    }
+
+    private static String key(String targetType, Long targetId) {
+        return targetType + ":" + targetId;
+    }
+
+    private static final class Job {
+        private final String targetType;
+        private final Long targetId;
+        private final LocalDateTime requestedAt;
+        private final Map<String, Long> rowsDeleted = new LinkedHashMap<>();
+        private String status = PENDING;
+        private String currentStep;
+        private Integer sessionsTotal;
+        private int sessionsDeleted;
+        private String error;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+
+        private Job(String targetType, Long targetId, LocalDateTime requestedAt) {
+            this.targetType = targetType;
+            this.targetId = targetId;
+            this.requestedAt = requestedAt;
+        }
+
+        synchronized void start(int sessions) {
+            status = RUNNING;
+            error = null;
+            // A retried deletion counts the sessions that are left
+            sessionsTotal = sessions;
+            sessionsDeleted = 0;
+            if (startedAt == null) {
+                startedAt = LocalDateTime.now();
+            }
+        }
+
+        synchronized void step(String table) {
+            currentStep = table;
+        }
+
+        synchronized void deleted(String table, int rows) {
+            rowsDeleted.merge(table, (long) rows, Long::sum);
+        }
+
+        synchronized void sessionDeleted() {
+            sessionsDeleted++;
+        }
+
+        synchronized void finish() {
+            status = COMPLETED;
+            currentStep = null;
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized void fail(String message) {
+            status = FAILED;
+            error = message;
+        }
+
+        synchronized DeletionJobDto toDto() {
+            return DeletionJobDto.builder()
+                    .targetType(targetType)
+                    .targetId(targetId)
+                    .status(status)
+                    .currentStep(currentStep)
+                    .sessionsTotal(sessionsTotal)
+                    .sessionsDeleted(sessionsTotal != null ? sessionsDeleted : null)
+                    .rowsDeleted(new LinkedHashMap<>(rowsDeleted))
+                    .error(error)
+                    .requestedAt(requestedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.SessionDigestDto;
+import com.brainstorming.entity.Round;
+import com.brainstorming.repository.SessionRepository;
+import com.brainstorming.repository.projection.SessionDigestRow;
+import com.brainstorming.websocket.EventControlRoomWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the control room digest of every watched event at a fixed cadence (one query per event)
+ * and hands the sessions that changed since the previous tick to EventControlRoomWebSocketHandler.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ControlRoomDigestService {
+
+    private final SessionRepository sessionRepository;
+    private final EventControlRoomWebSocketHandler controlRoomHandler;
+
+    // eventId -> (sessionId -> digest sent on the previous tick)
+    private final Map<Long, Map<Long, SessionDigestDto>> lastDigests = new ConcurrentHashMap<>();
+
+    @Scheduled(fixedRateString = "${control-room.digest-interval-ms:1000}")
+    public void publishDigests() {
+        Set<Long> watched = controlRoomHandler.getWatchedEventIds();
+        lastDigests.keySet().retainAll(watched);
+
+        for (Long eventId : watched) {
+            try {
+                publishDigest(eventId);
+            } catch (Exception e) {
+                log.error("Failed to publish control room digest for event {}", eventId, e);
+            }
+        }
+    }
+
+    private void publishDigest(Long eventId) {
+        Map<Long, SessionDigestDto> current = new LinkedHashMap<>();
+        for (SessionDigestRow row : sessionRepository.findDigestRowsByEventId(eventId)) {
+            current.put(row.getSessionId(), toDigest(row));
+        }
+
+        Map<Long, SessionDigestDto> previous = lastDigests.getOrDefault(eventId, Map.of());
+        List<SessionDigestDto> changed = new ArrayList<>();
+        for (SessionDigestDto digest : current.values()) {
+            if (!digest.equals(previous.get(digest.getSessionId()))) {
+                changed.add(digest);
+            }
+        }
+        List<Long> removed = new ArrayList<>();
+        for (Long sessionId : previous.keySet()) {
+            if (!current.containsKey(sessionId)) {
+                removed.add(sessionId);
+            }
+        }
+
+        controlRoomHandler.publish(eventId, new ArrayList<>(current.values()), changed, removed);
+        lastDigests.put(eventId, current);
+    }
+
+    private SessionDigestDto toDigest(SessionDigestRow row) {
+        boolean timerRunning = row.getTimerState() == Round.TimerState.RUNNING && row.getRoundStartTime() != null;
+        return SessionDigestDto.builder()
+                .sessionId(row.getSessionId())
+                .teamId(row.getTeamId())
+                .teamName(row.getTeamName())
+                .status(row.getStatus() != null ? row.getStatus().name() : null)
+                .currentRound(row.getCurrentRound())
+                .roundCount(row.getRoundCount())
+                .timerState(row.getTimerState() != null ? row.getTimerState().name() : null)
+                // An absolute deadline does not change every second, so ticking timers don't produce diffs
+                .roundDeadline(timerRunning
+                        ? row.getRoundStartTime().plusSeconds(SessionTimerService.ROUND_DURATION_SECONDS)
+                        : null)
+                .submittedCount(row.getSubmittedCount() != null ? row.getSubmittedCount().intValue() : 0)
+                .memberCount(row.getMemberCount() != null ? row.getMemberCount().intValue() : 0)
+                .build();
+    }
+}
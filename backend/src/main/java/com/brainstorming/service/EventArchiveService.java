@@ -0,0 +1,502 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.EventArchive;
+import com.brainstorming.dto.IdeaDto;
+import com.brainstorming.dto.SessionLogDto;
+import com.brainstorming.entity.AiArtifact;
+import com.brainstorming.entity.Session;
+import com.brainstorming.exception.BadRequestException;
+import com.brainstorming.exception.ResourceNotFoundException;
+import com.brainstorming.exception.ServiceUnavailableException;
+import com.brainstorming.mapper.SessionLogMapper;
+import com.brainstorming.repository.AiArtifactRepository;
+import com.brainstorming.repository.EventRepository;
+import com.brainstorming.repository.IdeaRepository;
+import com.brainstorming.repository.SessionLogRepository;
+import com.brainstorming.repository.SessionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold archival of completed events. An event whose sessions are all completed and have not changed for
+ * archive.after-days has its ideas, session logs and AI artifacts moved out of the hot tables into one
+ * gzip-compressed JSON file (archive.dir/event_{id}.json.gz), and events.archived_at is set; events, teams,
+ * topics, sessions and rounds stay in place. Live-session queries then only touch current rows.
+ * Read paths (session ideas and reports, audit logs, the latest AI summary, the event report) fall back to the
+ * archive through the same DTOs; recently read archives are kept in memory (archive.cache-size).
+ * {@link #restoreEvent(Long)} puts the rows back with their original ids and deletes the file.
+ */
+@Service
+@Slf4j
+public class EventArchiveService {
+
+    private static final String IDEA_INSERT_SQL = "INSERT INTO ideas (id, session_id, round_id, team_id, author_id, "
+            + "text, passed_from_user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String LOG_INSERT_SQL = "INSERT INTO session_logs (id, session_id, user_id, action_type, "
+            + "payload, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String ARTIFACT_INSERT_SQL = "INSERT INTO ai_artifacts (id, session_id, round_id, type, "
+            + "content, input_hash, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final EventRepository eventRepository;
+    private final SessionRepository sessionRepository;
+    private final IdeaRepository ideaRepository;
+    private final SessionLogRepository sessionLogRepository;
+    private final AiArtifactRepository aiArtifactRepository;
+    private final SessionLogMapper sessionLogMapper;
+    private final WriteBehindIdeaIngestor writeBehindIngestor;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor archiveExecutor;
+    private final ObjectWriter archiveWriter;
+    private final ObjectReader archiveReader;
+    private final ObjectReader ideaReader;
+    private final boolean enabled;
+    private final Path archiveDir;
+    private final int afterDays;
+    // eventId -> archive, access-ordered so the eldest entry is the least recently used one
+    private final Map<Long, EventArchive> archives;
+
+    public EventArchiveService(
+            EventRepository eventRepository,
+            SessionRepository sessionRepository,
+            IdeaRepository ideaRepository,
+            SessionLogRepository sessionLogRepository,
+            AiArtifactRepository aiArtifactRepository,
+            SessionLogMapper sessionLogMapper,
+            WriteBehindIdeaIngestor writeBehindIngestor,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("archiveExecutor") Executor archiveExecutor,
+            ObjectMapper objectMapper,
+            @Value("${archive.enabled:false}") boolean enabled,
+            @Value("${archive.dir:./event-archive}") String archiveDir,
+            @Value("${archive.after-days:90}") int afterDays,
+            @Value("${archive.cache-size:16}") int cacheSize) {
+        this.eventRepository = eventRepository;
+        this.sessionRepository = sessionRepository;
+        this.ideaRepository = ideaRepository;
+        this.sessionLogRepository = sessionLogRepository;
+        this.aiArtifactRepository = aiArtifactRepository;
+        this.sessionLogMapper = sessionLogMapper;
+        this.writeBehindIngestor = writeBehindIngestor;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveExecutor = archiveExecutor;
+        // The gzip stream is finished and synced by the caller
+        this.archiveWriter = objectMapper.writerFor(EventArchive.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.archiveReader = objectMapper.readerFor(EventArchive.class)
+                .without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        this.ideaReader = objectMapper.readerFor(IdeaDto.class);
+        this.enabled = enabled;
+        this.archiveDir = Paths.get(archiveDir);
+        this.afterDays = afterDays;
+        this.archives = new LinkedHashMap<>(32, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, EventArchive> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Scheduled(fixedDelayString = "${archive.check-interval-ms:3600000}",
+            initialDelayString = "${archive.check-interval-ms:3600000}")
+    public void archiveCompletedEvents() {
+        if (!enabled) {
+            return;
+        }
+        // On archiveExecutor: the scheduler threads also run the session timers and digests
+        archiveExecutor.execute(this::archiveDueEvents);
+    }
+
+    private void archiveDueEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        for (Long eventId : eventRepository.findArchiveCandidates(Session.Status.COMPLETED, cutoff)) {
+            try {
+                archiveEvent(eventId);
+            } catch (RuntimeException e) {
+                log.warn("Archiving event {} failed: {}", eventId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Move the ideas, session logs and AI artifacts of a completed event into its archive file.
+     */
+    public void archiveEvent(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        List<Session> sessions = sessionRepository.findByEventIdWithTeamAndTopic(eventId);
+        if (sessions.isEmpty() || sessions.stream().anyMatch(s -> s.getStatus() != Session.Status.COMPLETED)) {
+            throw new BadRequestException("Only events whose sessions are all completed can be archived");
+        }
+        List<Long> sessionIds = sessions.stream().map(Session::getId).collect(Collectors.toList());
+        // Before the transaction reads anything, so it sees every accepted submission
+        sessionIds.forEach(writeBehindIngestor::awaitFlushed);
+
+        LocalDateTime archivedAt = LocalDateTime.now();
+        EventArchive archive = transactionTemplate.execute(status -> {
+            // Locks the event row: a concurrent archive or restore of the event waits, then finds nothing to do
+            if (eventRepository.markArchived(eventId, archivedAt) == 0) {
+                throw new BadRequestException("Event is already archived");
+            }
+            EventArchive content = EventArchive.builder()
+                    .eventId(eventId)
+                    .archivedAt(archivedAt)
+                    .ideas(ideaRepository.findDtosBySessionIds(sessionIds))
+                    .sessionLogs(sessionLogMapper.toDtoList(sessionLogRepository.findBySessionIdsWithUser(sessionIds)))
+                    .aiArtifacts(aiArtifactRepository.findBySessionIdInOrderByIdAsc(sessionIds).stream()
+                            .map(this::toArchivedArtifact)
+                            .collect(Collectors.toList()))
+                    .build();
+
+            // The file is complete and on disk before any row is deleted
+            write(content);
+            ideaRepository.deleteBySessionIds(sessionIds, maxId(content.getIdeas(), IdeaDto::getId));
+            sessionLogRepository.deleteBySessionIds(sessionIds, maxId(content.getSessionLogs(), SessionLogDto::getId));
+            aiArtifactRepository.deleteBySessionIds(sessionIds,
+                    maxId(content.getAiArtifacts(), EventArchive.ArchivedAiArtifact::getId));
+            return content;
+        });
+
+        synchronized (archives) {
+            archives.put(eventId, archive);
+        }
+        log.info("Archived event {}: {} ideas, {} session logs, {} AI artifacts", eventId,
+                archive.getIdeas().size(), archive.getSessionLogs().size(), archive.getAiArtifacts().size());
+    }
+
+    /**
+     * Put an archived event's rows back into the hot tables (original ids) and delete its archive file.
+     */
+    public void restoreEvent(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        EventArchive archive = transactionTemplate.execute(status -> {
+            if (eventRepository.clearArchived(eventId) == 0) {
+                throw new BadRequestException("Event is not archived");
+            }
+            EventArchive content = read(eventId);
+            insertIdeas(content.getIdeas());
+            insertSessionLogs(content.getSessionLogs());
+            insertAiArtifacts(content.getAiArtifacts());
+            return content;
+        });
+
+        synchronized (archives) {
+            archives.remove(eventId);
+        }
+        try {
+            Files.deleteIfExists(archiveFile(eventId));
+        } catch (IOException e) {
+            log.warn("Could not delete the archive of restored event {}: {}", eventId, e.getMessage());
+        }
+        log.info("Restored event {}: {} ideas, {} session logs, {} AI artifacts", eventId,
+                archive.getIdeas().size(), archive.getSessionLogs().size(), archive.getAiArtifacts().size());
+    }
+
+    /**
+     * Delete the archive file of a deleted event, once the current transaction commits.
+     */
+    public void deleteArchive(Long eventId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeArchive(eventId);
+                }
+            });
+        } else {
+            removeArchive(eventId);
+        }
+    }
+
+    private void removeArchive(Long eventId) {
+        synchronized (archives) {
+            archives.remove(eventId);
+        }
+        try {
+            Files.deleteIfExists(archiveFile(eventId));
+        } catch (IOException e) {
+            log.warn("Could not delete the archive of event {}: {}", eventId, e.getMessage());
+        }
+    }
+
+    /**
+     * The archive of the session's event, if the event is archived.
+     */
+    public Optional<EventArchive> findBySession(Long sessionId) {
+        return sessionRepository.findArchivedEventId(sessionId).map(this::load);
+    }
+
+    /**
+     * Ideas of an archived session, ordered by round number, author and id; empty if it is not archived.
+     */
+    public List<IdeaDto> archivedIdeas(Long sessionId) {
+        return findBySession(sessionId)
+                .map(archive -> archive.getIdeas().stream()
+                        .filter(idea -> sessionId.equals(idea.getSessionId()))
+                        .collect(Collectors.toList()))
+                .orElse(List.of());
+    }
+
+    /**
+     * Ideas of an archived event, ordered by session, round number and id; empty if it is not archived.
+     */
+    public List<IdeaDto> archivedEventIdeas(Long eventId) {
+        return eventRepository.findArchivedIds(List.of(eventId)).isEmpty() ? List.of() : load(eventId).getIdeas();
+    }
+
+    /**
+     * Session logs of an archived session, in id order; empty if it is not archived.
+     */
+    public List<SessionLogDto> archivedLogs(Long sessionId) {
+        return findBySession(sessionId)
+                .map(archive -> archive.getSessionLogs().stream()
+                        .filter(entry -> sessionId.equals(entry.getSessionId()))
+                        .collect(Collectors.toList()))
+                .orElse(List.of());
+    }
+
+    /**
+     * Newest AI artifact of the type for an archived session.
+     */
+    public Optional<EventArchive.ArchivedAiArtifact> latestArchivedArtifact(Long sessionId, AiArtifact.Type type) {
+        return findBySession(sessionId)
+                .flatMap(archive -> archive.getAiArtifacts().stream()
+                        .filter(artifact -> sessionId.equals(artifact.getSessionId()) && artifact.getType() == type)
+                        .max(Comparator.comparing(EventArchive.ArchivedAiArtifact::getId)));
+    }
+
+    /**
+     * The archive of an archived event, from memory or its file.
+     */
+    public EventArchive load(Long eventId) {
+        synchronized (archives) {
+            EventArchive cached = archives.get(eventId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        EventArchive archive = read(eventId);
+        synchronized (archives) {
+            archives.putIfAbsent(eventId, archive);
+        }
+        return archive;
+    }
+
+    /**
+     * Ideas of an archived event, read one at a time from its file in archive order, so large archives can be
+     * scanned without holding them in memory. The caller closes the cursor.
+     */
+    public ArchivedIdeaCursor openArchivedIdeas(Long eventId) {
+        JsonParser parser = null;
+        try {
+            parser = ideaReader.createParser(
+                    new GZIPInputStream(new BufferedInputStream(Files.newInputStream(archiveFile(eventId)))));
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    if (parser.nextToken() == JsonToken.START_ARRAY && "ideas".equals(field)) {
+                        return new ArchivedIdeaCursor(parser, ideaReader);
+                    }
+                    parser.skipChildren();
+                }
+            }
+            parser.close();
+            return new ArchivedIdeaCursor(null, ideaReader);
+        } catch (NoSuchFileException e) {
+            log.error("Archive file of event {} is missing: {}", eventId, e.getFile());
+            throw new ServiceUnavailableException("The archive of this event is not available");
+        } catch (IOException e) {
+            closeQuietly(parser);
+            log.error("Could not read the archive of event {}", eventId, e);
+            throw new ServiceUnavailableException("The archive of this event is not available");
+        }
+    }
+
+    private static void closeQuietly(JsonParser parser) {
+        if (parser != null) {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // already failing
+            }
+        }
+    }
+
+    private EventArchive read(Long eventId) {
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(archiveFile(eventId))))) {
+            return archiveReader.readValue(in);
+        } catch (NoSuchFileException e) {
+            log.error("Archive file of event {} is missing: {}", eventId, e.getFile());
+            throw new ServiceUnavailableException("The archive of this event is not available");
+        } catch (IOException e) {
+            log.error("Could not read the archive of event {}", eventId, e);
+            throw new ServiceUnavailableException("The archive of this event is not available");
+        }
+    }
+
+    private void write(EventArchive archive) {
+        try {
+            Files.createDirectories(archiveDir);
+            Path target = archiveFile(archive.getEventId());
+            Path tmp = Files.createTempFile(archiveDir, "event_" + archive.getEventId() + "_", ".tmp");
+            try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+                 GZIPOutputStream gzip = new GZIPOutputStream(new BufferedOutputStream(file))) {
+                archiveWriter.writeValue(gzip, archive);
+                gzip.finish();
+                gzip.flush();
+                file.getFD().sync();
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the archive of event " + archive.getEventId(), e);
+        }
+    }
+
+    private Path archiveFile(Long eventId) {
+        return archiveDir.resolve("event_" + eventId + ".json.gz");
+    }
+
+    private void insertIdeas(List<IdeaDto> ideas) {
+        List<Object[]> rows = new ArrayList<>(ideas.size());
+        for (IdeaDto idea : ideas) {
+            rows.add(new Object[]{idea.getId(), idea.getSessionId(), idea.getRoundId(), idea.getTeamId(),
+                    idea.getAuthorId(), idea.getText(), idea.getPassedFromUserId(),
+                    timestamp(idea.getCreatedAt()), timestamp(idea.getUpdatedAt())});
+        }
+        jdbcTemplate.batchUpdate(IDEA_INSERT_SQL, rows);
+    }
+
+    private void insertSessionLogs(List<SessionLogDto> logs) {
+        List<Object[]> rows = new ArrayList<>(logs.size());
+        for (SessionLogDto entry : logs) {
+            rows.add(new Object[]{entry.getId(), entry.getSessionId(), entry.getUserId(), entry.getActionType(),
+                    entry.getPayload(), timestamp(entry.getCreatedAt())});
+        }
+        jdbcTemplate.batchUpdate(LOG_INSERT_SQL, rows);
+    }
+
+    private void insertAiArtifacts(List<EventArchive.ArchivedAiArtifact> artifacts) {
+        List<Object[]> rows = new ArrayList<>(artifacts.size());
+        for (EventArchive.ArchivedAiArtifact artifact : artifacts) {
+            rows.add(new Object[]{artifact.getId(), artifact.getSessionId(), artifact.getRoundId(),
+                    artifact.getType().name(), artifact.getContent(), artifact.getInputHash(),
+                    timestamp(artifact.getCreatedAt()), timestamp(artifact.getUpdatedAt())});
+        }
+        jdbcTemplate.batchUpdate(ARTIFACT_INSERT_SQL, rows);
+    }
+
+    private EventArchive.ArchivedAiArtifact toArchivedArtifact(AiArtifact artifact) {
+        return EventArchive.ArchivedAiArtifact.builder()
+                .id(artifact.getId())
+                .sessionId(artifact.getSession().getId())
+                .roundId(artifact.getRound() != null ? artifact.getRound().getId() : null)
+                .type(artifact.getType())
+                .content(artifact.getContent())
+                .inputHash(artifact.getInputHash())
+                .createdAt(artifact.getCreatedAt())
+                .updatedAt(artifact.getUpdatedAt())
+                .build();
+    }
+
+    // Rows added after the archive was read have higher ids and stay in the hot table
+    private static <T> Long maxId(List<T> rows, Function<T, Long> idOf) {
+        return rows.stream().map(idOf).filter(Objects::nonNull).max(Long::compare).orElse(0L);
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+
+    /**
+     * Forward-only cursor over the ideas array of an archive file.
+     */
+    public static final class ArchivedIdeaCursor implements Iterator<IdeaDto>, Closeable {
+        private final JsonParser parser;
+        private final ObjectReader ideaReader;
+        private IdeaDto next;
+
+        private ArchivedIdeaCursor(JsonParser parser, ObjectReader ideaReader) {
+            this.parser = parser;
+            this.ideaReader = ideaReader;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public IdeaDto next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            IdeaDto idea = next;
+            advance();
+            return idea;
+        }
+
+        @Override
+        public void close() {
+            closeQuietly(parser);
+        }
+
+        private void advance() {
+            try {
+                next = parser != null && parser.nextToken() == JsonToken.START_OBJECT
+                        ? ideaReader.readValue(parser)
+                        : null;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read an archived idea", e);
+            }
+        }
+    }
+}
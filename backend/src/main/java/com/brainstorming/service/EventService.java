@@ -1,6 +1,8 @@
 package com.brainstorming.service;
 
 import com.brainstorming.dto.CreateEventRequest;
+import com.brainstorming.dto.CursorPage;
+import com.brainstorming.dto.DeletionJobDto;
 import com.brainstorming.dto.EventDto;
 import com.brainstorming.dto.TeamDto;
 import com.brainstorming.dto.TopicDto;
@@ -34,35 +36,30 @@ public class EventService {
     private final EventMapper eventMapper;
     private final TeamMapper teamMapper;
     private final TopicMapper topicMapper;
+    private final KeysetPaging keysetPaging;
+    private final CascadeDeletionService cascadeDeletionService;
 
-    public List<EventDto> getAllEvents(User user) {
+    private static final String EVENT_LIST = "events";
+
+    @Transactional(readOnly = true)
+    public CursorPage<EventDto> getEvents(User user, String cursor, Integer size) {
+        int pageSize = keysetPaging.pageSize(size);
+        long afterId = keysetPaging.afterId(EVENT_LIST, cursor);
+        List<Event> events;
         // Fix: Compare Enum properly
         if (user == null || user.getRole() == User.Role.EVENT_MANAGER) {
-            return eventRepository.findAll().stream()
-                    .map(eventMapper::toDto)
-                    .collect(Collectors.toList());
-        }
-
-        // If TEAM_LEADER, find teams they lead and return unique events
-        if (user.getRole() == User.Role.TEAM_LEADER) {
-            List<Team> teams = teamRepository.findAllByMembers_UserId(user.getId());
-            return teams.stream()
-                    .map(Team::getEvent)
-                    .distinct() // Ensure unique events
-                    .map(eventMapper::toDto)
-                    .collect(Collectors.toList());
+            events = eventRepository.findPageAfter(afterId, keysetPaging.limit(pageSize));
+        } else if (user.getRole() == User.Role.TEAM_LEADER) {
+            // Events of the teams they are in
+            events = eventRepository.findPageByMemberAfter(user.getId(), afterId, keysetPaging.limit(pageSize));
+        } else {
+            // Default: return empty
+            events = List.of();
         }
-
-        // Default: return empty
-        return List.of();
-    }
-
-    public List<EventDto> getAllEvents() {
-        return eventRepository.findAll().stream()
-                .map(eventMapper::toDto)
-                .collect(Collectors.toList());
+        return keysetPaging.page(EVENT_LIST, eventMapper.toDtoList(events), pageSize, EventDto::getId);
     }
 
+    @Transactional(readOnly = true)
     public EventDto getEventById(Long id) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
@@ -107,14 +104,22 @@ public class EventService {
         return eventMapper.toDto(updatedEvent);
     }
 
+    /**
+     * Hides the event right away; its teams, sessions and ideas are deleted in the background.
+     */
     @Transactional
-    public void deleteEvent(Long id) {
+    public DeletionJobDto deleteEvent(Long id) {
         if (!eventRepository.existsById(id)) {
             throw new RuntimeException("Event not found");
         }
-        eventRepository.deleteById(id);
+        return cascadeDeletionService.requestEventDeletion(id);
+    }
+
+    public DeletionJobDto getEventDeletion(Long id) {
+        return cascadeDeletionService.getEventDeletion(id);
     }
 
+    @Transactional(readOnly = true)
     public List<TeamDto> getEventTeams(Long eventId) {
         List<Team> teams = teamRepository.findByEventId(eventId);
         return teams.stream()
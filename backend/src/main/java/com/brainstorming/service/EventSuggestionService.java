@@ -0,0 +1,366 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.AISuggestionRequest;
+import com.brainstorming.dto.AISuggestionResponse;
+import com.brainstorming.dto.AiJobDto;
+import com.brainstorming.dto.EventSuggestionResultDto;
+import com.brainstorming.entity.AiArtifact;
+import com.brainstorming.entity.Session;
+import com.brainstorming.exception.BadRequestException;
+import com.brainstorming.exception.ResourceNotFoundException;
+import com.brainstorming.exception.ServiceUnavailableException;
+import com.brainstorming.exception.TooManyRequestsException;
+import com.brainstorming.repository.EventRepository;
+import com.brainstorming.repository.IdeaRepository;
+import com.brainstorming.repository.SessionRepository;
+import com.brainstorming.repository.projection.IdeaTextRow;
+import com.brainstorming.websocket.SessionWebSocketHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * AI suggestions for every RUNNING session of an event in one request.
+ * Sessions are processed in parallel (at most ai.batch.max-concurrency Gemini calls across all fan-outs),
+ * the topic-level prompt prefix is built once per topic, and each team's result is streamed to the caller
+ * as soon as its Gemini call returns; only storing the artifacts is batched (ai.batch.save-batch-size per
+ * transaction). Every session still gets a regular AI job, so team members receive the stored suggestions
+ * as "ai_job_completed" on their session socket.
+ */
+@Service
+@Slf4j
+public class EventSuggestionService {
+
+    private final EventRepository eventRepository;
+    private final SessionRepository sessionRepository;
+    private final IdeaRepository ideaRepository;
+    private final GeminiService geminiService;
+    private final GeminiResilience geminiResilience;
+    private final AiRateLimiter aiRateLimiter;
+    private final AiArtifactService aiArtifactService;
+    private final AiJobService aiJobService;
+    private final AiResultCache aiResultCache;
+    private final SessionWebSocketHandler webSocketHandler;
+    private final AsyncCallLimiter batchLimiter;
+    private final int saveBatchSize;
+    private final long emitterTimeoutMillis;
+
+    public EventSuggestionService(
+            EventRepository eventRepository,
+            SessionRepository sessionRepository,
+            IdeaRepository ideaRepository,
+            GeminiService geminiService,
+            GeminiResilience geminiResilience,
+            AiRateLimiter aiRateLimiter,
+            AiArtifactService aiArtifactService,
+            AiJobService aiJobService,
+            AiResultCache aiResultCache,
+            SessionWebSocketHandler webSocketHandler,
+            @Value("${ai.batch.max-concurrency:8}") int maxConcurrency,
+            @Value("${ai.batch.save-batch-size:10}") int saveBatchSize,
+            @Value("${ai.batch.emitter-timeout-ms:300000}") long emitterTimeoutMillis) {
+        this.eventRepository = eventRepository;
+        this.sessionRepository = sessionRepository;
+        this.ideaRepository = ideaRepository;
+        this.geminiService = geminiService;
+        this.geminiResilience = geminiResilience;
+        this.aiRateLimiter = aiRateLimiter;
+        this.aiArtifactService = aiArtifactService;
+        this.aiJobService = aiJobService;
+        this.aiResultCache = aiResultCache;
+        this.webSocketHandler = webSocketHandler;
+        this.batchLimiter = new AsyncCallLimiter(maxConcurrency);
+        this.saveBatchSize = Math.max(1, saveBatchSize);
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+    }
+
+    /**
+     * Start the fan-out and return the stream it reports to: "started", one "team_result" per session, "done".
+     * Every Gemini call takes its own AI rate limit token, so a fan-out uses the event quota like one request
+     * per session; sessions over the limit are reported as failed.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter generateForEvent(Long eventId, AISuggestionRequest request, Long userId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+
+        List<Session> sessions = sessionRepository.findByEventIdWithTeamAndTopic(eventId).stream()
+                .filter(session -> session.getStatus() == Session.Status.RUNNING && session.getTopic() != null)
+                .collect(Collectors.toList());
+        if (sessions.isEmpty()) {
+            throw new BadRequestException("No running sessions in this event");
+        }
+        if (!geminiResilience.isCallPermitted()) {
+            throw new ServiceUnavailableException("AI service is temporarily unavailable. Please try again later.");
+        }
+
+        Map<Long, List<String>> ideasBySession = ideaRepository.findTextsBySessionIds(
+                        sessions.stream().map(Session::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(IdeaTextRow::getSessionId,
+                        Collectors.mapping(IdeaTextRow::getText, Collectors.toList())));
+
+        // Plain values only: the persistence context is gone when the calls complete
+        String promptOverride = request.getPromptOverride();
+        Map<Long, String> prefixByTopic = new HashMap<>();
+        List<Target> targets = new ArrayList<>();
+        for (Session session : sessions) {
+            String topicTitle = session.getTopic().getTitle();
+            String topicDescription = session.getTopic().getDescription();
+            List<String> ideas = ideasBySession.getOrDefault(session.getId(), List.of());
+            String prefix = prefixByTopic.computeIfAbsent(session.getTopic().getId(),
+                    id -> geminiService.buildSuggestionPromptPrefix(topicTitle, topicDescription, promptOverride));
+            String cacheKey = aiResultCache.suggestionKey(session.getId(), null, geminiService.getModel(),
+                    topicTitle, topicDescription, ideas, promptOverride);
+            targets.add(new Target(session.getId(), session.getTeam().getId(), session.getTeam().getName(),
+                    prefix, ideas, cacheKey));
+        }
+
+        Run run = new Run(eventId, targets.size(), new SseEmitter(emitterTimeoutMillis));
+        run.send("started", Map.of("event_id", eventId, "sessions", targets.size()));
+        log.info("Generating suggestions for {} sessions of event {} ({} topics)",
+                targets.size(), eventId, prefixByTopic.size());
+
+        for (Target target : targets) {
+            Optional<Object> cached = aiResultCache.get(target.cacheKey, AiArtifact.Type.SUGGESTION);
+            if (cached.isPresent()) {
+                AiJobDto job = aiJobService.completed(AiJobDto.Type.SUGGESTION, target.sessionId, userId, cached.get());
+                webSocketHandler.broadcastToSession(target.sessionId,
+                        new SessionWebSocketHandler.WebSocketMessage("ai_job_completed", job), null);
+                run.report(target, job.getJobId(), (AISuggestionResponse) cached.get(), null, true);
+                run.finished(target, null);
+                continue;
+            }
+
+            AtomicBoolean started = new AtomicBoolean();
+            AiJobDto job;
+            try {
+                // The token is taken only when a new job starts; joining an identical running one is free
+                job = aiJobService.submit(AiJobDto.Type.SUGGESTION, target.sessionId, userId, target.cacheKey,
+                        () -> aiRateLimiter.acquire(eventId),
+                        jobId -> {
+                            started.set(true);
+                            return generate(run, target, jobId)
+                                    .whenComplete((response, error) -> run.finished(target, error));
+                        });
+            } catch (TooManyRequestsException e) {
+                run.report(target, null, null, e, false);
+                run.finished(target, e);
+                continue;
+            }
+            if (!started.get()) {
+                // An identical request is already running; the caller can follow that job
+                run.reportRunning(target, job.getJobId());
+                run.finished(target, null);
+            }
+        }
+        return run.emitter;
+    }
+
+    private CompletableFuture<AISuggestionResponse> generate(Run run, Target target, String jobId) {
+        run.outstanding.incrementAndGet();
+        return batchLimiter.submit(() -> geminiService.generateSuggestionsFromPrefixAsync(target.prompt, target.ideas))
+                .handle((suggestions, error) -> {
+                    // The caller gets the suggestions right away; only the artifact insert waits for its batch
+                    run.report(target, jobId, error == null ? unsaved(suggestions) : null, error, false);
+                    CompletableFuture<AISuggestionResponse> saved = error == null
+                            ? run.enqueueSave(target, suggestions)
+                            : CompletableFuture.failedFuture(error);
+                    run.callFinished();
+                    return saved;
+                })
+                .thenCompose(saved -> saved)
+                .thenApply(response -> {
+                    aiResultCache.put(target.cacheKey, response);
+                    return response;
+                });
+    }
+
+    // Suggestions before their artifact is stored, so without ids
+    private static AISuggestionResponse unsaved(List<String> suggestions) {
+        return AISuggestionResponse.builder()
+                .suggestions(suggestions.stream()
+                        .map(text -> AISuggestionResponse.Suggestion.builder().text(text).build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private static final class Target {
+        private final Long sessionId;
+        private final Long teamId;
+        private final String teamName;
+        private final String prompt;
+        private final List<String> ideas;
+        private final String cacheKey;
+
+        private Target(Long sessionId, Long teamId, String teamName, String prompt, List<String> ideas,
+                       String cacheKey) {
+            this.sessionId = sessionId;
+            this.teamId = teamId;
+            this.teamName = teamName;
+            this.prompt = prompt;
+            this.ideas = ideas;
+            this.cacheKey = cacheKey;
+        }
+    }
+
+    private static final class PendingSave {
+        private final Target target;
+        private final List<String> suggestions;
+        private final CompletableFuture<AISuggestionResponse> saved = new CompletableFuture<>();
+
+        private PendingSave(Target target, List<String> suggestions) {
+            this.target = target;
+            this.suggestions = suggestions;
+        }
+    }
+
+    /**
+     * State of one fan-out: pending artifact saves and the stream reported to.
+     */
+    private final class Run {
+        private final Long eventId;
+        private final int total;
+        private final SseEmitter emitter;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final List<PendingSave> pendingSaves = new ArrayList<>();
+        // Sessions whose suggestions were streamed as SUCCEEDED before they were stored
+        private final Set<Long> streamed = new HashSet<>();
+        private int finished;
+        private int succeeded;
+        private int failed;
+
+        private Run(Long eventId, int total, SseEmitter emitter) {
+            this.eventId = eventId;
+            this.total = total;
+            this.emitter = emitter;
+        }
+
+        private CompletableFuture<AISuggestionResponse> enqueueSave(Target target, List<String> suggestions) {
+            PendingSave pending = new PendingSave(target, suggestions);
+            synchronized (pendingSaves) {
+                pendingSaves.add(pending);
+            }
+            return pending.saved;
+        }
+
+        // Flush when a batch is full or no Gemini call of this run is left
+        private void callFinished() {
+            boolean last = outstanding.decrementAndGet() == 0;
+            List<PendingSave> batch;
+            synchronized (pendingSaves) {
+                if (pendingSaves.isEmpty() || (!last && pendingSaves.size() < saveBatchSize)) {
+                    return;
+                }
+                batch = new ArrayList<>(pendingSaves);
+                pendingSaves.clear();
+            }
+            try {
+                List<AISuggestionResponse> responses = aiArtifactService.saveSuggestionsBatch(batch.stream()
+                        .map(pending -> new AiArtifactService.NewSuggestions(
+                                pending.target.sessionId, null, pending.suggestions, pending.target.cacheKey))
+                        .collect(Collectors.toList()));
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).saved.complete(responses.get(i));
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to store {} suggestion artifacts for event {}", batch.size(), eventId, e);
+                batch.forEach(pending -> pending.saved.completeExceptionally(e));
+            }
+        }
+
+        private synchronized void report(Target target, String jobId, AISuggestionResponse response,
+                                         Throwable error, boolean cached) {
+            Throwable cause = unwrap(error);
+            if (cause == null && !cached) {
+                streamed.add(target.sessionId);
+            }
+            send("team_result", EventSuggestionResultDto.builder()
+                    .sessionId(target.sessionId)
+                    .teamId(target.teamId)
+                    .teamName(target.teamName)
+                    .jobId(jobId)
+                    .status(cause == null ? AiJobDto.Status.SUCCEEDED : AiJobDto.Status.FAILED)
+                    .cached(cached)
+                    .suggestions(response)
+                    .error(errorMessage(cause))
+                    .build());
+        }
+
+        private synchronized void reportRunning(Target target, String jobId) {
+            send("team_result", EventSuggestionResultDto.builder()
+                    .sessionId(target.sessionId)
+                    .teamId(target.teamId)
+                    .teamName(target.teamName)
+                    .jobId(jobId)
+                    .status(AiJobDto.Status.RUNNING)
+                    .cached(false)
+                    .build());
+        }
+
+        /**
+         * A session is finished once its suggestions are stored (or failed); "done" follows the last one.
+         */
+        private synchronized void finished(Target target, Throwable error) {
+            Throwable cause = unwrap(error);
+            if (cause != null) {
+                failed++;
+                if (streamed.remove(target.sessionId)) {
+                    // Streamed as SUCCEEDED, but the batch insert failed: correct the team's result
+                    send("team_result", EventSuggestionResultDto.builder()
+                            .sessionId(target.sessionId)
+                            .teamId(target.teamId)
+                            .teamName(target.teamName)
+                            .status(AiJobDto.Status.FAILED)
+                            .cached(false)
+                            .error("Suggestions could not be stored: " + cause.getMessage())
+                            .build());
+                }
+            } else {
+                succeeded++;
+            }
+            if (++finished == total) {
+                send("done", Map.of("event_id", eventId, "succeeded", succeeded, "failed", failed));
+                emitter.complete();
+            }
+        }
+
+        private Throwable unwrap(Throwable error) {
+            return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        }
+
+        private String errorMessage(Throwable cause) {
+            if (cause == null) {
+                return null;
+            }
+            return cause instanceof TooManyRequestsException
+                    ? cause.getMessage() : "AI service unavailable: " + cause.getMessage();
+        }
+
+        // SseEmitter is not thread-safe; results arrive on different AI executor threads
+        private synchronized void send(String name, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the jobs still finish and reach the session sockets
+                log.debug("Event {} suggestion stream closed: {}", eventId, e.getMessage());
+            }
+        }
+    }
+}
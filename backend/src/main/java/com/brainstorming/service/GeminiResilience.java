@@ -0,0 +1,408 @@
+package com.brainstorming.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Resilience layer around the Gemini HTTP calls.
+ * <ul>
+ *   <li>Bulkhead with an adaptive concurrency limit: the limit follows the ratio of the long-term average
+ *   latency to the latest sample, so it shrinks as Gemini slows down and shrinks on 429/5xx/timeouts.
+ *   Calls over the limit wait in a bounded queue; beyond that they are rejected immediately.</li>
+ *   <li>Circuit breaker over the last gemini.resilience.circuit.window-size calls. While it is open calls
+ *   fail fast (callers fall back to cached or last-known artifacts); after open-ms a few trial calls decide
+ *   whether it closes again.</li>
+ *   <li>Retries with full-jitter exponential backoff, only for idempotent calls. Streaming calls are not
+ *   retried because their fragments have already been relayed to clients.</li>
+ * </ul>
+ * Every state change (circuit transitions, limit changes, rejections, retries) is recorded as a Micrometer metric.
+ */
+@Component
+@Slf4j
+public class GeminiResilience {
+
+    public static final String OPERATION_GENERATE = "generate";
+    // Stream latency depends on the output length, not on load, so it is not fed to the limit
+    public static final String OPERATION_STREAM = "stream";
+
+    public enum CircuitState {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final Executor aiExecutor;
+    private final MeterRegistry meterRegistry;
+
+    // Adaptive concurrency limit
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final Queue<Runnable> waitingCalls = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    // Circuit breaker
+    private final boolean[] outcomes;
+    private final int minCalls;
+    private final int failureRateThreshold;
+    private final long openMillis;
+    private final int halfOpenCalls;
+    private CircuitState state = CircuitState.CLOSED;
+    private int recorded;
+    private int nextOutcome;
+    private int failures;
+    private long openedAtMillis;
+    private int halfOpenStarted;
+    private int halfOpenSucceeded;
+
+    // Retries
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    private final Timer latency;
+    private final Counter retries;
+
+    public GeminiResilience(
+            @Qualifier("aiExecutor") Executor aiExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${gemini.resilience.concurrency.initial-limit:8}") int initialLimit,
+            @Value("${gemini.resilience.concurrency.min-limit:1}") int minLimit,
+            @Value("${gemini.resilience.concurrency.max-limit:32}") int maxLimit,
+            @Value("${gemini.resilience.concurrency.max-queue:50}") int maxQueue,
+            @Value("${gemini.resilience.circuit.window-size:20}") int windowSize,
+            @Value("${gemini.resilience.circuit.min-calls:10}") int minCalls,
+            @Value("${gemini.resilience.circuit.failure-rate-percent:50}") int failureRateThreshold,
+            @Value("${gemini.resilience.circuit.open-ms:30000}") long openMillis,
+            @Value("${gemini.resilience.circuit.half-open-calls:3}") int halfOpenCalls,
+            @Value("${gemini.resilience.retry.max-attempts:3}") int maxAttempts,
+            @Value("${gemini.resilience.retry.base-delay-ms:200}") long baseDelayMillis,
+            @Value("${gemini.resilience.retry.max-delay-ms:5000}") long maxDelayMillis) {
+        this.aiExecutor = aiExecutor;
+        this.meterRegistry = meterRegistry;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.maxQueue = maxQueue;
+        this.estimatedLimit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.outcomes = new boolean[Math.max(1, windowSize)];
+        this.minCalls = Math.min(minCalls, outcomes.length);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+
+        Gauge.builder("gemini.concurrency.limit", this, GeminiResilience::getConcurrencyLimit)
+                .description("Adaptive limit of concurrent Gemini calls")
+                .register(meterRegistry);
+        Gauge.builder("gemini.concurrency.in_flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("gemini.concurrency.queued", queued, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("gemini.circuit.state", this, r -> r.getCircuitState().ordinal())
+                .description("0 = closed, 1 = half-open, 2 = open")
+                .register(meterRegistry);
+        this.latency = Timer.builder("gemini.call.latency").register(meterRegistry);
+        this.retries = Counter.builder("gemini.call.retries").register(meterRegistry);
+    }
+
+    /**
+     * Run a Gemini call through the bulkhead, circuit breaker and (for idempotent calls) retries.
+     * Calls that cannot run fail with a {@link CallRejectedException}.
+     */
+    public <T> CompletableFuture<T> execute(String operation, boolean idempotent,
+                                            Supplier<CompletableFuture<T>> call) {
+        return attempt(operation, idempotent, call, 1);
+    }
+
+    public CircuitState getCircuitState() {
+        synchronized (outcomes) {
+            if (state == CircuitState.OPEN && System.currentTimeMillis() - openedAtMillis >= openMillis) {
+                transition(CircuitState.HALF_OPEN);
+            }
+            return state;
+        }
+    }
+
+    /**
+     * False while the circuit is open or half-open with all trial calls taken; callers use this to answer from
+     * cached or last-known results instead. A call can still be rejected when it is made a moment later.
+     */
+    public boolean isCallPermitted() {
+        synchronized (outcomes) {
+            CircuitState current = getCircuitState();
+            return current == CircuitState.CLOSED
+                    || (current == CircuitState.HALF_OPEN && halfOpenStarted < halfOpenCalls);
+        }
+    }
+
+    /**
+     * True while less than half of the concurrency limit is used; background work only starts calls then.
+     */
+    public boolean hasSpareCapacity() {
+        return isCallPermitted() && inFlight.get() + queued.get() < getConcurrencyLimit() / 2.0;
+    }
+
+    public int getConcurrencyLimit() {
+        synchronized (this) {
+            return (int) estimatedLimit;
+        }
+    }
+
+    private <T> CompletableFuture<T> attempt(String operation, boolean idempotent,
+                                             Supplier<CompletableFuture<T>> call, int attemptNumber) {
+        return admit(operation, call).handle((value, error) -> {
+            if (error == null) {
+                return CompletableFuture.completedFuture(value);
+            }
+            Throwable cause = unwrap(error);
+            if (!idempotent || attemptNumber >= maxAttempts || !isRetriable(cause) || !isCallPermitted()) {
+                return CompletableFuture.<T>failedFuture(cause);
+            }
+            long delay = backoffMillis(attemptNumber);
+            retries.increment();
+            log.warn("Gemini {} failed ({}), retry {} in {} ms", operation, cause.getMessage(), attemptNumber, delay);
+            Executor delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, aiExecutor);
+            return CompletableFuture.runAsync(() -> { }, delayed)
+                    .thenCompose(ignored -> attempt(operation, idempotent, call, attemptNumber + 1));
+        }).thenCompose(future -> future);
+    }
+
+    private <T> CompletableFuture<T> admit(String operation, Supplier<CompletableFuture<T>> call) {
+        if (!acquireCircuitPermit()) {
+            return rejected(operation, "circuit_open", "Gemini circuit breaker is open");
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> run(operation, call, result);
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            // The circuit permit was taken, but the call never ran - it does not count as an outcome
+            releaseHalfOpenPermit();
+            return rejected(operation, "bulkhead_full", "Too many concurrent Gemini calls");
+        }
+        waitingCalls.add(start);
+        drainWaitingCalls();
+        return result;
+    }
+
+    private <T> void run(String operation, Supplier<CompletableFuture<T>> call, CompletableFuture<T> result) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<T> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((value, error) -> {
+            long rttNanos = System.nanoTime() - startedAt;
+            Throwable cause = error != null ? unwrap(error) : null;
+            boolean failure = cause != null && isRetriable(cause);
+
+            latency.record(rttNanos, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("gemini.calls", "operation", operation,
+                    "outcome", cause == null ? "success" : failure ? "failure" : "error").increment();
+            recordOutcome(!failure);
+            updateLimit(operation, rttNanos, failure);
+
+            inFlight.decrementAndGet();
+            drainWaitingCalls();
+
+            if (error != null) {
+                result.completeExceptionally(cause);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    private void drainWaitingCalls() {
+        while (!waitingCalls.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= getConcurrencyLimit()) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Runnable next = waitingCalls.poll();
+            if (next == null) {
+                inFlight.decrementAndGet();
+                return;
+            }
+            queued.decrementAndGet();
+            next.run();
+        }
+    }
+
+    /**
+     * Gradient limit: limit * (tolerance * long-term RTT / sample RTT) plus a queue allowance of sqrt(limit),
+     * smoothed. Failures that signal overload (429, 5xx, timeouts) cut the limit multiplicatively.
+     */
+    private void updateLimit(String operation, long rttNanos, boolean overloaded) {
+        int before;
+        int after;
+        synchronized (this) {
+            before = (int) estimatedLimit;
+            double newLimit;
+            if (overloaded) {
+                newLimit = estimatedLimit * 0.8;
+            } else if (OPERATION_STREAM.equals(operation)) {
+                return;
+            } else {
+                longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos * 0.95 + rttNanos * 0.05;
+                double gradient = Math.max(0.5, Math.min(1.0, 1.5 * longRttNanos / rttNanos));
+                newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+                // Do not grow while the current limit is far from used
+                if (newLimit > estimatedLimit && inFlight.get() < estimatedLimit / 2) {
+                    newLimit = estimatedLimit;
+                }
+                newLimit = estimatedLimit * 0.8 + newLimit * 0.2;
+            }
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+            after = (int) estimatedLimit;
+        }
+        if (after != before) {
+            meterRegistry.counter("gemini.concurrency.limit.changes",
+                    "direction", after > before ? "up" : "down").increment();
+            log.debug("Gemini concurrency limit {} -> {}", before, after);
+        }
+    }
+
+    private boolean acquireCircuitPermit() {
+        synchronized (outcomes) {
+            CircuitState current = getCircuitState();
+            if (current == CircuitState.OPEN) {
+                return false;
+            }
+            if (current == CircuitState.HALF_OPEN) {
+                if (halfOpenStarted >= halfOpenCalls) {
+                    return false;
+                }
+                halfOpenStarted++;
+            }
+            return true;
+        }
+    }
+
+    private void releaseHalfOpenPermit() {
+        synchronized (outcomes) {
+            if (state == CircuitState.HALF_OPEN && halfOpenStarted > 0) {
+                halfOpenStarted--;
+            }
+        }
+    }
+
+    private void recordOutcome(boolean success) {
+        synchronized (outcomes) {
+            if (state == CircuitState.HALF_OPEN) {
+                if (!success) {
+                    transition(CircuitState.OPEN);
+                } else if (++halfOpenSucceeded >= halfOpenCalls) {
+                    transition(CircuitState.CLOSED);
+                }
+                return;
+            }
+            if (state == CircuitState.OPEN) {
+                // Call admitted before the circuit opened
+                return;
+            }
+
+            if (recorded == outcomes.length && !outcomes[nextOutcome]) {
+                failures--;
+            }
+            outcomes[nextOutcome] = success;
+            nextOutcome = (nextOutcome + 1) % outcomes.length;
+            recorded = Math.min(recorded + 1, outcomes.length);
+            if (!success) {
+                failures++;
+            }
+            if (recorded >= minCalls && failures * 100 >= failureRateThreshold * recorded) {
+                transition(CircuitState.OPEN);
+            }
+        }
+    }
+
+    // Called with the outcomes lock held
+    private void transition(CircuitState target) {
+        CircuitState previous = state;
+        if (previous == target) {
+            return;
+        }
+        state = target;
+        if (target == CircuitState.OPEN) {
+            openedAtMillis = System.currentTimeMillis();
+        }
+        if (target == CircuitState.HALF_OPEN) {
+            halfOpenStarted = 0;
+            halfOpenSucceeded = 0;
+        }
+        if (target == CircuitState.CLOSED) {
+            recorded = 0;
+            nextOutcome = 0;
+            failures = 0;
+        }
+        meterRegistry.counter("gemini.circuit.transitions",
+                "from", previous.name(), "to", target.name()).increment();
+        if (target == CircuitState.OPEN) {
+            log.warn("Gemini circuit breaker {} -> OPEN for {} ms", previous, openMillis);
+        } else {
+            log.info("Gemini circuit breaker {} -> {}", previous, target);
+        }
+    }
+
+    private <T> CompletableFuture<T> rejected(String operation, String reason, String message) {
+        meterRegistry.counter("gemini.calls.rejected", "operation", operation, "reason", reason).increment();
+        return CompletableFuture.failedFuture(new CallRejectedException(message));
+    }
+
+    private long backoffMillis(int attemptNumber) {
+        // Full jitter: uniform in [0, min(max, base * 2^(n-1))]
+        long cap = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attemptNumber - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /**
+     * Rate limiting (429), server errors and timeouts / connection failures. Client errors and
+     * rejections by this layer are not retried and do not count against the circuit.
+     */
+    private static boolean isRetriable(Throwable cause) {
+        if (cause instanceof CallRejectedException) {
+            return false;
+        }
+        if (cause instanceof GeminiService.GeminiApiException apiException) {
+            int status = apiException.getStatusCode();
+            return status == 429 || status >= 500 || (status == 0 && apiException.getCause() != null);
+        }
+        return false;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * The call was not sent: circuit open or bulkhead full.
+     */
+    public static class CallRejectedException extends GeminiService.GeminiApiException {
+        public CallRejectedException(String message) {
+            super(message, 503, null);
+        }
+    }
+}
@@ -1,114 +1,329 @@
 package com.brainstorming.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
-import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Gemini client.
+ * Uses the JDK HttpClient (pooled keep-alive connections, non-blocking sendAsync) with explicit
+ * connect and request timeouts, so no request or DB thread waits on the model.
+ * Every call goes through GeminiResilience (adaptive concurrency limit, circuit breaker, retries).
+ * gemini.api-url can point at a local stub server for testing.
+ */
 @Service
 @Slf4j
 public class GeminiService {
 
-    private final RestTemplate restTemplate;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
     private final String apiKey;
     private final String apiUrl;
     private final String model;
+    private final Duration requestTimeout;
+    private final GeminiResilience resilience;
 
     public GeminiService(
+            ObjectMapper objectMapper,
+            GeminiResilience resilience,
+            @Qualifier("aiExecutor") Executor aiExecutor,
             @Value("${gemini.api-key}") String apiKey,
             @Value("${gemini.api-url:https://generativelanguage.googleapis.com/v1beta/models}") String apiUrl,
-            @Value("${gemini.model:gemini-2.5-flash}") String model) {
-        this.restTemplate = new RestTemplate();
+            @Value("${gemini.model:gemini-2.5-flash}") String model,
+            @Value("${gemini.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${gemini.request-timeout-ms:60000}") long requestTimeoutMs) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(aiExecutor)
+                .build();
+        // The app-wide mapper uses snake_case; the Gemini API expects camelCase
+        this.objectMapper = objectMapper.copy().setPropertyNamingStrategy(PropertyNamingStrategies.LOWER_CAMEL_CASE);
         this.apiKey = apiKey;
         this.apiUrl = apiUrl;
         this.model = model;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.resilience = resilience;
     }
 
-    public List<String> generateSuggestions(String topicTitle, String topicDescription, List<String> existingIdeas,
-            String promptOverride) {
-        try {
-            String prompt = buildSuggestionPrompt(topicTitle, topicDescription, existingIdeas, promptOverride);
-            String response = callGemini(prompt);
-            return parseSuggestions(response);
-        } catch (Exception e) {
-            log.error("Error generating AI suggestions", e);
-            throw new RuntimeException("Failed to generate AI suggestions: " + e.getMessage(), e);
+    public String getModel() {
+        return model;
+    }
+
+    public CompletableFuture<List<String>> generateSuggestionsAsync(String topicTitle, String topicDescription,
+            List<String> existingIdeas, String promptOverride) {
+        String prompt = buildSuggestionPrompt(topicTitle, topicDescription, existingIdeas, promptOverride);
+        return callGeminiAsync(prompt).thenApply(this::parseSuggestions);
+    }
+
+    /**
+     * Suggestions from a prompt prefix built by {@link #buildSuggestionPromptPrefix} plus the session's ideas.
+     * Used when one request covers many sessions of the same topic.
+     */
+    public CompletableFuture<List<String>> generateSuggestionsFromPrefixAsync(String promptPrefix,
+            List<String> existingIdeas) {
+        StringBuilder prompt = new StringBuilder(promptPrefix);
+        if (existingIdeas != null && !existingIdeas.isEmpty()) {
+            prompt.append("\n\nExisting ideas from the brainstorming session:\n");
+            for (int i = 0; i < existingIdeas.size(); i++) {
+                prompt.append(i + 1).append(". ").append(existingIdeas.get(i)).append("\n");
+            }
         }
+        return callGeminiAsync(prompt.toString()).thenApply(this::parseSuggestions);
     }
 
-    public String generateSummary(String topicTitle, String topicDescription, List<String> allIdeas, String style,
-            String length, String language) {
-        try {
-            String prompt = buildSummaryPrompt(topicTitle, topicDescription, allIdeas, style, length, language);
-            return callGemini(prompt);
-        } catch (Exception e) {
-            log.error("Error generating AI summary", e);
-            throw new RuntimeException("Failed to generate AI summary: " + e.getMessage(), e);
+    /**
+     * Topic-level part of a suggestion prompt: everything except the session's ideas, which are appended last.
+     * It is identical for every session of a topic, so batched calls build it once and Gemini can reuse
+     * the common prefix (implicit context caching).
+     */
+    public String buildSuggestionPromptPrefix(String topicTitle, String topicDescription, String promptOverride) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("You are a helpful brainstorming assistant.\n\n");
+        prompt.append("Topic: ").append(topicTitle).append("\n");
+        if (topicDescription != null && !topicDescription.isEmpty()) {
+            prompt.append("Description: ").append(topicDescription).append("\n");
         }
+
+        prompt.append("\nPlease generate 3 creative and innovative ideas related to this topic. ");
+        prompt.append("The ideas should be different from the existing ones listed below and build upon them creatively.\n");
+        prompt.append("Format your response as a simple list, one idea per line, without numbering.");
+
+        if (promptOverride != null && !promptOverride.isEmpty()) {
+            prompt.append("\n\nAdditional instructions: ").append(promptOverride);
+        }
+
+        return prompt.toString();
     }
 
-    private String callGemini(String prompt) {
+    public CompletableFuture<String> generateSummaryAsync(String topicTitle, String topicDescription,
+            List<String> allIdeas, String style, String length, String language) {
+        String prompt = buildSummaryPrompt(topicTitle, topicDescription, allIdeas, style, length, language);
+        return callGeminiAsync(prompt);
+    }
+
+    /**
+     * Summary via the streaming endpoint. Each text fragment is passed to onChunk as soon as it is parsed;
+     * the returned future completes with the assembled text.
+     */
+    public CompletableFuture<String> streamSummaryAsync(String topicTitle, String topicDescription,
+            List<String> allIdeas, String style, String length, String language, Consumer<String> onChunk) {
+        String prompt = buildSummaryPrompt(topicTitle, topicDescription, allIdeas, style, length, language);
+        return streamGeminiAsync(prompt, onChunk);
+    }
+
+    public CompletableFuture<String> generatePartialSummaryAsync(String topicTitle, String topicDescription,
+            String groupLabel, List<String> ideas, String language) {
+        return callGeminiAsync(buildPartialSummaryPrompt(topicTitle, topicDescription, groupLabel, ideas, language));
+    }
+
+    /**
+     * Merge partial summaries into the final summary JSON. With a non-null onChunk the call is streamed.
+     */
+    public CompletableFuture<String> reduceSummariesAsync(String topicTitle, String topicDescription,
+            List<String> partialSummaries, String style, String length, String language, Consumer<String> onChunk) {
+        String prompt = buildReduceSummaryPrompt(topicTitle, topicDescription, partialSummaries, style, length, language);
+        return onChunk != null ? streamGeminiAsync(prompt, onChunk) : callGeminiAsync(prompt);
+    }
+
+    private CompletableFuture<String> streamGeminiAsync(String prompt, Consumer<String> onChunk) {
         if (apiKey == null || apiKey.isEmpty()) {
-            throw new RuntimeException("Gemini API key is not configured");
+            return CompletableFuture.failedFuture(new GeminiApiException("Gemini API key is not configured", 0, null));
         }
 
+        HttpRequest httpRequest;
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+            // Server-sent events: one "data: {GenerateContentResponse}" line per chunk
+            httpRequest = HttpRequest.newBuilder(URI.create(
+                            String.format("%s/%s:streamGenerateContent?alt=sse", apiUrl, model)))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "text/event-stream")
+                    .header("x-goog-api-key", apiKey)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(buildRequest(prompt))))
+                    .build();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new GeminiApiException("Failed to build Gemini request", 0, e));
+        }
 
+        // Not retried: fragments already passed to onChunk cannot be taken back
+        return resilience.execute(GeminiResilience.OPERATION_STREAM, false, () -> {
+            StreamAssembler assembler = new StreamAssembler(onChunk);
+            return httpClient.sendAsync(httpRequest,
+                            HttpResponse.BodyHandlers.fromLineSubscriber(assembler, StreamAssembler::getText, null))
+                    .handle((response, error) -> {
+                        if (error != null) {
+                            throw toApiException(error);
+                        }
+                        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                            log.error("Gemini streaming API error: {}", response.statusCode());
+                            throw new GeminiApiException("Gemini API error: " + response.statusCode(),
+                                    response.statusCode(), null);
+                        }
+                        if (response.body() == null || response.body().isEmpty()) {
+                            throw new GeminiApiException("Empty response from Gemini", response.statusCode(), null);
+                        }
+                        return response.body();
+                    });
+        });
+    }
+
+    private CompletableFuture<String> callGeminiAsync(String prompt) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            return CompletableFuture.failedFuture(new GeminiApiException("Gemini API key is not configured", 0, null));
+        }
+
+        GeminiRequest request = buildRequest(prompt);
+
+        HttpRequest httpRequest;
+        try {
             // Gemini API URL format:
-            // https://generativelanguage.googleapis.com/v1beta/models/{model}:generateContent?key={apiKey}
-            String url = String.format("%s/%s:generateContent?key=%s", apiUrl, model, apiKey);
-
-            GeminiRequest request = GeminiRequest.builder()
-                    .contents(List.of(
-                            GeminiContent.builder()
-                                    .parts(List.of(
-                                            GeminiPart.builder()
-                                                    .text(prompt)
-                                                    .build()))
-                                    .build()))
+            // https://generativelanguage.googleapis.com/v1beta/models/{model}:generateContent
+            httpRequest = HttpRequest.newBuilder(URI.create(String.format("%s/%s:generateContent", apiUrl, model)))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .header("x-goog-api-key", apiKey)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(request)))
                     .build();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new GeminiApiException("Failed to build Gemini request", 0, e));
+        }
+
+        // generateContent has no side effects, so failed calls may be retried
+        return resilience.execute(GeminiResilience.OPERATION_GENERATE, true,
+                () -> httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                        .handle((response, error) -> {
+                            if (error != null) {
+                                throw toApiException(error);
+                            }
+                            return extractText(response);
+                        }));
+    }
+
+    private GeminiRequest buildRequest(String prompt) {
+        return GeminiRequest.builder()
+                .contents(List.of(
+                        GeminiContent.builder()
+                                .parts(List.of(
+                                        GeminiPart.builder()
+                                                .text(prompt)
+                                                .build()))
+                                .build()))
+                .build();
+    }
+
+    private GeminiApiException toApiException(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+        if (cause instanceof GeminiApiException apiException) {
+            return apiException;
+        }
+        if (cause instanceof HttpTimeoutException) {
+            log.error("Gemini API timeout", cause);
+            return new GeminiApiException("Gemini API timeout", 0, cause);
+        }
+        log.error("Gemini API connection error", cause);
+        return new GeminiApiException("Gemini API unavailable", 0, cause);
+    }
+
+    /**
+     * Parses the SSE lines of a streaming response as they arrive and collects the text parts.
+     */
+    private class StreamAssembler implements Flow.Subscriber<String> {
+        private final Consumer<String> onChunk;
+        private final StringBuilder text = new StringBuilder();
 
-            HttpEntity<GeminiRequest> entity = new HttpEntity<>(request, headers);
-
-            ResponseEntity<GeminiResponse> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    entity,
-                    GeminiResponse.class);
-
-            if (response.getBody() != null &&
-                    response.getBody().getCandidates() != null &&
-                    !response.getBody().getCandidates().isEmpty() &&
-                    response.getBody().getCandidates().get(0).getContent() != null &&
-                    response.getBody().getCandidates().get(0).getContent().getParts() != null &&
-                    !response.getBody().getCandidates().get(0).getContent().getParts().isEmpty()) {
-                return response.getBody().getCandidates().get(0).getContent().getParts().get(0).getText();
+        private StreamAssembler(Consumer<String> onChunk) {
+            this.onChunk = onChunk;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!line.startsWith("data:")) {
+                return;
             }
+            try {
+                GeminiResponse chunk = objectMapper.readValue(line.substring(5).trim(), GeminiResponse.class);
+                if (chunk.getCandidates() == null || chunk.getCandidates().isEmpty()
+                        || chunk.getCandidates().get(0).getContent() == null
+                        || chunk.getCandidates().get(0).getContent().getParts() == null) {
+                    return;
+                }
+                for (GeminiPart part : chunk.getCandidates().get(0).getContent().getParts()) {
+                    if (part.getText() != null && !part.getText().isEmpty()) {
+                        text.append(part.getText());
+                        onChunk.accept(part.getText());
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Skipping unparseable Gemini stream chunk: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.warn("Gemini stream failed: {}", throwable.getMessage());
+        }
 
-            throw new RuntimeException("Empty response from Gemini");
+        @Override
+        public void onComplete() {
+        }
 
-        } catch (HttpClientErrorException | HttpServerErrorException e) {
-            log.error("Gemini API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("Gemini API error: " + e.getStatusCode(), e);
-        } catch (ResourceAccessException e) {
-            log.error("Gemini API timeout or connection error", e);
-            throw new RuntimeException("Gemini API unavailable", e);
-        } catch (Exception e) {
-            log.error("Unexpected error calling Gemini", e);
-            throw new RuntimeException("Failed to call Gemini API", e);
+        private String getText() {
+            return text.toString();
         }
     }
 
+    private String extractText(HttpResponse<byte[]> response) {
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            log.error("Gemini API error: {} - {}", response.statusCode(),
+                    new String(response.body(), StandardCharsets.UTF_8));
+            throw new GeminiApiException("Gemini API error: " + response.statusCode(), response.statusCode(), null);
+        }
+
+        GeminiResponse body;
+        try {
+            body = objectMapper.readValue(response.body(), GeminiResponse.class);
+        } catch (IOException e) {
+            throw new GeminiApiException("Invalid response from Gemini", response.statusCode(), e);
+        }
+
+        if (body != null &&
+                body.getCandidates() != null &&
+                !body.getCandidates().isEmpty() &&
+                body.getCandidates().get(0).getContent() != null &&
+                body.getCandidates().get(0).getContent().getParts() != null &&
+                !body.getCandidates().get(0).getContent().getParts().isEmpty()) {
+            return body.getCandidates().get(0).getContent().getParts().get(0).getText();
+        }
+
+        throw new GeminiApiException("Empty response from Gemini", response.statusCode(), null);
+    }
+
     private String buildSuggestionPrompt(String topicTitle, String topicDescription, List<String> existingIdeas,
             String promptOverride) {
         StringBuilder prompt = new StringBuilder();
@@ -151,7 +366,63 @@ public class GeminiService {
         }
 
         prompt.append("\nPlease provide a comprehensive summary of these ideas. ");
+        appendSummaryOptions(prompt, style, length, language);
+        appendSummaryJsonFormat(prompt);
+
+        return prompt.toString();
+    }
+
+    /**
+     * Map step of hierarchical summarization: summary of one chunk of ideas (one round, team or size-bounded slice).
+     */
+    private String buildPartialSummaryPrompt(String topicTitle, String topicDescription, String groupLabel,
+            List<String> ideas, String language) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("You are a helpful brainstorming assistant.\n\n");
+        prompt.append("Topic: ").append(topicTitle).append("\n");
+        if (topicDescription != null && !topicDescription.isEmpty()) {
+            prompt.append("Description: ").append(topicDescription).append("\n");
+        }
+
+        prompt.append("\nThe following ideas are one part (").append(groupLabel)
+                .append(") of a larger brainstorming session:\n");
+        for (int i = 0; i < ideas.size(); i++) {
+            prompt.append(i + 1).append(". ").append(ideas.get(i)).append("\n");
+        }
+
+        prompt.append("\nSummarize this part concisely so it can later be merged with the summaries of the other parts. ");
+        appendSummaryOptions(prompt, null, null, language);
+        appendSummaryJsonFormat(prompt);
+
+        return prompt.toString();
+    }
+
+    /**
+     * Reduce step of hierarchical summarization: merge partial summaries (JSON) into one summary.
+     */
+    private String buildReduceSummaryPrompt(String topicTitle, String topicDescription, List<String> partialSummaries,
+            String style, String length, String language) {
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("You are a helpful brainstorming assistant.\n\n");
+        prompt.append("Topic: ").append(topicTitle).append("\n");
+        if (topicDescription != null && !topicDescription.isEmpty()) {
+            prompt.append("Description: ").append(topicDescription).append("\n");
+        }
 
+        prompt.append("\nThe ideas of the brainstorming session were summarized in parts. Partial summaries (JSON):\n");
+        for (int i = 0; i < partialSummaries.size(); i++) {
+            prompt.append("Part ").append(i + 1).append(": ").append(partialSummaries.get(i)).append("\n");
+        }
+
+        prompt.append("\nPlease merge these into one comprehensive summary of the whole session. ");
+        prompt.append("Merge overlapping themes and keep the most notable ideas across all parts. ");
+        appendSummaryOptions(prompt, style, length, language);
+        appendSummaryJsonFormat(prompt);
+
+        return prompt.toString();
+    }
+
+    private void appendSummaryOptions(StringBuilder prompt, String style, String length, String language) {
         if (style != null && !style.isEmpty()) {
             prompt.append("Style: ").append(style).append(". ");
         }
@@ -161,7 +432,9 @@ public class GeminiService {
         if (language != null && !language.isEmpty()) {
             prompt.append("Language: ").append(language).append(". ");
         }
+    }
 
+    private void appendSummaryJsonFormat(StringBuilder prompt) {
         prompt.append("\n\nIMPORTANT: Return ONLY the raw JSON. Do not use Markdown code blocks (```json). Do not include any text outside the JSON object.\n");
         prompt.append("The JSON must follow this exact structure:\n");
         prompt.append("{\n");
@@ -169,8 +442,6 @@ public class GeminiService {
         prompt.append("  \"keyThemes\": [\"List of 3-5 major recurring themes or categories found in the ideas\"],\n");
         prompt.append("  \"notableIdeas\": [\"List of 3-5 specific, high-potential, or unique ideas that stood out\"]\n");
         prompt.append("}");
-
-        return prompt.toString();
     }
 
     private List<String> parseSuggestions(String response) {
@@ -200,6 +471,19 @@ public class GeminiService {
         return suggestions.subList(0, Math.min(3, suggestions.size()));
     }
 
+    /**
+     * Failed Gemini call. statusCode is the HTTP status, or 0 when no response was received.
+     */
+    @Getter
+    public static class GeminiApiException extends RuntimeException {
+        private final int statusCode;
+
+        public GeminiApiException(String message, int statusCode, Throwable cause) {
+            super(message, cause);
+            this.statusCode = statusCode;
+        }
+    }
+
     // Gemini API Request/Response DTOs
     @Data
     @Builder
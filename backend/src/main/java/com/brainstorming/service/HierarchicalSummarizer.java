@@ -0,0 +1,323 @@
+package com.brainstorming.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Map-reduce summarization for sessions and events that do not fit in one prompt.
+ * Small inputs are summarized with a single Gemini call. Larger ones are split into chunks along the
+ * given groups (rounds or teams) - groups above ai.summary.chunk-chars are sliced, small neighbours are
+ * merged - each chunk is summarized on its own (map), and the partial summaries are merged into the final
+ * summaryText / keyThemes / notableIdeas JSON (reduce), in several levels if they are still too large.
+ * Map calls of all jobs share ai.summary.max-parallel-chunks Gemini slots, and partial summaries are kept
+ * in an LRU keyed by a hash of the chunk's content. Chunk boundaries are content-defined (see toChunks),
+ * so a new or edited idea only changes its own chunk and the others are served from the LRU.
+ */
+@Component
+@Slf4j
+public class HierarchicalSummarizer {
+
+    // Per-idea overhead of the numbered prompt line ("12. ...\n")
+    private static final int IDEA_LINE_OVERHEAD = 6;
+    // Average number of small groups merged into one chunk
+    private static final int GROUPS_PER_CHUNK = 4;
+    // Expected idea length, used to aim slices of oversized groups at half of chunk-chars
+    private static final int TYPICAL_IDEA_CHARS = 120;
+
+    private final GeminiService geminiService;
+    private final int maxPromptChars;
+    private final int chunkChars;
+    private final AsyncCallLimiter chunkLimiter;
+    private final Map<String, String> partialCache;
+
+    public HierarchicalSummarizer(
+            GeminiService geminiService,
+            @Value("${ai.summary.max-prompt-chars:30000}") int maxPromptChars,
+            @Value("${ai.summary.chunk-chars:12000}") int chunkChars,
+            @Value("${ai.summary.max-parallel-chunks:4}") int maxParallelChunks,
+            @Value("${ai.summary.partial-cache-size:2000}") int partialCacheSize) {
+        this.geminiService = geminiService;
+        this.maxPromptChars = maxPromptChars;
+        this.chunkChars = Math.min(chunkChars, maxPromptChars);
+        this.chunkLimiter = new AsyncCallLimiter(maxParallelChunks);
+        // Access-ordered, so the eldest entry is the least recently used one
+        this.partialCache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > partialCacheSize;
+            }
+        };
+    }
+
+    /**
+     * Summarize the ideas of all groups. onChunk (nullable) receives the streamed text of the final call;
+     * the returned future completes with the raw summary JSON.
+     */
+    public CompletableFuture<String> summarize(String topicTitle, String topicDescription, List<IdeaGroup> groups,
+                                               String style, String length, String language,
+                                               Consumer<String> onChunk) {
+        List<String> allIdeas = new ArrayList<>();
+        groups.forEach(group -> allIdeas.addAll(group.getIdeas()));
+
+        if (textSize(allIdeas) <= maxPromptChars) {
+            return onChunk != null
+                    ? geminiService.streamSummaryAsync(topicTitle, topicDescription, allIdeas,
+                    style, length, language, onChunk)
+                    : geminiService.generateSummaryAsync(topicTitle, topicDescription, allIdeas,
+                    style, length, language);
+        }
+
+        List<IdeaGroup> chunks = toChunks(groups);
+        log.debug("Summarizing {} ideas in {} chunks", allIdeas.size(), chunks.size());
+
+        List<CompletableFuture<String>> partials = chunks.stream()
+                .map(chunk -> partialSummary(topicTitle, topicDescription, chunk, language))
+                .toList();
+
+        return CompletableFuture.allOf(partials.toArray(CompletableFuture[]::new))
+                .thenCompose(ignored -> reduce(topicTitle, topicDescription,
+                        partials.stream().map(CompletableFuture::join).toList(),
+                        style, length, language, onChunk));
+    }
+
+    private CompletableFuture<String> partialSummary(String topicTitle, String topicDescription,
+                                                     IdeaGroup chunk, String language) {
+        String key = AiResultCache.partialSummaryKey(geminiService.getModel(), topicTitle, topicDescription,
+                chunk.getLabel(), chunk.getIdeas(), language);
+        synchronized (partialCache) {
+            String cached = partialCache.get(key);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+
+        return chunkLimiter.submit(() -> geminiService.generatePartialSummaryAsync(topicTitle, topicDescription,
+                chunk.getLabel(), chunk.getIdeas(), language))
+                .thenApply(raw -> {
+                    String partial = AiArtifactService.cleanJsonString(raw);
+                    synchronized (partialCache) {
+                        partialCache.put(key, partial);
+                    }
+                    return partial;
+                });
+    }
+
+    /**
+     * Merge partial summaries. When they do not fit in one prompt, neighbouring partials are merged
+     * first (without style or length, which only apply to the final text) and the result reduced again.
+     * Partials too large to share a prompt with a neighbour are first condensed one by one; a partial that
+     * does not fit in a prompt on its own, or that condensing does not shrink, fails the summary.
+     */
+    private CompletableFuture<String> reduce(String topicTitle, String topicDescription, List<String> partials,
+                                             String style, String length, String language,
+                                             Consumer<String> onChunk) {
+        int size = textSize(partials);
+        if (size <= maxPromptChars) {
+            return geminiService.reduceSummariesAsync(topicTitle, topicDescription, partials,
+                    style, length, language, onChunk);
+        }
+
+        List<List<String>> batches = batchBySize(partials, chunkChars);
+        if (batches.size() == partials.size()) {
+            // No two neighbours fit in one chunk: fill whole prompts instead
+            batches = batchBySize(partials, maxPromptChars);
+        }
+        if (batches.size() == partials.size()) {
+            return condense(topicTitle, topicDescription, partials, language)
+                    .thenCompose(condensed -> {
+                        if (textSize(condensed) >= size) {
+                            return CompletableFuture.failedFuture(new IllegalStateException(
+                                    "Partial summaries of " + size + " chars could not be condensed below "
+                                            + "ai.summary.max-prompt-chars (" + maxPromptChars + ")"));
+                        }
+                        return reduce(topicTitle, topicDescription, condensed, style, length, language, onChunk);
+                    });
+        }
+
+        List<CompletableFuture<String>> merged = batches.stream()
+                .map(batch -> batch.size() == 1
+                        ? CompletableFuture.completedFuture(batch.get(0))
+                        : chunkLimiter.submit(() -> geminiService.reduceSummariesAsync(topicTitle,
+                                        topicDescription, batch, null, null, language, null))
+                                .thenApply(AiArtifactService::cleanJsonString))
+                .toList();
+
+        return CompletableFuture.allOf(merged.toArray(CompletableFuture[]::new))
+                .thenCompose(ignored -> reduce(topicTitle, topicDescription,
+                        merged.stream().map(CompletableFuture::join).toList(),
+                        style, length, language, onChunk));
+    }
+
+    /**
+     * Re-summarize each partial on its own, shorter. Partials that fit in half a chunk are kept as they are.
+     */
+    private CompletableFuture<List<String>> condense(String topicTitle, String topicDescription,
+                                                     List<String> partials, String language) {
+        for (String partial : partials) {
+            if (textSize(partial) > maxPromptChars) {
+                return CompletableFuture.failedFuture(new IllegalStateException(
+                        "A partial summary of " + textSize(partial) + " chars exceeds ai.summary.max-prompt-chars ("
+                                + maxPromptChars + ")"));
+            }
+        }
+        log.debug("Condensing {} oversized partial summaries", partials.size());
+
+        List<CompletableFuture<String>> condensed = partials.stream()
+                .map(partial -> textSize(partial) <= chunkChars / 2
+                        ? CompletableFuture.completedFuture(partial)
+                        : chunkLimiter.submit(() -> geminiService.reduceSummariesAsync(topicTitle,
+                                        topicDescription, List.of(partial), null, "short", language, null))
+                                .thenApply(AiArtifactService::cleanJsonString))
+                .toList();
+
+        return CompletableFuture.allOf(condensed.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> condensed.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Split the groups into chunks whose boundaries depend on the content around them, not on the sizes of
+     * everything before them. Small groups are merged, but a merged chunk only ends after a group whose label
+     * hashes onto a boundary (or when it would outgrow chunk-chars); oversized groups are sliced after ideas
+     * whose text hashes onto a boundary. Labels carry no positions. An added idea therefore changes the key of
+     * its own chunk and at most the next one, instead of shifting every chunk after it.
+     */
+    private List<IdeaGroup> toChunks(List<IdeaGroup> groups) {
+        List<IdeaGroup> chunks = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+        List<String> pending = new ArrayList<>();
+
+        for (IdeaGroup group : groups) {
+            if (group.getIdeas().isEmpty()) {
+                continue;
+            }
+            int size = textSize(group.getIdeas());
+            if (size > chunkChars) {
+                // Oversized group: flush what is pending, then slice the group on its own
+                flush(chunks, labels, pending);
+                List<List<String>> slices = sliceByContent(group.getIdeas());
+                for (int i = 0; i < slices.size(); i++) {
+                    String label = i == 0 ? group.getLabel() : group.getLabel() + " (continued)";
+                    chunks.add(new IdeaGroup(label, slices.get(i)));
+                }
+                continue;
+            }
+            if (!pending.isEmpty() && textSize(pending) + size > chunkChars) {
+                flush(chunks, labels, pending);
+            }
+            labels.add(group.getLabel());
+            pending.addAll(group.getIdeas());
+            if (isBoundary(group.getLabel(), GROUPS_PER_CHUNK)) {
+                flush(chunks, labels, pending);
+            }
+        }
+        flush(chunks, labels, pending);
+        return chunks;
+    }
+
+    /**
+     * Content-defined slices of an oversized group: a slice ends after an idea whose text hashes onto a
+     * boundary once it holds a quarter of chunk-chars, and always before it would exceed chunk-chars.
+     */
+    private List<List<String>> sliceByContent(List<String> ideas) {
+        int minSliceChars = chunkChars / 4;
+        int ideasPerSlice = Math.max(1, chunkChars / 2 / (TYPICAL_IDEA_CHARS + IDEA_LINE_OVERHEAD));
+
+        List<List<String>> slices = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        int currentSize = 0;
+        for (String idea : ideas) {
+            int size = textSize(idea);
+            if (!current.isEmpty() && currentSize + size > chunkChars) {
+                slices.add(current);
+                current = new ArrayList<>();
+                currentSize = 0;
+            }
+            current.add(idea);
+            currentSize += size;
+            if (currentSize >= minSliceChars && isBoundary(idea, ideasPerSlice)) {
+                slices.add(current);
+                current = new ArrayList<>();
+                currentSize = 0;
+            }
+        }
+        if (!current.isEmpty()) {
+            slices.add(current);
+        }
+        return slices;
+    }
+
+    // True for about one in every texts; String.hashCode is specified, so boundaries survive restarts
+    private static boolean isBoundary(String text, int every) {
+        if (every <= 1) {
+            return true;
+        }
+        int h = text == null ? 0 : text.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return Integer.remainderUnsigned(h, every) == 0;
+    }
+
+    private static void flush(List<IdeaGroup> chunks, List<String> labels, List<String> pending) {
+        if (!pending.isEmpty()) {
+            chunks.add(new IdeaGroup(String.join(", ", labels), new ArrayList<>(pending)));
+        }
+        labels.clear();
+        pending.clear();
+    }
+
+    private static List<List<String>> batchBySize(List<String> texts, int maxChars) {
+        List<List<String>> batches = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        int currentSize = 0;
+        for (String text : texts) {
+            int size = textSize(text);
+            if (!current.isEmpty() && currentSize + size > maxChars) {
+                batches.add(current);
+                current = new ArrayList<>();
+                currentSize = 0;
+            }
+            current.add(text);
+            currentSize += size;
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+
+    private static int textSize(List<String> texts) {
+        int size = 0;
+        for (String text : texts) {
+            size += textSize(text);
+        }
+        return size;
+    }
+
+    private static int textSize(String text) {
+        return (text == null ? 0 : text.length()) + IDEA_LINE_OVERHEAD;
+    }
+
+    /**
+     * Ideas of one round or team; the label is quoted in the partial summary prompt.
+     */
+    @Getter
+    public static class IdeaGroup {
+        private final String label;
+        private final List<String> ideas;
+
+        public IdeaGroup(String label, List<String> ideas) {
+            this.label = label;
+            this.ideas = ideas;
+        }
+    }
+}
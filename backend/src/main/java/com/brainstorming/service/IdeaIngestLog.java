@@ -0,0 +1,225 @@
+package com.brainstorming.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of accepted submissions, in memory-mapped segment files of a fixed size.
+ * A record is [int length][long sequence][int crc32][payload]; the zero-filled rest of a segment ends it, and a
+ * record with a bad length or checksum (torn by a crash) ends the readable part. New records always go to a fresh
+ * segment after a restart, so a torn tail is never appended to. Segments are deleted once every record in them
+ * has been written to the database ({@link #markFlushed(long)}).
+ */
+@Slf4j
+final class IdeaIngestLog {
+
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final String SUFFIX = ".log";
+
+    enum FsyncPolicy {
+        // Force every record to disk before acknowledging it
+        ALWAYS,
+        // Force periodically (force() is called by the owner); a crash loses at most one interval
+        INTERVAL,
+        // Leave write-back to the OS; survives a process crash but not a power loss
+        NONE
+    }
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final FsyncPolicy fsyncPolicy;
+    // Full segments and those left by a previous run, oldest first
+    private final Deque<Segment> closedSegments = new ArrayDeque<>();
+    private Segment active;
+    private long nextSequence = 1;
+    private long flushedSequence;
+    private boolean dirty;
+
+    IdeaIngestLog(Path dir, int segmentBytes, FsyncPolicy fsyncPolicy) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    /**
+     * Open the log directory and return the records left by the previous run, in sequence order.
+     */
+    synchronized List<Record> open() throws IOException {
+        Files.createDirectories(dir);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+
+        List<Record> records = new ArrayList<>();
+        for (Path file : files) {
+            List<Record> segmentRecords = read(file);
+            if (segmentRecords.isEmpty()) {
+                Files.delete(file);
+                continue;
+            }
+            records.addAll(segmentRecords);
+            long lastSequence = segmentRecords.get(segmentRecords.size() - 1).getSequence();
+            closedSegments.add(new Segment(file, null, lastSequence));
+            nextSequence = Math.max(nextSequence, lastSequence + 1);
+        }
+        flushedSequence = nextSequence - 1 - records.size();
+        return records;
+    }
+
+    /**
+     * Append a record and return its sequence number; with FsyncPolicy.ALWAYS it is on disk when this returns.
+     */
+    synchronized long append(byte[] payload) throws IOException {
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (recordBytes > segmentBytes) {
+            throw new IOException("Record of " + recordBytes + " bytes does not fit in a log segment");
+        }
+        if (active == null || active.buffer.remaining() < recordBytes) {
+            roll();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        long sequence = nextSequence++;
+        MappedByteBuffer buffer = active.buffer;
+        int start = buffer.position();
+        buffer.putInt(payload.length)
+                .putLong(sequence)
+                .putInt((int) crc.getValue())
+                .put(payload);
+        active.lastSequence = sequence;
+
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            buffer.force(start, recordBytes);
+        } else {
+            dirty = true;
+        }
+        return sequence;
+    }
+
+    /**
+     * Force appended records to disk (FsyncPolicy.INTERVAL).
+     */
+    synchronized void force() {
+        if (dirty && active != null) {
+            active.buffer.force();
+            dirty = false;
+        }
+    }
+
+    /**
+     * Every record up to and including the sequence is in the database: delete the segments holding only those.
+     */
+    synchronized void markFlushed(long sequence) {
+        flushedSequence = Math.max(flushedSequence, sequence);
+        while (!closedSegments.isEmpty() && closedSegments.peekFirst().lastSequence <= flushedSequence) {
+            delete(closedSegments.pollFirst());
+        }
+    }
+
+    synchronized void close() {
+        if (active == null) {
+            return;
+        }
+        force();
+        if (active.lastSequence <= flushedSequence) {
+            delete(active);
+        }
+        active = null;
+    }
+
+    private void roll() throws IOException {
+        if (active != null) {
+            force();
+            if (active.lastSequence > flushedSequence) {
+                closedSegments.add(active);
+            } else {
+                delete(active);
+            }
+        }
+        // File names sort in sequence order
+        Path file = dir.resolve(String.format("%020d%s", nextSequence, SUFFIX));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw");
+             FileChannel channel = raf.getChannel()) {
+            // The mapping stays valid after the channel is closed; the file is zero-filled
+            active = new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes), 0);
+        }
+    }
+
+    private List<Record> read(Path file) throws IOException {
+        List<Record> records = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int length = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining() - Long.BYTES - Integer.BYTES) {
+                    break;
+                }
+                long sequence = buffer.getLong();
+                int checksum = buffer.getInt();
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("Idea log {}: torn record {} ignored", file.getFileName(), sequence);
+                    break;
+                }
+                records.add(new Record(sequence, payload));
+            }
+        }
+        return records;
+    }
+
+    private void delete(Segment segment) {
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            log.warn("Could not delete idea log segment {}: {}", segment.file, e.getMessage());
+        }
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private long lastSequence;
+
+        private Segment(Path file, MappedByteBuffer buffer, long lastSequence) {
+            this.file = file;
+            this.buffer = buffer;
+            this.lastSequence = lastSequence;
+        }
+    }
+
+    static final class Record {
+        private final long sequence;
+        private final byte[] payload;
+
+        private Record(long sequence, byte[] payload) {
+            this.sequence = sequence;
+            this.payload = payload;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+
+        byte[] getPayload() {
+            return payload;
+        }
+    }
+}
@@ -2,16 +2,21 @@ package com.brainstorming.service;
 
 import com.brainstorming.dto.*;
 import com.brainstorming.entity.*;
+import com.brainstorming.event.IdeasSubmittedEvent;
+import com.brainstorming.event.SessionContentChangedEvent;
 import com.brainstorming.exception.BadRequestException;
 import com.brainstorming.exception.ResourceNotFoundException;
 import com.brainstorming.exception.UnauthorizedException;
 import com.brainstorming.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -23,25 +28,36 @@ public class IdeaService {
     private final TeamRepository teamRepository;
     private final TeamMemberRepository teamMemberRepository;
     private final UserRepository userRepository;
-
-    public List<IdeaDto> getAllIdeas() {
-        return ideaRepository.findAll().stream()
-                .map(this::mapToIdeaDto)
-                .collect(Collectors.toList());
+    private final ApplicationEventPublisher eventPublisher;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final KeysetPaging keysetPaging;
+    private final WriteBehindIdeaIngestor writeBehindIngestor;
+    private final SessionAuditTrail auditTrail;
+    private final EventArchiveService eventArchiveService;
+
+    private static final String IDEA_LIST = "ideas";
+
+    @Transactional(readOnly = true)
+    public CursorPage<IdeaDto> getIdeas(String cursor, Integer size) {
+        int pageSize = keysetPaging.pageSize(size);
+        List<IdeaDto> rows = ideaRepository.findDtosAfter(keysetPaging.afterId(IDEA_LIST, cursor),
+                keysetPaging.limit(pageSize));
+        return keysetPaging.page(IDEA_LIST, rows, pageSize, IdeaDto::getId);
     }
 
+    @Transactional(readOnly = true)
     public IdeaDto getIdea(Long ideaId) {
-        Idea idea = ideaRepository.findById(ideaId)
+        return ideaRepository.findDtoById(ideaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Idea not found"));
-        return mapToIdeaDto(idea);
     }
 
+    @Transactional(readOnly = true)
     public List<IdeaDto> getIdeasBySession(Long sessionId) {
-        return ideaRepository.findBySessionId(sessionId).stream()
-                .map(this::mapToIdeaDto)
-                .collect(Collectors.toList());
+        List<IdeaDto> ideas = ideaRepository.findDtosBySessionId(sessionId);
+        return ideas.isEmpty() ? archivedIdeas(sessionId, null) : ideas;
     }
 
+    @Transactional(readOnly = true)
     public List<IdeaDto> getIdeasByRound(Long sessionId, Integer roundNumber) {
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Session not found"));
@@ -49,15 +65,23 @@ public class IdeaService {
         Round round = roundRepository.findBySessionIdAndRoundNumber(sessionId, roundNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Round not found"));
 
-        return ideaRepository.findBySessionIdAndRoundId(sessionId, round.getId()).stream()
-                .map(this::mapToIdeaDto)
+        List<IdeaDto> ideas = ideaRepository.findDtosBySessionIdAndRoundId(sessionId, round.getId());
+        return ideas.isEmpty() ? archivedIdeas(sessionId, round.getId()) : ideas;
+    }
+
+    // Ideas of a session whose event is archived, optionally of one round; empty otherwise
+    private List<IdeaDto> archivedIdeas(Long sessionId, Long roundId) {
+        return eventArchiveService.archivedIdeas(sessionId).stream()
+                .filter(idea -> roundId == null || roundId.equals(idea.getRoundId()))
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<IdeaDto> getIdeasForRound(Long sessionId, Integer roundNumber) {
         return getIdeasByRound(sessionId, roundNumber);
     }
 
+    @Transactional(readOnly = true)
     public List<IdeaDto> getPreviousRoundIdeas(Long sessionId, Integer currentRoundNumber, Long userId) {
         if (currentRoundNumber <= 1) {
             return new ArrayList<>();
@@ -85,9 +109,8 @@ public class IdeaService {
                 .orElseThrow(() -> new ResourceNotFoundException("Previous round not found"));
 
         // Get ideas from previous user in previous round
-        return ideaRepository.findBySessionIdAndRoundId(sessionId, prevRound.getId()).stream()
-                .filter(idea -> idea.getAuthor().getId().equals(previousUserId))
-                .map(this::mapToIdeaDto)
+        return ideaRepository.findDtosBySessionIdAndRoundId(sessionId, prevRound.getId()).stream()
+                .filter(idea -> idea.getAuthorId().equals(previousUserId))
                 .collect(Collectors.toList());
     }
 
@@ -157,6 +180,15 @@ public class IdeaService {
             throw new BadRequestException("All ideas must be unique");
         }
 
+        // Check paraphrases of ideas already in the session
+        List<NearDuplicateIndex.Match> nearDuplicates = nearDuplicateIndex.findMatches(sessionId, trimmedIdeas);
+        if (!nearDuplicates.isEmpty() && nearDuplicateIndex.getMode() == NearDuplicateIndex.Mode.REJECT) {
+            NearDuplicateIndex.Match match = nearDuplicates.get(0);
+            throw new BadRequestException(String.format(Locale.ROOT,
+                    "Idea \"%s\" is too similar to an existing idea (\"%s\", %.0f%% similar)",
+                    trimmedIdeas.get(match.getPosition()), match.getText(), match.getSimilarity() * 100));
+        }
+
         // Get user
         User author = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -173,6 +205,13 @@ public class IdeaService {
             passedFromUser = userRepository.findById(previousUserId).orElse(null);
         }
 
+        auditTrail.record(sessionId, userId, SessionAuditTrail.IDEAS_SUBMITTED,
+                Map.of("round_number", roundNumber, "idea_count", trimmedIdeas.size()));
+
+        if (writeBehindIngestor.isEnabled()) {
+            return acceptWriteBehind(session, round, team, author, passedFromUser, trimmedIdeas, nearDuplicates);
+        }
+
         // Create ideas
         List<Idea> savedIdeas = new ArrayList<>();
         for (String ideaText : trimmedIdeas) {
@@ -187,9 +226,83 @@ public class IdeaService {
             savedIdeas.add(ideaRepository.save(idea));
         }
 
+        Map<Long, String> savedTexts = new LinkedHashMap<>();
+        savedIdeas.forEach(idea -> savedTexts.put(idea.getId(), idea.getText()));
+        nearDuplicateIndex.addAfterCommit(sessionId, savedTexts);
+
+        // Feeds the throughput series once the transaction commits
+        eventPublisher.publishEvent(new IdeasSubmittedEvent(
+                team.getEvent().getId(),
+                team.getId(),
+                sessionId,
+                savedIdeas.stream().map(Idea::getId).collect(Collectors.toList()),
+                LocalDateTime.now(),
+                savedTexts));
+
         return SubmitIdeasResponse.builder()
                 .message("Ideas submitted successfully")
                 .ideas(savedIdeas.stream().map(this::mapToIdeaDto).collect(Collectors.toList()))
+                .similarityThreshold(nearDuplicateIndex.isEnabled() ? nearDuplicateIndex.getThreshold() : null)
+                .nearDuplicates(nearDuplicates.stream()
+                        .map(match -> NearDuplicateDto.builder()
+                                .ideaId(savedIdeas.get(match.getPosition()).getId())
+                                .text(trimmedIdeas.get(match.getPosition()))
+                                .matchedIdeaId(match.getIdeaId())
+                                .matchedText(match.getText())
+                                .similarity(match.getSimilarity())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    // Acknowledged once the submission is in the local log. Until the ideas are written to the database they carry
+    // provisional (negative) ids, which near_duplicates and later matches against them refer to
+    private SubmitIdeasResponse acceptWriteBehind(Session session, Round round, Team team, User author,
+                                                  User passedFromUser, List<String> texts,
+                                                  List<NearDuplicateIndex.Match> nearDuplicates) {
+        LocalDateTime submittedAt = LocalDateTime.now();
+        List<Long> provisionalIds = writeBehindIngestor.accept(new WriteBehindIdeaIngestor.Submission(
+                session.getId(),
+                round.getId(),
+                round.getRoundNumber(),
+                team.getId(),
+                team.getEvent().getId(),
+                author.getId(),
+                passedFromUser != null ? passedFromUser.getId() : null,
+                texts,
+                submittedAt));
+        if (provisionalIds == null) {
+            throw new BadRequestException("You have already submitted ideas for this round");
+        }
+
+        return SubmitIdeasResponse.builder()
+                .message("Ideas accepted")
+                .ideas(IntStream.range(0, texts.size())
+                        .mapToObj(i -> IdeaDto.builder()
+                                .id(provisionalIds.get(i))
+                                .sessionId(session.getId())
+                                .roundId(round.getId())
+                                .roundNumber(round.getRoundNumber())
+                                .teamId(team.getId())
+                                .authorId(author.getId())
+                                .authorName(author.getFullName())
+                                .text(texts.get(i))
+                                .passedFromUserId(passedFromUser != null ? passedFromUser.getId() : null)
+                                .passedFromUserName(passedFromUser != null ? passedFromUser.getFullName() : null)
+                                .createdAt(submittedAt)
+                                .updatedAt(submittedAt)
+                                .build())
+                        .collect(Collectors.toList()))
+                .similarityThreshold(nearDuplicateIndex.isEnabled() ? nearDuplicateIndex.getThreshold() : null)
+                .nearDuplicates(nearDuplicates.stream()
+                        .map(match -> NearDuplicateDto.builder()
+                                .ideaId(provisionalIds.get(match.getPosition()))
+                                .text(texts.get(match.getPosition()))
+                                .matchedIdeaId(match.getIdeaId())
+                                .matchedText(match.getText())
+                                .similarity(match.getSimilarity())
+                                .build())
+                        .collect(Collectors.toList()))
                 .build();
     }
 
@@ -218,7 +331,9 @@ public class IdeaService {
                 .passedFromUser(passedFromUser)
                 .build();
 
-        return mapToIdeaDto(ideaRepository.save(idea));
+        Idea saved = ideaRepository.save(idea);
+        publishContentChanged(session);
+        return mapToIdeaDto(saved);
     }
 
     @Transactional
@@ -232,7 +347,9 @@ public class IdeaService {
         }
 
         idea.setText(request.getText());
-        return mapToIdeaDto(ideaRepository.save(idea));
+        Idea saved = ideaRepository.save(idea);
+        publishContentChanged(idea.getSession());
+        return mapToIdeaDto(saved);
     }
 
     @Transactional
@@ -246,12 +363,14 @@ public class IdeaService {
         }
 
         ideaRepository.delete(idea);
+        publishContentChanged(idea.getSession());
     }
 
     /**
      * Get round ideas with submission status for a user (7.1)
      * Shows previous teammate ideas, user's own ideas, and submission counts
      */
+    @Transactional(readOnly = true)
     public RoundIdeasResponseDto getRoundIdeasForUser(Long sessionId, Integer roundNumber, Long userId) {
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Session not found"));
@@ -274,12 +393,11 @@ public class IdeaService {
         List<Long> participantIds = participants.stream().map(User::getId).collect(Collectors.toList());
 
         // Get all ideas for this round
-        List<Idea> roundIdeas = ideaRepository.findBySessionIdAndRoundId(sessionId, round.getId());
+        List<IdeaDto> roundIdeas = ideaRepository.findDtosBySessionIdAndRoundId(sessionId, round.getId());
 
         // Get user's own ideas
         List<IdeaDto> yourIdeas = roundIdeas.stream()
-                .filter(idea -> idea.getAuthor().getId().equals(userId))
-                .map(this::mapToIdeaDto)
+                .filter(idea -> idea.getAuthorId().equals(userId))
                 .collect(Collectors.toList());
 
         // Get previous teammate's ideas (from previous round)
@@ -293,10 +411,9 @@ public class IdeaService {
                 Round prevRound = roundRepository.findBySessionIdAndRoundNumber(sessionId, roundNumber - 1)
                         .orElse(null);
                 if (prevRound != null) {
-                    previousTeammateIdeas = ideaRepository.findBySessionIdAndRoundId(sessionId, prevRound.getId())
+                    previousTeammateIdeas = ideaRepository.findDtosBySessionIdAndRoundId(sessionId, prevRound.getId())
                             .stream()
-                            .filter(idea -> idea.getAuthor().getId().equals(prevUserId))
-                            .map(this::mapToIdeaDto)
+                            .filter(idea -> idea.getAuthorId().equals(prevUserId))
                             .collect(Collectors.toList());
                 }
             }
@@ -306,7 +423,7 @@ public class IdeaService {
         int submittedCount = 0;
         for (Long participantId : participantIds) {
             long ideaCount = roundIdeas.stream()
-                    .filter(idea -> idea.getAuthor().getId().equals(participantId))
+                    .filter(idea -> idea.getAuthorId().equals(participantId))
                     .count();
             if (ideaCount >= 3) submittedCount++;
         }
@@ -351,7 +468,15 @@ public class IdeaService {
         }
 
         idea.setText(request.getText().trim());
-        return mapToIdeaDto(ideaRepository.save(idea));
+        Idea saved = ideaRepository.save(idea);
+        publishContentChanged(session);
+        return mapToIdeaDto(saved);
+    }
+
+    // Outdated background summaries are cancelled and re-generated once the transaction commits
+    private void publishContentChanged(Session session) {
+        eventPublisher.publishEvent(new SessionContentChangedEvent(
+                session.getId(), session.getStatus() == Session.Status.COMPLETED));
     }
 
     private List<User> getOrderedParticipants(Team team) {
@@ -0,0 +1,312 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.ThroughputSeriesDto;
+import com.brainstorming.entity.IdeaThroughputBucket;
+import com.brainstorming.entity.Session;
+import com.brainstorming.event.IdeasSubmittedEvent;
+import com.brainstorming.repository.IdeaRepository;
+import com.brainstorming.repository.IdeaThroughputBucketRepository;
+import com.brainstorming.repository.SessionRepository;
+import com.brainstorming.repository.projection.IdeaActivityRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Idea throughput per event and team, bucketed by minute (manager dashboard).
+ * Live events are served from an in-memory ring buffer fed by IdeasSubmittedEvent, so polling the
+ * series never touches the ideas table. After a restart an event's series is rebuilt once from the
+ * ideas table on first use. Once every session of an event is completed and the series has been
+ * idle for a while, it is compacted into idea_throughput_buckets and dropped from memory.
+ */
+@Service
+@Slf4j
+public class IdeaThroughputService {
+
+    private static final int BUCKET_SECONDS = 60;
+
+    private final IdeaRepository ideaRepository;
+    private final SessionRepository sessionRepository;
+    private final IdeaThroughputBucketRepository bucketRepository;
+    private final int windowMinutes;
+    private final long compactAfterIdleMillis;
+
+    private final Map<Long, MinuteSeries> seriesByEvent = new ConcurrentHashMap<>();
+
+    public IdeaThroughputService(
+            IdeaRepository ideaRepository,
+            SessionRepository sessionRepository,
+            IdeaThroughputBucketRepository bucketRepository,
+            @Value("${reports.throughput.window-minutes:1440}") int windowMinutes,
+            @Value("${reports.throughput.compact-after-idle-minutes:30}") long compactAfterIdleMinutes) {
+        this.ideaRepository = ideaRepository;
+        this.sessionRepository = sessionRepository;
+        this.bucketRepository = bucketRepository;
+        this.windowMinutes = windowMinutes;
+        this.compactAfterIdleMillis = compactAfterIdleMinutes * 60_000;
+    }
+
+    /**
+     * Count submitted ideas once the submitting transaction has committed.
+     */
+    @TransactionalEventListener
+    public void onIdeasSubmitted(IdeasSubmittedEvent event) {
+        long minute = toEpochMinute(event.getSubmittedAt());
+        while (true) {
+            MinuteSeries series = seriesByEvent.computeIfAbsent(event.getEventId(), id -> new MinuteSeries(windowMinutes));
+            synchronized (series) {
+                if (series.closed) {
+                    // Compacted concurrently - retry against a fresh series
+                    continue;
+                }
+                ensureSeeded(event.getEventId(), series);
+                // Ideas already picked up by the seed query must not be counted twice
+                long newIdeas = event.getIdeaIds().stream()
+                        .filter(id -> id > series.seededThroughIdeaId)
+                        .count();
+                if (newIdeas > 0) {
+                    series.add(minute, event.getTeamId(), (int) newIdeas);
+                }
+                series.touch();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Throughput series of an event, optionally limited to buckets starting at or after since.
+     */
+    public ThroughputSeriesDto getSeries(Long eventId, LocalDateTime since) {
+        long sinceMinute = since != null ? toEpochMinute(since) : Long.MIN_VALUE;
+
+        MinuteSeries series = seriesByEvent.get(eventId);
+        if (series == null) {
+            // A compacted event is served from its buckets only, even when none fall after since:
+            // seeding it again would scan its ideas and bring back a series the compaction job just dropped
+            if (bucketRepository.existsByEventId(eventId)) {
+                LocalDateTime from = since != null ? toBucketStart(sinceMinute) : LocalDateTime.of(1970, 1, 1, 0, 0);
+                return fromCompacted(eventId, bucketRepository
+                        .findByEventIdAndBucketStartGreaterThanEqualOrderByBucketStartAsc(eventId, from));
+            }
+            series = seriesByEvent.computeIfAbsent(eventId, id -> new MinuteSeries(windowMinutes));
+        }
+
+        synchronized (series) {
+            ensureSeeded(eventId, series);
+            return toDto(eventId, "live", series.snapshot(sinceMinute));
+        }
+    }
+
+    /**
+     * Persist and evict series of events whose sessions are all completed and that saw no recent submissions.
+     */
+    @Scheduled(fixedDelayString = "${reports.throughput.compaction-interval-ms:60000}")
+    @Transactional
+    public void compactCompletedEvents() {
+        long idleBefore = System.currentTimeMillis() - compactAfterIdleMillis;
+
+        for (Map.Entry<Long, MinuteSeries> entry : seriesByEvent.entrySet()) {
+            Long eventId = entry.getKey();
+            MinuteSeries series = entry.getValue();
+            if (series.lastActivityMillis > idleBefore) {
+                continue;
+            }
+            if (sessionRepository.countByTeam_Event_IdAndStatusNot(eventId, Session.Status.COMPLETED) > 0) {
+                continue;
+            }
+
+            try {
+                synchronized (series) {
+                    ensureSeeded(eventId, series);
+                    // Buckets that fell out of the ring are recovered from the ideas table
+                    MinuteSeries source = series.truncated ? rebuildFull(eventId) : series;
+
+                    List<IdeaThroughputBucket> buckets = new ArrayList<>();
+                    for (Map.Entry<Long, Map<Long, Integer>> point : source.snapshot(Long.MIN_VALUE).entrySet()) {
+                        for (Map.Entry<Long, Integer> team : point.getValue().entrySet()) {
+                            buckets.add(IdeaThroughputBucket.builder()
+                                    .eventId(eventId)
+                                    .teamId(team.getKey())
+                                    .bucketStart(toBucketStart(point.getKey()))
+                                    .ideaCount(team.getValue())
+                                    .build());
+                        }
+                    }
+
+                    bucketRepository.deleteByEventId(eventId);
+                    bucketRepository.saveAll(buckets);
+                    series.closed = true;
+                    seriesByEvent.remove(eventId, series);
+                    log.info("Compacted throughput series of event {} into {} buckets", eventId, buckets.size());
+                }
+            } catch (Exception e) {
+                log.error("Failed to compact throughput series of event {}", eventId, e);
+            }
+        }
+    }
+
+    private void ensureSeeded(Long eventId, MinuteSeries series) {
+        if (series.seededThroughIdeaId >= 0) {
+            return;
+        }
+        long maxIdeaId = 0;
+        for (IdeaActivityRow row : ideaRepository.findActivityByEventId(eventId)) {
+            if (row.getCreatedAt() != null) {
+                series.add(toEpochMinute(row.getCreatedAt()), row.getTeamId(), 1);
+            }
+            maxIdeaId = Math.max(maxIdeaId, row.getId());
+        }
+        series.seededThroughIdeaId = maxIdeaId;
+        log.debug("Seeded throughput series of event {} from ideas up to id {}", eventId, maxIdeaId);
+    }
+
+    private MinuteSeries rebuildFull(Long eventId) {
+        Map<Long, Map<Long, Integer>> counts = new TreeMap<>();
+        for (IdeaActivityRow row : ideaRepository.findActivityByEventId(eventId)) {
+            if (row.getCreatedAt() != null) {
+                counts.computeIfAbsent(toEpochMinute(row.getCreatedAt()), m -> new HashMap<>())
+                        .merge(row.getTeamId(), 1, Integer::sum);
+            }
+        }
+        return MinuteSeries.of(counts);
+    }
+
+    private ThroughputSeriesDto fromCompacted(Long eventId, List<IdeaThroughputBucket> buckets) {
+        Map<Long, Map<Long, Integer>> points = new TreeMap<>();
+        for (IdeaThroughputBucket bucket : buckets) {
+            points.computeIfAbsent(toEpochMinute(bucket.getBucketStart()), m -> new LinkedHashMap<>())
+                    .merge(bucket.getTeamId(), bucket.getIdeaCount(), Integer::sum);
+        }
+        return toDto(eventId, "compacted", points);
+    }
+
+    private ThroughputSeriesDto toDto(Long eventId, String source, Map<Long, Map<Long, Integer>> points) {
+        List<ThroughputSeriesDto.Point> result = new ArrayList<>(points.size());
+        int totalIdeas = 0;
+        for (Map.Entry<Long, Map<Long, Integer>> point : points.entrySet()) {
+            int total = point.getValue().values().stream().mapToInt(Integer::intValue).sum();
+            totalIdeas += total;
+            result.add(ThroughputSeriesDto.Point.builder()
+                    .bucketStart(toBucketStart(point.getKey()))
+                    .total(total)
+                    .byTeam(point.getValue())
+                    .build());
+        }
+        return ThroughputSeriesDto.builder()
+                .eventId(eventId)
+                .bucketSeconds(BUCKET_SECONDS)
+                .source(source)
+                .totalIdeas(totalIdeas)
+                .points(result)
+                .build();
+    }
+
+    // Idea timestamps are zone-less, so minutes are counted on the UTC time line consistently both ways
+    private static long toEpochMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), BUCKET_SECONDS);
+    }
+
+    private static LocalDateTime toBucketStart(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * BUCKET_SECONDS, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Fixed-size ring of minute buckets. Slot i holds the counts of the minute stored in minutes[i];
+     * a newer minute mapping to the same slot overwrites it. Guarded by the instance monitor.
+     */
+    private static final class MinuteSeries {
+        private final int capacity;
+        private final long[] minutes;
+        private final int[] totals;
+        // teamId -> per-slot counts
+        private final Map<Long, int[]> teamCounts = new HashMap<>();
+
+        // Highest idea id covered by the seed query, -1 until seeded
+        private long seededThroughIdeaId = -1;
+        // True once an older minute was overwritten or dropped
+        private boolean truncated;
+        private boolean closed;
+        private volatile long lastActivityMillis = System.currentTimeMillis();
+
+        private MinuteSeries(int capacity) {
+            this.capacity = capacity;
+            this.minutes = new long[capacity];
+            this.totals = new int[capacity];
+            Arrays.fill(minutes, -1);
+        }
+
+        private static MinuteSeries of(Map<Long, Map<Long, Integer>> counts) {
+            MinuteSeries series = new MinuteSeries(Math.max(1, counts.size()));
+            int slot = 0;
+            for (Map.Entry<Long, Map<Long, Integer>> point : counts.entrySet()) {
+                series.minutes[slot] = point.getKey();
+                for (Map.Entry<Long, Integer> team : point.getValue().entrySet()) {
+                    series.totals[slot] += team.getValue();
+                    series.teamCounts.computeIfAbsent(team.getKey(), id -> new int[series.capacity])[slot] = team.getValue();
+                }
+                slot++;
+            }
+            return series;
+        }
+
+        private void add(long minute, Long teamId, int count) {
+            int slot = (int) Math.floorMod(minute, (long) capacity);
+            if (minutes[slot] != minute) {
+                if (minutes[slot] > minute) {
+                    // Older than the window
+                    truncated = true;
+                    return;
+                }
+                if (minutes[slot] >= 0) {
+                    truncated = true;
+                }
+                minutes[slot] = minute;
+                totals[slot] = 0;
+                for (int[] counts : teamCounts.values()) {
+                    counts[slot] = 0;
+                }
+            }
+            totals[slot] += count;
+            teamCounts.computeIfAbsent(teamId, id -> new int[capacity])[slot] += count;
+        }
+
+        private void touch() {
+            lastActivityMillis = System.currentTimeMillis();
+        }
+
+        /**
+         * epoch minute -> (teamId -> count), ordered by minute, for non-empty buckets at or after sinceMinute.
+         */
+        private Map<Long, Map<Long, Integer>> snapshot(long sinceMinute) {
+            Map<Long, Map<Long, Integer>> points = new TreeMap<>();
+            for (int slot = 0; slot < capacity; slot++) {
+                if (minutes[slot] < 0 || minutes[slot] < sinceMinute || totals[slot] == 0) {
+                    continue;
+                }
+                Map<Long, Integer> byTeam = new LinkedHashMap<>();
+                for (Map.Entry<Long, int[]> team : teamCounts.entrySet()) {
+                    int count = team.getValue()[slot];
+                    if (count > 0) {
+                        byTeam.put(team.getKey(), count);
+                    }
+                }
+                points.put(minutes[slot], byTeam);
+            }
+            return points;
+        }
+    }
+}
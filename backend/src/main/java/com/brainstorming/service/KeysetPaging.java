@@ -0,0 +1,183 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.CursorPage;
+import com.brainstorming.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (cursor) pagination for list endpoints. Lists are ordered by id and a page is read with
+ * "WHERE id > :afterId ORDER BY id" and a limit of size + 1, so every page costs the same no matter how deep
+ * it is and rows inserted meanwhile do not shift later pages. Cursors are opaque to clients (URL-safe base64
+ * of the list name and the last id) and only valid for the list that issued them.
+ * Lists ordered by time (newest first) page on (timestamp, id) instead, see {@link #afterTimeKey(String, String)}.
+ * Page sizes default to pagination.default-size and are capped at pagination.max-size.
+ */
+@Component
+public class KeysetPaging {
+
+    private static final byte NEWLINE = '\n';
+
+    private final ObjectWriter ndjsonWriter;
+    private final int defaultSize;
+    @Getter
+    private final int maxSize;
+
+    public KeysetPaging(
+            ObjectMapper objectMapper,
+            @Value("${pagination.default-size:50}") int defaultSize,
+            @Value("${pagination.max-size:200}") int maxSize) {
+        // One JSON value per item on the same stream: leave it open and flush once per page
+        this.ndjsonWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.maxSize = maxSize;
+        this.defaultSize = Math.min(defaultSize, maxSize);
+    }
+
+    /**
+     * The requested page size clamped to [1, max-size]; null means the default size.
+     */
+    public int pageSize(Integer size) {
+        if (size == null) {
+            return defaultSize;
+        }
+        return Math.max(1, Math.min(size, maxSize));
+    }
+
+    /**
+     * Limit for the keyset query: one row more than the page size tells whether another page follows.
+     */
+    public Pageable limit(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    /**
+     * Id after which the page starts; 0 for the first page (null or blank cursor).
+     */
+    public long afterId(String list, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(':');
+            if (separator > 0 && decoded.substring(0, separator).equals(list)) {
+                return Long.parseLong(decoded.substring(separator + 1));
+            }
+        } catch (IllegalArgumentException e) {
+            // Not base64 or not a number: rejected below
+        }
+        throw new BadRequestException("Invalid cursor");
+    }
+
+    /**
+     * Position after which the page of a list ordered by (timestamp DESC, id DESC) starts;
+     * null for the first page (null or blank cursor).
+     */
+    public TimeKey afterTimeKey(String list, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String prefix = list + ":";
+            int separator = decoded.lastIndexOf(':');
+            if (decoded.startsWith(prefix) && separator > prefix.length()) {
+                long epochMicros = Long.parseLong(decoded.substring(prefix.length(), separator));
+                LocalDateTime time = LocalDateTime.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L),
+                        (int) Math.floorMod(epochMicros, 1_000_000L) * 1000, ZoneOffset.UTC);
+                return new TimeKey(time, Long.parseLong(decoded.substring(separator + 1)));
+            }
+        } catch (IllegalArgumentException | DateTimeException e) {
+            // Not base64, not numbers or out of range: rejected below
+        }
+        throw new BadRequestException("Invalid cursor");
+    }
+
+    /**
+     * Build the page from up to pageSize + 1 rows read with {@link #limit(int)}.
+     */
+    public <T> CursorPage<T> page(String list, List<T> rows, int pageSize, Function<T, Long> idOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encode(list, idOf.apply(items.get(items.size() - 1))) : null;
+        return CursorPage.<T>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Build the page of a list ordered by (timestamp DESC, id DESC) from up to pageSize + 1 rows.
+     */
+    public <T> CursorPage<T> page(String list, List<T> rows, int pageSize,
+                                  Function<T, LocalDateTime> timeOf, Function<T, Long> idOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            T last = items.get(items.size() - 1);
+            LocalDateTime time = timeOf.apply(last);
+            long epochMicros = time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1000;
+            nextCursor = encode(list, epochMicros + ":" + idOf.apply(last));
+        }
+        return CursorPage.<T>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Write every item of a list as newline-delimited JSON, reading it page by page so only
+     * one page is held in memory. Output is flushed after each page.
+     */
+    public <T> void writeNdjson(OutputStream out, Function<String, CursorPage<T>> pages) throws IOException {
+        String cursor = null;
+        do {
+            CursorPage<T> page = pages.apply(cursor);
+            for (T item : page.getItems()) {
+                ndjsonWriter.writeValue(out, item);
+                out.write(NEWLINE);
+            }
+            out.flush();
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+    }
+
+    private static String encode(String list, Object key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((list + ":" + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Keyset position in a list ordered by (timestamp DESC, id DESC): the page holds the rows before it.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class TimeKey {
+        private final LocalDateTime time;
+        private final long id;
+    }
+}
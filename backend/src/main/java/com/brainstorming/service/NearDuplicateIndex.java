@@ -0,0 +1,372 @@
+package com.brainstorming.service;
+
+import com.brainstorming.event.SessionCompletedEvent;
+import com.brainstorming.event.SessionContentChangedEvent;
+import com.brainstorming.repository.IdeaRepository;
+import com.brainstorming.repository.projection.IdeaTextRef;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory near-duplicate index of the ideas of each session, checked when ideas are submitted.
+ * Ideas are normalized (lowercase, punctuation dropped) and split into character 3-gram shingles; a MinHash
+ * signature of 128 values is indexed with LSH (32 bands of 4 rows), so a lookup only compares the few ideas
+ * sharing a band and confirms them with the exact shingle Jaccard similarity. With the default bands an idea
+ * at similarity 0.6 is found with ~99% probability, at 0.5 with ~87%.
+ * A session's index is built from the database on first use, kept up to date as submissions commit, dropped
+ * when ideas are edited or deleted, and evicted when the session completes or falls out of the LRU.
+ * Write-behind submissions are indexed when they are accepted, under provisional (negative) keys that are
+ * replaced by the idea ids once the ideas are written.
+ */
+@Component
+@Slf4j
+public class NearDuplicateIndex {
+
+    private static final int SHINGLE_SIZE = 3;
+    private static final int BANDS = 32;
+    private static final int ROWS = 4;
+    private static final int NUM_HASHES = BANDS * ROWS;
+
+    // Universal hash functions of the MinHash signature; a fixed seed keeps matches reproducible
+    private static final long[] HASH_A = new long[NUM_HASHES];
+    private static final long[] HASH_B = new long[NUM_HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            HASH_A[i] = random.nextLong() | 1L;
+            HASH_B[i] = random.nextLong();
+        }
+    }
+
+    public enum Mode {
+        FLAG, REJECT
+    }
+
+    private final IdeaRepository ideaRepository;
+    @Getter
+    private final boolean enabled;
+    @Getter
+    private final Mode mode;
+    @Getter
+    private final double threshold;
+    private final Map<Long, SessionIndex> sessions;
+    private final AtomicLong provisionalKeys = new AtomicLong();
+
+    public NearDuplicateIndex(
+            IdeaRepository ideaRepository,
+            @Value("${ideas.near-duplicate.enabled:true}") boolean enabled,
+            @Value("${ideas.near-duplicate.mode:flag}") String mode,
+            @Value("${ideas.near-duplicate.threshold:0.6}") double threshold,
+            @Value("${ideas.near-duplicate.max-sessions:500}") int maxSessions) {
+        this.ideaRepository = ideaRepository;
+        this.enabled = enabled;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.threshold = threshold;
+        // Access-ordered, so the eldest entry is the least recently used session
+        this.sessions = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, SessionIndex> eldest) {
+                return size() > maxSessions;
+            }
+        };
+    }
+
+    /**
+     * The most similar existing idea of the session for each text at or above the threshold.
+     * Must be called inside a transaction the first time a session is checked (the index is loaded then).
+     */
+    public List<Match> findMatches(Long sessionId, List<String> texts) {
+        if (!enabled) {
+            return List.of();
+        }
+        SessionIndex index = sessionIndex(sessionId);
+        index.ensureLoaded(() -> ideaRepository.findTextRefsBySessionId(sessionId));
+
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < texts.size(); i++) {
+            Match match = index.bestMatch(i, fingerprint(texts.get(i)), threshold);
+            if (match != null) {
+                matches.add(match);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Add newly saved ideas (id -> text) once the current transaction commits.
+     */
+    public void addAfterCommit(Long sessionId, Map<Long, String> ideas) {
+        if (enabled) {
+            afterCommit(() -> add(sessionId, ideas));
+        }
+    }
+
+    /**
+     * Index accepted ideas that are not in the database yet, so the next submissions are compared with them.
+     * Returns their provisional keys (negative, unique per instance) in the order of the texts.
+     */
+    public List<Long> addPending(Long sessionId, List<String> texts) {
+        List<Long> keys = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            keys.add(-provisionalKeys.incrementAndGet());
+        }
+        if (enabled) {
+            SessionIndex index = sessionIndex(sessionId);
+            for (int i = 0; i < texts.size(); i++) {
+                index.add(keys.get(i), texts.get(i), fingerprint(texts.get(i)));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Once the current transaction commits, swap pending ideas' provisional keys for the saved ideas (id -> text).
+     */
+    public void replacePendingAfterCommit(Long sessionId, List<Long> provisional, Map<Long, String> ideas) {
+        if (enabled) {
+            afterCommit(() -> {
+                removePending(sessionId, provisional);
+                add(sessionId, ideas);
+            });
+        }
+    }
+
+    /**
+     * Drop provisional keys, e.g. of a pending submission that was not written.
+     */
+    public void removePending(Long sessionId, List<Long> provisional) {
+        SessionIndex index;
+        synchronized (sessions) {
+            index = sessions.get(sessionId);
+        }
+        if (index != null) {
+            provisional.forEach(index::remove);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void add(Long sessionId, Map<Long, String> ideas) {
+        SessionIndex index;
+        synchronized (sessions) {
+            index = sessions.get(sessionId);
+        }
+        // Not indexed yet: the ideas are read from the database when the session is first checked
+        if (index != null) {
+            ideas.forEach((id, text) -> index.add(id, text, fingerprint(text)));
+        }
+    }
+
+    // Edits and deletions are rare; the index is rebuilt on the next submission
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionContentChanged(SessionContentChangedEvent event) {
+        invalidate(event.getSessionId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionCompleted(SessionCompletedEvent event) {
+        invalidate(event.getSessionId());
+    }
+
+    private void invalidate(Long sessionId) {
+        synchronized (sessions) {
+            sessions.remove(sessionId);
+        }
+    }
+
+    private SessionIndex sessionIndex(Long sessionId) {
+        synchronized (sessions) {
+            return sessions.computeIfAbsent(sessionId, id -> new SessionIndex());
+        }
+    }
+
+    private static Fingerprint fingerprint(String text) {
+        int[] shingles = shingles(normalize(text));
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int shingle : shingles) {
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int hash = (int) ((HASH_A[i] * shingle + HASH_B[i]) >>> 32);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return new Fingerprint(shingles, signature);
+    }
+
+    private static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length() + 2).append(' ');
+        for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+            } else if (normalized.charAt(normalized.length() - 1) != ' ') {
+                normalized.append(' ');
+            }
+        }
+        if (normalized.charAt(normalized.length() - 1) != ' ') {
+            normalized.append(' ');
+        }
+        return normalized.toString();
+    }
+
+    // Sorted, distinct shingle hashes; texts shorter than a shingle are one shingle
+    private static int[] shingles(String text) {
+        if (text.length() <= SHINGLE_SIZE) {
+            return new int[]{text.hashCode()};
+        }
+        Set<Integer> shingles = new HashSet<>();
+        for (int i = 0; i + SHINGLE_SIZE <= text.length(); i++) {
+            shingles.add(text.substring(i, i + SHINGLE_SIZE).hashCode());
+        }
+        return shingles.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    private static double jaccard(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    private static long bandKey(int band, int[] signature) {
+        long key = band;
+        for (int row = 0; row < ROWS; row++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[band * ROWS + row];
+        }
+        return key;
+    }
+
+    private static final class Fingerprint {
+        private final int[] shingles;
+        private final int[] signature;
+
+        private Fingerprint(int[] shingles, int[] signature) {
+            this.shingles = shingles;
+            this.signature = signature;
+        }
+    }
+
+    private static final class SessionIndex {
+        private final Map<Long, String> texts = new HashMap<>();
+        private final Map<Long, Fingerprint> fingerprints = new HashMap<>();
+        // LSH band key -> ids of the ideas in that bucket
+        private final Map<Long, List<Long>> buckets = new HashMap<>();
+        private boolean loaded;
+
+        // Ideas added before the load are kept; the load only fills in what is missing
+        private synchronized void ensureLoaded(Supplier<List<IdeaTextRef>> loader) {
+            if (loaded) {
+                return;
+            }
+            List<IdeaTextRef> rows = loader.get();
+            rows.forEach(row -> add(row.getId(), row.getText(), fingerprint(row.getText())));
+            loaded = true;
+            log.debug("Near-duplicate index loaded with {} ideas", rows.size());
+        }
+
+        private synchronized void add(Long id, String text, Fingerprint fingerprint) {
+            if (texts.putIfAbsent(id, text) != null) {
+                return;
+            }
+            fingerprints.put(id, fingerprint);
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfAbsent(bandKey(band, fingerprint.signature), key -> new ArrayList<>(1)).add(id);
+            }
+        }
+
+        private synchronized void remove(Long id) {
+            Fingerprint fingerprint = fingerprints.remove(id);
+            if (fingerprint == null) {
+                return;
+            }
+            texts.remove(id);
+            for (int band = 0; band < BANDS; band++) {
+                long key = bandKey(band, fingerprint.signature);
+                List<Long> bucket = buckets.get(key);
+                if (bucket != null && bucket.remove(id) && bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+
+        private synchronized Match bestMatch(int position, Fingerprint fingerprint, double threshold) {
+            Set<Long> candidates = new HashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                List<Long> bucket = buckets.get(bandKey(band, fingerprint.signature));
+                if (bucket != null) {
+                    candidates.addAll(bucket);
+                }
+            }
+
+            Match best = null;
+            for (Long id : candidates) {
+                double similarity = jaccard(fingerprint.shingles, fingerprints.get(id).shingles);
+                if (similarity >= threshold && (best == null || similarity > best.getSimilarity())) {
+                    best = new Match(position, id, texts.get(id), similarity);
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * An existing idea similar to the submitted text at the given position; a negative ideaId is the provisional
+     * key of an accepted idea that is not written yet.
+     */
+    @Getter
+    public static class Match {
+        private final int position;
+        private final Long ideaId;
+        private final String text;
+        private final double similarity;
+
+        public Match(int position, Long ideaId, String text, double similarity) {
+            this.position = position;
+            this.ideaId = ideaId;
+            this.text = text;
+            this.similarity = similarity;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.AISummaryResponse;
+import com.brainstorming.dto.IdeaDto;
+import com.brainstorming.entity.ReportCache;
+import com.brainstorming.entity.Session;
+import com.brainstorming.event.SessionContentChangedEvent;
+import com.brainstorming.exception.ResourceNotFoundException;
+import com.brainstorming.repository.ReportCacheRepository;
+import com.brainstorming.repository.SessionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Report export (FR-303, FR-601).
+ * Renders session CSVs and AI summaries, caches completed sessions in reports_cache,
+ * and streams event-wide exports as a ZIP while sessions are rendered in parallel.
+ */
+@Service
+@Slf4j
+public class ReportExportService {
+
+    private static final String CSV_HEADER = "round_number,author,passed_from,idea,created_at\n";
+
+    private final SessionRepository sessionRepository;
+    private final ReportCacheRepository reportCacheRepository;
+    private final SessionIdeasAssembler sessionIdeasAssembler;
+    private final AIService aiService;
+    private final ObjectMapper objectMapper;
+    private final Executor reportExportExecutor;
+    private final WriteBehindIdeaIngestor writeBehindIngestor;
+    private final Path cacheDir;
+
+    // Serializes cache writes per session so concurrent exports don't create duplicate cache rows
+    private final Map<Long, Object> cacheLocks = new ConcurrentHashMap<>();
+
+    public ReportExportService(
+            SessionRepository sessionRepository,
+            ReportCacheRepository reportCacheRepository,
+            SessionIdeasAssembler sessionIdeasAssembler,
+            AIService aiService,
+            ObjectMapper objectMapper,
+            @Qualifier("reportExportExecutor") Executor reportExportExecutor,
+            WriteBehindIdeaIngestor writeBehindIngestor,
+            @Value("${reports.cache-dir:./reports-cache}") String cacheDir) {
+        this.sessionRepository = sessionRepository;
+        this.reportCacheRepository = reportCacheRepository;
+        this.sessionIdeasAssembler = sessionIdeasAssembler;
+        this.aiService = aiService;
+        this.objectMapper = objectMapper;
+        this.reportExportExecutor = reportExportExecutor;
+        this.writeBehindIngestor = writeBehindIngestor;
+        this.cacheDir = Paths.get(cacheDir);
+    }
+
+    /**
+     * CSV of all ideas in a session. Completed sessions are written to the report cache and reused.
+     */
+    public byte[] renderSessionCsv(Long sessionId, Session.Status status) {
+        byte[] cached = readCachedReport(sessionId, ReportCache.Format.csv);
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] csv = buildSessionCsv(sessionId);
+        // Running sessions still change, so only completed ones are cached
+        if (status == Session.Status.COMPLETED) {
+            storeCachedReport(sessionId, ReportCache.Format.csv, csv);
+        }
+        return csv;
+    }
+
+    /**
+     * Content of a cached report file, or null if there is no usable cache entry.
+     */
+    public byte[] readCachedReport(Long sessionId, ReportCache.Format format) {
+        Optional<ReportCache> cached = reportCacheRepository.findBySessionIdAndFormat(sessionId, format);
+        if (cached.isEmpty() || cached.get().getFilePath() == null) {
+            return null;
+        }
+
+        Path path = Paths.get(cached.get().getFilePath());
+        if (!Files.isReadable(path)) {
+            return null;
+        }
+
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            log.warn("Failed to read cached {} report for session {}", format, sessionId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Ideas of a completed session can still be edited or deleted, which makes its cached reports stale.
+     * Runs after the change has committed, so the cache rows are removed in a transaction of their own.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onSessionContentChanged(SessionContentChangedEvent event) {
+        Long sessionId = event.getSessionId();
+        Object lock = cacheLocks.computeIfAbsent(sessionId, id -> new Object());
+        synchronized (lock) {
+            List<ReportCache> entries = reportCacheRepository.findBySessionId(sessionId);
+            if (entries.isEmpty()) {
+                return;
+            }
+            reportCacheRepository.deleteAll(entries);
+            for (ReportCache entry : entries) {
+                if (entry.getFilePath() == null) {
+                    continue;
+                }
+                try {
+                    Files.deleteIfExists(Paths.get(entry.getFilePath()));
+                } catch (IOException e) {
+                    // The row is gone, so the file is no longer served; it is overwritten on the next export
+                    log.warn("Failed to delete cached {} report for session {}", entry.getFormat(), sessionId, e);
+                }
+            }
+            log.debug("Evicted {} cached report(s) for session {}", entries.size(), sessionId);
+        }
+    }
+
+    /**
+     * Write a ZIP with one folder per session of the event (ideas CSV, AI summary, cached PDF if any).
+     * Sessions are rendered in parallel and each folder is written as soon as it is ready.
+     */
+    public void writeEventArchive(Long eventId, OutputStream out) throws IOException {
+        List<Session> sessions = sessionRepository.findByEventIdWithTeamAndTopic(eventId);
+
+        CompletionService<List<ExportEntry>> completion = new ExecutorCompletionService<>(reportExportExecutor);
+        List<Future<List<ExportEntry>>> futures = new ArrayList<>();
+        StringBuilder manifest = new StringBuilder("session_id,team,topic,status,folder\n");
+
+        for (Session session : sessions) {
+            String folder = sanitize(session.getTeam().getName()) + "/session_" + session.getId();
+            String topicTitle = session.getTopic() != null ? session.getTopic().getTitle() : "";
+            manifest.append(session.getId()).append(',')
+                    .append(csvValue(session.getTeam().getName())).append(',')
+                    .append(csvValue(topicTitle)).append(',')
+                    .append(session.getStatus()).append(',')
+                    .append(csvValue(folder)).append('\n');
+
+            Long sessionId = session.getId();
+            Session.Status status = session.getStatus();
+            futures.add(completion.submit(() -> renderSessionParts(sessionId, status, folder)));
+        }
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        try {
+            writeEntry(zip, new ExportEntry("manifest.csv", manifest.toString().getBytes(StandardCharsets.UTF_8)));
+
+            for (int i = 0; i < futures.size(); i++) {
+                List<ExportEntry> entries = completion.take().get();
+                for (ExportEntry entry : entries) {
+                    writeEntry(zip, entry);
+                }
+                zip.flush();
+            }
+            zip.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IOException("Event export interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IOException("Event export failed", e.getCause());
+        } catch (IOException e) {
+            // Client went away - stop rendering the remaining sessions
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    private List<ExportEntry> renderSessionParts(Long sessionId, Session.Status status, String folder) {
+        List<ExportEntry> entries = new ArrayList<>();
+        try {
+            entries.add(new ExportEntry(folder + "/ideas.csv", renderSessionCsv(sessionId, status)));
+
+            AISummaryResponse summary = aiService.getLatestSummary(sessionId);
+            if (summary != null) {
+                entries.add(new ExportEntry(folder + "/summary.json",
+                        objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(summary)));
+            }
+
+            byte[] pdf = readCachedReport(sessionId, ReportCache.Format.pdf);
+            if (pdf != null) {
+                entries.add(new ExportEntry(folder + "/report.pdf", pdf));
+            }
+        } catch (Exception e) {
+            log.error("Failed to render export for session {}", sessionId, e);
+            entries.add(new ExportEntry(folder + "/error.txt",
+                    ("Export failed for session " + sessionId + ": " + e.getMessage()).getBytes(StandardCharsets.UTF_8)));
+        }
+        return entries;
+    }
+
+    private byte[] buildSessionCsv(Long sessionId) {
+        // Before assemble's transaction, so the wait holds no pooled connection
+        writeBehindIngestor.awaitFlushed(sessionId);
+        SessionIdeasAssembler.SessionIdeas sessionIdeas = sessionIdeasAssembler.assemble(sessionId);
+
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (SessionIdeasAssembler.RoundIdeas round : sessionIdeas.getRounds()) {
+            for (IdeaDto idea : round.getIdeas()) {
+                csv.append(round.getRoundNumber()).append(',')
+                        .append(csvValue(idea.getAuthorName())).append(',')
+                        .append(csvValue(idea.getPassedFromUserName())).append(',')
+                        .append(csvValue(idea.getText())).append(',')
+                        .append(idea.getCreatedAt() != null ? idea.getCreatedAt() : "").append('\n');
+            }
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void storeCachedReport(Long sessionId, ReportCache.Format format, byte[] content) {
+        Object lock = cacheLocks.computeIfAbsent(sessionId, id -> new Object());
+        synchronized (lock) {
+            try {
+                Files.createDirectories(cacheDir);
+                Path target = cacheDir.resolve("session_" + sessionId + "_report." + format.name());
+                Path tmp = Files.createTempFile(cacheDir, "session_" + sessionId + "_", ".tmp");
+                Files.write(tmp, content);
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                ReportCache entry = reportCacheRepository.findBySessionIdAndFormat(sessionId, format)
+                        .orElseGet(() -> ReportCache.builder()
+                                .session(sessionRepository.findById(sessionId)
+                                        .orElseThrow(() -> new ResourceNotFoundException("Session not found")))
+                                .format(format)
+                                .build());
+                entry.setFilePath(target.toAbsolutePath().toString());
+                reportCacheRepository.save(entry);
+            } catch (IOException e) {
+                log.warn("Failed to cache {} report for session {}", format, sessionId, e);
+            }
+        }
+    }
+
+    private void writeEntry(ZipOutputStream zip, ExportEntry entry) throws IOException {
+        zip.putNextEntry(new ZipEntry(entry.getName()));
+        zip.write(entry.getContent());
+        zip.closeEntry();
+    }
+
+    private String sanitize(String name) {
+        if (name == null || name.isBlank()) {
+            return "team";
+        }
+        return name.trim().replaceAll("[^A-Za-z0-9._-]+", "_");
+    }
+
+    private String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class ExportEntry {
+        private final String name;
+        private final byte[] content;
+    }
+}
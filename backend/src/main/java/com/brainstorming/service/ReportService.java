@@ -0,0 +1,134 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.*;
+import com.brainstorming.entity.*;
+import com.brainstorming.exception.ResourceNotFoundException;
+import com.brainstorming.mapper.TopicMapper;
+import com.brainstorming.repository.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Session and event reports for ReportController (FR-300, FR-301, FR-600), assembled into DTOs inside
+ * read-only transactions.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportService {
+
+    private final SessionRepository sessionRepository;
+    private final IdeaRepository ideaRepository;
+    private final EventRepository eventRepository;
+    private final TeamRepository teamRepository;
+    private final TopicRepository topicRepository;
+    private final EventParticipantRepository participantRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final SessionIdeasAssembler sessionIdeasAssembler;
+    private final EventArchiveService eventArchiveService;
+    private final TopicMapper topicMapper;
+
+    @Transactional(readOnly = true)
+    public SessionReportDto getSessionReport(Long sessionId) {
+        Session session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Session not found with id: " + sessionId));
+        
+        SessionIdeasAssembler.SessionIdeas sessionIdeas = sessionIdeasAssembler.assemble(sessionId);
+        
+        // Build round reports
+        List<RoundReportDto> roundReports = new ArrayList<>();
+        for (SessionIdeasAssembler.RoundIdeas round : sessionIdeas.getRounds()) {
+            RoundReportDto roundReport = RoundReportDto.builder()
+                    .roundNumber(round.getRoundNumber())
+                    .startTime(round.getStartTime())
+                    .endTime(round.getEndTime())
+                    .timerState(round.getTimerState() != null ? round.getTimerState().name() : null)
+                    .ideaCount(round.getIdeas().size())
+                    .ideas(round.getIdeas())
+                    .build();
+            
+            roundReports.add(roundReport);
+        }
+        
+        SessionReportDto report = SessionReportDto.builder()
+                .sessionId(session.getId())
+                .topicTitle(session.getTopic() != null ? session.getTopic().getTitle() : null)
+                .topicDescription(session.getTopic() != null ? session.getTopic().getDescription() : null)
+                .teamName(session.getTeam() != null ? session.getTeam().getName() : null)
+                .status(session.getStatus() != null ? session.getStatus().name() : null)
+                .currentRound(session.getCurrentRound())
+                .roundCount(sessionIdeas.getRounds().size())
+                .totalIdeas(sessionIdeas.getTotalIdeas())
+                .rounds(roundReports)
+                .createdAt(session.getCreatedAt())
+                .build();
+        
+        return report;
+    }
+
+    @Transactional(readOnly = true)
+    public EventReportDto getEventReport(Long eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        
+        List<Team> teams = teamRepository.findByEventId(eventId);
+        List<Topic> topics = topicRepository.findByEventId(eventId);
+        List<EventParticipant> participants = participantRepository.findByEventId(eventId);
+        
+        // Count total sessions and ideas
+        int totalSessions = 0;
+        int totalIdeas = 0;
+        
+        // An archived event's ideas are counted from its archive
+        Map<Long, Long> archivedIdeaCounts = event.getArchivedAt() == null ? null
+                : eventArchiveService.load(eventId).getIdeas().stream()
+                        .filter(idea -> idea.getTeamId() != null)
+                        .collect(Collectors.groupingBy(IdeaDto::getTeamId, Collectors.counting()));
+
+        List<TeamSummaryDto> teamSummaries = new ArrayList<>();
+        for (Team team : teams) {
+            List<Session> teamSessions = sessionRepository.findByTeamId(team.getId());
+            int teamIdeaCount = archivedIdeaCounts != null
+                    ? archivedIdeaCounts.getOrDefault(team.getId(), 0L).intValue()
+                    : ideaRepository.findByTeamId(team.getId()).size();
+            List<TeamMember> teamMembers = teamMemberRepository.findByTeamId(team.getId());
+            
+            totalSessions += teamSessions.size();
+            totalIdeas += teamIdeaCount;
+            
+            TeamSummaryDto teamSummary = TeamSummaryDto.builder()
+                    .id(team.getId())
+                    .name(team.getName())
+                    .leaderName(team.getLeader() != null ? team.getLeader().getFullName() : null)
+                    .memberCount(teamMembers.size())
+                    .sessionCount(teamSessions.size())
+                    .totalIdeas(teamIdeaCount)
+                    .build();
+            
+            teamSummaries.add(teamSummary);
+        }
+        
+        EventReportDto report = EventReportDto.builder()
+                .eventId(event.getId())
+                .eventName(event.getName())
+                .eventDescription(event.getDescription())
+                .startDate(event.getStartDate())
+                .endDate(event.getEndDate())
+                .ownerName(event.getOwner() != null ? event.getOwner().getFullName() : null)
+                .totalTeams(teams.size())
+                .totalTopics(topics.size())
+                .totalSessions(totalSessions)
+                .totalIdeas(totalIdeas)
+                .totalParticipants(participants.size())
+                .teams(teamSummaries)
+                .topics(topicMapper.toDtoList(topics))
+                .build();
+        
+        return report;
+    }
+}
@@ -0,0 +1,199 @@
+package com.brainstorming.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of session actions (FR-602, NFR-400), stored in session_logs and read by AuditController.
+ * Recording never blocks and never touches the database: actions go into a bounded lock-free ring buffer
+ * (audit.buffer-size) and a background thread writes them to session_logs with one JDBC batch per
+ * audit.batch-size entries. When the buffer is full, new entries are dropped rather than slowing the caller.
+ * Metrics: audit.entries.recorded, audit.entries.dropped (tag reason: overflow / write_failed),
+ * audit.entries.written and the gauge audit.buffer.size.
+ */
+@Component
+@Slf4j
+public class SessionAuditTrail {
+
+    public static final String IDEAS_SUBMITTED = "IDEAS_SUBMITTED";
+    public static final String SESSION_STARTED = "SESSION_STARTED";
+    public static final String SESSION_PAUSED = "SESSION_PAUSED";
+    public static final String SESSION_RESUMED = "SESSION_RESUMED";
+    public static final String SESSION_COMPLETED = "SESSION_COMPLETED";
+    public static final String ROUND_ADVANCED = "ROUND_ADVANCED";
+    public static final String USER_JOINED = "USER_JOINED";
+    public static final String USER_LEFT = "USER_LEFT";
+    public static final String AI_SUGGESTIONS_REQUESTED = "AI_SUGGESTIONS_REQUESTED";
+    public static final String AI_SUMMARY_REQUESTED = "AI_SUMMARY_REQUESTED";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO session_logs (session_id, user_id, action_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AuditRingBuffer<Entry> buffer;
+    private final Counter recorded;
+    private final Counter overflowed;
+    private final Counter writeFailed;
+    private final Counter written;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public SessionAuditTrail(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${audit.enabled:true}") boolean enabled,
+            @Value("${audit.buffer-size:8192}") int bufferSize,
+            @Value("${audit.batch-size:500}") int batchSize,
+            @Value("${audit.flush-interval-ms:200}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.buffer = new AuditRingBuffer<>(bufferSize);
+        this.recorded = meterRegistry.counter("audit.entries.recorded");
+        this.overflowed = meterRegistry.counter("audit.entries.dropped", "reason", "overflow");
+        this.writeFailed = meterRegistry.counter("audit.entries.dropped", "reason", "write_failed");
+        this.written = meterRegistry.counter("audit.entries.written");
+        Gauge.builder("audit.buffer.size", buffer, AuditRingBuffer::size).register(meterRegistry);
+
+        this.writer = new Thread(this::writeLoop, "session-audit-writer");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            this.writer.start();
+        }
+    }
+
+    /**
+     * Record an action once the current transaction commits (immediately outside a transaction),
+     * so rolled-back actions are not audited. The payload is serialized to JSON by the writer.
+     */
+    public void record(Long sessionId, Long userId, String actionType, Map<String, ?> payload) {
+        if (!enabled || sessionId == null) {
+            return;
+        }
+        Entry entry = new Entry(sessionId, userId, actionType, payload, LocalDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // The writer drains the buffer before it exits
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(5000);
+    }
+
+    private void enqueue(Entry entry) {
+        if (buffer.offer(entry)) {
+            recorded.increment();
+        } else {
+            overflowed.increment();
+        }
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (true) {
+            Entry entry;
+            while (batch.size() < batchSize && (entry = buffer.poll()) != null) {
+                batch.add(entry);
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+                if (buffer.size() >= batchSize) {
+                    continue;
+                }
+            } else if (!running) {
+                return;
+            }
+            // Entries recorded meanwhile are written with the next batch
+            LockSupport.parkNanos(this, flushIntervalNanos);
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            rows.add(new Object[]{entry.sessionId, entry.userId, entry.actionType, toJson(entry.payload),
+                    Timestamp.valueOf(entry.createdAt)});
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            written.increment(rows.size());
+        } catch (DataAccessException e) {
+            // Most likely one entry referencing a deleted session: write the others one by one
+            log.warn("Writing {} audit entries failed, retrying one by one: {}", rows.size(), e.getMessage());
+            for (Object[] row : rows) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, row);
+                    written.increment();
+                } catch (DataAccessException rowFailure) {
+                    writeFailed.increment();
+                }
+            }
+        }
+    }
+
+    private String toJson(Map<String, ?> payload) {
+        if (payload == null || payload.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static final class Entry {
+        private final Long sessionId;
+        private final Long userId;
+        private final String actionType;
+        private final Map<String, ?> payload;
+        private final LocalDateTime createdAt;
+
+        private Entry(Long sessionId, Long userId, String actionType, Map<String, ?> payload,
+                      LocalDateTime createdAt) {
+            this.sessionId = sessionId;
+            this.userId = userId;
+            this.actionType = actionType;
+            this.payload = payload;
+            this.createdAt = createdAt;
+        }
+    }
+}
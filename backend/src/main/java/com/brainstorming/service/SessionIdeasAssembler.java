@@ -0,0 +1,117 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.IdeaDto;
+import com.brainstorming.entity.Idea;
+import com.brainstorming.entity.Round;
+import com.brainstorming.repository.IdeaRepository;
+import com.brainstorming.repository.RoundRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the round-by-round view of a session's ideas used by the session report
+ * and the grouped ideas endpoint (FR-301, FR-305).
+ * Ideas are fetched together with their authors in one query and grouped in a single pass.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionIdeasAssembler {
+
+    private final RoundRepository roundRepository;
+    private final IdeaRepository ideaRepository;
+    private final EventArchiveService eventArchiveService;
+
+    @Transactional(readOnly = true)
+    public SessionIdeas assemble(Long sessionId) {
+        List<Round> rounds = roundRepository.findBySessionIdOrderByRoundNumberAsc(sessionId);
+        List<Idea> ideas = ideaRepository.findBySessionIdWithRoundAndAuthor(sessionId);
+
+        Map<Long, RoundIdeas> roundsById = new LinkedHashMap<>();
+        for (Round round : rounds) {
+            roundsById.put(round.getId(), new RoundIdeas(round));
+        }
+
+        // Ideas arrive ordered by round number and author, so each bucket is filled in order
+        for (Idea idea : ideas) {
+            Round round = idea.getRound();
+            roundsById.computeIfAbsent(round.getId(), id -> new RoundIdeas(round))
+                    .add(toIdeaDto(idea, sessionId));
+        }
+        if (!ideas.isEmpty()) {
+            return new SessionIdeas(sessionId, new ArrayList<>(roundsById.values()), ideas.size());
+        }
+
+        // No ideas in the hot table: the session's event may be archived (same order there)
+        List<IdeaDto> archived = eventArchiveService.archivedIdeas(sessionId);
+        for (IdeaDto idea : archived) {
+            RoundIdeas roundIdeas = roundsById.get(idea.getRoundId());
+            if (roundIdeas != null) {
+                roundIdeas.add(idea);
+            }
+        }
+        return new SessionIdeas(sessionId, new ArrayList<>(roundsById.values()), archived.size());
+    }
+
+    private IdeaDto toIdeaDto(Idea idea, Long sessionId) {
+        return IdeaDto.builder()
+                .id(idea.getId())
+                .sessionId(sessionId)
+                .roundId(idea.getRound().getId())
+                .roundNumber(idea.getRound().getRoundNumber())
+                .teamId(idea.getTeam().getId())
+                .authorId(idea.getAuthor().getId())
+                .authorName(idea.getAuthor().getFullName())
+                .text(idea.getText())
+                .passedFromUserId(idea.getPassedFromUser() != null ? idea.getPassedFromUser().getId() : null)
+                .passedFromUserName(idea.getPassedFromUser() != null ? idea.getPassedFromUser().getFullName() : null)
+                .createdAt(idea.getCreatedAt())
+                .updatedAt(idea.getUpdatedAt())
+                .build();
+    }
+
+    @Getter
+    public static class SessionIdeas {
+        private final Long sessionId;
+        private final List<RoundIdeas> rounds;
+        private final int totalIdeas;
+
+        SessionIdeas(Long sessionId, List<RoundIdeas> rounds, int totalIdeas) {
+            this.sessionId = sessionId;
+            this.rounds = rounds;
+            this.totalIdeas = totalIdeas;
+        }
+    }
+
+    @Getter
+    public static class RoundIdeas {
+        private final Long roundId;
+        private final Integer roundNumber;
+        private final LocalDateTime startTime;
+        private final LocalDateTime endTime;
+        private final Round.TimerState timerState;
+        private final List<IdeaDto> ideas = new ArrayList<>();
+        // authorId -> ideas, in author order
+        private final Map<Long, List<IdeaDto>> ideasByAuthor = new LinkedHashMap<>();
+
+        RoundIdeas(Round round) {
+            this.roundId = round.getId();
+            this.roundNumber = round.getRoundNumber();
+            this.startTime = round.getStartTime();
+            this.endTime = round.getEndTime();
+            this.timerState = round.getTimerState();
+        }
+
+        private void add(IdeaDto idea) {
+            ideas.add(idea);
+            ideasByAuthor.computeIfAbsent(idea.getAuthorId(), id -> new ArrayList<>()).add(idea);
+        }
+    }
+}
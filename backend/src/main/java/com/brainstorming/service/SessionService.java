@@ -2,11 +2,13 @@ package com.brainstorming.service;
 
 import com.brainstorming.dto.*;
 import com.brainstorming.entity.*;
+import com.brainstorming.event.SessionCompletedEvent;
 import com.brainstorming.exception.BadRequestException;
 import com.brainstorming.exception.ResourceNotFoundException;
 import com.brainstorming.exception.UnauthorizedException;
 import com.brainstorming.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,21 +28,33 @@ public class SessionService {
     private final TopicRepository topicRepository;
     private final TeamMemberRepository teamMemberRepository;
     private final UserRepository userRepository;
+    private final SessionIdeasAssembler sessionIdeasAssembler;
+    private final EventArchiveService eventArchiveService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KeysetPaging keysetPaging;
+    private final SessionAuditTrail auditTrail;
 
     private static final int ROUND_DURATION_SECONDS = 300; // 5 minutes
+    private static final String SESSION_LIST = "sessions";
 
+    @Transactional(readOnly = true)
     public SessionDto getSession(Long sessionId) {
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Session not found"));
         return mapToSessionDto(session);
     }
 
-    public List<SessionDto> getAllSessions() {
-        return sessionRepository.findAll().stream()
+    @Transactional(readOnly = true)
+    public CursorPage<SessionDto> getSessions(String cursor, Integer size) {
+        int pageSize = keysetPaging.pageSize(size);
+        List<SessionDto> rows = sessionRepository.findPageAfter(keysetPaging.afterId(SESSION_LIST, cursor),
+                        keysetPaging.limit(pageSize)).stream()
                 .map(this::mapToSessionDto)
                 .collect(Collectors.toList());
+        return keysetPaging.page(SESSION_LIST, rows, pageSize, SessionDto::getId);
     }
 
+    @Transactional(readOnly = true)
     public List<SessionDto> getSessionsByTeam(Long teamId) {
         return sessionRepository.findByTeamId(teamId).stream()
                 .map(this::mapToSessionDto)
@@ -121,6 +135,7 @@ public class SessionService {
         throw new UnauthorizedException("You don't have access to this session");
     }
 
+    @Transactional(readOnly = true)
     public SessionStateDto getSessionState(Long sessionId, Long userId) {
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Session not found"));
@@ -157,24 +172,24 @@ public class SessionService {
             Round prevRound = roundRepository.findBySessionIdAndRoundNumber(sessionId, session.getCurrentRound() - 1)
                     .orElse(null);
             if (prevRound != null) {
-                previousIdeas = ideaRepository.findBySessionIdAndRoundId(sessionId, prevRound.getId()).stream()
-                        .filter(idea -> idea.getAuthor().getId().equals(previousUserId))
-                        .map(this::mapToIdeaDto)
+                previousIdeas = roundIdeas(session, prevRound).stream()
+                        .filter(idea -> idea.getAuthorId().equals(previousUserId))
                         .collect(Collectors.toList());
             }
         }
 
+        // Ideas of the current round, read once for the user's ideas and the team submission status
+        List<IdeaDto> currentRoundIdeas = currentRound != null
+                ? roundIdeas(session, currentRound)
+                : List.of();
+
         // Get user's ideas for current round
-        List<IdeaDto> myIdeas = new ArrayList<>();
-        if (currentRound != null) {
-            myIdeas = ideaRepository.findBySessionIdAndRoundId(sessionId, currentRound.getId()).stream()
-                    .filter(idea -> idea.getAuthor().getId().equals(userId))
-                    .map(this::mapToIdeaDto)
-                    .collect(Collectors.toList());
-        }
+        List<IdeaDto> myIdeas = currentRoundIdeas.stream()
+                .filter(idea -> idea.getAuthorId().equals(userId))
+                .collect(Collectors.toList());
 
         // Get team submission status
-        List<TeamMemberSubmissionDto> teamSubmissions = getTeamSubmissions(session, currentRound, participants);
+        List<TeamMemberSubmissionDto> teamSubmissions = getTeamSubmissions(currentRoundIdeas, participants);
 
         // Determine if user can submit
         boolean hasSubmitted = myIdeas.size() >= 3;
@@ -222,6 +237,7 @@ public class SessionService {
         roundRepository.save(round);
 
         sessionRepository.save(session);
+        auditTrail.record(sessionId, userId, SessionAuditTrail.SESSION_STARTED, Map.of());
         return getSessionState(sessionId, userId);
     }
 
@@ -246,6 +262,8 @@ public class SessionService {
                 });
 
         sessionRepository.save(session);
+        auditTrail.record(sessionId, userId, SessionAuditTrail.SESSION_PAUSED,
+                Map.of("round_number", session.getCurrentRound()));
         return getSessionState(sessionId, userId);
     }
 
@@ -270,6 +288,8 @@ public class SessionService {
                 });
 
         sessionRepository.save(session);
+        auditTrail.record(sessionId, userId, SessionAuditTrail.SESSION_RESUMED,
+                Map.of("round_number", session.getCurrentRound()));
         return getSessionState(sessionId, userId);
     }
 
@@ -295,6 +315,9 @@ public class SessionService {
                 });
 
         sessionRepository.save(session);
+        publishCompleted(session);
+        auditTrail.record(sessionId, userId, SessionAuditTrail.SESSION_COMPLETED,
+                Map.of("round_number", session.getCurrentRound(), "trigger", "manual"));
         return getSessionState(sessionId, userId);
     }
 
@@ -322,7 +345,11 @@ public class SessionService {
 
         if (session.getCurrentRound() >= session.getRoundCount()) {
             session.setStatus(Session.Status.COMPLETED);
-            return mapToSessionDto(sessionRepository.save(session));
+            Session saved = sessionRepository.save(session);
+            publishCompleted(saved);
+            auditTrail.record(sessionId, null, SessionAuditTrail.SESSION_COMPLETED,
+                    Map.of("round_number", saved.getCurrentRound(), "trigger", "advance"));
+            return mapToSessionDto(saved);
         }
 
         // End current round
@@ -336,24 +363,33 @@ public class SessionService {
         // Advance to next round
         session.setCurrentRound(session.getCurrentRound() + 1);
 
-        // Create new round
-        Round newRound = Round.builder()
-                .session(session)
-                .roundNumber(session.getCurrentRound())
-                .startTime(LocalDateTime.now())
-                .timerState(Round.TimerState.RUNNING)
-                .build();
+        // Start the next round (pre-created with the session, one per number)
+        Round newRound = roundRepository.findBySessionIdAndRoundNumber(sessionId, session.getCurrentRound())
+                .orElse(Round.builder()
+                        .session(session)
+                        .roundNumber(session.getCurrentRound())
+                        .build());
+        newRound.setStartTime(LocalDateTime.now());
+        newRound.setTimerState(Round.TimerState.RUNNING);
         roundRepository.save(newRound);
+        auditTrail.record(sessionId, null, SessionAuditTrail.ROUND_ADVANCED,
+                Map.of("round_number", session.getCurrentRound(), "trigger", "advance"));
 
         return mapToSessionDto(sessionRepository.save(session));
     }
 
+    @Transactional(readOnly = true)
     public List<RoundDto> getSessionRounds(Long sessionId) {
         return roundRepository.findBySessionId(sessionId).stream()
                 .map(this::mapToRoundDto)
                 .collect(Collectors.toList());
     }
 
+    // Listeners (e.g. summary pre-warming) run once the transaction commits
+    private void publishCompleted(Session session) {
+        eventPublisher.publishEvent(new SessionCompletedEvent(session.getId(), LocalDateTime.now()));
+    }
+
     private void checkControlAccess(Session session, Long userId) {
         Team team = session.getTeam();
 
@@ -383,25 +419,18 @@ public class SessionService {
         return participants;
     }
 
-    private List<TeamMemberSubmissionDto> getTeamSubmissions(Session session, Round currentRound,
-            List<User> participants) {
+    private List<TeamMemberSubmissionDto> getTeamSubmissions(List<IdeaDto> roundIdeas, List<User> participants) {
         List<TeamMemberSubmissionDto> submissions = new ArrayList<>();
+        Map<Long, List<IdeaDto>> ideasByAuthor = roundIdeas.stream()
+                .collect(Collectors.groupingBy(IdeaDto::getAuthorId));
 
         for (User participant : participants) {
-            int ideaCount = 0;
-            LocalDateTime submittedAt = null;
-
-            if (currentRound != null) {
-                List<Idea> ideas = ideaRepository.findBySessionIdAndRoundId(session.getId(), currentRound.getId())
-                        .stream()
-                        .filter(idea -> idea.getAuthor().getId().equals(participant.getId()))
-                        .collect(Collectors.toList());
-                ideaCount = ideas.size();
-                submittedAt = ideas.stream()
-                        .map(Idea::getCreatedAt)
-                        .max(LocalDateTime::compareTo)
-                        .orElse(null);
-            }
+            List<IdeaDto> ideas = ideasByAuthor.getOrDefault(participant.getId(), List.of());
+            int ideaCount = ideas.size();
+            LocalDateTime submittedAt = ideas.stream()
+                    .map(IdeaDto::getCreatedAt)
+                    .max(LocalDateTime::compareTo)
+                    .orElse(null);
 
             submissions.add(TeamMemberSubmissionDto.builder()
                     .userId(participant.getId())
@@ -491,6 +520,9 @@ public class SessionService {
         // Build idea passing map
         List<User> participants = getOrderedParticipants(team);
         Map<Long, List<IdeaDto>> passedIdeaMap = new HashMap<>();
+        Map<Long, List<IdeaDto>> roundIdeasByAuthor = ideaRepository
+                .findDtosBySessionIdAndRoundId(sessionId, currentRound.getId()).stream()
+                .collect(Collectors.groupingBy(IdeaDto::getAuthorId));
 
         for (int i = 0; i < participants.size(); i++) {
             User currentParticipant = participants.get(i);
@@ -499,11 +531,7 @@ public class SessionService {
             User prevParticipant = participants.get(prevIndex);
 
             // Get ideas from previous participant in current round
-            List<IdeaDto> passedIdeas = ideaRepository.findBySessionIdAndRoundId(sessionId, currentRound.getId())
-                    .stream()
-                    .filter(idea -> idea.getAuthor().getId().equals(prevParticipant.getId()))
-                    .map(this::mapToIdeaDto)
-                    .collect(Collectors.toList());
+            List<IdeaDto> passedIdeas = roundIdeasByAuthor.getOrDefault(prevParticipant.getId(), List.of());
 
             passedIdeaMap.put(currentParticipant.getId(), passedIdeas);
         }
@@ -512,6 +540,9 @@ public class SessionService {
         if (currentRoundNum >= session.getRoundCount()) {
             session.setStatus(Session.Status.COMPLETED);
             sessionRepository.save(session);
+            publishCompleted(session);
+            auditTrail.record(sessionId, userId, SessionAuditTrail.SESSION_COMPLETED,
+                    Map.of("round_number", currentRoundNum, "trigger", "advance"));
 
             return AdvanceRoundResponseDto.builder()
                     .currentRound(currentRoundNum)
@@ -533,6 +564,8 @@ public class SessionService {
         nextRound.setStartTime(LocalDateTime.now());
         nextRound.setTimerState(Round.TimerState.RUNNING);
         roundRepository.save(nextRound);
+        auditTrail.record(sessionId, userId, SessionAuditTrail.ROUND_ADVANCED,
+                Map.of("round_number", session.getCurrentRound(), "trigger", "manual"));
 
         return AdvanceRoundResponseDto.builder()
                 .currentRound(session.getCurrentRound())
@@ -541,9 +574,23 @@ public class SessionService {
                 .build();
     }
 
+    /**
+     * Ideas of a round; for a completed session whose event is archived, from the archive.
+     */
+    private List<IdeaDto> roundIdeas(Session session, Round round) {
+        List<IdeaDto> ideas = ideaRepository.findDtosBySessionIdAndRoundId(session.getId(), round.getId());
+        if (!ideas.isEmpty() || session.getStatus() != Session.Status.COMPLETED) {
+            return ideas;
+        }
+        return eventArchiveService.archivedIdeas(session.getId()).stream()
+                .filter(idea -> round.getId().equals(idea.getRoundId()))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get detailed round information with member submission status
      */
+    @Transactional(readOnly = true)
     public RoundDetailDto getRoundDetail(Long sessionId, Integer roundNumber, Long userId) {
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Session not found"));
@@ -558,19 +605,18 @@ public class SessionService {
 
         List<RoundDetailDto.MemberSubmissionStatusDto> memberSubmissions = new ArrayList<>();
         int submittedCount = 0;
+        Map<Long, List<IdeaDto>> ideasByAuthor = roundIdeas(session, round).stream()
+                .collect(Collectors.groupingBy(IdeaDto::getAuthorId));
 
         for (User participant : participants) {
-            List<Idea> ideas = ideaRepository.findBySessionIdAndRoundId(sessionId, round.getId())
-                    .stream()
-                    .filter(idea -> idea.getAuthor().getId().equals(participant.getId()))
-                    .collect(Collectors.toList());
+            List<IdeaDto> ideas = ideasByAuthor.getOrDefault(participant.getId(), List.of());
 
             boolean hasSubmitted = ideas.size() >= 3;
             if (hasSubmitted)
                 submittedCount++;
 
             LocalDateTime submittedAt = ideas.stream()
-                    .map(Idea::getCreatedAt)
+                    .map(IdeaDto::getCreatedAt)
                     .max(LocalDateTime::compareTo)
                     .orElse(null);
 
@@ -609,6 +655,7 @@ public class SessionService {
     /**
      * Get all ideas for a session grouped by round and participant (FR-301, FR-305)
      */
+    @Transactional(readOnly = true)
     public SessionIdeasResponseDto getSessionIdeasGrouped(Long sessionId, Long userId) {
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Session not found"));
@@ -621,25 +668,18 @@ public class SessionService {
             throw new UnauthorizedException("Only team leaders and event managers can view all session ideas");
         }
 
-        List<Round> rounds = roundRepository.findBySessionId(sessionId);
-        List<Idea> allIdeas = ideaRepository.findBySessionId(sessionId);
+        SessionIdeasAssembler.SessionIdeas sessionIdeas = sessionIdeasAssembler.assemble(sessionId);
 
         Map<Integer, List<SessionIdeasResponseDto.RoundParticipantIdeasDto>> ideasByRound = new HashMap<>();
 
-        for (Round round : rounds) {
-            List<Idea> roundIdeas = allIdeas.stream()
-                    .filter(idea -> idea.getRound().getId().equals(round.getId()))
-                    .collect(Collectors.toList());
-
+        for (SessionIdeasAssembler.RoundIdeas round : sessionIdeas.getRounds()) {
             // Group by participant
-            Map<Long, List<Idea>> byParticipant = roundIdeas.stream()
-                    .collect(Collectors.groupingBy(idea -> idea.getAuthor().getId()));
-
-            List<SessionIdeasResponseDto.RoundParticipantIdeasDto> participantIdeas = byParticipant.entrySet().stream()
+            List<SessionIdeasResponseDto.RoundParticipantIdeasDto> participantIdeas = round.getIdeasByAuthor()
+                    .entrySet().stream()
                     .map(entry -> SessionIdeasResponseDto.RoundParticipantIdeasDto.builder()
                             .participantId(entry.getKey())
-                            .participantName(entry.getValue().get(0).getAuthor().getFullName())
-                            .ideas(entry.getValue().stream().map(this::mapToIdeaDto).collect(Collectors.toList()))
+                            .participantName(entry.getValue().get(0).getAuthorName())
+                            .ideas(entry.getValue())
                             .build())
                     .collect(Collectors.toList());
 
@@ -648,8 +688,8 @@ public class SessionService {
 
         return SessionIdeasResponseDto.builder()
                 .sessionId(sessionId)
-                .totalRounds(rounds.size())
-                .totalIdeas(allIdeas.size())
+                .totalRounds(sessionIdeas.getRounds().size())
+                .totalIdeas(sessionIdeas.getTotalIdeas())
                 .ideasByRound(ideasByRound)
                 .build();
     }
@@ -680,21 +720,4 @@ public class SessionService {
                 .createdAt(round.getCreatedAt())
                 .build();
     }
-
-    private IdeaDto mapToIdeaDto(Idea idea) {
-        return IdeaDto.builder()
-                .id(idea.getId())
-                .sessionId(idea.getSession().getId())
-                .roundId(idea.getRound().getId())
-                .roundNumber(idea.getRound().getRoundNumber())
-                .teamId(idea.getTeam().getId())
-                .authorId(idea.getAuthor().getId())
-                .authorName(idea.getAuthor().getFullName())
-                .text(idea.getText())
-                .passedFromUserId(idea.getPassedFromUser() != null ? idea.getPassedFromUser().getId() : null)
-                .passedFromUserName(idea.getPassedFromUser() != null ? idea.getPassedFromUser().getFullName() : null)
-                .createdAt(idea.getCreatedAt())
-                .updatedAt(idea.getUpdatedAt())
-                .build();
-    }
 }
@@ -3,11 +3,13 @@ package com.brainstorming.service;
 import com.brainstorming.entity.Idea;
 import com.brainstorming.entity.Round;
 import com.brainstorming.entity.Session;
+import com.brainstorming.event.SessionCompletedEvent;
 import com.brainstorming.repository.RoundRepository;
 import com.brainstorming.repository.SessionRepository;
 import com.brainstorming.websocket.SessionWebSocketHandler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,8 +28,11 @@ public class SessionTimerService {
     private final RoundRepository roundRepository;
     private final SessionWebSocketHandler webSocketHandler;
     private final SessionService sessionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WriteBehindIdeaIngestor writeBehindIngestor;
+    private final SessionAuditTrail auditTrail;
 
-    private static final long ROUND_DURATION_SECONDS = 60; // 1 minute (for testing)
+    public static final long ROUND_DURATION_SECONDS = 60; // 1 minute (for testing)
 
     /**
      * Runs every second to update timers for active sessions
@@ -109,9 +114,13 @@ public class SessionTimerService {
         if (currentRound.getRoundNumber() >= session.getRoundCount()) {
             // Session is complete
             completeSession(session);
+            auditTrail.record(session.getId(), null, SessionAuditTrail.SESSION_COMPLETED,
+                    Map.of("round_number", currentRound.getRoundNumber(), "trigger", "timer"));
         } else {
             // Start next round
             startNextRound(session, currentRound.getRoundNumber() + 1);
+            auditTrail.record(session.getId(), null, SessionAuditTrail.ROUND_ADVANCED,
+                    Map.of("round_number", currentRound.getRoundNumber() + 1, "trigger", "timer"));
         }
 
         // Signal all clients to refresh their state
@@ -157,8 +166,12 @@ public class SessionTimerService {
     private void completeSession(Session session) {
         log.info("Completing session {}", session.getId());
 
+        // Completion listeners read all of the session's ideas
+        writeBehindIngestor.awaitFlushed(session.getId());
+
         session.setStatus(Session.Status.COMPLETED);
         sessionRepository.save(session);
+        eventPublisher.publishEvent(new SessionCompletedEvent(session.getId(), LocalDateTime.now()));
 
         // Broadcast session completed event
         webSocketHandler.broadcastToSession(
@@ -0,0 +1,181 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.AiJobDto;
+import com.brainstorming.event.IdeasSubmittedEvent;
+import com.brainstorming.event.SessionCompletedEvent;
+import com.brainstorming.event.SessionContentChangedEvent;
+import com.brainstorming.exception.BadRequestException;
+import com.brainstorming.exception.ResourceNotFoundException;
+import com.brainstorming.exception.ServiceUnavailableException;
+import com.brainstorming.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates the summary of a session in the background once it completes, so
+ * GET /api/ai/sessions/{id}/summary (and a POST with default options) is usually served without waiting for Gemini.
+ * Pre-warming runs at low priority: it waits ai.prewarm.delay-ms, only starts while Gemini has spare capacity
+ * and backs off otherwise. One pre-warm per session; it is cancelled (and re-scheduled if the session is still
+ * completed) when the session's ideas change, as long as no user has joined the job.
+ */
+@Service
+@Slf4j
+public class SummaryPrewarmService {
+
+    private final AIService aiService;
+    private final AiJobService aiJobService;
+    private final GeminiResilience geminiResilience;
+    private final boolean enabled;
+    private final long delayMillis;
+    private final long retryDelayMillis;
+    private final int maxAttempts;
+
+    // Not a bean: a TaskScheduler bean would take over all @Scheduled methods
+    private final ScheduledThreadPoolExecutor scheduler;
+    // sessionId -> pending or running pre-warm
+    private final Map<Long, Prewarm> prewarms = new ConcurrentHashMap<>();
+
+    public SummaryPrewarmService(
+            AIService aiService,
+            AiJobService aiJobService,
+            GeminiResilience geminiResilience,
+            @Value("${ai.prewarm.enabled:true}") boolean enabled,
+            @Value("${ai.prewarm.delay-ms:5000}") long delayMillis,
+            @Value("${ai.prewarm.retry-delay-ms:30000}") long retryDelayMillis,
+            @Value("${ai.prewarm.max-attempts:5}") int maxAttempts) {
+        this.aiService = aiService;
+        this.aiJobService = aiJobService;
+        this.geminiResilience = geminiResilience;
+        this.enabled = enabled;
+        this.delayMillis = delayMillis;
+        this.retryDelayMillis = retryDelayMillis;
+        this.maxAttempts = maxAttempts;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "ai-prewarm");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // fallbackExecution: the WebSocket auto-advance path completes sessions outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionCompleted(SessionCompletedEvent event) {
+        if (enabled) {
+            schedule(event.getSessionId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionContentChanged(SessionContentChangedEvent event) {
+        cancel(event.getSessionId(), "session ideas changed");
+        if (enabled && event.isSessionCompleted()) {
+            schedule(event.getSessionId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onIdeasSubmitted(IdeasSubmittedEvent event) {
+        cancel(event.getSessionId(), "new ideas submitted");
+    }
+
+    private void schedule(Long sessionId) {
+        prewarms.compute(sessionId, (id, existing) -> {
+            if (existing != null && !existing.isDone()) {
+                // Already pending or running for this session
+                return existing;
+            }
+            Prewarm prewarm = new Prewarm();
+            prewarm.scheduled = scheduler.schedule(() -> run(sessionId, prewarm), delayMillis, TimeUnit.MILLISECONDS);
+            return prewarm;
+        });
+    }
+
+    private void cancel(Long sessionId, String reason) {
+        Prewarm prewarm = prewarms.remove(sessionId);
+        if (prewarm == null) {
+            return;
+        }
+        prewarm.scheduled.cancel(false);
+        String jobId = prewarm.jobId;
+        if (jobId != null) {
+            aiJobService.cancelUnclaimed(jobId, reason);
+        }
+        log.debug("Summary pre-warm for session {} cancelled: {}", sessionId, reason);
+    }
+
+    private void run(Long sessionId, Prewarm prewarm) {
+        if (prewarms.get(sessionId) != prewarm) {
+            return;
+        }
+        prewarm.attempts++;
+
+        if (!geminiResilience.hasSpareCapacity()) {
+            retryLater(sessionId, prewarm, "Gemini busy");
+            return;
+        }
+
+        try {
+            AiJobDto job = aiService.prewarmSummary(sessionId);
+            if (job.getStatus() == AiJobDto.Status.SUCCEEDED) {
+                // Already cached
+                prewarms.remove(sessionId, prewarm);
+            } else {
+                // The entry stays until the job is done, so edits meanwhile can still cancel it
+                prewarm.jobId = job.getJobId();
+                log.info("Pre-warming summary of session {} (AI job {})", sessionId, job.getJobId());
+            }
+        } catch (BadRequestException | ResourceNotFoundException e) {
+            // Not completed anymore, no topic or no ideas - nothing to pre-warm
+            prewarms.remove(sessionId, prewarm);
+            log.debug("Skipping summary pre-warm for session {}: {}", sessionId, e.getMessage());
+        } catch (TooManyRequestsException | ServiceUnavailableException e) {
+            retryLater(sessionId, prewarm, e.getMessage());
+        } catch (Exception e) {
+            prewarms.remove(sessionId, prewarm);
+            log.warn("Summary pre-warm for session {} failed", sessionId, e);
+        }
+    }
+
+    private void retryLater(Long sessionId, Prewarm prewarm, String reason) {
+        if (prewarm.attempts >= maxAttempts) {
+            prewarms.remove(sessionId, prewarm);
+            log.info("Giving up summary pre-warm for session {}: {}", sessionId, reason);
+            return;
+        }
+        long delay = retryDelayMillis * prewarm.attempts;
+        log.debug("Summary pre-warm for session {} deferred by {} ms: {}", sessionId, delay, reason);
+        prewarm.scheduled = scheduler.schedule(() -> run(sessionId, prewarm), delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictFinished() {
+        prewarms.values().removeIf(Prewarm::isDone);
+    }
+
+    private final class Prewarm {
+        private volatile ScheduledFuture<?> scheduled;
+        private volatile String jobId;
+        private int attempts;
+
+        private boolean isDone() {
+            return jobId != null && aiJobService.isFinished(jobId);
+        }
+    }
+}
@@ -32,13 +32,22 @@ public class TeamService {
     private final TeamMemberRepository teamMemberRepository;
     private final TeamMapper teamMapper;
     private final UserMapper userMapper;
+    private final KeysetPaging keysetPaging;
+    private final CascadeDeletionService cascadeDeletionService;
 
-    public List<TeamDto> getAllTeams() {
-        return teamRepository.findAll().stream()
+    private static final String TEAM_LIST = "teams";
+
+    @Transactional(readOnly = true)
+    public CursorPage<TeamDto> getTeams(String cursor, Integer size) {
+        int pageSize = keysetPaging.pageSize(size);
+        List<TeamDto> rows = teamRepository.findPageAfter(keysetPaging.afterId(TEAM_LIST, cursor),
+                        keysetPaging.limit(pageSize)).stream()
                 .map(teamMapper::toDto)
                 .collect(Collectors.toList());
+        return keysetPaging.page(TEAM_LIST, rows, pageSize, TeamDto::getId);
     }
 
+    @Transactional(readOnly = true)
     public TeamDto getTeamById(Long id) {
         Team team = teamRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Team not found"));
@@ -70,6 +79,7 @@ public class TeamService {
         return teamMapper.toDto(savedTeam);
     }
 
+    @Transactional
     public TeamDto updateTeam(Long id, CreateTeamRequest request) {
         Team team = teamRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Team not found"));
@@ -91,12 +101,22 @@ public class TeamService {
         return teamMapper.toDto(teamRepository.save(team));
     }
 
-    public void deleteTeam(Long id) {
-        Team team = teamRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Team not found"));
-        teamRepository.delete(team);
+    /**
+     * Hides the team right away; its sessions, ideas and members are deleted in the background.
+     */
+    @Transactional
+    public DeletionJobDto deleteTeam(Long id) {
+        if (!teamRepository.existsById(id)) {
+            throw new RuntimeException("Team not found");
+        }
+        return cascadeDeletionService.requestTeamDeletion(id);
+    }
+
+    public DeletionJobDto getTeamDeletion(Long id) {
+        return cascadeDeletionService.getTeamDeletion(id);
     }
 
+    @Transactional(readOnly = true)
     public List<TeamMemberResponseDto> getTeamMembers(Long teamId) {
         Team team = teamRepository.findById(teamId)
                 .orElseThrow(() -> new RuntimeException("Team not found"));
@@ -182,6 +202,7 @@ public class TeamService {
         return teamMapper.toDto(savedTeam);
     }
 
+    @Transactional(readOnly = true)
     public List<TeamDto> getTeamsForUser(Long userId) {
         List<TeamMember> memberships = teamMemberRepository.findByUserId(userId);
         return memberships.stream()
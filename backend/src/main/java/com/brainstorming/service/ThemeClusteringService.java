@@ -0,0 +1,582 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.AISummaryResponse;
+import com.brainstorming.dto.IdeaDto;
+import com.brainstorming.dto.ThemeClustersDto;
+import com.brainstorming.dto.ThemeDto;
+import com.brainstorming.event.IdeasSubmittedEvent;
+import com.brainstorming.event.SessionContentChangedEvent;
+import com.brainstorming.exception.ResourceNotFoundException;
+import com.brainstorming.repository.EventRepository;
+import com.brainstorming.repository.IdeaRepository;
+import com.brainstorming.repository.SessionRepository;
+import com.brainstorming.repository.projection.IdeaTextRef;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Groups the ideas of a session or an event into themes locally, without Gemini.
+ * Ideas become TF-IDF vectors over hashed terms (2^18 dimensions), clustered with spherical k-means
+ * (k-means++ seeding, k ~ sqrt(n / 2) up to ai.themes.max-themes). Corpora of at least
+ * ai.themes.parallel-threshold ideas are vectorized and assigned on a fork-join pool.
+ * Models are kept per session / event with their term vectors. The ideas are read from the database (or the
+ * event archive, once archived) when a model is first used; after that, new ideas arrive with IdeasSubmittedEvent and are assigned to the
+ * nearest theme (its centroid updated) on the next read, so live views refresh without reading the corpus.
+ * The corpus is read and clustered again after ideas were edited or deleted (SessionContentChangedEvent)
+ * or when it grew by more than ai.themes.rebuild-ratio.
+ */
+@Service
+@Slf4j
+public class ThemeClusteringService {
+
+    private static final int DIMENSIONS = 1 << 18;
+    private static final int MAX_ITERATIONS = 20;
+    private static final int KEYWORDS = 3;
+    private static final int MAX_THEMES_LIMIT = 30;
+    // Fixed seed: the same ideas always give the same themes
+    private static final long SEED = 42L;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "are", "but", "not", "you", "all", "any", "can", "has", "have", "had", "was",
+            "were", "will", "with", "this", "that", "these", "those", "from", "into", "onto", "our", "your",
+            "their", "they", "them", "its", "his", "her", "who", "what", "which", "when", "where", "why", "how",
+            "more", "most", "some", "such", "than", "then", "there", "here", "about", "also", "just", "only",
+            "each", "other", "very", "should", "could", "would", "make", "use", "using", "idea", "ideas");
+
+    private final SessionRepository sessionRepository;
+    private final EventRepository eventRepository;
+    private final IdeaRepository ideaRepository;
+    private final EventArchiveService eventArchiveService;
+    private final int defaultMaxThemes;
+    private final int representatives;
+    private final int parallelThreshold;
+    private final double rebuildRatio;
+    private final ForkJoinPool pool;
+    private final Map<String, Model> models;
+
+    public ThemeClusteringService(
+            SessionRepository sessionRepository,
+            EventRepository eventRepository,
+            IdeaRepository ideaRepository,
+            EventArchiveService eventArchiveService,
+            @Value("${ai.themes.max-themes:8}") int defaultMaxThemes,
+            @Value("${ai.themes.representatives:3}") int representatives,
+            @Value("${ai.themes.parallel-threshold:1000}") int parallelThreshold,
+            @Value("${ai.themes.rebuild-ratio:0.25}") double rebuildRatio,
+            @Value("${ai.themes.parallelism:0}") int parallelism,
+            @Value("${ai.themes.cache-size:500}") int cacheSize) {
+        this.sessionRepository = sessionRepository;
+        this.eventRepository = eventRepository;
+        this.ideaRepository = ideaRepository;
+        this.eventArchiveService = eventArchiveService;
+        this.defaultMaxThemes = defaultMaxThemes;
+        this.representatives = representatives;
+        this.parallelThreshold = parallelThreshold;
+        this.rebuildRatio = rebuildRatio;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        // Access-ordered, so the eldest entry is the least recently used model
+        this.models = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Model> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Transactional(readOnly = true)
+    public ThemeClustersDto sessionThemes(Long sessionId, Integer maxThemes) {
+        if (!sessionRepository.existsById(sessionId)) {
+            throw new ResourceNotFoundException("Session not found with id: " + sessionId);
+        }
+        ThemeClustersDto clusters = themes(sessionKey(sessionId),
+                () -> sessionIdeaTexts(sessionId), maxThemes);
+        clusters.setSessionId(sessionId);
+        return clusters;
+    }
+
+    @Transactional(readOnly = true)
+    public ThemeClustersDto eventThemes(Long eventId, Integer maxThemes) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        ThemeClustersDto clusters = themes(eventKey(eventId),
+                () -> eventIdeaTexts(eventId), maxThemes);
+        clusters.setEventId(eventId);
+        return clusters;
+    }
+
+    private List<IdeaTextRef> sessionIdeaTexts(Long sessionId) {
+        List<IdeaTextRef> ideas = ideaRepository.findTextRefsBySessionId(sessionId);
+        return ideas.isEmpty() ? archivedTexts(eventArchiveService.archivedIdeas(sessionId)) : ideas;
+    }
+
+    private List<IdeaTextRef> eventIdeaTexts(Long eventId) {
+        List<IdeaTextRef> ideas = ideaRepository.findTextRefsByEventId(eventId);
+        return ideas.isEmpty() ? archivedTexts(eventArchiveService.archivedEventIdeas(eventId)) : ideas;
+    }
+
+    private List<IdeaTextRef> archivedTexts(List<IdeaDto> ideas) {
+        return ideas.stream()
+                .<IdeaTextRef>map(idea -> new ArchivedIdeaText(idea.getId(), idea.getText()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Queue the submitted ideas on the models of their session and event; they are clustered on the next read.
+     */
+    @TransactionalEventListener
+    public void onIdeasSubmitted(IdeasSubmittedEvent event) {
+        if (event.getIdeaTexts() == null || event.getIdeaTexts().isEmpty()) {
+            return;
+        }
+        for (Model model : modelsOf(sessionKey(event.getSessionId()), eventKey(event.getEventId()))) {
+            synchronized (model) {
+                model.pending.putAll(event.getIdeaTexts());
+            }
+        }
+    }
+
+    // Edits and deletions are rare; the affected corpora are read again on their next use
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionContentChanged(SessionContentChangedEvent event) {
+        List<Model> affected = new ArrayList<>(modelsOf(sessionKey(event.getSessionId())));
+        if (hasModels("event:")) {
+            sessionRepository.findEventIdById(event.getSessionId())
+                    .ifPresent(eventId -> affected.addAll(modelsOf(eventKey(eventId))));
+        }
+        for (Model model : affected) {
+            synchronized (model) {
+                model.stale = true;
+            }
+        }
+    }
+
+    /**
+     * A summary built from the themes only: theme labels as keyThemes and the most typical idea
+     * of each theme as notableIdeas. Not stored as an artifact.
+     */
+    public AISummaryResponse toSummary(ThemeClustersDto clusters) {
+        List<ThemeDto> themes = clusters.getThemes();
+        String overview = themes.stream()
+                .map(theme -> theme.getLabel() + " (" + theme.getIdeaCount() + ")")
+                .collect(Collectors.joining("; "));
+        return AISummaryResponse.builder()
+                .summaryText(String.format(Locale.ROOT, "%d ideas grouped into %d themes: %s.",
+                        clusters.getIdeaCount(), themes.size(), overview))
+                .keyThemes(themes.stream().map(ThemeDto::getLabel).collect(Collectors.toList()))
+                .notableIdeas(themes.stream()
+                        .filter(theme -> !theme.getRepresentativeIdeas().isEmpty())
+                        .map(theme -> theme.getRepresentativeIdeas().get(0))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private ThemeClustersDto themes(String corpusKey, Supplier<List<IdeaTextRef>> corpus, Integer maxThemes) {
+        int k = maxThemes != null && maxThemes > 0 ? Math.min(maxThemes, MAX_THEMES_LIMIT) : defaultMaxThemes;
+
+        Model model;
+        synchronized (models) {
+            model = models.computeIfAbsent(corpusKey + k, key -> new Model(k));
+        }
+        synchronized (model) {
+            if (model.computedAt == null || model.stale) {
+                Map<Long, String> texts = new LinkedHashMap<>();
+                corpus.get().forEach(row -> texts.put(row.getId(), row.getText()));
+                // Submissions queued before this read are part of it
+                model.pending.clear();
+                model.rebuild(texts);
+            } else if (!model.pending.isEmpty()) {
+                model.addPending();
+            }
+            return model.toDto();
+        }
+    }
+
+    private static String sessionKey(Long sessionId) {
+        return "session:" + sessionId + ":";
+    }
+
+    private static String eventKey(Long eventId) {
+        return "event:" + eventId + ":";
+    }
+
+    // Models of the given corpora, one per requested number of themes
+    private List<Model> modelsOf(String... corpusKeys) {
+        List<Model> result = new ArrayList<>();
+        synchronized (models) {
+            // Iterating does not count as access, so the LRU order is left alone
+            models.forEach((key, model) -> {
+                for (String corpusKey : corpusKeys) {
+                    if (key.startsWith(corpusKey)) {
+                        result.add(model);
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    private boolean hasModels(String prefix) {
+        synchronized (models) {
+            return models.keySet().stream().anyMatch(key -> key.startsWith(prefix));
+        }
+    }
+
+    private <T> List<T> map(int size, IntFunction<T> function) {
+        if (size < parallelThreshold) {
+            return IntStream.range(0, size).mapToObj(function).collect(Collectors.toList());
+        }
+        // Parallel streams run in the pool they are started from
+        return pool.submit(() -> IntStream.range(0, size).parallel().mapToObj(function)
+                .collect(Collectors.toList())).join();
+    }
+
+    private static Map<String, Integer> termCounts(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (token.length() >= 3 && !STOP_WORDS.contains(token)) {
+                counts.merge(token, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static int termIndex(String term) {
+        int hash = term.hashCode();
+        return (hash ^ (hash >>> 16)) & (DIMENSIONS - 1);
+    }
+
+    /**
+     * Ideas, vocabulary and themes of one session or event.
+     */
+    private final class Model {
+        private final int maxThemes;
+        private final Map<Long, String> texts = new LinkedHashMap<>();
+        // Submitted since the last read, not clustered yet
+        private final Map<Long, String> pending = new LinkedHashMap<>();
+        private final Map<Long, SparseVector> vectors = new HashMap<>();
+        private final Map<Long, Integer> assignment = new HashMap<>();
+        // Term index -> document frequency, and a term seen at that index (for keywords)
+        private final Map<Integer, Integer> documentFrequency = new HashMap<>();
+        private final Map<Integer, String> vocabulary = new HashMap<>();
+        private int documentCount;
+        private List<Cluster> clusters = new ArrayList<>();
+        // Null until the corpus was read; an empty theme list is a valid, cached result
+        private LocalDateTime computedAt;
+        private boolean stale;
+
+        private Model(int maxThemes) {
+            this.maxThemes = maxThemes;
+        }
+
+        private void addPending() {
+            Map<Long, String> added = new LinkedHashMap<>(pending);
+            pending.clear();
+            // Already read with the corpus if they committed before it was loaded
+            added.keySet().removeIf(texts::containsKey);
+            if (added.isEmpty()) {
+                return;
+            }
+            if (added.size() > rebuildRatio * texts.size()) {
+                // The term vectors are in memory, so a rebuild costs clustering time but no corpus read
+                Map<Long, String> all = new LinkedHashMap<>(texts);
+                all.putAll(added);
+                rebuild(all);
+            } else {
+                added.forEach(this::addIdea);
+                computedAt = LocalDateTime.now();
+            }
+        }
+
+        private void rebuild(Map<Long, String> current) {
+            long startedAt = System.nanoTime();
+            texts.clear();
+            texts.putAll(current);
+            vectors.clear();
+            assignment.clear();
+            documentFrequency.clear();
+            vocabulary.clear();
+            clusters = new ArrayList<>();
+
+            List<Long> ids = new ArrayList<>(current.keySet());
+            List<Map<String, Integer>> counts = map(ids.size(), i -> termCounts(current.get(ids.get(i))));
+            documentCount = ids.size();
+            for (Map<String, Integer> documentCounts : counts) {
+                documentCounts.keySet().forEach(term -> {
+                    int index = termIndex(term);
+                    documentFrequency.merge(index, 1, Integer::sum);
+                    vocabulary.putIfAbsent(index, term);
+                });
+            }
+            List<SparseVector> documentVectors = map(ids.size(), i -> vectorize(counts.get(i)));
+
+            List<Long> clusteredIds = new ArrayList<>();
+            List<SparseVector> clusteredVectors = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                vectors.put(ids.get(i), documentVectors.get(i));
+                // Ideas without any meaningful term are left out of the themes
+                if (!documentVectors.get(i).isEmpty()) {
+                    clusteredIds.add(ids.get(i));
+                    clusteredVectors.add(documentVectors.get(i));
+                }
+            }
+            cluster(clusteredIds, clusteredVectors);
+            computedAt = LocalDateTime.now();
+            stale = false;
+            log.debug("Clustered {} ideas into {} themes in {} ms", ids.size(), clusters.size(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+        }
+
+        private void cluster(List<Long> ids, List<SparseVector> points) {
+            int n = points.size();
+            if (n == 0) {
+                return;
+            }
+            int k = Math.min(n, Math.max(1, Math.min(maxThemes, (int) Math.round(Math.sqrt(n / 2.0)))));
+
+            List<Cluster> centroids = seed(points, k);
+            int[] assigned = new int[n];
+            Arrays.fill(assigned, -1);
+            for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+                List<Cluster> current = centroids;
+                int[] next = map(n, i -> nearest(points.get(i), current)).stream()
+                        .mapToInt(Integer::intValue).toArray();
+                if (Arrays.equals(next, assigned)) {
+                    break;
+                }
+                assigned = next;
+                centroids = new ArrayList<>();
+                for (int c = 0; c < k; c++) {
+                    centroids.add(new Cluster());
+                }
+                for (int i = 0; i < n; i++) {
+                    centroids.get(assigned[i]).add(points.get(i));
+                }
+            }
+
+            // Empty clusters are dropped; the remaining ones are renumbered
+            Map<Integer, Integer> renumbered = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                int index = renumbered.computeIfAbsent(assigned[i], c -> renumbered.size());
+                if (index == clusters.size()) {
+                    clusters.add(centroids.get(assigned[i]));
+                }
+                assignment.put(ids.get(i), index);
+            }
+        }
+
+        // k-means++: each further seed is picked with probability proportional to its squared distance
+        private List<Cluster> seed(List<SparseVector> points, int k) {
+            Random random = new Random(SEED);
+            List<Cluster> seeds = new ArrayList<>();
+            double[] distance = new double[points.size()];
+            Arrays.fill(distance, Double.MAX_VALUE);
+
+            SparseVector next = points.get(random.nextInt(points.size()));
+            while (seeds.size() < k) {
+                Cluster seed = new Cluster();
+                seed.add(next);
+                seeds.add(seed);
+
+                double total = 0;
+                for (int i = 0; i < points.size(); i++) {
+                    double d = 1 - seed.similarity(points.get(i));
+                    distance[i] = Math.min(distance[i], d * d);
+                    total += distance[i];
+                }
+                if (total <= 0) {
+                    // Every idea is identical to a seed
+                    break;
+                }
+                double target = random.nextDouble() * total;
+                int chosen = 0;
+                double cumulative = distance[0];
+                while (cumulative < target && chosen < points.size() - 1) {
+                    cumulative += distance[++chosen];
+                }
+                next = points.get(chosen);
+            }
+            return seeds;
+        }
+
+        private void addIdea(Long id, String text) {
+            Map<String, Integer> counts = termCounts(text);
+            counts.keySet().forEach(term -> vocabulary.putIfAbsent(termIndex(term), term));
+            SparseVector vector = vectorize(counts);
+            texts.put(id, text);
+            vectors.put(id, vector);
+            if (vector.isEmpty()) {
+                return;
+            }
+            if (clusters.isEmpty()) {
+                // Every earlier idea was without meaningful terms: this one starts the first theme
+                clusters.add(new Cluster());
+            }
+            int index = nearest(vector, clusters);
+            clusters.get(index).add(vector);
+            assignment.put(id, index);
+        }
+
+        // TF-IDF with the document frequencies of the last clustering; unseen terms count as rare
+        private SparseVector vectorize(Map<String, Integer> counts) {
+            Map<Integer, Double> weights = new HashMap<>();
+            counts.forEach((term, count) -> {
+                int index = termIndex(term);
+                double idf = Math.log((1.0 + documentCount) / (1.0 + documentFrequency.getOrDefault(index, 0))) + 1;
+                weights.merge(index, (1 + Math.log(count)) * idf, Double::sum);
+            });
+            return SparseVector.of(weights);
+        }
+
+        private ThemeClustersDto toDto() {
+            Map<Integer, List<Long>> members = new HashMap<>();
+            assignment.forEach((id, index) -> members.computeIfAbsent(index, c -> new ArrayList<>()).add(id));
+
+            List<ThemeDto> themes = new ArrayList<>();
+            for (int index = 0; index < clusters.size(); index++) {
+                Cluster cluster = clusters.get(index);
+                List<Long> ids = members.getOrDefault(index, List.of()).stream().sorted().collect(Collectors.toList());
+                List<String> keywords = cluster.topTerms(KEYWORDS).stream()
+                        .map(vocabulary::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+                List<String> typical = ids.stream()
+                        .sorted(Comparator.comparingDouble((Long id) -> cluster.similarity(vectors.get(id))).reversed())
+                        .limit(representatives)
+                        .map(texts::get)
+                        .collect(Collectors.toList());
+                themes.add(ThemeDto.builder()
+                        .label(String.join(" / ", keywords))
+                        .keywords(keywords)
+                        .ideaCount(ids.size())
+                        .ideaIds(ids)
+                        .representativeIdeas(typical)
+                        .build());
+            }
+            themes.sort(Comparator.comparing(ThemeDto::getIdeaCount).reversed());
+
+            return ThemeClustersDto.builder()
+                    .ideaCount(texts.size())
+                    .themes(themes)
+                    .computedAt(computedAt)
+                    .build();
+        }
+    }
+
+    private static int nearest(SparseVector vector, List<Cluster> clusters) {
+        int best = 0;
+        double bestSimilarity = -1;
+        for (int c = 0; c < clusters.size(); c++) {
+            double similarity = clusters.get(c).similarity(vector);
+            if (similarity > bestSimilarity) {
+                best = c;
+                bestSimilarity = similarity;
+            }
+        }
+        return best;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class ArchivedIdeaText implements IdeaTextRef {
+        private final Long id;
+        private final String text;
+    }
+
+    /**
+     * L2-normalized sparse vector.
+     */
+    private static final class SparseVector {
+        private final int[] indices;
+        private final double[] values;
+
+        private SparseVector(int[] indices, double[] values) {
+            this.indices = indices;
+            this.values = values;
+        }
+
+        private static SparseVector of(Map<Integer, Double> weights) {
+            int[] indices = weights.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            double[] values = new double[indices.length];
+            double norm = 0;
+            for (int i = 0; i < indices.length; i++) {
+                values[i] = weights.get(indices[i]);
+                norm += values[i] * values[i];
+            }
+            norm = Math.sqrt(norm);
+            for (int i = 0; i < values.length; i++) {
+                values[i] /= norm;
+            }
+            return new SparseVector(indices, values);
+        }
+
+        private boolean isEmpty() {
+            return indices.length == 0;
+        }
+    }
+
+    /**
+     * Sum of the vectors of a theme; its direction is the (spherical) centroid.
+     */
+    private static final class Cluster {
+        private final Map<Integer, Double> sum = new HashMap<>();
+        private double normSquared;
+
+        private void add(SparseVector vector) {
+            // |s + v|^2 = |s|^2 + 2 s.v + |v|^2, with |v| = 1
+            normSquared += 2 * dot(vector) + 1;
+            for (int i = 0; i < vector.indices.length; i++) {
+                sum.merge(vector.indices[i], vector.values[i], Double::sum);
+            }
+        }
+
+        private double dot(SparseVector vector) {
+            double dot = 0;
+            for (int i = 0; i < vector.indices.length; i++) {
+                dot += vector.values[i] * sum.getOrDefault(vector.indices[i], 0.0);
+            }
+            return dot;
+        }
+
+        // Cosine similarity with the centroid
+        private double similarity(SparseVector vector) {
+            return normSquared > 0 ? dot(vector) / Math.sqrt(normSquared) : 0;
+        }
+
+        private List<Integer> topTerms(int limit) {
+            return sum.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        }
+    }
+}
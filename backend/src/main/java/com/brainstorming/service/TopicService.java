@@ -1,6 +1,7 @@
 package com.brainstorming.service;
 
 import com.brainstorming.dto.CreateTopicRequest;
+import com.brainstorming.dto.CursorPage;
 import com.brainstorming.dto.TopicDto;
 import com.brainstorming.dto.UpdateTopicRequest;
 import com.brainstorming.entity.Event;
@@ -22,6 +23,9 @@ public class TopicService {
     private final TopicRepository topicRepository;
     private final EventRepository eventRepository;
     private final TopicMapper topicMapper;
+    private final KeysetPaging keysetPaging;
+
+    private static final String TOPIC_LIST = "topics";
 
     @Transactional
     public TopicDto createTopic(Long eventId, CreateTopicRequest request) {
@@ -38,6 +42,7 @@ public class TopicService {
         return topicMapper.toDto(savedTopic);
     }
 
+    @Transactional(readOnly = true)
     public List<TopicDto> getTopicsByEventId(Long eventId) {
         if (!eventRepository.existsById(eventId)) {
             throw new ResourceNotFoundException("Event not found with id: " + eventId);
@@ -46,11 +51,15 @@ public class TopicService {
         return topicMapper.toDtoList(topics);
     }
 
-    public List<TopicDto> getAllTopics() {
-        List<Topic> topics = topicRepository.findAll();
-        return topicMapper.toDtoList(topics);
+    @Transactional(readOnly = true)
+    public CursorPage<TopicDto> getTopics(String cursor, Integer size) {
+        int pageSize = keysetPaging.pageSize(size);
+        List<Topic> topics = topicRepository.findPageAfter(keysetPaging.afterId(TOPIC_LIST, cursor),
+                keysetPaging.limit(pageSize));
+        return keysetPaging.page(TOPIC_LIST, topicMapper.toDtoList(topics), pageSize, TopicDto::getId);
     }
 
+    @Transactional(readOnly = true)
     public TopicDto getTopicById(Long topicId) {
         Topic topic = topicRepository.findById(topicId)
                 .orElseThrow(() -> new ResourceNotFoundException("Topic not found with id: " + topicId));
@@ -0,0 +1,472 @@
+package com.brainstorming.service;
+
+import com.brainstorming.event.IdeasSubmittedEvent;
+import com.brainstorming.exception.ServiceUnavailableException;
+import com.brainstorming.repository.IdeaRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Write-behind ingestion of idea submissions (ideas.ingestion.mode: write-behind). A validated submission is
+ * acknowledged once it is appended to a local memory-mapped log (IdeaIngestLog, fsync per ideas.ingestion.fsync)
+ * and recorded as pending in memory; a background thread writes pending submissions to MySQL in groups of up to
+ * ideas.ingestion.batch-size with one JDBC batch per group, then publishes IdeasSubmittedEvent as the direct path
+ * does. Submissions still in the log when the application stops or crashes are replayed on startup; those already
+ * in the database are skipped, so a replay never duplicates ideas.
+ * Pending ideas are in the near-duplicate index under provisional keys from the moment they are accepted, and
+ * under their ids once written.
+ * Readers that must see every accepted idea of a session (round advance, completion, session state) call
+ * {@link #awaitFlushed(Long)} before their transaction starts, in the controller or the non-transactional caller:
+ * a transaction holds a pooled connection from its start, and waiters holding them would starve the flusher.
+ * Pending state is per instance: run write-behind on a
+ * single instance or with sticky sessions.
+ */
+@Component
+@Slf4j
+public class WriteBehindIdeaIngestor {
+
+    private static final String INSERT_SQL = "INSERT INTO ideas "
+            + "(session_id, round_id, team_id, author_id, text, passed_from_user_id, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+
+    private final IdeaRepository ideaRepository;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    @Getter
+    private final boolean enabled;
+    private final int batchSize;
+    private final long awaitTimeoutMillis;
+    private final IdeaIngestLog ingestLog;
+    private final Thread flusher;
+
+    // Guarded by this: submissions in sequence order, and what is not in the database yet
+    private final Queue<Pending> queue = new ArrayDeque<>();
+    private final Map<Long, Set<Long>> pendingAuthorsByRound = new HashMap<>();
+    private final Map<Long, Integer> pendingBySession = new HashMap<>();
+    private volatile boolean running = true;
+
+    public WriteBehindIdeaIngestor(
+            IdeaRepository ideaRepository,
+            NearDuplicateIndex nearDuplicateIndex,
+            ApplicationEventPublisher eventPublisher,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${ideas.ingestion.mode:direct}") String mode,
+            @Value("${ideas.ingestion.log-dir:./idea-log}") String logDir,
+            @Value("${ideas.ingestion.segment-bytes:67108864}") int segmentBytes,
+            @Value("${ideas.ingestion.fsync:always}") String fsync,
+            @Value("${ideas.ingestion.batch-size:200}") int batchSize,
+            @Value("${ideas.ingestion.await-timeout-ms:10000}") long awaitTimeoutMillis) throws IOException {
+        this.ideaRepository = ideaRepository;
+        this.nearDuplicateIndex = nearDuplicateIndex;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = "write-behind".equalsIgnoreCase(mode);
+        this.batchSize = Math.max(1, batchSize);
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+
+        if (!enabled) {
+            this.ingestLog = null;
+            this.flusher = null;
+            return;
+        }
+
+        this.ingestLog = new IdeaIngestLog(Path.of(logDir), segmentBytes,
+                IdeaIngestLog.FsyncPolicy.valueOf(fsync.toUpperCase(Locale.ROOT)));
+        List<IdeaIngestLog.Record> records = ingestLog.open();
+        for (IdeaIngestLog.Record record : records) {
+            Submission submission = Submission.decode(record.getPayload());
+            track(submission);
+            queue.add(new Pending(record.getSequence(), submission, true,
+                    nearDuplicateIndex.addPending(submission.getSessionId(), submission.getTexts())));
+        }
+        if (!records.isEmpty()) {
+            log.info("Replaying {} idea submission(s) from {}", records.size(), logDir);
+        }
+
+        this.flusher = new Thread(this::flushLoop, "idea-write-behind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Append a validated submission to the log and queue it for the database.
+     * Returns the provisional keys of its ideas (see NearDuplicateIndex#addPending), or null if the author
+     * already has a pending submission for the round.
+     */
+    public List<Long> accept(Submission submission) {
+        byte[] payload = submission.encode();
+        synchronized (this) {
+            if (isPending(submission.getRoundId(), submission.getAuthorId())) {
+                return null;
+            }
+            long sequence;
+            try {
+                sequence = ingestLog.append(payload);
+            } catch (IOException e) {
+                log.error("Could not append to the idea log", e);
+                throw new ServiceUnavailableException("Ideas cannot be accepted right now, please retry");
+            }
+            track(submission);
+            List<Long> provisionalKeys = nearDuplicateIndex.addPending(submission.getSessionId(),
+                    submission.getTexts());
+            queue.add(new Pending(sequence, submission, false, provisionalKeys));
+            notifyAll();
+            return provisionalKeys;
+        }
+    }
+
+    public synchronized boolean isPending(Long roundId, Long authorId) {
+        Set<Long> authors = pendingAuthorsByRound.get(roundId);
+        return authors != null && authors.contains(authorId);
+    }
+
+    /**
+     * Authors whose submission for the round is accepted but not in the database yet.
+     */
+    public synchronized int pendingAuthorCount(Long roundId) {
+        Set<Long> authors = pendingAuthorsByRound.get(roundId);
+        return authors == null ? 0 : authors.size();
+    }
+
+    /**
+     * Wait until every submission accepted for the session is in the database.
+     * Call it before the transaction starts, so the transaction reads a snapshot that includes them without
+     * holding a connection while it waits.
+     */
+    public void awaitFlushed(Long sessionId) {
+        if (!enabled) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + awaitTimeoutMillis;
+        synchronized (this) {
+            while (pendingBySession.containsKey(sessionId)) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new ServiceUnavailableException("Submitted ideas are still being saved, please retry");
+                }
+                try {
+                    wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ServiceUnavailableException("Interrupted while waiting for submitted ideas");
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ideas.ingestion.fsync-interval-ms:100}")
+    public void forceLog() {
+        if (enabled) {
+            ingestLog.force();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        // The flusher drains the queue before it exits; whatever is left is replayed on the next start
+        running = false;
+        synchronized (this) {
+            notifyAll();
+        }
+        flusher.join(awaitTimeoutMillis);
+        ingestLog.close();
+    }
+
+    private void flushLoop() {
+        long retryDelay = 100;
+        while (true) {
+            List<Pending> batch = new ArrayList<>();
+            synchronized (this) {
+                while (queue.isEmpty() && running) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (queue.isEmpty()) {
+                    return;
+                }
+                for (Pending pending : queue) {
+                    if (batch.size() == batchSize) {
+                        break;
+                    }
+                    batch.add(pending);
+                }
+            }
+
+            try {
+                try {
+                    write(batch);
+                } catch (DataIntegrityViolationException e) {
+                    // One bad submission must not block the others: write them one by one and drop the failing ones
+                    writeOneByOne(batch);
+                }
+                retryDelay = 100;
+            } catch (RuntimeException e) {
+                // Submissions written before the failure are skipped on the retry
+                log.warn("Writing {} idea submission(s) failed, retrying in {} ms: {}",
+                        batch.size(), retryDelay, e.getMessage());
+                if (!sleep(retryDelay)) {
+                    return;
+                }
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+                continue;
+            }
+            complete(batch);
+        }
+    }
+
+    private void writeOneByOne(List<Pending> batch) {
+        for (Pending pending : batch) {
+            try {
+                write(List.of(pending));
+            } catch (DataIntegrityViolationException e) {
+                Submission submission = pending.submission;
+                log.error("Dropping idea submission of user {} for round {} (log sequence {}): {}",
+                        submission.getAuthorId(), submission.getRoundId(), pending.sequence, e.getMessage());
+            }
+        }
+    }
+
+    // One transaction per group: the events are published, and the near-duplicate index updated, on commit
+    private void write(List<Pending> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Pending> toInsert = new ArrayList<>();
+            for (Pending pending : batch) {
+                Submission submission = pending.submission;
+                // A submission the flusher wrote just before a crash, or one that raced a direct write
+                if (ideaRepository.existsByRoundIdAndAuthorId(submission.getRoundId(), submission.getAuthorId())) {
+                    if (!pending.replayed) {
+                        log.warn("User {} already has ideas for round {}, skipping log sequence {}",
+                                submission.getAuthorId(), submission.getRoundId(), pending.sequence);
+                    }
+                    continue;
+                }
+                toInsert.add(pending);
+            }
+            if (!toInsert.isEmpty()) {
+                insert(toInsert);
+            }
+        });
+    }
+
+    private void insert(List<Pending> batch) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Pending pending : batch) {
+            Submission submission = pending.submission;
+            Timestamp submittedAt = Timestamp.valueOf(submission.getSubmittedAt());
+            for (String text : submission.getTexts()) {
+                rows.add(new Object[]{submission.getSessionId(), submission.getRoundId(), submission.getTeamId(),
+                        submission.getAuthorId(), text, submission.getPassedFromUserId(), submittedAt});
+            }
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Object[] row = rows.get(i);
+                        ps.setLong(1, (Long) row[0]);
+                        ps.setLong(2, (Long) row[1]);
+                        ps.setLong(3, (Long) row[2]);
+                        ps.setLong(4, (Long) row[3]);
+                        ps.setString(5, (String) row[4]);
+                        if (row[5] != null) {
+                            ps.setLong(6, (Long) row[5]);
+                        } else {
+                            ps.setNull(6, Types.BIGINT);
+                        }
+                        ps.setTimestamp(7, (Timestamp) row[6]);
+                        ps.setTimestamp(8, (Timestamp) row[6]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        int row = 0;
+        for (Pending pending : batch) {
+            Submission submission = pending.submission;
+            List<Long> ideaIds = new ArrayList<>();
+            Map<Long, String> texts = new LinkedHashMap<>();
+            for (String text : submission.getTexts()) {
+                Long ideaId = ((Number) keys.get(row++).values().iterator().next()).longValue();
+                ideaIds.add(ideaId);
+                texts.put(ideaId, text);
+            }
+            nearDuplicateIndex.replacePendingAfterCommit(submission.getSessionId(), pending.provisionalKeys, texts);
+            eventPublisher.publishEvent(new IdeasSubmittedEvent(submission.getEventId(), submission.getTeamId(),
+                    submission.getSessionId(), ideaIds, submission.getSubmittedAt(), texts));
+        }
+    }
+
+    private void complete(List<Pending> batch) {
+        synchronized (this) {
+            for (Pending pending : batch) {
+                queue.poll();
+                untrack(pending.submission);
+                // Already replaced for written submissions; skipped and dropped ones leave the index here
+                nearDuplicateIndex.removePending(pending.submission.getSessionId(), pending.provisionalKeys);
+            }
+            notifyAll();
+        }
+        ingestLog.markFlushed(batch.get(batch.size() - 1).sequence);
+    }
+
+    // Guarded by this
+    private void track(Submission submission) {
+        pendingAuthorsByRound.computeIfAbsent(submission.getRoundId(), roundId -> new HashSet<>())
+                .add(submission.getAuthorId());
+        pendingBySession.merge(submission.getSessionId(), 1, Integer::sum);
+    }
+
+    // Guarded by this
+    private void untrack(Submission submission) {
+        Set<Long> authors = pendingAuthorsByRound.get(submission.getRoundId());
+        if (authors != null && authors.remove(submission.getAuthorId()) && authors.isEmpty()) {
+            pendingAuthorsByRound.remove(submission.getRoundId());
+        }
+        pendingBySession.computeIfPresent(submission.getSessionId(), (sessionId, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class Pending {
+        private final long sequence;
+        private final Submission submission;
+        private final boolean replayed;
+        private final List<Long> provisionalKeys;
+
+        private Pending(long sequence, Submission submission, boolean replayed, List<Long> provisionalKeys) {
+            this.sequence = sequence;
+            this.submission = submission;
+            this.replayed = replayed;
+            this.provisionalKeys = provisionalKeys;
+        }
+    }
+
+    /**
+     * The ideas of one participant for one round, as accepted by IdeaService.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Submission {
+        private final Long sessionId;
+        private final Long roundId;
+        private final Integer roundNumber;
+        private final Long teamId;
+        private final Long eventId;
+        private final Long authorId;
+        private final Long passedFromUserId;
+        private final List<String> texts;
+        private final LocalDateTime submittedAt;
+
+        private byte[] encode() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeLong(sessionId);
+                out.writeLong(roundId);
+                out.writeInt(roundNumber);
+                out.writeLong(teamId);
+                out.writeLong(eventId);
+                out.writeLong(authorId);
+                out.writeLong(passedFromUserId != null ? passedFromUserId : -1L);
+                out.writeLong(submittedAt.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(submittedAt.getNano());
+                out.writeInt(texts.size());
+                for (String text : texts) {
+                    // Not writeUTF: it is limited to 64 KB
+                    byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(utf8.length);
+                    out.write(utf8);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return bytes.toByteArray();
+        }
+
+        private static Submission decode(byte[] payload) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            long sessionId = in.readLong();
+            long roundId = in.readLong();
+            int roundNumber = in.readInt();
+            long teamId = in.readLong();
+            long eventId = in.readLong();
+            long authorId = in.readLong();
+            long passedFromUserId = in.readLong();
+            LocalDateTime submittedAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+            int count = in.readInt();
+            List<String> texts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] utf8 = new byte[in.readInt()];
+                in.readFully(utf8);
+                texts.add(new String(utf8, StandardCharsets.UTF_8));
+            }
+            return new Submission(sessionId, roundId, roundNumber, teamId, eventId, authorId,
+                    passedFromUserId >= 0 ? passedFromUserId : null, texts, submittedAt);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.brainstorming.websocket;
+
+import com.brainstorming.dto.SessionDigestDto;
+import com.brainstorming.entity.Event;
+import com.brainstorming.entity.User;
+import com.brainstorming.repository.EventRepository;
+import com.brainstorming.repository.UserRepository;
+import com.brainstorming.service.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Event control room stream (/ws/events/{eventId}).
+ * Lets the event owner follow every session of an event over one socket. Frames are produced by
+ * ControlRoomDigestService at a fixed cadence: a full "control_room_snapshot" for newly connected
+ * sockets, then "control_room_diff" frames holding only sessions that changed since the previous tick.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventControlRoomWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Pattern EVENT_ID_PATTERN = Pattern.compile("/ws/events/(\\d+)");
+    private static final int SEND_TIME_LIMIT_MS = 5000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 512 * 1024;
+
+    private final JwtService jwtService;
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+
+    // eventId -> (socket id -> socket)
+    private final Map<Long, Map<String, WebSocketSession>> eventConnections = new ConcurrentHashMap<>();
+    // socket id -> eventId
+    private final Map<String, Long> socketEvents = new ConcurrentHashMap<>();
+    // Sockets that have not received a snapshot yet
+    private final Set<String> awaitingSnapshot = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        Long eventId = extractEventId(session.getUri());
+        if (eventId == null) {
+            session.close(CloseStatus.BAD_DATA.withReason("Invalid event ID"));
+            return;
+        }
+
+        String token = extractToken(session.getUri());
+        if (token == null || isTokenInvalid(token)) {
+            session.close(CloseStatus.NOT_ACCEPTABLE.withReason("Invalid or missing token"));
+            return;
+        }
+
+        User user = userRepository.findByEmail(jwtService.extractEmail(token)).orElse(null);
+        if (user == null) {
+            session.close(CloseStatus.NOT_ACCEPTABLE.withReason("User not found"));
+            return;
+        }
+
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null || event.getOwner() == null || !event.getOwner().getId().equals(user.getId())) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Only the event owner can watch this event"));
+            return;
+        }
+
+        // Frames are sent from the digest scheduler; the decorator keeps one slow client from stalling it
+        WebSocketSession concurrentSession =
+                new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_LIMIT_BYTES);
+        socketEvents.put(session.getId(), eventId);
+        awaitingSnapshot.add(session.getId());
+        eventConnections.computeIfAbsent(eventId, k -> new ConcurrentHashMap<>())
+                .put(session.getId(), concurrentSession);
+
+        log.info("User {} opened control room for event {}", user.getEmail(), eventId);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        // Read-only stream; only keep-alive pings are answered
+        if (message.getPayload().contains("\"ping\"")) {
+            WebSocketSession target = findSocket(session.getId());
+            if (target != null) {
+                send(target, new SessionWebSocketHandler.WebSocketMessage("pong", null));
+            }
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+        awaitingSnapshot.remove(session.getId());
+        Long eventId = socketEvents.remove(session.getId());
+        if (eventId != null) {
+            Map<String, WebSocketSession> sockets = eventConnections.get(eventId);
+            if (sockets != null) {
+                sockets.remove(session.getId());
+                if (sockets.isEmpty()) {
+                    eventConnections.remove(eventId);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+        log.error("Control room transport error for socket {}: {}", session.getId(), exception.getMessage());
+    }
+
+    /**
+     * Events that currently have at least one control room socket.
+     */
+    public Set<Long> getWatchedEventIds() {
+        return new HashSet<>(eventConnections.keySet());
+    }
+
+    /**
+     * Send the digest of one tick: full snapshot to new sockets, diff (if anything changed) to the others.
+     */
+    public void publish(Long eventId, List<SessionDigestDto> sessions,
+                        List<SessionDigestDto> changed, List<Long> removed) {
+        Map<String, WebSocketSession> sockets = eventConnections.get(eventId);
+        if (sockets == null || sockets.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        SessionWebSocketHandler.WebSocketMessage snapshot = null;
+        SessionWebSocketHandler.WebSocketMessage diff = null;
+
+        for (Map.Entry<String, WebSocketSession> entry : sockets.entrySet()) {
+            SessionWebSocketHandler.WebSocketMessage message;
+            if (awaitingSnapshot.remove(entry.getKey())) {
+                if (snapshot == null) {
+                    snapshot = new SessionWebSocketHandler.WebSocketMessage("control_room_snapshot", Map.of(
+                            "event_id", eventId,
+                            "server_time", now,
+                            "sessions", sessions));
+                }
+                message = snapshot;
+            } else if (!changed.isEmpty() || !removed.isEmpty()) {
+                if (diff == null) {
+                    diff = new SessionWebSocketHandler.WebSocketMessage("control_room_diff", Map.of(
+                            "event_id", eventId,
+                            "server_time", now,
+                            "changed", changed,
+                            "removed", removed));
+                }
+                message = diff;
+            } else {
+                continue;
+            }
+            send(entry.getValue(), message);
+        }
+    }
+
+    private void send(WebSocketSession session, SessionWebSocketHandler.WebSocketMessage message) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(message)));
+        } catch (Exception e) {
+            log.warn("Failed to send control room frame to socket {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private WebSocketSession findSocket(String socketId) {
+        Long eventId = socketEvents.get(socketId);
+        if (eventId == null) {
+            return null;
+        }
+        Map<String, WebSocketSession> sockets = eventConnections.get(eventId);
+        return sockets != null ? sockets.get(socketId) : null;
+    }
+
+    private Long extractEventId(URI uri) {
+        if (uri == null) return null;
+        Matcher matcher = EVENT_ID_PATTERN.matcher(uri.getPath());
+        if (matcher.find()) {
+            try {
+                return Long.parseLong(matcher.group(1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private String extractToken(URI uri) {
+        if (uri == null || uri.getQuery() == null) return null;
+        for (String param : uri.getQuery().split("&")) {
+            String[] pair = param.split("=");
+            if (pair.length == 2 && "token".equals(pair[0])) {
+                return pair[1];
+            }
+        }
+        return null;
+    }
+
+    private boolean isTokenInvalid(String token) {
+        try {
+            return jwtService.isTokenExpired(token);
+        } catch (Exception e) {
+            log.warn("Token validation failed: {}", e.getMessage());
+            return true;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.brainstorming.dto.*;
 import com.brainstorming.service.JwtService;
 import com.brainstorming.service.SessionService;
 import com.brainstorming.service.IdeaService;
+import com.brainstorming.service.SessionAuditTrail;
+import com.brainstorming.service.WriteBehindIdeaIngestor;
 import com.brainstorming.repository.UserRepository;
 import com.brainstorming.repository.TeamMemberRepository;
 import com.brainstorming.repository.IdeaRepository;
@@ -13,6 +15,8 @@ import com.brainstorming.entity.User;
 import com.brainstorming.entity.Session;
 import com.brainstorming.entity.Round;
 import com.brainstorming.entity.TeamMember;
+import com.brainstorming.event.SessionCompletedEvent;
+import com.brainstorming.exception.ServiceUnavailableException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -45,6 +49,8 @@ public class SessionWebSocketHandler extends TextWebSocketHandler {
     private final SessionRepository sessionRepository;
     private final ApplicationEventPublisher eventPublisher;
     private final ObjectMapper objectMapper;
+    private final WriteBehindIdeaIngestor writeBehindIngestor;
+    private final SessionAuditTrail auditTrail;
 
     // Map of sessionId to Map of WebSocket sessions
     private final Map<Long, Map<String, WebSocketSession>> sessionConnections = new ConcurrentHashMap<>();
@@ -88,9 +94,12 @@ public class SessionWebSocketHandler extends TextWebSocketHandler {
                 .put(session.getId(), session);
 
         log.info("User {} joined session {}", user.getEmail(), sessionId);
+        auditTrail.record(sessionId, user.getId(), SessionAuditTrail.USER_JOINED, Map.of());
 
         // Send current session state to the connected user
         try {
+            // Outside getSessionState's transaction, so the wait holds no pooled connection
+            writeBehindIngestor.awaitFlushed(sessionId);
             SessionStateDto state = sessionService.getSessionState(sessionId, user.getId());
             sendMessage(session, new WebSocketMessage("session_state", state));
         } catch (Exception e) {
@@ -183,18 +192,17 @@ public class SessionWebSocketHandler extends TextWebSocketHandler {
             List<TeamMember> teamMembers = teamMemberRepository.findByTeamId(sess.getTeam().getId());
             long totalMembers = teamMembers.size();
 
-            // Get number of members who have submitted for this round
-            long submittedCount = ideaRepository.findBySessionIdAndRoundId(sessionId, currentRound.getId())
-                    .stream()
-                    .map(idea -> idea.getAuthor().getId())
-                    .distinct()
-                    .count();
+            // Get number of members who have submitted for this round: in the database, then still being written
+            long submittedCount = ideaRepository.countAuthorsBySessionIdAndRoundId(sessionId, currentRound.getId())
+                    + writeBehindIngestor.pendingAuthorCount(currentRound.getId());
 
             log.info("Round {} - {}/{} members have submitted", roundNumber, submittedCount, totalMembers);
 
             // If all members have submitted, trigger round advance immediately
             if (submittedCount >= totalMembers && totalMembers > 0) {
                 log.info("All members submitted for round {}, auto-advancing to next round", roundNumber);
+                // The next round's start event carries this round's ideas
+                writeBehindIngestor.awaitFlushed(sessionId);
 
                 // Mark timer as finished
                 currentRound.setTimerState(Round.TimerState.FINISHED);
@@ -206,6 +214,9 @@ public class SessionWebSocketHandler extends TextWebSocketHandler {
                     // Session is complete
                     sess.setStatus(Session.Status.COMPLETED);
                     sessionRepository.save(sess);
+                    eventPublisher.publishEvent(new SessionCompletedEvent(sessionId, LocalDateTime.now()));
+                    auditTrail.record(sessionId, null, SessionAuditTrail.SESSION_COMPLETED,
+                            Map.of("round_number", roundNumber, "trigger", "all_submitted"));
 
                     broadcastToSession(sessionId, new WebSocketMessage("session_completed", Map.of(
                             "sessionId", sessionId,
@@ -214,6 +225,8 @@ public class SessionWebSocketHandler extends TextWebSocketHandler {
                 } else {
                     // Start next round
                     startNextRound(sess, currentRound.getRoundNumber() + 1);
+                    auditTrail.record(sessionId, null, SessionAuditTrail.ROUND_ADVANCED,
+                            Map.of("round_number", roundNumber + 1, "trigger", "all_submitted"));
                 }
 
                 // Signal all clients to refresh their state
@@ -260,10 +273,8 @@ public class SessionWebSocketHandler extends TextWebSocketHandler {
     private void broadcastRoundStartEvent(Long sessionId, Round round, int roundNumber) {
         // Get previous round's ideas
         int previousRoundNumber = roundNumber - 1;
-        List<com.brainstorming.entity.Idea> previousIdeas = previousRoundNumber > 0
-            ? roundRepository.findBySessionIdAndRoundNumber(sessionId, previousRoundNumber)
-                    .map(prevRound -> prevRound.getIdeas())
-                    .orElse(List.of())
+        List<IdeaDto> previousIdeas = previousRoundNumber > 0
+            ? ideaRepository.findDtosBySessionIdAndRoundNumber(sessionId, previousRoundNumber)
             : List.of();
 
         // Build the round object for the payload
@@ -283,14 +294,14 @@ public class SessionWebSocketHandler extends TextWebSocketHandler {
                     Map<String, Object> ideaMap = new java.util.HashMap<>();
                     ideaMap.put("id", idea.getId());
                     ideaMap.put("session_id", sessionId);
-                    ideaMap.put("round_id", idea.getRound().getId());
+                    ideaMap.put("round_id", idea.getRoundId());
                     ideaMap.put("round_number", previousRoundNumber);
-                    ideaMap.put("team_id", idea.getTeam().getId());
-                    ideaMap.put("author_id", idea.getAuthor().getId());
-                    ideaMap.put("author_name", idea.getAuthor().getFullName());
+                    ideaMap.put("team_id", idea.getTeamId());
+                    ideaMap.put("author_id", idea.getAuthorId());
+                    ideaMap.put("author_name", idea.getAuthorName());
                     ideaMap.put("text", idea.getText());
-                    ideaMap.put("passed_from_user_id", idea.getPassedFromUser() != null ? idea.getPassedFromUser().getId() : null);
-                    ideaMap.put("passed_from_user_name", idea.getPassedFromUser() != null ? idea.getPassedFromUser().getFullName() : null);
+                    ideaMap.put("passed_from_user_id", idea.getPassedFromUserId());
+                    ideaMap.put("passed_from_user_name", idea.getPassedFromUserName());
                     ideaMap.put("created_at", idea.getCreatedAt().toString());
                     ideaMap.put("updated_at", idea.getUpdatedAt().toString());
                     return ideaMap;
@@ -311,6 +322,7 @@ public class SessionWebSocketHandler extends TextWebSocketHandler {
         String action = (String) data.get("action");
 
         try {
+            writeBehindIngestor.awaitFlushed(sessionId);
             SessionStateDto state = sessionService.controlSession(sessionId, userId, action);
             
             // Broadcast updated state to all participants
@@ -336,6 +348,9 @@ public class SessionWebSocketHandler extends TextWebSocketHandler {
                 }
             }
 
+            auditTrail.record(sessionId, userInfo.getUserId(), SessionAuditTrail.USER_LEFT,
+                    Map.of("close_code", status.getCode()));
+
             // Notify other participants
             broadcastToSession(sessionId, new WebSocketMessage("user_left", Map.of(
                     "userId", userInfo.getUserId(),
@@ -354,6 +369,12 @@ public class SessionWebSocketHandler extends TextWebSocketHandler {
         if (sessions == null || sessions.isEmpty()) {
             return;
         }
+        try {
+            writeBehindIngestor.awaitFlushed(sessionId);
+        } catch (ServiceUnavailableException e) {
+            log.error("Failed to broadcast session state of session {}: {}", sessionId, e.getMessage());
+            return;
+        }
 
         for (Map.Entry<String, WebSocketSession> entry : sessions.entrySet()) {
             WebSocketSession wsSession = entry.getValue();
@@ -390,10 +411,35 @@ public class SessionWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
+    /**
+     * Send a message only to the sockets of the given users in a session.
+     */
+    public void sendToUsers(Long sessionId, Set<Long> userIds, WebSocketMessage message) {
+        Map<String, WebSocketSession> sessions = sessionConnections.get(sessionId);
+        if (sessions == null) {
+            return;
+        }
+
+        for (Map.Entry<String, WebSocketSession> entry : sessions.entrySet()) {
+            UserSessionInfo userInfo = sessionUserInfo.get(entry.getKey());
+            if (userInfo == null || !userIds.contains(userInfo.getUserId())) {
+                continue;
+            }
+            try {
+                sendMessage(entry.getValue(), message);
+            } catch (Exception e) {
+                log.error("Failed to send message to session {}", entry.getKey(), e);
+            }
+        }
+    }
+
     private void sendMessage(WebSocketSession session, WebSocketMessage message) throws IOException {
         if (session.isOpen()) {
             String json = objectMapper.writeValueAsString(message);
-            session.sendMessage(new TextMessage(json));
+            // Timer ticks, AI job threads and request threads may write to the same socket
+            synchronized (session) {
+                session.sendMessage(new TextMessage(json));
+            }
         }
     }
 
@@ -0,0 +1,46 @@
+-- Composite indexes for the hot lookups. The (session_id, type, id) index of ai_artifacts is already part of V1.
+
+-- Databases created before the migrations can hold rows the unique keys below reject: advanceRound could
+-- create a round number of a session twice, and a user could be added to a team twice. They are merged first.
+
+-- Every duplicate round is merged into the first round created for its (session_id, round_number); ideas and
+-- AI artifacts of the duplicates move to that round. updated_at is kept, the rows' content did not change.
+UPDATE `ideas` i
+  JOIN `rounds` r ON r.`id` = i.`round_id`
+  JOIN (SELECT `session_id`, `round_number`, MIN(`id`) AS `survivor_id`
+        FROM `rounds` GROUP BY `session_id`, `round_number`) s
+    ON s.`session_id` = r.`session_id` AND s.`round_number` = r.`round_number`
+SET i.`round_id` = s.`survivor_id`, i.`updated_at` = i.`updated_at`
+WHERE r.`id` <> s.`survivor_id`;
+
+UPDATE `ai_artifacts` a
+  JOIN `rounds` r ON r.`id` = a.`round_id`
+  JOIN (SELECT `session_id`, `round_number`, MIN(`id`) AS `survivor_id`
+        FROM `rounds` GROUP BY `session_id`, `round_number`) s
+    ON s.`session_id` = r.`session_id` AND s.`round_number` = r.`round_number`
+SET a.`round_id` = s.`survivor_id`, a.`updated_at` = a.`updated_at`
+WHERE r.`id` <> s.`survivor_id`;
+
+DELETE r
+FROM `rounds` r
+  JOIN (SELECT `session_id`, `round_number`, MIN(`id`) AS `survivor_id`
+        FROM `rounds` GROUP BY `session_id`, `round_number`) s
+    ON s.`session_id` = r.`session_id` AND s.`round_number` = r.`round_number`
+WHERE r.`id` <> s.`survivor_id`;
+
+-- A user listed in a team more than once keeps the first membership
+DELETE m
+FROM `team_members` m
+  JOIN `team_members` k ON k.`team_id` = m.`team_id` AND k.`user_id` = m.`user_id` AND k.`id` < m.`id`;
+
+-- Round of a session by number (findBySessionIdAndRoundNumber); a session has one round per number
+ALTER TABLE `rounds`
+  ADD UNIQUE KEY `uk_rounds_session_round_number` (`session_id`, `round_number`);
+
+-- Ideas of a round and who submitted in it (findDtosBySessionIdAndRoundId, countAuthorsBySessionIdAndRoundId)
+ALTER TABLE `ideas`
+  ADD KEY `idx_ideas_session_round_author` (`session_id`, `round_id`, `author_id`);
+
+-- Membership checks (existsByTeamIdAndUserId, findByTeamIdAndUserId); a user is in a team at most once
+ALTER TABLE `team_members`
+  ADD UNIQUE KEY `uk_team_members_team_user` (`team_id`, `user_id`);
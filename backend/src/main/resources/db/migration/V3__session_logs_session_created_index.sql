@@ -0,0 +1,4 @@
+-- Audit log pages of a session, newest first and optionally limited to a time range
+-- (findPageBySessionId: session_id = ? AND created_at range, ORDER BY created_at DESC, id DESC)
+ALTER TABLE `session_logs`
+  ADD KEY `idx_session_logs_session_created` (`session_id`, `created_at`, `id`);
@@ -0,0 +1,4 @@
+-- Completed events whose ideas, session logs and AI artifacts were moved to a compressed archive file
+-- (EventArchiveService); NULL while the event's data is in the hot tables
+ALTER TABLE `events`
+  ADD COLUMN `archived_at` timestamp NULL DEFAULT NULL;
@@ -0,0 +1,9 @@
+-- Events and teams being deleted: hidden from the API as soon as deleted_at is set, their rows are then
+-- removed in chunks by CascadeDeletionService; NULL for live rows
+ALTER TABLE `events`
+  ADD COLUMN `deleted_at` timestamp NULL DEFAULT NULL,
+  ADD KEY `idx_events_deleted_at` (`deleted_at`);
+
+ALTER TABLE `teams`
+  ADD COLUMN `deleted_at` timestamp NULL DEFAULT NULL,
+  ADD KEY `idx_teams_deleted_at` (`deleted_at`);
@@ -0,0 +1,102 @@
+package com.brainstorming;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Inserts a 6-3-5 session straight into the tables: an event, a team of a leader and five members,
+ * a topic and a running session with its rounds. Every call uses fresh e-mail addresses, so tests
+ * sharing the database do not see each other's rows.
+ */
+public class TestData {
+
+    public static final int IDEAS_PER_SUBMISSION = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TestData(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param rounds      rounds of the session, all started
+     * @param submitters  how many participants (in rotation order, leader first) submitted in every round
+     */
+    public SeededSession session(int rounds, int submitters) {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        long ownerId = insert("users", Map.of(
+                "full_name", "Manager " + tag, "email", "manager-" + tag + "@test.local",
+                "password_hash", "-", "role", "EVENT_MANAGER"));
+        long leaderId = insert("users", Map.of(
+                "full_name", "Leader " + tag, "email", "leader-" + tag + "@test.local",
+                "password_hash", "-", "role", "TEAM_LEADER"));
+        long eventId = insert("events", Map.of("name", "Event " + tag, "owner_id", ownerId));
+        long teamId = insert("teams", Map.of("event_id", eventId, "name", "Team " + tag, "leader_id", leaderId));
+
+        List<Long> participants = new ArrayList<>();
+        participants.add(leaderId);
+        for (int i = 1; i <= 5; i++) {
+            long userId = insert("users", Map.of(
+                    "full_name", "Member " + i + " " + tag, "email", "member" + i + "-" + tag + "@test.local",
+                    "password_hash", "-", "role", "TEAM_MEMBER"));
+            insert("team_members", Map.of("team_id", teamId, "user_id", userId));
+            participants.add(userId);
+        }
+
+        long topicId = insert("topics", Map.of("event_id", eventId, "title", "Topic " + tag));
+        long sessionId = insert("sessions", Map.of(
+                "team_id", teamId, "topic_id", topicId, "status", "RUNNING",
+                "current_round", rounds, "round_count", 5));
+
+        List<Long> roundIds = new ArrayList<>();
+        for (int roundNumber = 1; roundNumber <= rounds; roundNumber++) {
+            long roundId = insert("rounds", Map.of(
+                    "session_id", sessionId, "round_number", roundNumber,
+                    "timer_state", roundNumber < rounds ? "FINISHED" : "RUNNING"));
+            roundIds.add(roundId);
+            for (int p = 0; p < submitters; p++) {
+                long authorId = participants.get(p);
+                Long passedFrom = roundNumber > 1
+                        ? participants.get((p + participants.size() - 1) % participants.size())
+                        : null;
+                for (int i = 1; i <= IDEAS_PER_SUBMISSION; i++) {
+                    jdbcTemplate.update(
+                            "INSERT INTO ideas (session_id, round_id, team_id, author_id, text, passed_from_user_id) "
+                                    + "VALUES (?, ?, ?, ?, ?, ?)",
+                            sessionId, roundId, teamId, authorId,
+                            "Idea " + i + " of " + authorId + " in round " + roundNumber, passedFrom);
+                }
+            }
+        }
+
+        return new SeededSession(eventId, teamId, sessionId, "leader-" + tag + "@test.local",
+                participants, roundIds);
+    }
+
+    private long insert(String table, Map<String, Object> values) {
+        return new SimpleJdbcInsert(jdbcTemplate)
+                .withTableName(table)
+                .usingColumns(values.keySet().toArray(String[]::new))
+                .usingGeneratedKeyColumns("id")
+                .executeAndReturnKey(values)
+                .longValue();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SeededSession {
+        private final long eventId;
+        private final long teamId;
+        private final long sessionId;
+        private final String leaderEmail;
+        private final List<Long> participantIds;
+        private final List<Long> roundIds;
+    }
+}
@@ -0,0 +1,158 @@
+package com.brainstorming.controller;
+
+import com.brainstorming.MySqlIntegrationTest;
+import com.brainstorming.TestData;
+import com.brainstorming.TestData.SeededSession;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements run by the idea-listing endpoints, as counted by QueryBudgetFilter. Each endpoint is called for a
+ * session where only the leader submitted (15 ideas) and one where all six participants did (90 ideas); a lazy
+ * association read per idea shows up as a higher count for the second.
+ */
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IdeaListingQueryCountTest extends MySqlIntegrationTest {
+
+    // The current user, the session with its team and event, the round, the members and the idea query,
+    // with room for a few more lookups - but far below one per idea
+    private static final int MAX_STATEMENTS = 15;
+
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SeededSession sparse;
+    private SeededSession full;
+
+    @BeforeAll
+    void seed() {
+        TestData testData = new TestData(jdbcTemplate);
+        sparse = testData.session(ROUNDS, 1);
+        full = testData.session(ROUNDS, 6);
+    }
+
+    @Test
+    void ideaById() throws Exception {
+        assertStatementsIndependentOfIdeas("/api/ideas/{id}",
+                session -> get("/api/ideas/{id}", firstIdeaId(session)));
+    }
+
+    @Test
+    void ideasPage() throws Exception {
+        // The list is not per session: page from just before the session's first idea over as many ideas as it
+        // has, so the page holds 15 ideas for the sparse session and 90 for the full one
+        assertStatementsIndependentOfIdeas("/api/ideas", this::sessionIdeasPage);
+
+        for (SeededSession session : List.of(sparse, full)) {
+            mockMvc.perform(sessionIdeasPage(session).with(user(session.getLeaderEmail()).roles("TEAM_LEADER")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items.length()").value(ideaCount(session)))
+                    .andExpect(jsonPath("$.items[*].session_id", everyItem(is((int) session.getSessionId()))));
+        }
+    }
+
+    @Test
+    void sessionState() throws Exception {
+        assertStatementsIndependentOfIdeas("/api/sessions/{id}/state",
+                session -> get("/api/sessions/{id}/state", session.getSessionId()));
+    }
+
+    @Test
+    void roundDetail() throws Exception {
+        assertStatementsIndependentOfIdeas("/api/sessions/{id}/rounds/{roundNumber}",
+                session -> get("/api/sessions/{id}/rounds/{roundNumber}", session.getSessionId(), ROUNDS));
+    }
+
+    @Test
+    void roundIdeasForUser() throws Exception {
+        assertStatementsIndependentOfIdeas("/api/sessions/{sessionId}/rounds/{roundNumber}/ideas",
+                session -> get("/api/sessions/{sessionId}/rounds/{roundNumber}/ideas", session.getSessionId(), ROUNDS));
+    }
+
+    @Test
+    void previousRoundIdeas() throws Exception {
+        assertStatementsIndependentOfIdeas("/api/sessions/{sessionId}/rounds/{roundNumber}/previous-ideas",
+                session -> get("/api/sessions/{sessionId}/rounds/{roundNumber}/previous-ideas",
+                        session.getSessionId(), ROUNDS));
+    }
+
+    @Test
+    void sessionIdeasGrouped() throws Exception {
+        assertStatementsIndependentOfIdeas("/api/sessions/{id}/ideas",
+                session -> get("/api/sessions/{id}/ideas", session.getSessionId()));
+    }
+
+    private void assertStatementsIndependentOfIdeas(
+            String endpoint, Function<SeededSession, MockHttpServletRequestBuilder> request) throws Exception {
+        // Once each first, so both measured requests see the same warm second-level cache
+        statements(endpoint, sparse, request);
+        statements(endpoint, full, request);
+
+        long forSparse = statements(endpoint, sparse, request);
+        long forFull = statements(endpoint, full, request);
+
+        assertThat(forSparse).as("statements for 15 ideas").isLessThanOrEqualTo(MAX_STATEMENTS);
+        assertThat(forFull).as("statements for 90 ideas").isLessThanOrEqualTo(forSparse);
+    }
+
+    private long statements(String endpoint, SeededSession session,
+                            Function<SeededSession, MockHttpServletRequestBuilder> request) throws Exception {
+        double before = recorded(endpoint);
+        mockMvc.perform(request.apply(session).with(user(session.getLeaderEmail()).roles("TEAM_LEADER")))
+                .andExpect(status().isOk());
+        return Math.round(recorded(endpoint) - before);
+    }
+
+    private double recorded(String endpoint) {
+        DistributionSummary summary = meterRegistry.find("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", endpoint)
+                .summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+
+    private MockHttpServletRequestBuilder sessionIdeasPage(SeededSession session) {
+        String cursor = Base64.getUrlEncoder().encodeToString(
+                ("ideas:" + (firstIdeaId(session) - 1)).getBytes(StandardCharsets.UTF_8));
+        return get("/api/ideas").param("cursor", cursor).param("size", String.valueOf(ideaCount(session)));
+    }
+
+    private int ideaCount(SeededSession session) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ideas WHERE session_id = ?", Integer.class, session.getSessionId());
+    }
+
+    private long firstIdeaId(SeededSession session) {
+        return jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM ideas WHERE session_id = ?", Long.class, session.getSessionId());
+    }
+}
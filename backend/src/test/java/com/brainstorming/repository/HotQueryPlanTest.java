@@ -0,0 +1,158 @@
+package com.brainstorming.repository;
+
+import com.brainstorming.MySqlIntegrationTest;
+import com.brainstorming.TestData;
+import com.brainstorming.TestData.SeededSession;
+import com.brainstorming.config.QueryCountInspector;
+import com.brainstorming.entity.AiArtifact;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAIN of the hot lookups the V1 / V2 indexes are for, so a dropped or shadowed index fails the build instead
+ * of showing up as a slow query. Each repository method is called and the SQL Hibernate prepared for it is
+ * captured through QueryCountInspector and explained; no table of the plan may be read with a full scan.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HotQueryPlanTest extends MySqlIntegrationTest {
+
+    private static final int SESSIONS = 20;
+    private static final int ARTIFACTS_PER_TYPE = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RoundRepository roundRepository;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private AiArtifactRepository aiArtifactRepository;
+
+    private SeededSession session;
+
+    @BeforeAll
+    void seed() {
+        // Enough sessions that a plan without the index would read noticeably more rows
+        TestData testData = new TestData(jdbcTemplate);
+        for (int i = 0; i < SESSIONS; i++) {
+            session = testData.session(5, 6);
+            for (AiArtifact.Type type : AiArtifact.Type.values()) {
+                for (int a = 0; a < ARTIFACTS_PER_TYPE; a++) {
+                    jdbcTemplate.update("INSERT INTO ai_artifacts (session_id, type, content) VALUES (?, ?, '{}')",
+                            session.getSessionId(), type.name());
+                }
+            }
+        }
+        jdbcTemplate.execute("ANALYZE TABLE rounds, ideas, team_members, ai_artifacts");
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        // A cached entity or query result would be answered without SQL
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void roundBySessionAndNumberUsesUniqueKey() {
+        List<Map<String, Object>> plan = explain(QueryCountInspector.capture(() ->
+                        roundRepository.findBySessionIdAndRoundNumber(session.getSessionId(), 3)),
+                session.getSessionId(), 3);
+
+        assertThat(plan).anySatisfy(row -> {
+            assertThat(row.get("key")).isEqualTo("uk_rounds_session_round_number");
+            assertThat(row.get("type")).isEqualTo("const");
+        });
+    }
+
+    @Test
+    void authorsOfRoundReadOnlyTheIndex() {
+        List<Map<String, Object>> plan = explain(QueryCountInspector.capture(() ->
+                        ideaRepository.countAuthorsBySessionIdAndRoundId(
+                                session.getSessionId(), session.getRoundIds().get(2))),
+                session.getSessionId(), session.getRoundIds().get(2));
+
+        assertThat(plan).anySatisfy(row -> {
+            assertThat(row.get("key")).isEqualTo("idx_ideas_session_round_author");
+            assertThat(String.valueOf(row.get("Extra"))).contains("Using index");
+        });
+    }
+
+    @Test
+    void ideasOfRoundAreNotScanned() {
+        // The round_id key is as selective as the composite one, so either may be chosen
+        List<Map<String, Object>> plan = explain(QueryCountInspector.capture(() ->
+                        ideaRepository.findDtosBySessionIdAndRoundId(
+                                session.getSessionId(), session.getRoundIds().get(2))),
+                session.getSessionId(), session.getRoundIds().get(2));
+
+        assertThat(plan).anySatisfy(row -> {
+            assertThat(row.get("type")).isEqualTo("ref");
+            assertThat(((Number) row.get("rows")).longValue())
+                    .isLessThanOrEqualTo(6L * TestData.IDEAS_PER_SUBMISSION);
+        });
+    }
+
+    @Test
+    void membershipCheckUsesUniqueKey() {
+        List<Map<String, Object>> plan = explain(QueryCountInspector.capture(() ->
+                        teamMemberRepository.existsByTeamIdAndUserId(
+                                session.getTeamId(), session.getParticipantIds().get(1))),
+                session.getTeamId(), session.getParticipantIds().get(1));
+
+        assertThat(plan).anySatisfy(row -> {
+            assertThat(row.get("key")).isEqualTo("uk_team_members_team_user");
+            assertThat(row.get("type")).isEqualTo("const");
+        });
+    }
+
+    @Test
+    void latestArtifactUsesSessionTypeIdKey() {
+        List<Map<String, Object>> plan = explain(QueryCountInspector.capture(() ->
+                        aiArtifactRepository.findFirstBySessionIdAndTypeOrderByIdDesc(
+                                session.getSessionId(), AiArtifact.Type.SUMMARY)),
+                session.getSessionId(), AiArtifact.Type.SUMMARY.name());
+
+        assertThat(plan).anySatisfy(row -> {
+            assertThat(row.get("key")).isEqualTo("idx_ai_artifacts_session_type_id");
+            assertThat(String.valueOf(row.get("Extra"))).doesNotContain("Using filesort");
+        });
+    }
+
+    /**
+     * EXPLAIN of the first captured statement, the repository query itself; later ones are lazy loads by id.
+     * Placeholders beyond args are the LIMIT of exists / findFirst queries and are bound to 1.
+     */
+    private List<Map<String, Object>> explain(List<String> statements, Object... args) {
+        assertThat(statements).isNotEmpty();
+        String sql = statements.get(0);
+        int placeholders = (int) sql.chars().filter(c -> c == '?').count();
+        assertThat(placeholders).isGreaterThanOrEqualTo(args.length);
+        Object[] bound = Arrays.copyOf(args, placeholders);
+        Arrays.fill(bound, args.length, placeholders, 1);
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, bound);
+        assertThat(plan).as("plan of %s", sql).noneSatisfy(row -> assertThat(row.get("type")).isEqualTo("ALL"));
+        return plan;
+    }
+}
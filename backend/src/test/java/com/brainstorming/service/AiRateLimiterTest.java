@@ -0,0 +1,37 @@
+package com.brainstorming.service;
+
+import com.brainstorming.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AiRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void eventBucketLimitsOneEventOnly() {
+        AiRateLimiter limiter = new AiRateLimiter(meterRegistry, 100, 2);
+
+        limiter.acquire(1L);
+        limiter.acquire(1L);
+        assertThatThrownBy(() -> limiter.acquire(1L)).isInstanceOf(TooManyRequestsException.class);
+        limiter.acquire(2L);
+
+        assertThat(meterRegistry.counter("ai.rate_limit.rejections", "scope", "event").count()).isEqualTo(1);
+    }
+
+    @Test
+    void globalBucketRefundsTheEventToken() {
+        AiRateLimiter limiter = new AiRateLimiter(meterRegistry, 2, 2);
+
+        limiter.acquire(1L);
+        limiter.acquire(2L);
+        assertThatThrownBy(() -> limiter.acquire(1L)).isInstanceOf(TooManyRequestsException.class);
+
+        assertThat(meterRegistry.counter("ai.rate_limit.rejections", "scope", "global").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("ai.rate_limit.rejections", "scope", "event").count()).isZero();
+    }
+}
@@ -0,0 +1,173 @@
+package com.brainstorming.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.brainstorming.service.GeminiStubServer.status;
+import static com.brainstorming.service.GeminiStubServer.text;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GeminiResilience against a fault-injecting stub of the Gemini API: 429 / 5xx / slow answers drive the
+ * circuit breaker, the retries and the adaptive concurrency limit through the real HTTP client.
+ */
+class GeminiResilienceTest {
+
+    private static final long OPEN_MILLIS = 300;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExecutorService executor;
+    private GeminiStubServer stub;
+
+    @BeforeEach
+    void start() throws Exception {
+        executor = Executors.newCachedThreadPool();
+        stub = new GeminiStubServer();
+    }
+
+    @AfterEach
+    void stop() {
+        stub.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void circuitOpensThenHalfOpensThenCloses() throws Exception {
+        GeminiResilience resilience = resilience(8, 4, 4, 2, 1);
+        GeminiService gemini = gemini(resilience);
+        for (int i = 0; i < 4; i++) {
+            stub.then(status(503));
+        }
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> generate(gemini).join())
+                    .hasCauseInstanceOf(GeminiService.GeminiApiException.class);
+        }
+        assertThat(resilience.getCircuitState()).isEqualTo(GeminiResilience.CircuitState.OPEN);
+        assertThat(resilience.isCallPermitted()).isFalse();
+
+        // Open: fails fast without reaching the server
+        int sent = stub.received().size();
+        assertThatThrownBy(() -> generate(gemini).join())
+                .hasCauseInstanceOf(GeminiResilience.CallRejectedException.class);
+        assertThat(stub.received()).hasSize(sent);
+
+        Thread.sleep(OPEN_MILLIS + 100);
+        assertThat(resilience.getCircuitState()).isEqualTo(GeminiResilience.CircuitState.HALF_OPEN);
+
+        // Two successful trial calls close it again
+        assertThat(generate(gemini).join()).isEqualTo("ok");
+        assertThat(generate(gemini).join()).isEqualTo("ok");
+        assertThat(resilience.getCircuitState()).isEqualTo(GeminiResilience.CircuitState.CLOSED);
+
+        assertThat(transitions("CLOSED", "OPEN")).isEqualTo(1);
+        assertThat(transitions("OPEN", "HALF_OPEN")).isEqualTo(1);
+        assertThat(transitions("HALF_OPEN", "CLOSED")).isEqualTo(1);
+        assertThat(meterRegistry.counter("gemini.calls.rejected",
+                "operation", GeminiResilience.OPERATION_GENERATE, "reason", "circuit_open").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gemini.circuit.state").gauge().value()).isZero();
+    }
+
+    @Test
+    void failedTrialCallOpensTheCircuitAgain() throws Exception {
+        GeminiResilience resilience = resilience(8, 2, 2, 2, 1);
+        GeminiService gemini = gemini(resilience);
+        stub.then(status(500)).then(status(500)).then(status(429));
+
+        assertThatThrownBy(() -> generate(gemini).join()).hasCauseInstanceOf(GeminiService.GeminiApiException.class);
+        assertThatThrownBy(() -> generate(gemini).join()).hasCauseInstanceOf(GeminiService.GeminiApiException.class);
+        Thread.sleep(OPEN_MILLIS + 100);
+        assertThat(resilience.getCircuitState()).isEqualTo(GeminiResilience.CircuitState.HALF_OPEN);
+
+        assertThatThrownBy(() -> generate(gemini).join()).hasCauseInstanceOf(GeminiService.GeminiApiException.class);
+        assertThat(resilience.getCircuitState()).isEqualTo(GeminiResilience.CircuitState.OPEN);
+        assertThat(transitions("HALF_OPEN", "OPEN")).isEqualTo(1);
+    }
+
+    @Test
+    void retriesOnlyIdempotentCalls() {
+        GeminiService gemini = gemini(resilience(8, 20, 10, 3, 3));
+
+        // generateContent: 429 and 503 are retried
+        stub.then(status(429)).then(status(503)).then(text("third time"));
+        assertThat(generate(gemini).join()).isEqualTo("third time");
+        assertThat(stub.received()).hasSize(3);
+        assertThat(meterRegistry.counter("gemini.call.retries").count()).isEqualTo(2);
+
+        // Client errors are not
+        stub.then(status(400));
+        assertThatThrownBy(() -> generate(gemini).join())
+                .cause()
+                .isInstanceOfSatisfying(GeminiService.GeminiApiException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(400));
+        assertThat(stub.received()).hasSize(4);
+
+        // Streams are not idempotent: their fragments may already have been relayed
+        stub.then(status(503));
+        assertThatThrownBy(() -> gemini.streamSummaryAsync("Topic", null, List.of("idea"), null, null, null,
+                chunk -> { }).join())
+                .cause()
+                .isInstanceOfSatisfying(GeminiService.GeminiApiException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(503));
+        assertThat(stub.received()).hasSize(5);
+        assertThat(meterRegistry.counter("gemini.call.retries").count()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrencyLimitShrinksUnderLatency() {
+        GeminiResilience resilience = resilience(8, 20, 10, 3, 1);
+        GeminiService gemini = gemini(resilience);
+
+        // Fast answers set the long-term latency; the limit cannot grow while it is far from used
+        for (int i = 0; i < 5; i++) {
+            generate(gemini).join();
+        }
+        assertThat(resilience.getConcurrencyLimit()).isEqualTo(8);
+
+        for (int i = 0; i < 3; i++) {
+            stub.then(text("slow").delayed(300));
+        }
+        for (int i = 0; i < 3; i++) {
+            generate(gemini).join();
+        }
+        int afterSlow = resilience.getConcurrencyLimit();
+        assertThat(afterSlow).isLessThan(8);
+        assertThat(meterRegistry.counter("gemini.concurrency.limit.changes", "direction", "down").count())
+                .isGreaterThanOrEqualTo(1);
+
+        // Overload answers cut it further
+        stub.then(status(429));
+        assertThatThrownBy(() -> generate(gemini).join()).hasCauseInstanceOf(GeminiService.GeminiApiException.class);
+        assertThat(resilience.getConcurrencyLimit()).isLessThan(afterSlow);
+        assertThat(meterRegistry.get("gemini.concurrency.limit").gauge().value())
+                .isEqualTo(resilience.getConcurrencyLimit());
+    }
+
+    private CompletableFuture<String> generate(GeminiService gemini) {
+        return gemini.generateSummaryAsync("Topic", null, List.of("idea"), null, null, null);
+    }
+
+    private double transitions(String from, String to) {
+        return meterRegistry.counter("gemini.circuit.transitions", "from", from, "to", to).count();
+    }
+
+    private GeminiResilience resilience(int initialLimit, int windowSize, int minCalls, int halfOpenCalls,
+                                        int maxAttempts) {
+        return new GeminiResilience(executor, meterRegistry, initialLimit, 1, 32, 50,
+                windowSize, minCalls, 50, OPEN_MILLIS, halfOpenCalls, maxAttempts, 1, 5);
+    }
+
+    private GeminiService gemini(GeminiResilience resilience) {
+        return new GeminiService(new ObjectMapper(), resilience, executor, "test-key", stub.apiUrl(),
+                "stub-model", 1000, 5000);
+    }
+}
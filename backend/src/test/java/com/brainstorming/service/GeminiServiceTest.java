@@ -0,0 +1,129 @@
+package com.brainstorming.service;
+
+import com.brainstorming.dto.AiJobDto;
+import com.brainstorming.websocket.SessionWebSocketHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.http.HttpTimeoutException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.brainstorming.service.GeminiStubServer.events;
+import static com.brainstorming.service.GeminiStubServer.text;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The asynchronous Gemini client against a local stub of the API: request format and key header,
+ * the request timeout, SSE stream parsing, and an AI job that is accepted while the call runs and
+ * completes when the answer arrives.
+ */
+class GeminiServiceTest {
+
+    private static final long REQUEST_TIMEOUT_MILLIS = 500;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExecutorService executor;
+    private GeminiStubServer stub;
+    private GeminiService gemini;
+
+    @BeforeEach
+    void start() throws Exception {
+        executor = Executors.newCachedThreadPool();
+        stub = new GeminiStubServer();
+        // No retries, so every call is one request to the stub
+        GeminiResilience resilience = new GeminiResilience(executor, meterRegistry, 8, 1, 32, 50,
+                20, 10, 50, 30000, 3, 1, 1, 5);
+        gemini = new GeminiService(new ObjectMapper(), resilience, executor, "test-key", stub.apiUrl(),
+                "stub-model", 1000, REQUEST_TIMEOUT_MILLIS);
+    }
+
+    @AfterEach
+    void stop() {
+        stub.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void generateSendsKeyHeaderAndReturnsText() {
+        stub.then(text("{\"summaryText\":\"All about trees\"}"));
+
+        String result = gemini.generateSummaryAsync("Forests", "Urban forests", List.of("Plant oaks", "Map shade"),
+                "formal", "short", "en").join();
+
+        assertThat(result).isEqualTo("{\"summaryText\":\"All about trees\"}");
+        GeminiStubServer.Received request = stub.received().get(0);
+        assertThat(request.getUri()).isEqualTo("/v1beta/models/stub-model:generateContent");
+        assertThat(request.getApiKey()).isEqualTo("test-key");
+        // The key is sent as a header only, never in the URL
+        assertThat(request.getUri()).doesNotContain("key=");
+        assertThat(request.getBody()).contains("\"contents\"").contains("Plant oaks").contains("Urban forests");
+    }
+
+    @Test
+    void slowAnswerFailsWithTimeout() {
+        stub.then(text("too late").delayed(REQUEST_TIMEOUT_MILLIS * 4));
+
+        assertThatThrownBy(() -> gemini.generateSummaryAsync("Topic", null, List.of("idea"), null, null, null).join())
+                .cause()
+                .isInstanceOfSatisfying(GeminiService.GeminiApiException.class, e -> {
+                    assertThat(e.getStatusCode()).isZero();
+                    assertThat(e.getCause()).isInstanceOf(HttpTimeoutException.class);
+                });
+    }
+
+    @Test
+    void streamPassesFragmentsInOrderAndAssemblesText() {
+        stub.then(events("{\"summaryText\":", "\"Shade \\n and", " water\"}"));
+        List<String> fragments = new CopyOnWriteArrayList<>();
+
+        String result = gemini.streamSummaryAsync("Topic", null, List.of("idea"), null, null, null, fragments::add)
+                .join();
+
+        assertThat(fragments).containsExactly("{\"summaryText\":", "\"Shade \\n and", " water\"}");
+        assertThat(result).isEqualTo("{\"summaryText\":\"Shade \\n and water\"}");
+        GeminiStubServer.Received request = stub.received().get(0);
+        assertThat(request.getUri()).isEqualTo("/v1beta/models/stub-model:streamGenerateContent?alt=sse");
+        assertThat(request.getAccept()).isEqualTo("text/event-stream");
+        assertThat(request.getApiKey()).isEqualTo("test-key");
+    }
+
+    @Test
+    void acceptedJobCompletesWhenTheAnswerArrives() {
+        SessionWebSocketHandler sockets = mock(SessionWebSocketHandler.class);
+        AiJobService jobs = new AiJobService(sockets, 30);
+        stub.then(events("first ", "second").delayed(300));
+        AtomicInteger sequence = new AtomicInteger();
+
+        AiJobDto accepted = jobs.submit(AiJobDto.Type.SUMMARY, 7L, 3L, null, jobId ->
+                gemini.streamSummaryAsync("Topic", null, List.of("idea"), null, null, null,
+                        chunk -> jobs.publishProgress(jobId, sequence.getAndIncrement(), chunk)));
+
+        // Still running when submit returns: the controller answers 202
+        assertThat(accepted.getStatus()).isNotEqualTo(AiJobDto.Status.SUCCEEDED);
+
+        ArgumentCaptor<SessionWebSocketHandler.WebSocketMessage> completed =
+                ArgumentCaptor.forClass(SessionWebSocketHandler.WebSocketMessage.class);
+        verify(sockets, timeout(5000)).broadcastToSession(eq(7L), completed.capture(), isNull());
+        assertThat(completed.getValue().getType()).isEqualTo("ai_job_completed");
+        verify(sockets, timeout(5000).times(2)).sendToUsers(eq(7L), any(), any());
+
+        AiJobDto finished = jobs.getJob(accepted.getJobId(), 3L, false);
+        assertThat(finished.getStatus()).isEqualTo(AiJobDto.Status.SUCCEEDED);
+        assertThat(finished.getResult()).isEqualTo("first second");
+    }
+}
@@ -0,0 +1,137 @@
+package com.brainstorming.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the Gemini API on a JDK HttpServer, for gemini.api-url. Answers are scripted in order
+ * (status, body, delay); once the script is used up every call succeeds with a plain text answer.
+ * Received requests are recorded.
+ */
+class GeminiStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Queue<Answer> script = new ConcurrentLinkedQueue<>();
+    private final List<Received> received = new CopyOnWriteArrayList<>();
+
+    GeminiStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        // Slow answers must not hold up the others
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Base URL to use as gemini.api-url.
+     */
+    String apiUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/v1beta/models";
+    }
+
+    GeminiStubServer then(Answer answer) {
+        script.add(answer);
+        return this;
+    }
+
+    List<Received> received() {
+        return received;
+    }
+
+    static Answer text(String text) {
+        return new Answer(200, "application/json", generateResponse(text), 0);
+    }
+
+    static Answer status(int status) {
+        return new Answer(status, "application/json", "{\"error\":{\"code\":" + status + "}}", 0);
+    }
+
+    /**
+     * Server-sent events in the format of streamGenerateContent?alt=sse, one event per fragment.
+     */
+    static Answer events(String... fragments) {
+        StringBuilder body = new StringBuilder();
+        for (String fragment : fragments) {
+            body.append("data: ").append(generateResponse(fragment)).append("\r\n\r\n");
+        }
+        return new Answer(200, "text/event-stream", body.toString(), 0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            received.add(new Received(
+                    exchange.getRequestURI().toString(),
+                    exchange.getRequestHeaders().getFirst("x-goog-api-key"),
+                    exchange.getRequestHeaders().getFirst("Accept"),
+                    new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+
+            Answer answer = script.poll();
+            if (answer == null) {
+                answer = text("ok");
+            }
+            if (answer.getDelayMillis() > 0) {
+                try {
+                    Thread.sleep(answer.getDelayMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            byte[] body = answer.getBody().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", answer.getContentType());
+            exchange.sendResponseHeaders(answer.getStatus(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static String generateResponse(String text) {
+        String escaped = text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        return "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + escaped + "\"}]}}]}";
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Answer {
+        private final int status;
+        private final String contentType;
+        private final String body;
+        private final long delayMillis;
+
+        Answer delayed(long millis) {
+            return new Answer(status, contentType, body, millis);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Received {
+        private final String uri;
+        private final String apiKey;
+        private final String accept;
+        private final String body;
+    }
+}
@@ -0,0 +1,156 @@
+package com.brainstorming.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdeaIngestLogTest {
+
+    // [int length][long sequence][int crc32]
+    private static final int HEADER_BYTES = 16;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsSurviveARestartInOrder() throws IOException {
+        IdeaIngestLog log = new IdeaIngestLog(dir, 4096, IdeaIngestLog.FsyncPolicy.ALWAYS);
+        assertThat(log.open()).isEmpty();
+        assertThat(log.append(bytes("first"))).isEqualTo(1);
+        assertThat(log.append(bytes("second"))).isEqualTo(2);
+        assertThat(log.append(bytes("third"))).isEqualTo(3);
+        log.close();
+
+        IdeaIngestLog reopened = new IdeaIngestLog(dir, 4096, IdeaIngestLog.FsyncPolicy.ALWAYS);
+        List<IdeaIngestLog.Record> records = reopened.open();
+
+        assertThat(records).extracting(IdeaIngestLog.Record::getSequence).containsExactly(1L, 2L, 3L);
+        assertThat(records).extracting(record -> text(record.getPayload()))
+                .containsExactly("first", "second", "third");
+        assertThat(reopened.append(bytes("fourth"))).isEqualTo(4);
+    }
+
+    @Test
+    void recordsSpanningSegmentsAreReadBackInOrder() throws IOException {
+        // Room for two records of this size per segment
+        int segmentBytes = 2 * (HEADER_BYTES + 8);
+        IdeaIngestLog log = new IdeaIngestLog(dir, segmentBytes, IdeaIngestLog.FsyncPolicy.INTERVAL);
+        log.open();
+        for (int i = 1; i <= 5; i++) {
+            log.append(bytes("record-" + i));
+        }
+        log.close();
+        assertThat(segments()).hasSize(3);
+
+        List<IdeaIngestLog.Record> records = new IdeaIngestLog(dir, segmentBytes, IdeaIngestLog.FsyncPolicy.ALWAYS)
+                .open();
+
+        assertThat(records).extracting(record -> text(record.getPayload()))
+                .containsExactly("record-1", "record-2", "record-3", "record-4", "record-5");
+    }
+
+    @Test
+    void tornRecordEndsTheReadablePart() throws IOException {
+        IdeaIngestLog log = new IdeaIngestLog(dir, 4096, IdeaIngestLog.FsyncPolicy.ALWAYS);
+        log.open();
+        log.append(bytes("aaaa"));
+        log.append(bytes("bbbb"));
+        log.append(bytes("cccc"));
+        log.close();
+
+        // A crash in the middle of the third write: its payload does not match the checksum
+        corrupt(segments().get(0), 2 * (HEADER_BYTES + 4) + HEADER_BYTES + 1);
+
+        List<IdeaIngestLog.Record> records = new IdeaIngestLog(dir, 4096, IdeaIngestLog.FsyncPolicy.ALWAYS).open();
+
+        assertThat(records).extracting(record -> text(record.getPayload())).containsExactly("aaaa", "bbbb");
+    }
+
+    @Test
+    void recordWithImpossibleLengthEndsTheReadablePart() throws IOException {
+        IdeaIngestLog log = new IdeaIngestLog(dir, 4096, IdeaIngestLog.FsyncPolicy.ALWAYS);
+        log.open();
+        log.append(bytes("aaaa"));
+        log.append(bytes("bbbb"));
+        log.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            file.seek(HEADER_BYTES + 4);
+            file.writeInt(Integer.MAX_VALUE);
+        }
+
+        List<IdeaIngestLog.Record> records = new IdeaIngestLog(dir, 4096, IdeaIngestLog.FsyncPolicy.ALWAYS).open();
+
+        assertThat(records).extracting(record -> text(record.getPayload())).containsExactly("aaaa");
+    }
+
+    @Test
+    void appendsAfterATornTailGoToANewSegment() throws IOException {
+        IdeaIngestLog log = new IdeaIngestLog(dir, 4096, IdeaIngestLog.FsyncPolicy.ALWAYS);
+        log.open();
+        log.append(bytes("aaaa"));
+        log.append(bytes("bbbb"));
+        log.close();
+        corrupt(segments().get(0), HEADER_BYTES + 4 + HEADER_BYTES);
+
+        IdeaIngestLog reopened = new IdeaIngestLog(dir, 4096, IdeaIngestLog.FsyncPolicy.ALWAYS);
+        assertThat(reopened.open()).hasSize(1);
+        assertThat(reopened.append(bytes("cccc"))).isEqualTo(2);
+        reopened.close();
+
+        List<IdeaIngestLog.Record> records = new IdeaIngestLog(dir, 4096, IdeaIngestLog.FsyncPolicy.ALWAYS).open();
+
+        assertThat(records).extracting(IdeaIngestLog.Record::getSequence).containsExactly(1L, 2L);
+        assertThat(records).extracting(record -> text(record.getPayload())).containsExactly("aaaa", "cccc");
+    }
+
+    @Test
+    void flushedSegmentsAreDeleted() throws IOException {
+        int segmentBytes = 2 * (HEADER_BYTES + 4);
+        IdeaIngestLog log = new IdeaIngestLog(dir, segmentBytes, IdeaIngestLog.FsyncPolicy.ALWAYS);
+        log.open();
+        for (int i = 0; i < 5; i++) {
+            log.append(bytes("abcd"));
+        }
+        log.markFlushed(4);
+        assertThat(segments()).hasSize(1);
+
+        log.markFlushed(5);
+        log.close();
+
+        assertThat(segments()).isEmpty();
+        assertThat(new IdeaIngestLog(dir, segmentBytes, IdeaIngestLog.FsyncPolicy.ALWAYS).open()).isEmpty();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private static void corrupt(Path segment, long offset) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(offset);
+            int value = file.read();
+            file.seek(offset);
+            file.write(value ^ 0xFF);
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] payload) {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+}
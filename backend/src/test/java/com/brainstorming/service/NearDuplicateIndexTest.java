@@ -0,0 +1,57 @@
+package com.brainstorming.service;
+
+import com.brainstorming.repository.IdeaRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Pending (write-behind) ideas in the near-duplicate index: matched under provisional keys from the moment
+ * they are accepted, and under their ids once written.
+ */
+class NearDuplicateIndexTest {
+
+    private static final Long SESSION_ID = 1L;
+
+    private final NearDuplicateIndex index = new NearDuplicateIndex(mock(IdeaRepository.class), true, "flag", 0.6, 10);
+
+    @Test
+    void pendingIdeasAreMatchedUnderProvisionalKeys() {
+        List<Long> keys = index.addPending(SESSION_ID, List.of("Plant more trees along the river", "Free bus Fridays"));
+
+        assertThat(keys).hasSize(2).allSatisfy(key -> assertThat(key).isNegative());
+        assertThat(keys.get(0)).isNotEqualTo(keys.get(1));
+
+        List<NearDuplicateIndex.Match> matches = index.findMatches(SESSION_ID,
+                List.of("Unrelated idea about libraries", "Plant more trees along the river!"));
+        assertThat(matches).singleElement().satisfies(match -> {
+            assertThat(match.getPosition()).isEqualTo(1);
+            assertThat(match.getIdeaId()).isEqualTo(keys.get(0));
+        });
+    }
+
+    @Test
+    void writtenIdeasReplaceTheirProvisionalKeys() {
+        List<Long> keys = index.addPending(SESSION_ID, List.of("Plant more trees along the river"));
+
+        // No transaction here, so the replacement applies at once
+        index.replacePendingAfterCommit(SESSION_ID, keys, Map.of(42L, "Plant more trees along the river"));
+
+        assertThat(index.findMatches(SESSION_ID, List.of("Plant more trees along the river")))
+                .singleElement()
+                .satisfies(match -> assertThat(match.getIdeaId()).isEqualTo(42L));
+    }
+
+    @Test
+    void droppedPendingIdeasLeaveTheIndex() {
+        List<Long> keys = index.addPending(SESSION_ID, List.of("Plant more trees along the river"));
+
+        index.removePending(SESSION_ID, keys);
+
+        assertThat(index.findMatches(SESSION_ID, List.of("Plant more trees along the river"))).isEmpty();
+    }
+}
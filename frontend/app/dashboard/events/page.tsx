@@ -61,9 +61,16 @@ export default function EventsPage() {
   const fetchEvents = async () => {
     try {
       setLoading(true);
-      const response = await api.get("/events");
-      setEvents(response.data);
-      setFilteredEvents(response.data);
+      // Cursor-paginated: follow next_cursor until every event is loaded
+      const allEvents: Event[] = [];
+      let cursor: string | undefined;
+      do {
+        const response = await api.get("/events", { params: { cursor, size: 200 } });
+        allEvents.push(...response.data.items);
+        cursor = response.data.next_cursor ?? undefined;
+      } while (cursor);
+      setEvents(allEvents);
+      setFilteredEvents(allEvents);
     } catch (error) {
       console.error("Failed to fetch events", error);
     } finally {
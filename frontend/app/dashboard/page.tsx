@@ -29,6 +29,19 @@ interface DashboardState {
   recentActivities: any[];
 }
 
+// List endpoints are cursor-paginated ({ items, next_cursor, has_more }): follow next_cursor until every
+// item is loaded, so the counts are not limited to the first page
+async function fetchAll(path: string): Promise<any[]> {
+  const all: any[] = [];
+  let cursor: string | undefined;
+  do {
+    const response = await api.get(path, { params: { cursor, size: 200 } });
+    all.push(...(response.data?.items ?? []));
+    cursor = response.data?.next_cursor ?? undefined;
+  } while (cursor);
+  return all;
+}
+
 export default function DashboardPage() {
   const [data, setData] = useState<DashboardState | null>(null);
   const [loading, setLoading] = useState(true);
@@ -38,17 +51,14 @@ export default function DashboardPage() {
     const fetchData = async () => {
       try {
         // Fetch all data in parallel
-        const [usersRes, teamsRes, sessionsRes, ideasRes] = await Promise.all([
+        const [usersRes, teams, sessions, ideas] = await Promise.all([
           api.get('/users'),
-          api.get('/teams'),
-          api.get('/sessions'),
-          api.get('/ideas')
+          fetchAll('/teams'),
+          fetchAll('/sessions'),
+          fetchAll('/ideas')
         ]);
 
         const usersData = usersRes.data;
-        const teams = teamsRes.data;
-        const sessions = sessionsRes.data;
-        const ideas = ideasRes.data;
 
         // Handle potential pagination in users response
         let totalParticipants = 0;
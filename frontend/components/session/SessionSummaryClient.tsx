@@ -1,6 +1,6 @@
 "use client";
 
-import { useState, useEffect } from "react";
+import { useState, useEffect, useCallback, useRef } from "react";
 import { useRouter } from "next/navigation";
 import { 
     Download, 
@@ -17,6 +17,9 @@ import {
 } from "lucide-react";
 import { Button } from "@/components/ui/button";
 import { api } from "@/lib/api";
+import { partialJsonString } from "@/lib/utils";
+import { useSessionWebSocket } from "@/hooks/useSessionWebSocket";
+import { AiJobProgressPayload, AiJobCompletedPayload } from "@/types/session";
 import { jsPDF } from "jspdf";
 
 interface SessionSummaryClientProps {
@@ -78,6 +81,41 @@ export function SessionSummaryClient({ sessionId, token, currentUserId }: Sessio
         tags: string[];
     } | null>(null);
     const [isGeneratingSummary, setIsGeneratingSummary] = useState(false);
+    // Summary text streamed over the session socket while the summary job runs
+    const [streamedSummary, setStreamedSummary] = useState("");
+    const streamJobIdRef = useRef<string | null>(null);
+    // job_id -> fragments by seq; frames can arrive before the POST that started the job returns
+    const streamFragmentsRef = useRef<Map<string, string[]>>(new Map());
+    const jobWaitersRef = useRef<Map<string, () => void>>(new Map());
+
+    const renderStream = useCallback((jobId: string) => {
+        const fragments = streamFragmentsRef.current.get(jobId) || [];
+        let raw = "";
+        for (let seq = 0; seq < fragments.length && fragments[seq] !== undefined; seq++) {
+            raw += fragments[seq];
+        }
+        setStreamedSummary(partialJsonString(raw, "summaryText") || "");
+    }, []);
+
+    const handleAiJobProgress = useCallback((payload: AiJobProgressPayload) => {
+        const fragments = streamFragmentsRef.current.get(payload.job_id) || [];
+        fragments[payload.seq] = payload.text;
+        streamFragmentsRef.current.set(payload.job_id, fragments);
+        if (payload.job_id === streamJobIdRef.current) {
+            renderStream(payload.job_id);
+        }
+    }, [renderStream]);
+
+    const handleAiJobCompleted = useCallback((payload: AiJobCompletedPayload) => {
+        jobWaitersRef.current.get(payload.job_id)?.();
+    }, []);
+
+    useSessionWebSocket({
+        sessionId,
+        token,
+        onAiJobProgress: handleAiJobProgress,
+        onAiJobCompleted: handleAiJobCompleted,
+    });
 
     useEffect(() => {
         fetchSessionData();
@@ -99,19 +137,59 @@ export function SessionSummaryClient({ sessionId, token, currentUserId }: Sessio
         }
     };
 
+    // Summary generation runs as a background AI job. The socket announces its completion;
+    // polling stays as the fallback when the socket is not connected
+    const waitForAiJob = async (jobId: string) => {
+        let completed = false;
+        let wake = () => {};
+        jobWaitersRef.current.set(jobId, () => {
+            completed = true;
+            wake();
+        });
+        try {
+            for (let attempt = 0; attempt < 60; attempt++) {
+                const response = await api.get(`/ai/jobs/${jobId}`);
+                if (response.data.status === "SUCCEEDED") {
+                    return response.data.result;
+                }
+                if (response.data.status === "FAILED") {
+                    throw new Error(response.data.error || "AI summary generation failed");
+                }
+                await new Promise<void>((resolve) => {
+                    wake = resolve;
+                    if (completed) {
+                        resolve();
+                    }
+                    setTimeout(resolve, 2000);
+                });
+            }
+            throw new Error("AI summary generation timed out");
+        } finally {
+            jobWaitersRef.current.delete(jobId);
+        }
+    };
+
     const handleGenerateSummary = async () => {
         setIsGeneratingSummary(true);
+        setStreamedSummary("");
         try {
-            const response = await api.post(`/ai/sessions/${sessionId}/summary`, {});
+            const response = await api.post(`/ai/sessions/${sessionId}/summary`, { stream: true });
+            const jobId = response.data.job_id;
+            streamJobIdRef.current = jobId;
+            renderStream(jobId);
+            const summary = await waitForAiJob(jobId);
             setAiSummary({
-                text: response.data.summary_text,
-                tags: response.data.key_themes || []
+                text: summary.summary_text,
+                tags: summary.key_themes || []
             });
         } catch (error: any) {
             console.error("Failed to generate summary", error);
-            const errorMessage = error.response?.data?.message || "Failed to generate AI summary. Please try again later.";
+            const errorMessage = error.response?.data?.message || error.message || "Failed to generate AI summary. Please try again later.";
             alert(errorMessage);
         } finally {
+            streamJobIdRef.current = null;
+            streamFragmentsRef.current.clear();
+            setStreamedSummary("");
             setIsGeneratingSummary(false);
         }
     };
@@ -502,6 +580,11 @@ export function SessionSummaryClient({ sessionId, token, currentUserId }: Sessio
                                             ))}
                                         </div>
                                     </>
+                                ) : isGeneratingSummary && streamedSummary ? (
+                                    <p className="text-gray-700 leading-relaxed mb-4 whitespace-pre-line">
+                                        {streamedSummary}
+                                        <Loader2 className="inline h-4 w-4 ml-2 animate-spin text-blue-400" />
+                                    </p>
                                 ) : (
                                     <div className="flex flex-col items-start gap-3">
                                         <p className="text-gray-600 text-sm">
@@ -9,6 +9,8 @@ import {
     RoundStartPayload,
     MemberSubmittedPayload,
     SubmitIdeasPayload,
+    AiJobProgressPayload,
+    AiJobCompletedPayload,
 } from "@/types/session";
 import { WS_BASE_URL } from "@/lib/config";
 
@@ -24,6 +26,8 @@ interface UseSessionWebSocketOptions {
     onSessionResumed?: () => void;
     onSessionCompleted?: () => void;
     onRefreshState?: () => void;
+    onAiJobProgress?: (payload: AiJobProgressPayload) => void;
+    onAiJobCompleted?: (payload: AiJobCompletedPayload) => void;
     onError?: (error: string) => void;
     onConnectionChange?: (connected: boolean) => void;
 }
@@ -54,6 +58,8 @@ export function useSessionWebSocket(
         onSessionResumed,
         onSessionCompleted,
         onRefreshState,
+        onAiJobProgress,
+        onAiJobCompleted,
         onError,
         onConnectionChange,
     } = options;
@@ -121,6 +127,14 @@ export function useSessionWebSocket(
                         onRefreshState?.();
                         break;
 
+                    case "ai_job_progress":
+                        onAiJobProgress?.(message.payload as AiJobProgressPayload);
+                        break;
+
+                    case "ai_job_completed":
+                        onAiJobCompleted?.(message.payload as AiJobCompletedPayload);
+                        break;
+
                     case WsMessageType.ERROR:
                     case "error":
                         onError?.(message.payload?.message || "Unknown error");
@@ -149,6 +163,8 @@ export function useSessionWebSocket(
             onSessionResumed,
             onSessionCompleted,
             onRefreshState,
+            onAiJobProgress,
+            onAiJobCompleted,
             onError,
         ]
     );
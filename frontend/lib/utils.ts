@@ -4,3 +4,43 @@ import { twMerge } from "tailwind-merge"
 export function cn(...inputs: ClassValue[]) {
   return twMerge(clsx(inputs))
 }
+
+/**
+ * Value of a top-level string field in a JSON document that is still being streamed,
+ * e.g. the summaryText of a partial AI summary. Returns null until the field has started.
+ */
+export function partialJsonString(raw: string, field: string): string | null {
+  const start = raw.search(new RegExp(`"${field}"\\s*:\\s*"`))
+  if (start < 0) {
+    return null
+  }
+  let i = raw.indexOf('"', raw.indexOf(":", start)) + 1
+  let value = ""
+  while (i < raw.length) {
+    const ch = raw[i]
+    if (ch === '"') {
+      break
+    }
+    if (ch === "\\") {
+      if (i + 1 >= raw.length) {
+        // Escape sequence split across fragments: wait for the rest
+        break
+      }
+      const next = raw[i + 1]
+      if (next === "u") {
+        if (i + 6 > raw.length) {
+          break
+        }
+        value += String.fromCharCode(parseInt(raw.slice(i + 2, i + 6), 16))
+        i += 6
+        continue
+      }
+      value += next === "n" ? "\n" : next === "t" ? "\t" : next === "r" ? "" : next
+      i += 2
+      continue
+    }
+    value += ch
+    i++
+  }
+  return value
+}
@@ -119,6 +119,24 @@ export interface MemberSubmittedPayload {
     round_number: number;
 }
 
+// Streamed text of an AI job requested with stream: true, in seq order
+export interface AiJobProgressPayload {
+    job_id: string;
+    session_id: number;
+    seq: number;
+    text: string;
+}
+
+export interface AiJobCompletedPayload {
+    job_id: string;
+    type: "SUGGESTION" | "SUMMARY";
+    session_id: number | null;
+    status: "PENDING" | "RUNNING" | "SUCCEEDED" | "FAILED";
+    result?: any;
+    error?: string | null;
+    stale?: boolean | null;
+}
+
 export interface CreateIdeaRequest {
     session_id: number;
     round_number: number;